@@ -2,8 +2,10 @@ package gr.uom.employeepulseservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EmployeePulseServiceApplication {
 
 	public static void main(String[] args) {
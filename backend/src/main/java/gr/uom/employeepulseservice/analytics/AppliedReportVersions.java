@@ -0,0 +1,64 @@
+package gr.uom.employeepulseservice.analytics;
+
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Report versions up to which SkillEntryColumnStore has applied the changes, per scope. Every committed transaction
+// moves a scope by exactly one, but the events of two transactions may be applied in either order (those of the
+// node's own writes after their commit, those of other nodes on the listening thread): a scope only counts as applied
+// up to the first version still missing, later ones wait until the gap is filled.
+final class AppliedReportVersions {
+
+    private final Map<ScopeKey, Long> applied = new HashMap<>();
+    private final Map<ScopeKey, TreeSet<Long>> pastGap = new HashMap<>();
+
+    synchronized void add(ScopeKey scope, long version) {
+        long current = applied.getOrDefault(scope, 0L);
+        if (version <= current) {
+            return;
+        }
+        if (version > current + 1) {
+            pastGap.computeIfAbsent(scope, k -> new TreeSet<>()).add(version);
+            return;
+        }
+        advance(scope, version);
+    }
+
+    // The versions a load read the data at: anything up to them is part of it, versions seen before are dropped
+    synchronized void rebase(Map<ScopeKey, Long> loaded) {
+        loaded.forEach((scope, version) -> {
+            if (version > applied.getOrDefault(scope, 0L)) {
+                TreeSet<Long> versions = pastGap.get(scope);
+                if (versions != null) {
+                    versions.headSet(version, true).clear();
+                }
+                advance(scope, version);
+            }
+        });
+    }
+
+    // A scope missing from the versions is at 0, always applied
+    synchronized boolean covers(Map<ScopeKey, Long> versions) {
+        for (Map.Entry<ScopeKey, Long> entry : versions.entrySet()) {
+            if (entry.getValue() > applied.getOrDefault(entry.getKey(), 0L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void advance(ScopeKey scope, long version) {
+        long current = version;
+        TreeSet<Long> versions = pastGap.get(scope);
+        while (versions != null && versions.remove(current + 1)) {
+            current++;
+        }
+        if (versions != null && versions.isEmpty()) {
+            pastGap.remove(scope);
+        }
+        applied.put(scope, current);
+    }
+}
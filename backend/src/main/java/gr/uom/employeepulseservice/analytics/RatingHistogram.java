@@ -0,0 +1,88 @@
+package gr.uom.employeepulseservice.analytics;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.RatingDistributionDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.RatingHistogramBucketDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Mergeable sketch of a rating distribution: ratings counted in fixed bins of 0.1 from 0.0 to 5.0. Histograms of
+// departments or periods are combined by adding their bins, so rollups can store one and reports merge them without
+// rescanning entries. Percentiles are the nearest-rank value of the bin holding that rank, exact for ratings with one
+// decimal and off by at most half a bin otherwise; ratings outside 0..5 count in the first or last bin.
+public final class RatingHistogram {
+
+    public static final int BINS = 51;
+
+    // Histogram buckets reported to clients, 0.5 wide
+    private static final int BINS_PER_BUCKET = 5;
+
+    private final long[] counts = new long[BINS];
+    private long total;
+
+    // Bin of a rating, the same rounding as binSql so Java and SQL agree on every value
+    public static int bin(double rating) {
+        return (int) Math.max(0, Math.min(BINS - 1, Math.floor(rating * 10 + 0.5)));
+    }
+
+    // SQL expression giving the bin of the given float8 rating expression
+    public static String binSql(String rating) {
+        return "least(greatest(floor(%s * 10 + 0.5), 0), %d)::int".formatted(rating, BINS - 1);
+    }
+
+    // Adds a rating; NaN (missing) ratings are not counted
+    public void add(double rating) {
+        if (!Double.isNaN(rating)) {
+            add(bin(rating), 1);
+        }
+    }
+
+    public void add(int bin, long count) {
+        counts[bin] += count;
+        total += count;
+    }
+
+    public void merge(RatingHistogram other) {
+        for (int bin = 0; bin < BINS; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        total += other.total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    // Nearest-rank percentile, p in (0, 1]
+    public double percentile(double p) {
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) {
+                return bin / 10.0;
+            }
+        }
+        return (BINS - 1) / 10.0;
+    }
+
+    // Percentiles and 0.5 wide buckets, or null when nothing was counted
+    public RatingDistributionDto toDto() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        List<RatingHistogramBucketDto> buckets = new ArrayList<>();
+        for (int first = 0; first < BINS - 1; first += BINS_PER_BUCKET) {
+            // The last bucket also takes the 5.0 bin
+            int end = first + BINS_PER_BUCKET == BINS - 1 ? BINS : first + BINS_PER_BUCKET;
+            long count = 0;
+            for (int bin = first; bin < end; bin++) {
+                count += counts[bin];
+            }
+            buckets.add(new RatingHistogramBucketDto(first / 10.0, (first + BINS_PER_BUCKET) / 10.0, count));
+        }
+
+        return new RatingDistributionDto(percentile(0.25), percentile(0.50), percentile(0.75), percentile(0.90), buckets);
+    }
+}
@@ -0,0 +1,646 @@
+package gr.uom.employeepulseservice.analytics;
+
+import gr.uom.employeepulseservice.config.CursorJdbcTemplate;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent.BumpedVersion;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+// In-memory, column-oriented copy of the skill entries and overall ratings behind the reporting views, so reports
+// can be aggregated without a round trip to Postgres. Loaded on startup when reporting.analytics.enabled is set.
+// Entries live in a sorted main segment plus a small sorted delta segment taking the writes; removed main rows are
+// only flagged. Once the delta and the flagged rows exceed the compaction threshold, both are merged into a new main
+// segment. Writes arrive as the service events after commit, so the store follows the database without polling.
+// It lags behind the database meanwhile: the report versions it has applied tell whether it holds a given version.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkillEntryColumnStore {
+
+    // Marks a missing department/organization of a review, ids are never negative
+    static final int NONE = Integer.MIN_VALUE;
+
+    // Rows without a date fall into no period, so they are not loaded. Rows without a rating still count as samples
+    // and are kept with a NaN rating.
+    private static final String ENTRIES_SQL = """
+            SELECT skill_entry_id, organization_id, department_id, employee_id, skill_id, entry_date, rating
+            FROM v_skill_entries
+            WHERE entry_date IS NOT NULL
+            ORDER BY organization_id, department_id, employee_id, skill_id, entry_date, skill_entry_id
+            """;
+
+    // Reviews belong to the organization of the reviewed employee's current department, like the report SQL joins them
+    private static final String REVIEWS_SQL = """
+            SELECT pr.id, pr.employee_id, d.id AS department_id, d.organization_id, pr.review_date, pr.overall_rating
+            FROM performance_reviews pr
+            LEFT JOIN employees e ON e.id = pr.employee_id
+            LEFT JOIN departments d ON d.id = e.department_id
+            WHERE pr.review_date IS NOT NULL
+              AND pr.overall_rating IS NOT NULL
+              %s
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    // Fetches rows in batches, so loading reads through a server-side cursor
+    private final CursorJdbcTemplate cursorJdbc;
+    private final ReportingProperties reportingProperties;
+    private final ReportVersionRepository reportVersionRepository;
+
+    // Scans share the read lock, applying writes and swapping in a reloaded copy take the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Written under the write lock, read without it so requests fall back to SQL while the store loads
+    private volatile boolean loaded;
+
+    private SkillEntryColumns main = new SkillEntryColumns(0);
+    private BitSet removedFromMain = new BitSet();
+    private int removedFromMainCount;
+    private SkillEntryColumns delta = new SkillEntryColumns(0);
+    private ReviewColumns reviews = new ReviewColumns();
+
+    // Organizations and departments holding the entries of each employee, to find an employee's ranges. Entries keep
+    // the department they were written in, so an employee who moved has entries in more than one.
+    private Map<Integer, Set<Location>> employeeLocations = new HashMap<>();
+
+    // Writes arriving while a reload reads the database, replayed on the reloaded copy; null when no reload runs
+    private List<StoreWrite> writesDuringReload;
+    // Set while a reload reads the database, so writes fetching rows are not skipped before the first load
+    private volatile boolean reloading;
+
+    // Swapped under the write lock, versions are added under the read lock
+    private volatile AppliedReportVersions appliedVersions = new AppliedReportVersions();
+    // Versions arriving while a reload reads the database, for the reloaded copy; null when no reload runs
+    private AppliedReportVersions versionsDuringReload;
+
+    // Serializes the review refreshes, so they are applied in the order their rows were read
+    private final Object reviewRefreshes = new Object();
+
+    private record Location(int organizationId, int departmentId) {
+    }
+
+    // A write holds the data it applies: nothing runs against the database under the write lock, nor on replay
+    private sealed interface StoreWrite permits EntryChanges, ReviewRefresh {
+    }
+
+    private record EntryChanges(List<SkillEntryChange> changes) implements StoreWrite {
+    }
+
+    // The current rows of an employee's reviews or of one review, replacing those held for it
+    private record ReviewRefresh(Integer employeeId, Integer reviewId, ReviewColumns rows) implements StoreWrite {
+
+        private boolean replaces(ReviewColumns reviews, int i) {
+            return employeeId != null ? reviews.employeeIds[i] == employeeId : reviews.reviewIds[i] == reviewId;
+        }
+    }
+
+    // An entry of an employee read from one of their ranges, for scans across several ranges
+    private record EmployeeEntry(int departmentId, int skillId, int day, int entryId, double rating) {
+    }
+
+    private static final Comparator<Location> LOCATION_ORDER =
+            Comparator.comparingInt(Location::organizationId).thenComparingInt(Location::departmentId);
+
+    private static final Comparator<EmployeeEntry> EMPLOYEE_ENTRY_ORDER = Comparator.comparingInt(EmployeeEntry::skillId)
+            .thenComparingInt(EmployeeEntry::day)
+            .thenComparingInt(EmployeeEntry::entryId);
+
+    // Entries of an organization (optionally one department) or of an employee, optionally of one skill and date range
+    public record EntryScope(Integer organizationId,
+                             Integer departmentId,
+                             Integer employeeId,
+                             Integer skillId,
+                             LocalDate startDate,
+                             LocalDate endDate) {
+
+        public static EntryScope ofOrganization(Integer organizationId, Integer departmentId, Integer skillId,
+                                                LocalDate startDate, LocalDate endDate) {
+            return new EntryScope(organizationId, departmentId, null, skillId, startDate, endDate);
+        }
+
+        public static EntryScope ofEmployee(Integer employeeId, Integer skillId, LocalDate startDate, LocalDate endDate) {
+            return new EntryScope(null, null, employeeId, skillId, startDate, endDate);
+        }
+
+        private int firstDay() {
+            return startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+        }
+
+        private int lastDay() {
+            return endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(int departmentId, int employeeId, int skillId, int day, double rating);
+    }
+
+    @FunctionalInterface
+    public interface ReviewVisitor {
+        void visit(int day, double overallRating);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Whether the store holds the data at the given report versions or newer
+    public boolean hasApplied(ScopeVersion version) {
+        return loaded && appliedVersions.covers(version.versions());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() {
+        if (reportingProperties.getAnalytics().isEnabled()) {
+            reload();
+        }
+    }
+
+    // Changes of other nodes may be missing, reloaded before the report cache and the report versions are dropped
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void onChangesMissed(ChangesMissedEvent event) {
+        if (loaded) {
+            reload();
+        }
+    }
+
+    // Replaces the content of the store with the current database content. The copy is read without the lock, so
+    // scans and writes go on meanwhile against the current content; the writes are replayed on the new copy before
+    // it is swapped in, which covers those of commits the read missed. Postgres only honours the fetch size inside a
+    // transaction, which the caller provides. The report versions are read first, so the copy holds at least them.
+    public synchronized void reload() {
+        long started = System.nanoTime();
+
+        int expectedSize;
+        lock.writeLock().lock();
+        try {
+            expectedSize = main.size + delta.size;
+            writesDuringReload = new ArrayList<>();
+            versionsDuringReload = new AppliedReportVersions();
+            reloading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SkillEntryColumns entries = new SkillEntryColumns(expectedSize);
+        Map<Integer, Set<Location>> locations = new HashMap<>();
+        ReviewColumns loadedReviews = new ReviewColumns();
+        Map<ScopeKey, Long> loadedVersions;
+        try {
+            loadedVersions = reportVersionRepository.findAll();
+            cursorJdbc.query(ENTRIES_SQL, new MapSqlParameterSource(),
+                    (RowCallbackHandler) rs -> readEntry(rs, locations, entries::append));
+            cursorJdbc.query(REVIEWS_SQL.formatted(""), new MapSqlParameterSource(),
+                    (RowCallbackHandler) rs -> readReview(rs, loadedReviews));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                writesDuringReload = null;
+                versionsDuringReload = null;
+                reloading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            main = entries;
+            removedFromMain = new BitSet();
+            removedFromMainCount = 0;
+            delta = new SkillEntryColumns(0);
+            reviews = loadedReviews;
+            employeeLocations = locations;
+
+            List<StoreWrite> replayed = writesDuringReload;
+            writesDuringReload = null;
+            reloading = false;
+            replayed.forEach(this::apply);
+            versionsDuringReload.rebase(loadedVersions);
+            appliedVersions = versionsDuringReload;
+            versionsDuringReload = null;
+            loaded = true;
+            compactIfNeeded();
+
+            log.info("Loaded {} skill entries and {} overall ratings into the analytics store in {} ms, replaying {} writes",
+                    entries.size, loadedReviews.size, (System.nanoTime() - started) / 1_000_000, replayed.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Visits the entries in scope in sort key order: by department, employee, skill, day and entry id.
+    // All entries of one employee are therefore visited one after the other; those an employee wrote in several
+    // departments are visited by skill, day and entry id across the departments. A missing rating is visited as NaN.
+    public void scanEntries(EntryScope scope, EntryVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            RowConsumer visitRow = (columns, i) -> visitor.visit(columns.departmentIds[i], columns.employeeIds[i],
+                    columns.skillIds[i], columns.days[i], columns.ratings[i]);
+
+            if (scope.employeeId() == null) {
+                int[] key = {scope.organizationId(), 0};
+                int keyLength = SkillEntryColumns.ORGANIZATION;
+                if (scope.departmentId() != null) {
+                    key[1] = scope.departmentId();
+                    keyLength = SkillEntryColumns.DEPARTMENT;
+                }
+                scanRange(key, keyLength, scope, visitRow);
+                return;
+            }
+
+            Set<Location> locations = employeeLocations.get(scope.employeeId());
+            if (locations == null) {
+                return;
+            }
+            if (locations.size() == 1) {
+                scanEmployeeRange(locations.iterator().next(), scope, visitRow);
+                return;
+            }
+
+            List<EmployeeEntry> entries = new ArrayList<>();
+            for (Location location : locations) {
+                scanEmployeeRange(location, scope, (columns, i) -> entries.add(new EmployeeEntry(
+                        columns.departmentIds[i], columns.skillIds[i], columns.days[i], columns.entryIds[i], columns.ratings[i])));
+            }
+            entries.sort(EMPLOYEE_ENTRY_ORDER);
+            for (EmployeeEntry entry : entries) {
+                visitor.visit(entry.departmentId(), scope.employeeId(), entry.skillId(), entry.day(), entry.rating());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Visits the overall ratings of the reviews in scope, in no particular order; the skill of the scope is ignored
+    public void scanReviews(EntryScope scope, ReviewVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            boolean byEmployee = scope.employeeId() != null;
+            int employeeId = byEmployee ? scope.employeeId() : NONE;
+            int organizationId = byEmployee ? NONE : scope.organizationId();
+            boolean anyDepartment = scope.departmentId() == null;
+            int departmentId = anyDepartment ? NONE : scope.departmentId();
+            int firstDay = scope.firstDay();
+            int lastDay = scope.lastDay();
+            for (int i = 0; i < reviews.size; i++) {
+                boolean inScope = byEmployee
+                        ? reviews.employeeIds[i] == employeeId
+                        : reviews.organizationIds[i] == organizationId
+                          && (anyDepartment || reviews.departmentIds[i] == departmentId);
+                int day = reviews.days[i];
+                if (inScope && day >= firstDay && day <= lastDay) {
+                    visitor.visit(day, reviews.ratings[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Applied before the report cache and the report versions are invalidated, so no stale report is cached again
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSkillEntriesChanged(SkillEntriesChangedEvent event) {
+        write(new EntryChanges(event.changes()));
+    }
+
+    // The employee's reviews now belong to another department, while the entries keep the department they were
+    // written in: reread the reviews rather than patch each row
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEmployeeDepartmentChanged(EmployeeDepartmentChangedEvent event) {
+        refreshReviews(event.employeeId(), null, "AND pr.employee_id = :employeeId",
+                new MapSqlParameterSource("employeeId", event.employeeId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPerformanceReviewChanged(PerformanceReviewChangedEvent event) {
+        refreshReviews(null, event.performanceReviewId(), "AND pr.id = :reviewId",
+                new MapSqlParameterSource("reviewId", event.performanceReviewId()));
+    }
+
+    // Runs after the listeners above for the changes of the same transaction: locally its after-commit listener is
+    // ordered after theirs, from other nodes its row comes after theirs
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportVersionsBumped(ReportVersionsBumpedEvent event) {
+        lock.readLock().lock();
+        try {
+            for (BumpedVersion bumped : event.versions()) {
+                appliedVersions.add(bumped.scope(), bumped.version());
+                if (versionsDuringReload != null) {
+                    versionsDuringReload.add(bumped.scope(), bumped.version());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int mainSize() {
+        return main.size - removedFromMainCount;
+    }
+
+    int deltaSize() {
+        return delta.size;
+    }
+
+    // Writes before the first load are skipped unless a load is reading, they are part of what it reads
+    private void write(StoreWrite change) {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringReload != null) {
+                writesDuringReload.add(change);
+            }
+            if (!loaded) {
+                return;
+            }
+            apply(change);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The rows are read before the write lock is taken, so scans go on during the query. A load starting after the
+    // check reads the committed change itself.
+    private void refreshReviews(Integer employeeId, Integer reviewId, String filter, MapSqlParameterSource params) {
+        if (!loaded && !reloading) {
+            return;
+        }
+        synchronized (reviewRefreshes) {
+            ReviewColumns rows = new ReviewColumns();
+            jdbc.query(REVIEWS_SQL.formatted(filter), params, (RowCallbackHandler) rs -> readReview(rs, rows));
+            write(new ReviewRefresh(employeeId, reviewId, rows));
+        }
+    }
+
+    private void apply(StoreWrite write) {
+        switch (write) {
+            case EntryChanges entryChanges -> entryChanges.changes().forEach(this::apply);
+            case ReviewRefresh refresh -> {
+                reviews.removeIf(i -> refresh.replaces(reviews, i));
+                reviews.appendAll(refresh.rows());
+            }
+        }
+    }
+
+    // Applying a change twice has no further effect, which covers events of commits the load already read
+    private void apply(SkillEntryChange change) {
+        if (change.skillEntryId() == null || change.organizationId() == null || change.departmentId() == null
+                || change.employeeId() == null || change.skillId() == null || change.entryDate() == null) {
+            // Not visible through the reporting views, so never stored
+            return;
+        }
+
+        int[] key = {
+                change.organizationId(),
+                change.departmentId(),
+                change.employeeId(),
+                change.skillId(),
+                (int) change.entryDate().toEpochDay(),
+                change.skillEntryId()
+        };
+        int mainPosition = find(main, key);
+        if (mainPosition >= 0 && removedFromMain.get(mainPosition)) {
+            mainPosition = -1;
+        }
+        int deltaPosition = find(delta, key);
+
+        if (change.type() == SkillEntryChange.ChangeType.REMOVED) {
+            if (mainPosition >= 0) {
+                removedFromMain.set(mainPosition);
+                removedFromMainCount++;
+            }
+            if (deltaPosition >= 0) {
+                delta.remove(deltaPosition, deltaPosition + 1);
+            }
+        } else if (mainPosition < 0 && deltaPosition < 0) {
+            delta.insert(key[5], key[0], key[1], key[2], key[3], key[4],
+                    change.rating() != null ? change.rating() : Double.NaN);
+            addLocation(employeeLocations, change.employeeId(), new Location(key[0], key[1]));
+        }
+    }
+
+    private static void addLocation(Map<Integer, Set<Location>> locations, int employeeId, Location location) {
+        locations.computeIfAbsent(employeeId, k -> new TreeSet<>(LOCATION_ORDER)).add(location);
+    }
+
+    private void compactIfNeeded() {
+        if (delta.size + removedFromMainCount <= reportingProperties.getAnalytics().getCompactionThreshold()) {
+            return;
+        }
+
+        SkillEntryColumns merged = new SkillEntryColumns(main.size - removedFromMainCount + delta.size);
+        merge(0, main.size, 0, delta.size, merged::append);
+
+        main = merged;
+        removedFromMain = new BitSet();
+        removedFromMainCount = 0;
+        delta = new SkillEntryColumns(0);
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(SkillEntryColumns columns, int i);
+    }
+
+    // Hands over the live main rows in [mainFrom, mainTo) and the delta rows in [deltaFrom, deltaTo) in sort key order
+    private void merge(int mainFrom, int mainTo, int deltaFrom, int deltaTo, RowConsumer consumer) {
+        int i = removedFromMain.nextClearBit(mainFrom);
+        int j = deltaFrom;
+        while (i < mainTo || j < deltaTo) {
+            if (j >= deltaTo || (i < mainTo && main.compare(i, delta, j) <= 0)) {
+                consumer.accept(main, i);
+                i = removedFromMain.nextClearBit(i + 1);
+            } else {
+                consumer.accept(delta, j++);
+            }
+        }
+    }
+
+    // Entries of the employee of the scope within one of their organization/department ranges
+    private void scanEmployeeRange(Location location, EntryScope scope, RowConsumer consumer) {
+        int[] key = {location.organizationId(), location.departmentId(), scope.employeeId(), 0};
+        int keyLength = SkillEntryColumns.EMPLOYEE;
+        // The skill column follows the employee column, so only an employee's skill narrows the range
+        if (scope.skillId() != null) {
+            key[3] = scope.skillId();
+            keyLength = SkillEntryColumns.SKILL;
+        }
+        scanRange(key, keyLength, scope, consumer);
+    }
+
+    // Hands over the live rows matching the leading keyLength columns of key that fall in the scope's skill and days
+    private void scanRange(int[] key, int keyLength, EntryScope scope, RowConsumer consumer) {
+        int[] mainRange = range(main, key, keyLength, scope);
+        int[] deltaRange = range(delta, key, keyLength, scope);
+
+        boolean anySkill = scope.skillId() == null;
+        int skillId = anySkill ? 0 : scope.skillId();
+        int firstDay = scope.firstDay();
+        int lastDay = scope.lastDay();
+        merge(mainRange[0], mainRange[1], deltaRange[0], deltaRange[1], (columns, i) -> {
+            int day = columns.days[i];
+            if (day < firstDay || day > lastDay || (!anySkill && columns.skillIds[i] != skillId)) {
+                return;
+            }
+            consumer.accept(columns, i);
+        });
+    }
+
+    // Rows of columns matching the leading keyLength columns of key, narrowed to the scope's days once the key
+    // reaches the skill column
+    private static int[] range(SkillEntryColumns columns, int[] key, int keyLength, EntryScope scope) {
+        int from = columns.lowerBound(0, columns.size, key, keyLength);
+        int to = columns.upperBound(from, columns.size, key, keyLength);
+
+        if (keyLength == SkillEntryColumns.SKILL) {
+            int[] dayKey = Arrays.copyOf(key, SkillEntryColumns.DAY);
+            dayKey[4] = scope.firstDay();
+            from = columns.lowerBound(from, to, dayKey, SkillEntryColumns.DAY);
+            dayKey[4] = scope.lastDay();
+            to = columns.upperBound(from, to, dayKey, SkillEntryColumns.DAY);
+        }
+        return new int[]{from, to};
+    }
+
+    // Position of the row with exactly the given sort key, or -1
+    private static int find(SkillEntryColumns columns, int[] key) {
+        int position = columns.lowerBound(0, columns.size, key, key.length);
+        return position < columns.size && columns.compare(position, key, key.length) == 0 ? position : -1;
+    }
+
+    @FunctionalInterface
+    private interface EntrySink {
+        void add(int entryId, int organizationId, int departmentId, int employeeId, int skillId, int day, double rating);
+    }
+
+    private static void readEntry(ResultSet rs, Map<Integer, Set<Location>> locations, EntrySink sink) throws SQLException {
+        int organizationId = rs.getInt("organization_id");
+        int departmentId = rs.getInt("department_id");
+        int employeeId = rs.getInt("employee_id");
+        double rating = rs.getDouble("rating");
+        if (rs.wasNull()) {
+            rating = Double.NaN;
+        }
+        sink.add(
+                rs.getInt("skill_entry_id"),
+                organizationId,
+                departmentId,
+                employeeId,
+                rs.getInt("skill_id"),
+                (int) rs.getObject("entry_date", LocalDate.class).toEpochDay(),
+                rating
+        );
+        addLocation(locations, employeeId, new Location(organizationId, departmentId));
+    }
+
+    private static void readReview(ResultSet rs, ReviewColumns reviews) throws SQLException {
+        int departmentId = rs.getInt("department_id");
+        boolean hasDepartment = !rs.wasNull();
+        reviews.append(
+                rs.getInt("id"),
+                rs.getInt("employee_id"),
+                hasDepartment ? departmentId : NONE,
+                hasDepartment ? rs.getInt("organization_id") : NONE,
+                (int) rs.getObject("review_date", LocalDate.class).toEpochDay(),
+                rs.getDouble("overall_rating")
+        );
+    }
+
+    // Overall ratings of the reviews as unsorted parallel columns; there are far fewer reviews than skill entries
+    private static final class ReviewColumns {
+
+        private int size;
+        private int[] reviewIds = new int[16];
+        private int[] employeeIds = new int[16];
+        private int[] departmentIds = new int[16];
+        private int[] organizationIds = new int[16];
+        private int[] days = new int[16];
+        private double[] ratings = new double[16];
+
+        private void append(int reviewId, int employeeId, int departmentId, int organizationId, int day, double rating) {
+            if (size == reviewIds.length) {
+                int grown = size + (size >> 1);
+                reviewIds = Arrays.copyOf(reviewIds, grown);
+                employeeIds = Arrays.copyOf(employeeIds, grown);
+                departmentIds = Arrays.copyOf(departmentIds, grown);
+                organizationIds = Arrays.copyOf(organizationIds, grown);
+                days = Arrays.copyOf(days, grown);
+                ratings = Arrays.copyOf(ratings, grown);
+            }
+            reviewIds[size] = reviewId;
+            employeeIds[size] = employeeId;
+            departmentIds[size] = departmentId;
+            organizationIds[size] = organizationId;
+            days[size] = day;
+            ratings[size] = rating;
+            size++;
+        }
+
+        private void appendAll(ReviewColumns other) {
+            for (int i = 0; i < other.size; i++) {
+                append(other.reviewIds[i], other.employeeIds[i], other.departmentIds[i], other.organizationIds[i],
+                        other.days[i], other.ratings[i]);
+            }
+        }
+
+        // Removes matching rows by moving the last row into their place
+        private void removeIf(IntPredicate matches) {
+            int i = 0;
+            while (i < size) {
+                if (matches.test(i)) {
+                    size--;
+                    reviewIds[i] = reviewIds[size];
+                    employeeIds[i] = employeeIds[size];
+                    departmentIds[i] = departmentIds[size];
+                    organizationIds[i] = organizationIds[size];
+                    days[i] = days[size];
+                    ratings[i] = ratings[size];
+                } else {
+                    i++;
+                }
+            }
+        }
+    }
+}
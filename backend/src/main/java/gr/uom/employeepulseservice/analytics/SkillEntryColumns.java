@@ -0,0 +1,162 @@
+package gr.uom.employeepulseservice.analytics;
+
+import java.util.Arrays;
+
+// Skill entries as parallel primitive columns, kept sorted by (organization, department, employee, skill, day, entry id)
+// so every report scope is a contiguous range found by binary search.
+final class SkillEntryColumns {
+
+    // Number of leading sort key columns a range is bounded on: organization, department, employee, skill, day
+    static final int ORGANIZATION = 1;
+    static final int DEPARTMENT = 2;
+    static final int EMPLOYEE = 3;
+    static final int SKILL = 4;
+    static final int DAY = 5;
+
+    int size;
+    int[] entryIds;
+    int[] organizationIds;
+    int[] departmentIds;
+    int[] employeeIds;
+    int[] skillIds;
+    // Entry dates as epoch days
+    int[] days;
+    double[] ratings;
+
+    SkillEntryColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        entryIds = new int[capacity];
+        organizationIds = new int[capacity];
+        departmentIds = new int[capacity];
+        employeeIds = new int[capacity];
+        skillIds = new int[capacity];
+        days = new int[capacity];
+        ratings = new double[capacity];
+    }
+
+    // Appends a row that sorts after every row already present (rows loaded or merged in key order)
+    void append(int entryId, int organizationId, int departmentId, int employeeId, int skillId, int day, double rating) {
+        ensureCapacity(size + 1);
+        set(size++, entryId, organizationId, departmentId, employeeId, skillId, day, rating);
+    }
+
+    // Appends row i of other
+    void append(SkillEntryColumns other, int i) {
+        append(other.entryIds[i], other.organizationIds[i], other.departmentIds[i], other.employeeIds[i],
+                other.skillIds[i], other.days[i], other.ratings[i]);
+    }
+
+    // Inserts a row at its sorted position, shifting the rows after it
+    void insert(int entryId, int organizationId, int departmentId, int employeeId, int skillId, int day, double rating) {
+        int[] key = {organizationId, departmentId, employeeId, skillId, day, entryId};
+        int position = lowerBound(0, size, key, key.length);
+
+        ensureCapacity(size + 1);
+        int moved = size - position;
+        System.arraycopy(entryIds, position, entryIds, position + 1, moved);
+        System.arraycopy(organizationIds, position, organizationIds, position + 1, moved);
+        System.arraycopy(departmentIds, position, departmentIds, position + 1, moved);
+        System.arraycopy(employeeIds, position, employeeIds, position + 1, moved);
+        System.arraycopy(skillIds, position, skillIds, position + 1, moved);
+        System.arraycopy(days, position, days, position + 1, moved);
+        System.arraycopy(ratings, position, ratings, position + 1, moved);
+        set(position, entryId, organizationId, departmentId, employeeId, skillId, day, rating);
+        size++;
+    }
+
+    // Removes the rows in [from, to), shifting the rows after them
+    void remove(int from, int to) {
+        int moved = size - to;
+        System.arraycopy(entryIds, to, entryIds, from, moved);
+        System.arraycopy(organizationIds, to, organizationIds, from, moved);
+        System.arraycopy(departmentIds, to, departmentIds, from, moved);
+        System.arraycopy(employeeIds, to, employeeIds, from, moved);
+        System.arraycopy(skillIds, to, skillIds, from, moved);
+        System.arraycopy(days, to, days, from, moved);
+        System.arraycopy(ratings, to, ratings, from, moved);
+        size -= to - from;
+    }
+
+    // First row in [from, to) whose leading keyLength key columns are not less than key
+    int lowerBound(int from, int to, int[] key, int keyLength) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compare(mid, key, keyLength) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    // First row in [from, to) whose leading keyLength key columns are greater than key
+    int upperBound(int from, int to, int[] key, int keyLength) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (compare(mid, key, keyLength) <= 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    // Compares the leading keyLength sort key columns of row i with key
+    int compare(int i, int[] key, int keyLength) {
+        for (int column = 0; column < keyLength; column++) {
+            int c = Integer.compare(keyColumn(column)[i], key[column]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    // Compares row i with row j of other on the whole sort key
+    int compare(int i, SkillEntryColumns other, int j) {
+        for (int column = 0; column < 6; column++) {
+            int c = Integer.compare(keyColumn(column)[i], other.keyColumn(column)[j]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private int[] keyColumn(int column) {
+        return switch (column) {
+            case 0 -> organizationIds;
+            case 1 -> departmentIds;
+            case 2 -> employeeIds;
+            case 3 -> skillIds;
+            case 4 -> days;
+            default -> entryIds;
+        };
+    }
+
+    private void set(int i, int entryId, int organizationId, int departmentId, int employeeId, int skillId, int day, double rating) {
+        entryIds[i] = entryId;
+        organizationIds[i] = organizationId;
+        departmentIds[i] = departmentId;
+        employeeIds[i] = employeeId;
+        skillIds[i] = skillId;
+        days[i] = day;
+        ratings[i] = rating;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= entryIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, entryIds.length + (entryIds.length >> 1));
+        entryIds = Arrays.copyOf(entryIds, grown);
+        organizationIds = Arrays.copyOf(organizationIds, grown);
+        departmentIds = Arrays.copyOf(departmentIds, grown);
+        employeeIds = Arrays.copyOf(employeeIds, grown);
+        skillIds = Arrays.copyOf(skillIds, grown);
+        days = Arrays.copyOf(days, grown);
+        ratings = Arrays.copyOf(ratings, grown);
+    }
+}
@@ -0,0 +1,34 @@
+package gr.uom.employeepulseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache-invalidation")
+public class CacheInvalidationProperties {
+
+    // Hands the changes of this node to the other nodes and applies theirs; only needed with several replicas
+    private boolean enabled = true;
+
+    // Postgres NOTIFY channel shared by the nodes
+    private String channel = "cache_invalidations";
+
+    // Changes replayed after (re)connecting. A node that lost the bus for longer drops its caches instead.
+    private Duration replayWindow = Duration.ofMinutes(5);
+
+    // Age at which changes are deleted, past the replay window of every node
+    private Duration retention = Duration.ofHours(1);
+
+    // How long the listener waits for notifications before checking its connection
+    private Duration pollTimeout = Duration.ofSeconds(5);
+
+    // Pause between attempts to reconnect the listener
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    // When changes older than the retention are deleted
+    private String cleanupCron = "0 */10 * * * *";
+}
@@ -0,0 +1,29 @@
+package gr.uom.employeepulseservice.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Reads on the application DataSource fetching reporting.export-fetch-size rows per round trip, so long reads (timeline
+// exports, loading the analytics store) go through a server-side cursor. Postgres only honours the fetch size inside a
+// transaction, which the callers provide. Not a NamedParameterJdbcTemplate bean itself, which would replace the
+// auto-configured one.
+@Component
+public class CursorJdbcTemplate {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public CursorJdbcTemplate(DataSource dataSource, ReportingProperties reportingProperties) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(reportingProperties.getExportFetchSize());
+        this.jdbc = new NamedParameterJdbcTemplate(template);
+    }
+
+    public void query(String sql, SqlParameterSource params, RowCallbackHandler handler) {
+        jdbc.query(sql, params, handler);
+    }
+}
@@ -0,0 +1,58 @@
+package gr.uom.employeepulseservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// The regions of the Hibernate second-level cache, sized from EntityCacheProperties and handed to Hibernate's JCache
+// region factory. Every application context gets a cache manager of its own.
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheConfiguration {
+
+    private final EntityCacheProperties entityCacheProperties;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        entityCacheProperties.getRegions().forEach((region, maximumSize) ->
+                cacheManager.createCache(region, boundedRegion(maximumSize)));
+        // Query results are only used while no table they read has changed since; the last change of every table
+        // has to outlive every query result, so its region is neither bounded nor expired
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManagerCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedRegion(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = region();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(entityCacheProperties.getTtl().toNanos()));
+        return configuration;
+    }
+
+    // Hibernate caches the disassembled state of its entities, which is never modified in place: no copies needed
+    private static CaffeineConfiguration<Object, Object> region() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
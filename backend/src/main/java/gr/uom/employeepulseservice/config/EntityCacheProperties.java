@@ -0,0 +1,22 @@
+package gr.uom.employeepulseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+
+    // Hibernate second-level cache regions by name with the entries each keeps at most, rarely used ones are evicted
+    // first. Every cached entity and query names its region here; Hibernate refuses to start on a missing one.
+    private Map<String, Long> regions = new LinkedHashMap<>();
+
+    // Upper bound on staleness for writes that bypass Hibernate, e.g. direct SQL
+    private Duration ttl = Duration.ofHours(1);
+}
@@ -0,0 +1,20 @@
+package gr.uom.employeepulseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "imports")
+public class ImportProperties {
+
+    // Rows committed per transaction by import jobs created without a chunk size of their own
+    private int chunkSize = 1000;
+
+    // A running job whose progress has not moved for this long is taken over by the next run, since the node running
+    // it has died. Every committed chunk moves it, so this must exceed the time one chunk takes.
+    private Duration staleAfter = Duration.ofMinutes(10);
+}
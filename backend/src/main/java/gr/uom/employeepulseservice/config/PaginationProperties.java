@@ -0,0 +1,17 @@
+package gr.uom.employeepulseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    // Rows of a listing page when the request does not ask for a size
+    private int defaultPageSize = 100;
+
+    // Larger requested sizes are capped to this
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,88 @@
+package gr.uom.employeepulseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "reporting")
+public class ReportingProperties {
+
+    // Where the org/department skill statistics are aggregated from
+    private Source source = Source.VIEWS;
+
+    // Rows fetched per round trip while streaming timeline exports
+    private int exportFetchSize = 1000;
+
+    // In-process cache of org/department and employee reports
+    private Cache cache = new Cache();
+
+    // How the parts of a report (header, skill statistics, overall ratings) are executed
+    private Execution execution = new Execution();
+
+    // In-memory column store answering the reports instead of the reporting views
+    private Analytics analytics = new Analytics();
+
+    // Quarterly partitions of skill_entries and performance_reviews
+    private Partitions partitions = new Partitions();
+
+    public enum Source {
+        // Aggregate raw skill entries through the reporting views on every request
+        VIEWS,
+        // Read the pre-aggregated skill_rating_rollups tables
+        ROLLUPS
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        // Reports kept at most, rarely used ones are evicted first
+        private long maximumSize = 10_000;
+
+        // Upper bound on staleness for changes that bypass the services, e.g. direct SQL
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Execution {
+
+        private Mode mode = Mode.COMBINED;
+
+        // Deadline of a whole report in PARALLEL mode, running parts are cancelled when it passes
+        private Duration deadline = Duration.ofSeconds(30);
+
+        public enum Mode {
+            // One statement returns every part of the report
+            COMBINED,
+            // One statement per part, one after the other on the same connection
+            SEQUENTIAL,
+            // One statement per part, concurrently on virtual threads with a connection each
+            PARALLEL
+        }
+    }
+
+    @Data
+    public static class Analytics {
+
+        // Loads skill entries and overall ratings into memory on startup; reports use SQL until the load completes
+        private boolean enabled = false;
+
+        // Pending inserts and deletes at which they are merged into the sorted main segment
+        private int compactionThreshold = 16_384;
+    }
+
+    @Data
+    public static class Partitions {
+
+        // When PartitionMaintenanceService creates the upcoming partitions
+        private String cron = "0 0 3 * * *";
+
+        // Quarters after the current one that already have a partition
+        private int quartersAhead = 4;
+    }
+}
@@ -49,8 +49,12 @@ public class DepartmentController {
     }
 
     @GetMapping("/{id}/employees")
-    public ResponseEntity<List<EmployeeDto>> findEmployeesById(@PathVariable Integer id) {
-        return ResponseEntity.ok(departmentService.findEmployeesById(id));
+    public ResponseEntity<List<EmployeeDto>> findEmployeesById(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(departmentService.findEmployeesById(id, cursor, size));
     }
 
     @GetMapping("/{id}/skills")
@@ -58,6 +62,11 @@ public class DepartmentController {
         return ResponseEntity.ok(skillService.findByDepartmentId(id));
     }
 
+    @GetMapping("/{id}/skill-entries/latest")
+    public ResponseEntity<List<EmployeeSkillRatingsDto>> findLatestSkillRatingsById(@PathVariable Integer id) {
+        return ResponseEntity.ok(departmentService.findLatestSkillRatingsById(id));
+    }
+
     @PostMapping("{id}/assign-manager/{managerId}")
     public ResponseEntity<Void> assignManagerToDepartment(@PathVariable Integer id, @PathVariable Integer managerId) {
         departmentService.assignManagerToDepartment(id, managerId);
@@ -1,6 +1,7 @@
 package gr.uom.employeepulseservice.controller;
 
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,8 +17,11 @@ public class EmployeeController {
     private final EmployeeService employeeService;
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDto>> findAll() {
-        return ResponseEntity.ok(employeeService.findAll());
+    public ResponseEntity<List<EmployeeDto>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(employeeService.findAll(cursor, size));
     }
 
     @GetMapping("/{id}")
@@ -54,8 +58,11 @@ public class EmployeeController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<Void> bulkCreate(@RequestBody String json) {
-        employeeService.bulkCreate(json);
+    public ResponseEntity<Void> bulkCreate(
+            @RequestBody String json,
+            @RequestParam(defaultValue = "ENTITIES") ImportMode mode
+    ) {
+        employeeService.bulkCreate(json, mode);
         return ResponseEntity.ok().build();
     }
 
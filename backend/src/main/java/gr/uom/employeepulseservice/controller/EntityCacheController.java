@@ -0,0 +1,22 @@
+package gr.uom.employeepulseservice.controller;
+
+import gr.uom.employeepulseservice.controller.dto.EntityCacheStatsDto;
+import gr.uom.employeepulseservice.service.EntityCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("entity-cache")
+@RequiredArgsConstructor
+public class EntityCacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<EntityCacheStatsDto> getStats() {
+        return ResponseEntity.ok(entityCacheService.stats());
+    }
+}
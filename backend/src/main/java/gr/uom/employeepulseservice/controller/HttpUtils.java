@@ -1,10 +1,17 @@
 package gr.uom.employeepulseservice.controller;
 
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 public final class HttpUtils {
 
+    // Cursor of the next page of a listing, absent on its last page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private HttpUtils() {
     }
 
@@ -16,6 +23,15 @@ public final class HttpUtils {
             );
         }
     }
+
+    // The body stays the plain list of the page, so clients that read a single page need no changes
+    public static <T> ResponseEntity<List<T>> pageResponse(CursorPageDto<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
 }
 
 
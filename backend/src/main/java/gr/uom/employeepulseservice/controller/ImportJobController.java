@@ -0,0 +1,51 @@
+package gr.uom.employeepulseservice.controller;
+
+import gr.uom.employeepulseservice.controller.dto.ImportJobDto;
+import gr.uom.employeepulseservice.controller.dto.ImportJobErrorDto;
+import gr.uom.employeepulseservice.model.ImportEntityType;
+import gr.uom.employeepulseservice.model.ImportMode;
+import gr.uom.employeepulseservice.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("imports")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping
+    public ResponseEntity<ImportJobDto> createJob(
+            @RequestParam ImportEntityType type,
+            @RequestParam(defaultValue = "ENTITIES") ImportMode mode,
+            @RequestParam(required = false) Integer chunkSize
+    ) {
+        return ResponseEntity.ok(importJobService.createJob(type, mode, chunkSize));
+    }
+
+    // Streams the JSON array of the job's rows; uploading it again after a failure resumes the job
+    @PostMapping("/{id}/data")
+    public ResponseEntity<ImportJobDto> runJob(@PathVariable Integer id, InputStream payload) {
+        return ResponseEntity.ok(importJobService.runJob(id, payload));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDto> findById(@PathVariable Integer id) {
+        return ResponseEntity.ok(importJobService.findJobById(id));
+    }
+
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Page<ImportJobErrorDto>> findErrors(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(importJobService.findErrorsOfJob(id, PageRequest.of(page, size)));
+    }
+}
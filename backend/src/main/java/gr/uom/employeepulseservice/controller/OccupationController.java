@@ -2,6 +2,7 @@ package gr.uom.employeepulseservice.controller;
 
 import gr.uom.employeepulseservice.controller.dto.OccupationDto;
 import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.service.OccupationService;
 import gr.uom.employeepulseservice.service.OrganizationService;
 import lombok.RequiredArgsConstructor;
@@ -57,8 +58,11 @@ public class OccupationController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<Void> bulkCreateOccupations(@RequestBody String json) {
-        occupationService.bulkCreateOccupations(json);
+    public ResponseEntity<Void> bulkCreateOccupations(
+            @RequestBody String json,
+            @RequestParam(defaultValue = "ENTITIES") ImportMode mode
+    ) {
+        occupationService.bulkCreateOccupations(json, mode);
         return ResponseEntity.ok().build();
     }
 
@@ -49,12 +49,15 @@ public class OrganizationController {
     @GetMapping("/{id}/employees")
     public ResponseEntity<List<EmployeeDto>> findEmployeesById(
             @PathVariable Integer id,
-            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
         String orgName = organizationService.findOrganizationNameById(id);
         HttpUtils.validateOrganizationHeader(orgName, headerOrgName);
 
-        return ResponseEntity.ok(organizationService.findEmployeesById(id));
+        return HttpUtils.pageResponse(organizationService.findEmployeesById(id, name, cursor, size));
     }
 
     @GetMapping("/{id}/departments")
@@ -33,51 +33,79 @@ public class PerformanceReviewController {
 
     @GetMapping("/date")
     public ResponseEntity<List<PerformanceReviewDto>> getByDate(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(performanceReviewService.findByDate(date));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByDate(date, cursor, size));
     }
 
     @GetMapping(value = "/date-range")
     public ResponseEntity<List<PerformanceReviewDto>> getByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-        return ResponseEntity.ok(performanceReviewService.findByDateRange(from, to));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByDateRange(from, to, cursor, size));
     }
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<PerformanceReviewDto>> getByEmployee(@PathVariable Integer employeeId) {
-        return ResponseEntity.ok(performanceReviewService.findByEmployee(employeeId));
+    public ResponseEntity<List<PerformanceReviewDto>> getByEmployee(
+            @PathVariable Integer employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByEmployee(employeeId, cursor, size));
     }
 
     @GetMapping("/reviewer/{reporterId}")
-    public ResponseEntity<List<PerformanceReviewDto>> getByReviewer(@PathVariable Integer reporterId) {
-        return ResponseEntity.ok(performanceReviewService.findByReviewer(reporterId));
+    public ResponseEntity<List<PerformanceReviewDto>> getByReviewer(
+            @PathVariable Integer reporterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByReviewer(reporterId, cursor, size));
     }
 
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<PerformanceReviewDto>> getByDepartment(@PathVariable Integer departmentId) {
-        return ResponseEntity.ok(performanceReviewService.findByDepartment(departmentId));
+    public ResponseEntity<List<PerformanceReviewDto>> getByDepartment(
+            @PathVariable Integer departmentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByDepartment(departmentId, cursor, size));
     }
 
     @GetMapping("/organization/{organizationId}")
     public ResponseEntity<List<PerformanceReviewDto>> getByOrganization(
             @PathVariable Integer organizationId,
-            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ) {
         String orgName = organizationService.findOrganizationNameById(organizationId);
         HttpUtils.validateOrganizationHeader(orgName, headerOrgName);
 
-        return ResponseEntity.ok(performanceReviewService.findByOrganization(organizationId));
+        return HttpUtils.pageResponse(performanceReviewService.findByOrganization(organizationId, cursor, size));
     }
 
     @GetMapping("/skill/{skillId}")
-    public ResponseEntity<List<PerformanceReviewDto>> getBySkill(@PathVariable Integer skillId) {
-        return ResponseEntity.ok(performanceReviewService.findBySkill(skillId));
+    public ResponseEntity<List<PerformanceReviewDto>> getBySkill(
+            @PathVariable Integer skillId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findBySkill(skillId, cursor, size));
     }
 
     @GetMapping("/occupation/{occupationId}")
-    public ResponseEntity<List<PerformanceReviewDto>> getByOccupation(@PathVariable Integer occupationId) {
-        return ResponseEntity.ok(performanceReviewService.findByOccupation(occupationId));
+    public ResponseEntity<List<PerformanceReviewDto>> getByOccupation(
+            @PathVariable Integer occupationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return HttpUtils.pageResponse(performanceReviewService.findByOccupation(occupationId, cursor, size));
     }
 
     @PostMapping("/{reviewId}/skill-entries")
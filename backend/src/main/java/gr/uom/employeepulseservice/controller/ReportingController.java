@@ -1,18 +1,38 @@
 package gr.uom.employeepulseservice.controller;
 
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.cache.ReportCacheStatsDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.query.ReportQueryStatsDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupConsistencyReportDto;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.ExportFormat;
 import gr.uom.employeepulseservice.model.PeriodType;
 import gr.uom.employeepulseservice.repository.ReportingRepository;
+import gr.uom.employeepulseservice.repository.impl.CachingReportingRepository;
+import gr.uom.employeepulseservice.repository.impl.ReportingNameDictionary;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog;
 import gr.uom.employeepulseservice.service.OrganizationService;
+import gr.uom.employeepulseservice.service.ReportVersionService;
+import gr.uom.employeepulseservice.service.ReportVersionService.ReportVersion;
+import gr.uom.employeepulseservice.service.SkillRatingRollupService;
+import gr.uom.employeepulseservice.service.SkillTimelineExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/reports")
@@ -21,6 +41,12 @@ public class ReportingController {
 
     private final ReportingRepository reportingRepository;
     private final OrganizationService organizationService;
+    private final SkillRatingRollupService skillRatingRollupService;
+    private final SkillTimelineExportService skillTimelineExportService;
+    private final CachingReportingRepository reportCache;
+    private final ReportVersionService reportVersionService;
+    private final ReportingQueryCatalog queryCatalog;
+    private final ReportingNameDictionary reportingNames;
 
     @GetMapping("/org/{orgId}")
     public ResponseEntity<OrgDeptReportingResponseDto> getReportByOrganizationAndDepartment(
@@ -30,22 +56,65 @@ public class ReportingController {
             @RequestParam(required = false) Integer skillId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName
+            // APPROXIMATE estimates employee counts from HyperLogLog sketches, within about 3.3% (one standard error)
+            @RequestParam(defaultValue = "EXACT") EmployeeCountMode employeeCount,
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName,
+            WebRequest webRequest
     ) {
-        String orgName = organizationService.findOrganizationNameById(orgId);
-        HttpUtils.validateOrganizationHeader(orgName, headerOrgName);
+        validateOrganization(orgId, headerOrgName);
 
+        // Unchanged data is answered with a 304 before any reporting SQL runs, otherwise ETag/Last-Modified go on the 200
+        // with a report at least as new as them
+        ReportVersion version = reportVersionService.organizationVersion(orgId, deptId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
 
-        return ResponseEntity.ok(
-                reportingRepository.getReportByOrganizationAndDepartment(
-                        periodType,
-                        orgId,
-                        deptId,
-                        skillId,
-                        startDate,
-                        endDate
-                )
+        OrgDeptReportingResponseDto report = reportingRepository.getReportByOrganizationAndDepartment(
+                periodType,
+                orgId,
+                deptId,
+                skillId,
+                startDate,
+                endDate,
+                employeeCount,
+                version.scopes()
+        );
+
+        return ResponseEntity.ok(report);
+    }
+
+    // Reports of several departments (all of the organization when deptIds is missing) and employees in one request
+    @GetMapping("/org/{orgId}/batch")
+    public ResponseEntity<BatchReportingResponseDto> getBatchReport(
+            @PathVariable Integer orgId,
+            @RequestParam(required = false) List<Integer> deptIds,
+            @RequestParam(required = false) List<Integer> employeeIds,
+            @RequestParam(required = false) PeriodType periodType,
+            @RequestParam(required = false) Integer skillId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName,
+            WebRequest webRequest
+    ) {
+        validateOrganization(orgId, headerOrgName);
+
+        ReportVersion version = reportVersionService.batchVersion(orgId, employeeIds);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        BatchReportingResponseDto report = reportingRepository.getBatchReport(
+                periodType,
+                orgId,
+                deptIds == null ? null : deptIds.stream().distinct().toList(),
+                employeeIds == null ? null : employeeIds.stream().distinct().toList(),
+                skillId,
+                startDate,
+                endDate
         );
+
+        return ResponseEntity.ok(report);
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -54,10 +123,16 @@ public class ReportingController {
             @RequestParam(required = false) PeriodType periodType,
             @RequestParam(required = false) Integer skillId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest
     ) {
+        ReportVersion version = reportVersionService.employeeVersion(employeeId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
         return ResponseEntity.ok(
-                reportingRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate)
+                reportingRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate, version.scopes())
         );
     }
 
@@ -66,9 +141,18 @@ public class ReportingController {
             @PathVariable Integer employeeId,
             @RequestParam(required = false) Integer skillId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "MIN_MAX") DownsamplingMethod downsampling,
+            WebRequest webRequest
     ) {
-        return reportingRepository.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate);
+        ReportVersion version = reportVersionService.employeeVersion(employeeId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return reportingRepository.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling,
+                version.scopes());
     }
 
     @GetMapping("/organizations/{organizationId}/skills/timeline")
@@ -78,19 +162,102 @@ public class ReportingController {
             @RequestParam(required = false) Integer skillId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "MIN_MAX") DownsamplingMethod downsampling,
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName,
+            WebRequest webRequest
     ) {
-        String orgName = organizationService.findOrganizationNameById(organizationId);
-        HttpUtils.validateOrganizationHeader(orgName, headerOrgName);
+        validateOrganization(organizationId, headerOrgName);
+
+        ReportVersion version = reportVersionService.organizationVersion(organizationId, departmentId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified().toEpochMilli())) {
+            return null;
+        }
 
         return reportingRepository.getSkillTimelineByOrganizationAndDepartment(
                 organizationId,
                 departmentId,
                 skillId,
                 startDate,
-                endDate
+                endDate,
+                maxPoints,
+                downsampling,
+                version.scopes()
         );
     }
 
-}
+    @GetMapping("/employees/{employeeId}/skills/timeline/export")
+    public ResponseEntity<StreamingResponseBody> exportSkillTimelineByEmployee(
+            @PathVariable Integer employeeId,
+            @RequestParam(required = false) Integer skillId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    ) {
+        StreamingResponseBody body = out -> skillTimelineExportService.exportEmployeeTimeline(
+                employeeId, skillId, startDate, endDate, format, out);
+
+        return exportResponse("employee-" + employeeId + "-skill-timeline", format, body);
+    }
+
+    @GetMapping("/organizations/{organizationId}/skills/timeline/export")
+    public ResponseEntity<StreamingResponseBody> exportSkillTimelineByOrganizationAndDepartment(
+            @PathVariable Integer organizationId,
+            @RequestParam(required = false) Integer departmentId,
+            @RequestParam(required = false) Integer skillId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = "X-Organization-Name", required = false) String headerOrgName
+    ) {
+        // Validate before streaming starts, afterwards the status can no longer change
+        String orgName = organizationService.findOrganizationNameById(organizationId);
+        HttpUtils.validateOrganizationHeader(orgName, headerOrgName);
 
+        StreamingResponseBody body = out -> skillTimelineExportService.exportOrganizationTimeline(
+                organizationId, departmentId, skillId, startDate, endDate, format, out);
+
+        return exportResponse("organization-" + organizationId + "-skill-timeline", format, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String fileName, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(fileName + "." + format.fileExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupConsistencyReportDto> rebuildRollups() {
+        return ResponseEntity.ok(skillRatingRollupService.rebuild());
+    }
+
+    @GetMapping("/rollups/consistency")
+    public ResponseEntity<RollupConsistencyReportDto> checkRollupConsistency() {
+        return ResponseEntity.ok(skillRatingRollupService.checkConsistency());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ReportCacheStatsDto> getReportCacheStats() {
+        return ResponseEntity.ok(reportCache.stats());
+    }
+
+    @GetMapping("/queries/stats")
+    public ResponseEntity<ReportQueryStatsDto> getReportQueryStats() {
+        return ResponseEntity.ok(queryCatalog.stats());
+    }
+
+    // Checked before the conditional request, so neither an unknown organization nor a wrong header is answered with
+    // a 304. The name comes from memory, and from the database for an organization not looked up yet.
+    private void validateOrganization(Integer organizationId, String headerOrgName) {
+        String organizationName = reportingNames.organizationName(organizationId);
+        if (organizationName == null) {
+            throw new RuntimeException("Organization not found");
+        }
+        HttpUtils.validateOrganizationHeader(organizationName, headerOrgName);
+    }
+}
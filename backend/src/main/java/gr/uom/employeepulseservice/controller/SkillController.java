@@ -2,6 +2,7 @@ package gr.uom.employeepulseservice.controller;
 
 import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
 import gr.uom.employeepulseservice.controller.dto.SkillDto;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.service.SkillService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -55,8 +56,11 @@ public class SkillController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<Void> bulkCreateSkills(@RequestBody String json) {
-        skillService.bulkCreateSkills(json);
+    public ResponseEntity<Void> bulkCreateSkills(
+            @RequestBody String json,
+            @RequestParam(defaultValue = "ENTITIES") ImportMode mode
+    ) {
+        skillService.bulkCreateSkills(json, mode);
         return ResponseEntity.ok().build();
     }
 
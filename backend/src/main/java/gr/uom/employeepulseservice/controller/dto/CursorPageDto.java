@@ -0,0 +1,10 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+import java.util.List;
+
+// A page of a keyset-paged listing; nextCursor is null on the last page
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
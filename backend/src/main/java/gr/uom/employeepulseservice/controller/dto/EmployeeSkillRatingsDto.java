@@ -0,0 +1,11 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+import java.util.List;
+
+public record EmployeeSkillRatingsDto(
+        Integer employeeId,
+        String firstName,
+        String lastName,
+        List<SkillToRatingDto> skills
+) {
+}
@@ -0,0 +1,13 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+// Counters of a second-level cache region since startup
+public record EntityCacheRegionStatsDto(
+        String region,
+        long size,
+        long maximumSize,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long putCount
+) {
+}
@@ -0,0 +1,13 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+import java.util.List;
+
+// Counters of the Hibernate second-level cache since startup; the query cache counts cached query results found,
+// missing or stale and stored
+public record EntityCacheStatsDto(
+        List<EntityCacheRegionStatsDto> regions,
+        long queryCacheHitCount,
+        long queryCacheMissCount,
+        long queryCachePutCount
+) {
+}
@@ -0,0 +1,22 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+import gr.uom.employeepulseservice.model.ImportEntityType;
+import gr.uom.employeepulseservice.model.ImportJobStatus;
+import gr.uom.employeepulseservice.model.ImportMode;
+
+import java.time.LocalDateTime;
+
+public record ImportJobDto(
+        Integer id,
+        ImportEntityType entityType,
+        ImportMode mode,
+        ImportJobStatus status,
+        int chunkSize,
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        String failureMessage,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
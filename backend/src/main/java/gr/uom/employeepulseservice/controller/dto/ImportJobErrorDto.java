@@ -0,0 +1,7 @@
+package gr.uom.employeepulseservice.controller.dto;
+
+public record ImportJobErrorDto(
+        long rowNumber,
+        String message
+) {
+}
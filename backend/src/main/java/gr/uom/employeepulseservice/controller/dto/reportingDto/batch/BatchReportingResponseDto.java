@@ -0,0 +1,15 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.batch;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+
+import java.util.Map;
+
+// Reports of several departments and employees of one organization, keyed by department and employee id
+public record BatchReportingResponseDto(
+        Integer organizationId,
+        String organizationName,
+        Map<Integer, OrgDeptReportingResponseDto> departments,
+        Map<Integer, EmployeeReportingResponseDto> employees
+) {
+}
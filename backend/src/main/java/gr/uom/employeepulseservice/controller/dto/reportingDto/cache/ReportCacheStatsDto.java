@@ -0,0 +1,13 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.cache;
+
+// Counters of the report cache since startup
+public record ReportCacheStatsDto(
+        boolean enabled,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long invalidationCount
+) {
+}
@@ -9,6 +9,8 @@ public record OrgDeptReportingPeriodDto(
         Double minRating,
         Double maxRating,
         Long sampleCount,
-        Long employeeCount
+        Long employeeCount,
+        // Null when no entry of the period has a rating
+        RatingDistributionDto distribution
 ) {
 }
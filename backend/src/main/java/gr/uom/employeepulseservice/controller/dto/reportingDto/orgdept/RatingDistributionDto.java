@@ -0,0 +1,13 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept;
+
+import java.util.List;
+
+// Rating percentiles and histogram of one org/department skill period, read from a mergeable rating histogram
+public record RatingDistributionDto(
+        Double p25,
+        Double p50,
+        Double p75,
+        Double p90,
+        List<RatingHistogramBucketDto> histogram
+) {
+}
@@ -0,0 +1,9 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept;
+
+// Number of ratings from lowerBound (inclusive) to upperBound (exclusive, inclusive for the last bucket)
+public record RatingHistogramBucketDto(
+        Double lowerBound,
+        Double upperBound,
+        Long count
+) {
+}
@@ -0,0 +1,12 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.query;
+
+// Counters of the reporting statement catalog since startup, plus the server-side statistics sampled from the one
+// pooled connection that served the request
+public record ReportQueryStatsDto(
+        long statements,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        SampledConnectionStatsDto sampledConnection
+) {
+}
@@ -0,0 +1,11 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.query;
+
+// Server-side prepared statements of a single pooled connection. Postgres keeps them per session and exposes only the
+// current session's, so these are a sample of one connection, not totals over the pool: the other connections hold
+// their own statements and plan counts.
+public record SampledConnectionStatsDto(
+        long serverPreparedStatements,
+        long genericPlanCount,
+        long customPlanCount
+) {
+}
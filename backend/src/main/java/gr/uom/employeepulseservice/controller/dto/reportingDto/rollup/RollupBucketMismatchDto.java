@@ -0,0 +1,23 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.rollup;
+
+import java.time.LocalDate;
+
+// One rollup bucket whose stored aggregates differ from the aggregates computed through the reporting views
+public record RollupBucketMismatchDto(
+        Integer organizationId,
+        Integer departmentId,
+        Integer skillId,
+        String periodType,
+        LocalDate periodStart,
+        Long expectedSampleCount,
+        Long actualSampleCount,
+        Double expectedAvgRating,
+        Double actualAvgRating,
+        Double expectedMinRating,
+        Double actualMinRating,
+        Double expectedMaxRating,
+        Double actualMaxRating,
+        Long expectedEmployeeCount,
+        Long actualEmployeeCount
+) {
+}
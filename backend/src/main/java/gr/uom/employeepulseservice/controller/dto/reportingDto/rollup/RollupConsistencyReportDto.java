@@ -0,0 +1,12 @@
+package gr.uom.employeepulseservice.controller.dto.reportingDto.rollup;
+
+import java.util.List;
+
+// Result of comparing the rollup tables against the view-based aggregation
+public record RollupConsistencyReportDto(
+        boolean consistent,
+        long rollupBuckets,
+        long mismatchedBuckets,
+        List<RollupBucketMismatchDto> mismatches
+) {
+}
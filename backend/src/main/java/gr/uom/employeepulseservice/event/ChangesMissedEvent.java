@@ -0,0 +1,6 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when this node may have missed changes of other nodes, e.g. after losing the invalidation bus for longer
+// than its replay window: every in-process cache has to be dropped.
+public record ChangesMissedEvent() {
+}
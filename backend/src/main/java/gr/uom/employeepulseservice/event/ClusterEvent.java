@@ -0,0 +1,6 @@
+package gr.uom.employeepulseservice.event;
+
+// Changes every node of the cluster applies to its in-process caches, not only the node that made them.
+// CacheInvalidationBus hands them to the other nodes once the writing transaction commits.
+public interface ClusterEvent {
+}
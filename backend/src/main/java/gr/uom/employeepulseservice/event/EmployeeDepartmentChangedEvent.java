@@ -0,0 +1,12 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when an employee moves to another department. Skill entries keep the department they were written in,
+// but reporting attributes the employee's overall ratings to the current department.
+public record EmployeeDepartmentChangedEvent(
+        Integer employeeId,
+        Integer fromOrganizationId,
+        Integer fromDepartmentId,
+        Integer toOrganizationId,
+        Integer toDepartmentId
+) implements ClusterEvent {
+}
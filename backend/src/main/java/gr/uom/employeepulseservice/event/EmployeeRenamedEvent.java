@@ -0,0 +1,7 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when an employee's first or last name changes, since employee reports carry the name
+public record EmployeeRenamedEvent(
+        Integer employeeId
+) implements ClusterEvent {
+}
@@ -0,0 +1,9 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when an organization or a department is renamed or deleted, since reports resolve their names from memory.
+// departmentId is null when the organization itself changed; organizationId is null for a deleted department.
+public record OrganizationStructureChangedEvent(
+        Integer organizationId,
+        Integer departmentId
+) implements ClusterEvent {
+}
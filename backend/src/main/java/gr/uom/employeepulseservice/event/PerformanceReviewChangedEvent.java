@@ -0,0 +1,25 @@
+package gr.uom.employeepulseservice.event;
+
+import gr.uom.employeepulseservice.model.Employee;
+import gr.uom.employeepulseservice.model.PerformanceReview;
+
+// Published when a performance review is created, updated or deleted, since reports carry the overall ratings.
+// The review is attributed to the current organization/department of the reviewed employee, like the reporting views do.
+public record PerformanceReviewChangedEvent(
+        Integer performanceReviewId,
+        Integer employeeId,
+        Integer organizationId,
+        Integer departmentId
+) implements ClusterEvent {
+
+    public static PerformanceReviewChangedEvent of(PerformanceReview review) {
+        Employee employee = review.getRefersTo();
+
+        return new PerformanceReviewChangedEvent(
+                review.getId(),
+                employee != null ? employee.getId() : null,
+                employee != null && employee.getOrganization() != null ? employee.getOrganization().getId() : null,
+                employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null
+        );
+    }
+}
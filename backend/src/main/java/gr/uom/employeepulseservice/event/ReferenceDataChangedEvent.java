@@ -0,0 +1,10 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when a skill, occupation, organization or department is created, updated or deleted. Hibernate keeps the
+// second-level cache of this node current on its own; other nodes evict their copy. id is null when any entity of the
+// class may have changed.
+public record ReferenceDataChangedEvent(
+        Class<?> entityClass,
+        Integer id
+) implements ClusterEvent {
+}
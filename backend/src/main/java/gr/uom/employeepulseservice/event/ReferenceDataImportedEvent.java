@@ -0,0 +1,8 @@
+package gr.uom.employeepulseservice.event;
+
+// Published when skills or occupations are copied straight into their table, past Hibernate and the second-level
+// cache it keeps current on its own writes.
+public record ReferenceDataImportedEvent(
+        Class<?> entityClass
+) implements ClusterEvent {
+}
@@ -0,0 +1,18 @@
+package gr.uom.employeepulseservice.event;
+
+import org.springframework.context.PayloadApplicationEvent;
+
+// A change committed by another node, published locally by CacheInvalidationBus. Listeners receive the change itself,
+// like a local one; those that write the database with the change or forward it use LOCAL_ONLY, since the node that
+// made the change already did.
+public class RemoteChangeEvent<T extends ClusterEvent> extends PayloadApplicationEvent<T> {
+
+    public static final String LOCAL_ONLY =
+            "!(#root.event instanceof T(gr.uom.employeepulseservice.event.RemoteChangeEvent))";
+    public static final String REMOTE_ONLY =
+            "#root.event instanceof T(gr.uom.employeepulseservice.event.RemoteChangeEvent)";
+
+    public RemoteChangeEvent(Object source, T change) {
+        super(source, change);
+    }
+}
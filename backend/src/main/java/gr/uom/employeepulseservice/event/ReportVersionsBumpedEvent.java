@@ -0,0 +1,20 @@
+package gr.uom.employeepulseservice.event;
+
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+
+import java.util.List;
+import java.util.Map;
+
+// Published right before a transaction commits, after every other change it published, with the report versions it
+// moved: a node that applied this event has applied every change of the transaction
+public record ReportVersionsBumpedEvent(List<BumpedVersion> versions) implements ClusterEvent {
+
+    public record BumpedVersion(ScopeKey scope, long version) {
+    }
+
+    public static ReportVersionsBumpedEvent of(Map<ScopeKey, Long> versions) {
+        return new ReportVersionsBumpedEvent(versions.entrySet().stream()
+                .map(entry -> new BumpedVersion(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+}
@@ -0,0 +1,12 @@
+package gr.uom.employeepulseservice.event;
+
+import java.util.List;
+
+// Published by the services inside the writing transaction whenever skill entries are added or removed.
+// An update of an existing entry is published as the removal of its old state plus the addition of its new state.
+public record SkillEntriesChangedEvent(List<SkillEntryChange> changes) implements ClusterEvent {
+
+    public static SkillEntriesChangedEvent of(SkillEntryChange... changes) {
+        return new SkillEntriesChangedEvent(List.of(changes));
+    }
+}
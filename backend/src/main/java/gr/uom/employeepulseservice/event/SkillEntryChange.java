@@ -0,0 +1,48 @@
+package gr.uom.employeepulseservice.event;
+
+import gr.uom.employeepulseservice.model.Employee;
+import gr.uom.employeepulseservice.model.SkillEntry;
+
+import java.time.LocalDate;
+
+// Snapshot of a single skill entry write, taken while the entry and its employee are still attached
+public record SkillEntryChange(
+        ChangeType type,
+        Integer skillEntryId,
+        Integer organizationId,
+        Integer departmentId,
+        Integer employeeId,
+        Integer skillId,
+        LocalDate entryDate,
+        Double rating
+) {
+
+    public enum ChangeType {
+        ADDED,
+        REMOVED
+    }
+
+    public static SkillEntryChange added(SkillEntry entry) {
+        return of(ChangeType.ADDED, entry);
+    }
+
+    public static SkillEntryChange removed(SkillEntry entry) {
+        return of(ChangeType.REMOVED, entry);
+    }
+
+    // The entry is attributed to its organization/department snapshot, not to the employee's current department
+    private static SkillEntryChange of(ChangeType type, SkillEntry entry) {
+        Employee employee = entry.getEmployee();
+
+        return new SkillEntryChange(
+                type,
+                entry.getId(),
+                entry.getOrganizationId(),
+                entry.getDepartmentId(),
+                employee != null ? employee.getId() : null,
+                entry.getSkill() != null ? entry.getSkill().getId() : null,
+                entry.getEntryDate(),
+                entry.getRating()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package gr.uom.employeepulseservice.mapper;
+
+import gr.uom.employeepulseservice.controller.dto.ImportJobDto;
+import gr.uom.employeepulseservice.controller.dto.ImportJobErrorDto;
+import gr.uom.employeepulseservice.model.ImportJob;
+import gr.uom.employeepulseservice.model.ImportJobError;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ImportJobMapper {
+
+    ImportJobDto toDto(ImportJob importJob);
+
+    ImportJobErrorDto toErrorDto(ImportJobError importJobError);
+}
@@ -1,14 +1,26 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "departments")
-public class Department {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
+// What DepartmentMapper.toDto reads
+@NamedEntityGraph(name = Department.DETAILS_GRAPH, attributeNodes = @NamedAttributeNode("manager"))
+public class Department extends IdentifiedEntity {
+
+    public static final String DETAILS_GRAPH = "Department.details";
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
@@ -17,14 +29,17 @@ public class Department {
 
     private String name;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id")
     private Organization organization;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
     private Employee manager;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "department", orphanRemoval = true, cascade = CascadeType.ALL)
     private List<Employee> employees;
 
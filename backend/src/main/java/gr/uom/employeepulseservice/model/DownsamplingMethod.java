@@ -0,0 +1,8 @@
+package gr.uom.employeepulseservice.model;
+
+public enum DownsamplingMethod {
+    // Largest-Triangle-Three-Buckets: one point per bucket, the one preserving the visual shape of the series
+    LTTB,
+    // The lowest and the highest point of every bucket, so no extreme rating is lost
+    MIN_MAX
+}
@@ -1,17 +1,29 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "employees")
-public class Employee {
+// What EmployeeMapper.toDto reads besides the skill entries, which are batch fetched
+@NamedEntityGraph(name = Employee.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("department"),
+        @NamedAttributeNode("occupation")
+})
+public class Employee extends IdentifiedEntity {
+
+    public static final String DETAILS_GRAPH = "Employee.details";
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
@@ -26,22 +38,29 @@ public class Employee {
 
     private LocalDate hireDate;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id")
     private Organization organization;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "occupation_id")
     private Occupation occupation;
 
+    // Initialized for up to 100 employees of a listing at once
+    @BatchSize(size = 100)
+    @ToString.Exclude
     @OneToMany(orphanRemoval = true, cascade = CascadeType.ALL)
     @JoinColumn(name = "employee_id")
     private List<SkillEntry> skillEntries;
 
+    @ToString.Exclude
     @OneToMany(orphanRemoval = true, cascade = CascadeType.ALL)
     @JoinColumn(name = "employee_id")
     private List<PerformanceReview> performanceReviews;
@@ -0,0 +1,8 @@
+package gr.uom.employeepulseservice.model;
+
+public enum EmployeeCountMode {
+    // COUNT(DISTINCT employee_id) over the entries of each skill period
+    EXACT,
+    // Estimated from the HyperLogLog sketches kept beside the rollups, see HyperLogLog for the error bound
+    APPROXIMATE
+}
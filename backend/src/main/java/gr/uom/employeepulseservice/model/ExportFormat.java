@@ -0,0 +1,24 @@
+package gr.uom.employeepulseservice.model;
+
+public enum ExportFormat {
+    // One JSON object per line
+    NDJSON("application/x-ndjson", "ndjson"),
+    // Comma separated values with a header line
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+}
@@ -0,0 +1,34 @@
+package gr.uom.employeepulseservice.model;
+
+import org.hibernate.proxy.HibernateProxy;
+
+// Identity of the entities by their id: instances of the same row are equal, lazy proxies included, and unsaved
+// instances only equal themselves. The hash code does not change when an instance is saved. Never reads a field, so
+// comparing or hashing never initializes a proxy or walks an association.
+public abstract class IdentifiedEntity {
+
+    public abstract Integer getId();
+
+    @Override
+    public final boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof IdentifiedEntity entity) || entityClass(this) != entityClass(entity)) {
+            return false;
+        }
+        Integer id = getId();
+        return id != null && id.equals(entity.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return entityClass(this).hashCode();
+    }
+
+    private static Class<?> entityClass(Object entity) {
+        return entity instanceof HibernateProxy proxy
+                ? proxy.getHibernateLazyInitializer().getPersistentClass()
+                : entity.getClass();
+    }
+}
@@ -0,0 +1,8 @@
+package gr.uom.employeepulseservice.model;
+
+// What an import job's payload holds: a JSON array of SaveEmployeeDto, SaveSkillDto or SaveOccupationDto
+public enum ImportEntityType {
+    EMPLOYEES,
+    SKILLS,
+    OCCUPATIONS
+}
@@ -0,0 +1,43 @@
+package gr.uom.employeepulseservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob extends IdentifiedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_jobs_seq")
+    @SequenceGenerator(name = "import_jobs_seq", allocationSize = 1)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    private ImportEntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    private ImportMode mode;
+
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    private int chunkSize;
+
+    // Leading rows of the payload already committed, imported or rejected
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+
+    @Column(name = "failure_message", length = 1000)
+    private String failureMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
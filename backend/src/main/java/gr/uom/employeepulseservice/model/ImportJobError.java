@@ -0,0 +1,27 @@
+package gr.uom.employeepulseservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "import_job_errors")
+public class ImportJobError extends IdentifiedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_seq")
+    @SequenceGenerator(name = "import_job_errors_seq", allocationSize = 1)
+    private Integer id;
+
+    private Integer importJobId;
+
+    // Position of the rejected row in the payload, from 1
+    private long rowNumber;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+}
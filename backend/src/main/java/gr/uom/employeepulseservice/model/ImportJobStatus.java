@@ -0,0 +1,10 @@
+package gr.uom.employeepulseservice.model;
+
+public enum ImportJobStatus {
+    // Created, waiting for its payload
+    PENDING,
+    RUNNING,
+    // Stopped before the end of its payload; uploading the payload again resumes it
+    FAILED,
+    COMPLETED
+}
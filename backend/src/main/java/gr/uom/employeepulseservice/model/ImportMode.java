@@ -0,0 +1,8 @@
+package gr.uom.employeepulseservice.model;
+
+public enum ImportMode {
+    // Mapped to entities and saved through their repository, one insert per row
+    ENTITIES,
+    // Streamed into the table with COPY, for large catalogs such as ESCO's
+    COPY
+}
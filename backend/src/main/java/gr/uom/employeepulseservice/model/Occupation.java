@@ -1,12 +1,20 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "occupations")
-public class Occupation {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "occupations")
+public class Occupation extends IdentifiedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "occupations_seq")
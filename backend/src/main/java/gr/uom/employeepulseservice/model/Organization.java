@@ -1,15 +1,23 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "organizations")
-public class Organization {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organizations")
+public class Organization extends IdentifiedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizations_seq")
@@ -20,6 +28,7 @@ public class Organization {
 
     private String location;
 
+    @ToString.Exclude
     @OneToMany(mappedBy = "organization", orphanRemoval = true, cascade = CascadeType.ALL)
     private List<Department> departments = new ArrayList<>();
 }
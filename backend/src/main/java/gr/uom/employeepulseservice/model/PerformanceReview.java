@@ -1,16 +1,30 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "performance_reviews")
-public class PerformanceReview {
+// What PerformanceReviewMapper.toDto reads besides the skill entries, which are batch fetched
+@NamedEntityGraph(name = PerformanceReview.LISTING_GRAPH, attributeNodes = {
+        @NamedAttributeNode("reportedBy"),
+        @NamedAttributeNode("refersTo"),
+        @NamedAttributeNode("department")
+})
+public class PerformanceReview extends IdentifiedEntity {
+
+    public static final String LISTING_GRAPH = "PerformanceReview.listing";
+
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performance_reviews_seq")
@@ -21,22 +35,28 @@ public class PerformanceReview {
     private Double overallRating;
 
     //manager that created the performance review
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reporter_id")
     private Employee reportedBy;
 
     //employee that the performance review applies to
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee refersTo;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
     private LocalDate reviewDate;
     private LocalDateTime reviewDateTime;
 
+    // Initialized for up to 100 reviews of a listing at once
+    @BatchSize(size = 100)
+    @ToString.Exclude
     @OneToMany(orphanRemoval = true, cascade = CascadeType.ALL)
     @JoinColumn(name = "performance_review_id")
     private List<SkillEntry> skillEntries;
@@ -1,9 +1,41 @@
 package gr.uom.employeepulseservice.model;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
 public enum PeriodType {
     DAY,
     WEEK,
     MONTH,
     QUARTER,
-    YEAR
+    YEAR;
+
+    // Unit name understood by Postgres date_trunc for this period type
+    public String sqlUnit() {
+        return name().toLowerCase();
+    }
+
+    // Returns the first day of the period containing the given date (same result as Postgres date_trunc)
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), ((date.getMonthValue() - 1) / 3) * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    // Returns the first day of the period that follows the period containing the given date
+    public LocalDate nextPeriodStart(LocalDate date) {
+        LocalDate start = periodStart(date);
+        return switch (this) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+            case QUARTER -> start.plusMonths(3);
+            case YEAR -> start.plusYears(1);
+        };
+    }
 }
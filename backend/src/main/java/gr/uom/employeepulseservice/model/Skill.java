@@ -1,12 +1,23 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "skills")
-public class Skill {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "skills")
+// Initializes the lazy skills of a list of skill entries together
+@BatchSize(size = 100)
+public class Skill extends IdentifiedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skills_seq")
@@ -1,22 +1,27 @@
 package gr.uom.employeepulseservice.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Entity
 @Table(name = "skill_entries")
-public class SkillEntry {
+public class SkillEntry extends IdentifiedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skill_entries_seq")
     @SequenceGenerator(name = "skill_entries_seq", allocationSize = 1)
     private Integer id;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "skill_id")
     private Skill skill;
 
@@ -25,8 +30,20 @@ public class SkillEntry {
     private LocalDate entryDate;
     private LocalDateTime entryDateTime;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
+    // Where the employee worked when the entry was written; reports keep attributing the entry there
+    private Integer organizationId;
+    private Integer departmentId;
+
+    // Sets the employee together with the organization/department snapshot of the entry
+    public void attributeTo(Employee employee) {
+        this.employee = employee;
+        this.organizationId = employee != null && employee.getOrganization() != null ? employee.getOrganization().getId() : null;
+        this.departmentId = employee != null && employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
+
 }
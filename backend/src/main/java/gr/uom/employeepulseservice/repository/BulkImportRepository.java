@@ -0,0 +1,28 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface BulkImportRepository {
+
+    // Streams the rows into their table with COPY, with ids drawn from the table's sequence. Returns the number of rows
+    // copied. The relations of the employees are expected to be validated already.
+    long copySkills(List<SaveSkillDto> skills);
+
+    long copyOccupations(List<SaveOccupationDto> occupations);
+
+    long copyEmployees(List<SaveEmployeeDto> employees);
+
+    // Organization id of each of the departments that exist
+    Map<Integer, Integer> findOrganizationIdsOfDepartments(Collection<Integer> departmentIds);
+
+    Set<Integer> findExistingOrganizationIds(Collection<Integer> organizationIds);
+
+    Set<Integer> findExistingOccupationIds(Collection<Integer> occupationIds);
+}
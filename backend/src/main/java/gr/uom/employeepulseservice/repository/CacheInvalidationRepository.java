@@ -0,0 +1,23 @@
+package gr.uom.employeepulseservice.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// The cache_invalidations outbox: the changes every node applies to its in-process caches, in id order
+public interface CacheInvalidationRepository {
+
+    record CacheInvalidation(long id, String node, String eventType, String payload) {
+    }
+
+    // Written in the current transaction; the notification with the id is only delivered once it commits
+    long append(String channel, String node, String eventType, String payload);
+
+    // The changes of other nodes among the notified ids
+    List<CacheInvalidation> findByIds(Collection<Long> ids, String excludedNode);
+
+    // The changes of other nodes written within the window
+    List<CacheInvalidation> findWrittenWithin(Duration window, String excludedNode);
+
+    int deleteOlderThan(Duration age);
+}
@@ -1,19 +1,33 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Integer> {
 
+    @EntityGraph(Department.DETAILS_GRAPH)
     List<Department> findByOrganizationId(Integer organizationId);
 
+    // findAll and findById with what the department DTOs read
+    @EntityGraph(Department.DETAILS_GRAPH)
+    @Query("select department from Department department")
+    List<Department> findAllWithDetails();
+
+    @EntityGraph(Department.DETAILS_GRAPH)
+    Optional<Department> findWithDetailsById(Integer id);
+
     @Query(value = """
         select case when count(*) > 0 then true else false end
         from departments d
@@ -24,12 +38,14 @@ public interface DepartmentRepository extends JpaRepository<Department, Integer>
     boolean isManagerOfEmployee(@Param("reporterId") Integer reporterId,
                                 @Param("employeeId") Integer employeeId);
 
+    // Native writes name the tables they change, Hibernate would otherwise drop every cached entity and query result
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "departments"))
     @Query(value = """
             UPDATE departments
             SET manager_id = NULL
             WHERE manager_id = :employeeId
             
             """, nativeQuery = true)
-    void deleteManagerOfDepartmentsByEmployeeId(@Param("employeeId") Integer employeeId);
+    int deleteManagerOfDepartmentsByEmployeeId(@Param("employeeId") Integer employeeId);
 }
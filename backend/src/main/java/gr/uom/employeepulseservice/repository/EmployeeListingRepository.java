@@ -0,0 +1,25 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Employee listings read straight into their DTOs: only the listed columns are selected and the skill entry ids of
+// every employee are aggregated by the database, no entity is loaded. Every listing returns up to limit employees
+// following the given key of its order, from the first employee when the key is null.
+public interface EmployeeListingRepository {
+
+    // Position in the newest-hire-first order; employees without a hire date come last
+    record HireDateKey(LocalDate hireDate, Integer id) {
+    }
+
+    // By id
+    List<EmployeeDto> findPage(Integer afterId, int limit);
+
+    // By id
+    List<EmployeeDto> findPageByDepartmentId(Integer departmentId, Integer afterId, int limit);
+
+    // Most recently hired first; only the employees whose full name contains name, ignoring case, when it is given
+    List<EmployeeDto> findPageByOrganizationId(Integer organizationId, String name, HireDateKey after, int limit);
+}
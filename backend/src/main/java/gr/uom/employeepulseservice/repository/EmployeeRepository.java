@@ -1,19 +1,20 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
     boolean existsByDepartmentId(Integer departmentId);
 
-    List<Employee> findByDepartmentId(Integer departmentId);
-
-    List<Employee> findByOrganizationIdOrderByHireDateDesc(Integer organizationId);
+    // findById with what the employee DTO reads; the listings go through EmployeeListingRepository
+    @EntityGraph(Employee.DETAILS_GRAPH)
+    Optional<Employee> findWithDetailsById(Integer id);
 
     boolean existsByEmail(String email);
 
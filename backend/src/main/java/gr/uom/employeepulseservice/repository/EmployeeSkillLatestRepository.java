@@ -0,0 +1,26 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.controller.dto.EmployeeSkillRatingsDto;
+import gr.uom.employeepulseservice.controller.dto.SkillToRatingDto;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeSkillLatestRepository {
+
+    record EmployeeSkill(Integer employeeId, Integer skillId) {
+    }
+
+    // Replaces the latest entry of each employee and skill by the newly written entries that are more recent
+    void addEntries(List<SkillEntryChange> changes);
+
+    // Looks the latest entry of the given employees and skills up again (needed after removals)
+    void refresh(Collection<EmployeeSkill> keys);
+
+    // Latest rating of every skill of the employee, most recent first
+    List<SkillToRatingDto> findByEmployeeId(Integer employeeId);
+
+    // Latest ratings of every current employee of the department, employees without skill entries included
+    List<EmployeeSkillRatingsDto> findByDepartmentId(Integer departmentId);
+}
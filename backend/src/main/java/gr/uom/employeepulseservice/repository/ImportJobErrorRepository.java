@@ -0,0 +1,11 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.model.ImportJobError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Integer> {
+
+    Page<ImportJobError> findByImportJobIdOrderByRowNumber(Integer importJobId, Pageable pageable);
+}
@@ -0,0 +1,67 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.model.ImportJob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+// The native updates name import_jobs as the only table they change, so they leave the second-level cache alone
+public interface ImportJobRepository extends JpaRepository<ImportJob, Integer> {
+
+    // Claims the job for a run; returns 0 when it is already running or completed. A running job whose progress is
+    // older than staleAfterSeconds is claimed again: its run died with its node, or is too slow to be waited for.
+    // The other updates only match the run that claimed the job last, and return 0 once another run claimed it.
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "import_jobs"))
+    @Query(value = """
+            UPDATE import_jobs
+            SET status = 'RUNNING', run_token = :run, failure_message = NULL, updated_at = now()
+            WHERE id = :id
+              AND (status IN ('PENDING', 'FAILED')
+                   OR (status = 'RUNNING' AND updated_at < now() - make_interval(secs => :staleAfterSeconds)))
+            """, nativeQuery = true)
+    int start(@Param("id") Integer id, @Param("run") String run, @Param("staleAfterSeconds") long staleAfterSeconds);
+
+    // Runs in the transaction of the chunk it records
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "import_jobs"))
+    @Query(value = """
+            UPDATE import_jobs
+            SET processed_rows = :processedRows,
+                imported_rows  = imported_rows + :importedRows,
+                failed_rows    = failed_rows + :failedRows,
+                updated_at     = now()
+            WHERE id = :id AND run_token = :run
+            """, nativeQuery = true)
+    int recordChunk(@Param("id") Integer id,
+                    @Param("run") String run,
+                    @Param("processedRows") long processedRows,
+                    @Param("importedRows") long importedRows,
+                    @Param("failedRows") long failedRows);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "import_jobs"))
+    @Query(value = """
+            UPDATE import_jobs
+            SET status = 'COMPLETED', updated_at = now()
+            WHERE id = :id AND run_token = :run
+            """, nativeQuery = true)
+    int complete(@Param("id") Integer id, @Param("run") String run);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "import_jobs"))
+    @Query(value = """
+            UPDATE import_jobs
+            SET status = 'FAILED', failure_message = left(:message, 1000), updated_at = now()
+            WHERE id = :id AND run_token = :run
+            """, nativeQuery = true)
+    int fail(@Param("id") Integer id, @Param("run") String run, @Param("message") String message);
+}
@@ -1,8 +1,11 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.Occupation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +22,8 @@ public interface OccupationRepository extends JpaRepository<Occupation, Integer>
     """)
     List<Occupation> findOccupationsByOrganizationId(@Param("organizationId") Integer organizationId);
 
+    // Cached query, the occupation search runs on every keystroke
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("""
         SELECT o
         FROM Occupation o
@@ -1,9 +1,19 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.Organization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, Integer> {
+
+    // Cached query: the organization ids, the organizations themselves come from their cache region
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Organization> findAll();
 }
@@ -0,0 +1,10 @@
+package gr.uom.employeepulseservice.repository;
+
+import java.time.LocalDate;
+
+public interface PartitionRepository {
+
+    // Creates the missing quarterly partitions of the table between the two dates, along with those of the rows held by
+    // its default partition. Returns the number of partitions created.
+    int ensureQuarterlyPartitions(String table, LocalDate from, LocalDate to);
+}
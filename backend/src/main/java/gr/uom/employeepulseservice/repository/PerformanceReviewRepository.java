@@ -1,43 +1,133 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.PerformanceReview;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Integer> {
 
+    // findById with what the review DTO reads
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    Optional<PerformanceReview> findWithDetailsById(Integer id);
+
+    // The listings below are keyset paged, newest first: they return up to limit reviews that come before the given
+    // (reviewDateTime, id) in that order
+
     // by exact date
-    List<PerformanceReview> findAllByReviewDate(LocalDate date);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.reviewDate = :date
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByReviewDate(@Param("date") LocalDate date,
+                                                 @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                 @Param("beforeId") Integer beforeId, Limit limit);
 
     // by date range (inclusive)
-    List<PerformanceReview> findAllByReviewDateBetween(LocalDate from, LocalDate to);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.reviewDate between :from and :to
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByReviewDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                        @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                        @Param("beforeId") Integer beforeId, Limit limit);
 
     // by employee (reviewed person)
-    List<PerformanceReview> findAllByRefersToId(Integer employeeId);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.refersTo.id = :employeeId
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByRefersToId(@Param("employeeId") Integer employeeId,
+                                                 @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                 @Param("beforeId") Integer beforeId, Limit limit);
 
     // by reviewer (reporter/manager)
-    List<PerformanceReview> findAllByReportedById(Integer reporterId);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.reportedBy.id = :reporterId
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByReportedById(@Param("reporterId") Integer reporterId,
+                                                   @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                   @Param("beforeId") Integer beforeId, Limit limit);
 
     // by department
-    List<PerformanceReview> findAllByDepartmentId(Integer departmentId);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.department.id = :departmentId
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByDepartmentId(@Param("departmentId") Integer departmentId,
+                                                   @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                   @Param("beforeId") Integer beforeId, Limit limit);
 
-    // by organization, ordered by date desc
-    List<PerformanceReview> findAllByDepartmentOrganizationIdOrderByReviewDateTimeDesc(Integer organizationId);
+    // by organization
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.department.organization.id = :organizationId
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByOrganizationId(@Param("organizationId") Integer organizationId,
+                                                     @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                     @Param("beforeId") Integer beforeId, Limit limit);
 
     // by occupation (of reviewed employee)
-    List<PerformanceReview> findAllByRefersToOccupationId(Integer occupationId);
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
+    @Query("""
+        select performanceReview
+        from PerformanceReview performanceReview
+        where performanceReview.refersTo.occupation.id = :occupationId
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
+    """)
+    List<PerformanceReview> findPageByOccupationId(@Param("occupationId") Integer occupationId,
+                                                   @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                                   @Param("beforeId") Integer beforeId, Limit limit);
 
     // by skill included in the review's skill entries
+    @EntityGraph(PerformanceReview.LISTING_GRAPH)
     @Query("""
-        select distinct performanceReview
+        select performanceReview
         from PerformanceReview performanceReview
-        join performanceReview.skillEntries skillEntries
-        where skillEntries.skill.id = :skillId
+        where exists (
+            select 1
+            from performanceReview.skillEntries skillEntries
+            where skillEntries.skill.id = :skillId
+          )
+          and (performanceReview.reviewDateTime, performanceReview.id) < (:beforeDateTime, :beforeId)
+        order by performanceReview.reviewDateTime desc, performanceReview.id desc
     """)
-    List<PerformanceReview> findAllBySkillId(Integer skillId);
+    List<PerformanceReview> findPageBySkillId(@Param("skillId") Integer skillId,
+                                              @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                              @Param("beforeId") Integer beforeId, Limit limit);
 }
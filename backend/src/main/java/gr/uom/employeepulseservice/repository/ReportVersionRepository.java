@@ -0,0 +1,42 @@
+package gr.uom.employeepulseservice.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+// The report_versions table: a version per reported scope, shared by every node
+public interface ReportVersionRepository {
+
+    enum Scope {
+        // Every scope at once
+        ALL,
+        ORGANIZATION,
+        // Names of an organization, carried by its department reports as well
+        ORGANIZATION_NAME,
+        DEPARTMENT,
+        EMPLOYEE
+    }
+
+    record ScopeKey(Scope scope, int id) {
+
+        public static final ScopeKey ALL = new ScopeKey(Scope.ALL, 0);
+    }
+
+    // The versions of some scopes, 0 for a scope without a row, and their latest modification
+    record ScopeVersion(Map<ScopeKey, Long> versions, Instant modifiedAt) {
+
+        // Each version only grows, so the sum moves whenever one of the scopes does, whatever order the writers
+        // commit in
+        public long version() {
+            return versions.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    // Written in the current transaction; returns the version every scope was bumped to
+    Map<ScopeKey, Long> bump(Collection<ScopeKey> scopes);
+
+    ScopeVersion find(Collection<ScopeKey> scopes);
+
+    // The version of every scope with a row
+    Map<ScopeKey, Long> findAll();
+}
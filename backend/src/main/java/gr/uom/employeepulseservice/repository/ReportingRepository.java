@@ -1,22 +1,46 @@
 package gr.uom.employeepulseservice.repository;
 
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineRowDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineRowDto;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
 import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReportingRepository {
 
-    // Returns aggregated reporting stats for an organization and department
+    // Returns aggregated reporting stats for an organization and department; employee counts are exact unless
+    // employeeCountMode is APPROXIMATE (defaults to EXACT)
     OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
                                                                      Integer organizationId,
                                                                      Integer departmentId,
                                                                      Integer skillId,
                                                                      LocalDate startDate,
-                                                                     LocalDate endDate);
+                                                                     LocalDate endDate,
+                                                                     EmployeeCountMode employeeCountMode);
+
+    // The same report at the given report version or newer: what a node holds in memory is used only once it has
+    // caught up with that version, so a report is never older than the ETag it goes out with
+    default OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
+                                                                             Integer organizationId,
+                                                                             Integer departmentId,
+                                                                             Integer skillId,
+                                                                             LocalDate startDate,
+                                                                             LocalDate endDate,
+                                                                             EmployeeCountMode employeeCountMode,
+                                                                             ScopeVersion version) {
+        return getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate, endDate,
+                employeeCountMode);
+    }
 
     // Returns aggregated reporting stats for an employee
     EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
@@ -25,17 +49,87 @@ public interface ReportingRepository {
                                                      LocalDate startDate,
                                                      LocalDate endDate);
 
-    // Returns timeline data for all skills of an employee
-    EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId, Integer skillId, LocalDate startDate, LocalDate endDate);
+    // The same report at the given report version or newer
+    default EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
+                                                             Integer employeeId,
+                                                             Integer skillId,
+                                                             LocalDate startDate,
+                                                             LocalDate endDate,
+                                                             ScopeVersion version) {
+        return getReportByEmployee(periodType, employeeId, skillId, startDate, endDate);
+    }
+
+    // Returns the reports of several departments (all departments of the organization when departmentIds is null) and
+    // employees of an organization, computed by statements grouped per department and employee instead of report by
+    // report. Departments and employees outside the organization are left out.
+    BatchReportingResponseDto getBatchReport(PeriodType periodType,
+                                             Integer organizationId,
+                                             List<Integer> departmentIds,
+                                             List<Integer> employeeIds,
+                                             Integer skillId,
+                                             LocalDate startDate,
+                                             LocalDate endDate);
+
+    // Returns timeline data for all skills of an employee; with maxPoints each skill series is downsampled to at most
+    // that many points (downsampling defaults to MIN_MAX)
+    EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                Integer skillId,
+                                                                LocalDate startDate,
+                                                                LocalDate endDate,
+                                                                Integer maxPoints,
+                                                                DownsamplingMethod downsampling);
 
-    // Returns timeline data for all skills in an organization/department
+    // The same timeline at the given report version or newer
+    default EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                        Integer skillId,
+                                                                        LocalDate startDate,
+                                                                        LocalDate endDate,
+                                                                        Integer maxPoints,
+                                                                        DownsamplingMethod downsampling,
+                                                                        ScopeVersion version) {
+        return getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling);
+    }
+
+    // Returns timeline data for all skills in an organization/department; with maxPoints each skill series is
+    // downsampled to at most that many points (downsampling defaults to MIN_MAX)
     OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(
             Integer organizationId,
             Integer departmentId,
             Integer skillId,
             LocalDate startDate,
-            LocalDate endDate
+            LocalDate endDate,
+            Integer maxPoints,
+            DownsamplingMethod downsampling
     );
 
-}
+    // The same timeline at the given report version or newer
+    default OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(
+            Integer organizationId,
+            Integer departmentId,
+            Integer skillId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer maxPoints,
+            DownsamplingMethod downsampling,
+            ScopeVersion version
+    ) {
+        return getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate,
+                maxPoints, downsampling);
+    }
 
+    // Streams the timeline rows of an employee one by one, in timeline order, without collecting them
+    void streamSkillTimelineByEmployee(Integer employeeId,
+                                       Integer skillId,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       Consumer<EmployeeSkillTimelineRowDto> consumer);
+
+    // Streams the timeline rows of an organization/department one by one, in timeline order, without collecting them
+    void streamSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                        Integer departmentId,
+                                                        Integer skillId,
+                                                        LocalDate startDate,
+                                                        LocalDate endDate,
+                                                        Consumer<OrgDeptSkillTimelineRowDto> consumer);
+
+}
@@ -0,0 +1,12 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.model.SkillEntry;
+
+import java.util.List;
+
+public interface SkillEntryBatchRepository {
+
+    // Inserts new entries of the review in one batch, past the persistence context. Their ids are drawn from
+    // skill_entries_seq in one round trip and set on the entries.
+    void insertReviewEntries(Integer performanceReviewId, List<SkillEntry> entries);
+}
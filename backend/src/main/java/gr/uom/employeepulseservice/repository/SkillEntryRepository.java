@@ -14,16 +14,9 @@ public interface SkillEntryRepository extends JpaRepository<SkillEntry, Integer>
     @Query("""
         SELECT se
         FROM SkillEntry se
+        JOIN FETCH se.skill
         WHERE se.employee.id = :employeeId
         ORDER BY se.entryDate DESC
     """)
     List<SkillEntry> findAllByEmployeeIdOrderByEntryDateDesc(@Param("employeeId") Integer employeeId);
-
-    @Query("""
-        SELECT CASE WHEN COUNT(se) > 0 THEN true ELSE false END
-        FROM SkillEntry se
-        WHERE se.id = :id AND se.employee.id = :employeeId
-    """)
-    boolean existsByIdAndEmployeeId(@Param("id") Integer id,
-                                    @Param("employeeId") Integer employeeId);
 }
@@ -0,0 +1,27 @@
+package gr.uom.employeepulseservice.repository;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupConsistencyReportDto;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SkillRatingRollupRepository {
+
+    // Identifies the rollup buckets (one per period type) that a skill entry of the given day falls into
+    record BucketKey(Integer organizationId, Integer departmentId, Integer skillId, LocalDate entryDate) {
+    }
+
+    // Adds newly written skill entries to the buckets of every period type
+    void addEntries(List<SkillEntryChange> changes);
+
+    // Recomputes the given buckets from the raw skill entries (needed after removals, since min/max cannot be decremented)
+    void refreshBuckets(Collection<BucketKey> keys);
+
+    // Drops all rollups and backfills them from the existing skill entries
+    void rebuild();
+
+    // Compares every rollup bucket against the aggregation computed through the reporting views
+    RollupConsistencyReportDto checkConsistency(int maxMismatches);
+}
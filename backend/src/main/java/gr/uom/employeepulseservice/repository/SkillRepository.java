@@ -1,8 +1,11 @@
 package gr.uom.employeepulseservice.repository;
 
 import gr.uom.employeepulseservice.model.Skill;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -27,8 +30,12 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
     """)
     List<Skill> findSkillsByDepartmentId(Integer departmentId);
 
+    // Cached queries: the generated skill entries resolve the same ESCO skills over and over, and the skill search
+    // runs on every keystroke
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Skill findByEscoId(String escoId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("""
         SELECT s
         FROM Skill s
@@ -0,0 +1,141 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.repository.BulkImportRepository;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.SQLException;
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class BulkImportRepositoryImpl implements BulkImportRepository {
+
+    // Ids are reserved a block at a time, in one round trip, and each block is copied before reserving the next:
+    // no other statement can run on the connection while a COPY is in progress
+    static final int ID_BLOCK_SIZE = 10_000;
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(CAST(:sequence AS regclass)) FROM generate_series(1, :count)";
+
+    private static final String COPY_SKILLS_SQL =
+            "COPY skills (id, name, description, esco_id) FROM STDIN";
+
+    private static final String COPY_OCCUPATIONS_SQL =
+            "COPY occupations (id, title, description, esco_id) FROM STDIN";
+
+    private static final String COPY_EMPLOYEES_SQL = """
+            COPY employees (id, first_name, last_name, email, hire_date, organization_id, department_id, occupation_id)
+                FROM STDIN
+            """;
+
+    private static final String FIND_DEPARTMENTS_SQL =
+            "SELECT id, organization_id FROM departments WHERE id = ANY(:ids)";
+
+    private static final String FIND_ORGANIZATIONS_SQL =
+            "SELECT id FROM organizations WHERE id = ANY(:ids)";
+
+    private static final String FIND_OCCUPATIONS_SQL =
+            "SELECT id FROM occupations WHERE id = ANY(:ids)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public long copySkills(List<SaveSkillDto> skills) {
+        return copy("skills_seq", COPY_SKILLS_SQL, skills, (writer, id, skill) -> writer
+                .column(id)
+                .column(skill.name())
+                .column(skill.description())
+                .column(skill.escoId()));
+    }
+
+    @Override
+    public long copyOccupations(List<SaveOccupationDto> occupations) {
+        return copy("occupations_seq", COPY_OCCUPATIONS_SQL, occupations, (writer, id, occupation) -> writer
+                .column(id)
+                .column(occupation.title())
+                .column(occupation.description())
+                .column(occupation.escoId()));
+    }
+
+    @Override
+    public long copyEmployees(List<SaveEmployeeDto> employees) {
+        return copy("employees_seq", COPY_EMPLOYEES_SQL, employees, (writer, id, employee) -> writer
+                .column(id)
+                .column(employee.firstName())
+                .column(employee.lastName())
+                .column(employee.email())
+                .column(employee.hireDate())
+                .column(employee.organizationId())
+                .column(employee.departmentId())
+                .column(employee.occupationId()));
+    }
+
+    @Override
+    public Map<Integer, Integer> findOrganizationIdsOfDepartments(Collection<Integer> departmentIds) {
+        Map<Integer, Integer> organizationIds = new HashMap<>();
+        jdbc.query(FIND_DEPARTMENTS_SQL, idsParameter(departmentIds),
+                (RowCallbackHandler) rs -> organizationIds.put(rs.getInt("id"), rs.getObject("organization_id", Integer.class)));
+        return organizationIds;
+    }
+
+    @Override
+    public Set<Integer> findExistingOrganizationIds(Collection<Integer> organizationIds) {
+        return new HashSet<>(jdbc.queryForList(FIND_ORGANIZATIONS_SQL, idsParameter(organizationIds), Integer.class));
+    }
+
+    @Override
+    public Set<Integer> findExistingOccupationIds(Collection<Integer> occupationIds) {
+        return new HashSet<>(jdbc.queryForList(FIND_OCCUPATIONS_SQL, idsParameter(occupationIds), Integer.class));
+    }
+
+    private <T> long copy(String sequence, String copySql, List<T> rows, RowColumns<T> rowColumns) {
+        long copied = 0;
+        for (int from = 0; from < rows.size(); from += ID_BLOCK_SIZE) {
+            List<T> block = rows.subList(from, Math.min(from + ID_BLOCK_SIZE, rows.size()));
+            List<Integer> ids = reserveIds(sequence, block.size());
+
+            // Runs on the connection of the surrounding transaction
+            Long blockCopied = jdbc.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                CopyRowWriter writer = new CopyRowWriter(copyManager.copyIn(copySql));
+                try {
+                    for (int i = 0; i < block.size(); i++) {
+                        rowColumns.write(writer, ids.get(i), block.get(i));
+                        writer.endRow();
+                    }
+                    return writer.finish();
+                } catch (SQLException | RuntimeException e) {
+                    writer.abort();
+                    throw e;
+                }
+            });
+            copied += blockCopied != null ? blockCopied : 0;
+        }
+        return copied;
+    }
+
+    private List<Integer> reserveIds(String sequence, int count) {
+        return jdbc.queryForList(RESERVE_IDS_SQL, new MapSqlParameterSource()
+                .addValue("sequence", sequence)
+                .addValue("count", count), Integer.class);
+    }
+
+    private static MapSqlParameterSource idsParameter(Collection<Integer> ids) {
+        return new MapSqlParameterSource("ids", ids.toArray(Integer[]::new));
+    }
+
+    @FunctionalInterface
+    private interface RowColumns<T> {
+        void write(CopyRowWriter writer, Integer id, T row);
+    }
+}
@@ -0,0 +1,90 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.repository.CacheInvalidationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CacheInvalidationRepositoryImpl implements CacheInvalidationRepository {
+
+    // The payload stays in the table, NOTIFY payloads are limited to 8000 bytes
+    private static final String APPEND_SQL = """
+            WITH appended AS (
+                INSERT INTO cache_invalidations (node, event_type, payload)
+                VALUES (:node, :eventType, :payload)
+                RETURNING id
+            )
+            SELECT id, pg_notify(:channel, id::text) FROM appended
+            """;
+
+    private static final String FIND_BY_IDS_SQL = """
+            SELECT id, node, event_type, payload
+            FROM cache_invalidations
+            WHERE id IN (:ids)
+              AND node <> :node
+            ORDER BY id
+            """;
+
+    private static final String FIND_WRITTEN_WITHIN_SQL = """
+            SELECT id, node, event_type, payload
+            FROM cache_invalidations
+            WHERE created_at > now() - make_interval(secs => :seconds)
+              AND node <> :node
+            ORDER BY id
+            """;
+
+    private static final String DELETE_OLDER_THAN_SQL = """
+            DELETE FROM cache_invalidations
+            WHERE created_at < now() - make_interval(secs => :seconds)
+            """;
+
+    private static final RowMapper<CacheInvalidation> ROW_MAPPER = (rs, rowNum) -> new CacheInvalidation(
+            rs.getLong("id"),
+            rs.getString("node"),
+            rs.getString("event_type"),
+            rs.getString("payload")
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public long append(String channel, String node, String eventType, String payload) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("channel", channel)
+                .addValue("node", node)
+                .addValue("eventType", eventType)
+                .addValue("payload", payload);
+
+        return jdbc.queryForObject(APPEND_SQL, params, (rs, rowNum) -> rs.getLong("id"));
+    }
+
+    @Override
+    public List<CacheInvalidation> findByIds(Collection<Long> ids, String excludedNode) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.query(FIND_BY_IDS_SQL, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("node", excludedNode), ROW_MAPPER);
+    }
+
+    @Override
+    public List<CacheInvalidation> findWrittenWithin(Duration window, String excludedNode) {
+        return jdbc.query(FIND_WRITTEN_WITHIN_SQL, new MapSqlParameterSource()
+                .addValue("seconds", window.toSeconds())
+                .addValue("node", excludedNode), ROW_MAPPER);
+    }
+
+    @Override
+    public int deleteOlderThan(Duration age) {
+        return jdbc.update(DELETE_OLDER_THAN_SQL, new MapSqlParameterSource("seconds", age.toSeconds()));
+    }
+}
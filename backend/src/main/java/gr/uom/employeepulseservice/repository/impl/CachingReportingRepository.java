@@ -0,0 +1,350 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.cache.ReportCacheStatsDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineRowDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineRowDto;
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import gr.uom.employeepulseservice.repository.ReportingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Caches org/department and employee reports in front of the columnar (or, until it is loaded, SQL) repository. Entries are dropped after the
+// writing transaction commits, for exactly the organization/department/employee scopes the write touched, or for
+// every report carrying a name that was changed. Reports are cached per report version, so a report is never served
+// under a newer ETag than the data it was computed from, even before the invalidation of the write reached this node;
+// reports asked for without a version are not cached.
+// Timelines and streams are passed through, they are already served by range scans, and so are batches.
+@Repository
+@Primary
+@Slf4j
+public class CachingReportingRepository implements ReportingRepository {
+
+    private final ReportingRepository delegate;
+    private final boolean enabled;
+    private final Cache<ReportKey, Object> cache;
+
+    // Bumped on every invalidation, so a report loaded concurrently with a write is not cached afterwards
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public CachingReportingRepository(ColumnarReportingRepository delegate, ReportingProperties reportingProperties) {
+        ReportingProperties.Cache properties = reportingProperties.getCache();
+
+        this.delegate = delegate;
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    sealed interface ReportKey permits OrgReportKey, EmployeeReportKey {
+    }
+
+    record OrgReportKey(PeriodType periodType,
+                        Integer organizationId,
+                        Integer departmentId,
+                        Integer skillId,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        EmployeeCountMode employeeCountMode,
+                        long version) implements ReportKey {
+    }
+
+    record EmployeeReportKey(PeriodType periodType,
+                             Integer employeeId,
+                             Integer skillId,
+                             LocalDate startDate,
+                             LocalDate endDate,
+                             long version) implements ReportKey {
+    }
+
+    @Override
+    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
+                                                                            Integer organizationId,
+                                                                            Integer departmentId,
+                                                                            Integer skillId,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate,
+                                                                            EmployeeCountMode employeeCountMode) {
+        return delegate.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate,
+                endDate, employeeCountMode);
+    }
+
+    @Override
+    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
+                                                                            Integer organizationId,
+                                                                            Integer departmentId,
+                                                                            Integer skillId,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate,
+                                                                            EmployeeCountMode employeeCountMode,
+                                                                            ScopeVersion version) {
+        return cached(
+                new OrgReportKey(periodType, organizationId, departmentId, skillId, startDate, endDate, employeeCountMode,
+                        version.version()),
+                () -> delegate.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate, endDate,
+                        employeeCountMode, version)
+        );
+    }
+
+    @Override
+    public EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
+                                                            Integer employeeId,
+                                                            Integer skillId,
+                                                            LocalDate startDate,
+                                                            LocalDate endDate) {
+        return delegate.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate);
+    }
+
+    @Override
+    public EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
+                                                            Integer employeeId,
+                                                            Integer skillId,
+                                                            LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            ScopeVersion version) {
+        return cached(
+                new EmployeeReportKey(periodType, employeeId, skillId, startDate, endDate, version.version()),
+                () -> delegate.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate, version)
+        );
+    }
+
+    @Override
+    public BatchReportingResponseDto getBatchReport(PeriodType periodType,
+                                                    Integer organizationId,
+                                                    List<Integer> departmentIds,
+                                                    List<Integer> employeeIds,
+                                                    Integer skillId,
+                                                    LocalDate startDate,
+                                                    LocalDate endDate) {
+        return delegate.getBatchReport(periodType, organizationId, departmentIds, employeeIds, skillId, startDate, endDate);
+    }
+
+    @Override
+    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                       Integer skillId,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Integer maxPoints,
+                                                                       DownsamplingMethod downsampling) {
+        return delegate.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling);
+    }
+
+    @Override
+    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                       Integer skillId,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Integer maxPoints,
+                                                                       DownsamplingMethod downsampling,
+                                                                       ScopeVersion version) {
+        return delegate.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling, version);
+    }
+
+    @Override
+    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                                                       Integer departmentId,
+                                                                                       Integer skillId,
+                                                                                       LocalDate startDate,
+                                                                                       LocalDate endDate,
+                                                                                       Integer maxPoints,
+                                                                                       DownsamplingMethod downsampling) {
+        return delegate.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate,
+                maxPoints, downsampling);
+    }
+
+    @Override
+    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                                                       Integer departmentId,
+                                                                                       Integer skillId,
+                                                                                       LocalDate startDate,
+                                                                                       LocalDate endDate,
+                                                                                       Integer maxPoints,
+                                                                                       DownsamplingMethod downsampling,
+                                                                                       ScopeVersion version) {
+        return delegate.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate,
+                maxPoints, downsampling, version);
+    }
+
+    @Override
+    public void streamSkillTimelineByEmployee(Integer employeeId,
+                                              Integer skillId,
+                                              LocalDate startDate,
+                                              LocalDate endDate,
+                                              Consumer<EmployeeSkillTimelineRowDto> consumer) {
+        delegate.streamSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, consumer);
+    }
+
+    @Override
+    public void streamSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                               Integer departmentId,
+                                                               Integer skillId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               Consumer<OrgDeptSkillTimelineRowDto> consumer) {
+        delegate.streamSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate, consumer);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkillEntriesChanged(SkillEntriesChangedEvent event) {
+        for (SkillEntryChange change : event.changes()) {
+            invalidate(change.organizationId(), change.departmentId(), change.employeeId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDepartmentChanged(EmployeeDepartmentChangedEvent event) {
+        // The employee's overall ratings leave the old department and enter the new one; skill entries stay
+        invalidate(event.fromOrganizationId(), event.fromDepartmentId(), event.employeeId());
+        invalidate(event.toOrganizationId(), event.toDepartmentId(), event.employeeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPerformanceReviewChanged(PerformanceReviewChangedEvent event) {
+        invalidate(event.organizationId(), event.departmentId(), event.employeeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationStructureChanged(OrganizationStructureChangedEvent event) {
+        if (event.departmentId() == null) {
+            // Department reports carry the organization name too
+            Integer organizationId = event.organizationId();
+            invalidate(key -> key instanceof OrgReportKey org && Objects.equals(org.organizationId(), organizationId),
+                    "organization " + organizationId);
+        } else if (event.organizationId() != null) {
+            invalidate(event.organizationId(), event.departmentId(), null);
+        } else {
+            // A deleted department, its organization is no longer known
+            invalidateAll();
+        }
+    }
+
+    // Every report may carry the skill; organizations and departments come with an OrganizationStructureChangedEvent,
+    // occupations are not reported
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.entityClass() == Skill.class) {
+            invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeRenamed(EmployeeRenamedEvent event) {
+        invalidate(null, null, event.employeeId());
+    }
+
+    @EventListener
+    public void onChangesMissed(ChangesMissedEvent event) {
+        invalidateAll();
+    }
+
+    public ReportCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+
+        return new ReportCacheStatsDto(
+                enabled,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidationCount.get()
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(ReportKey key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        T report = (T) cache.getIfPresent(key);
+        if (report != null) {
+            return report;
+        }
+
+        long loadedAt = generation.get();
+        report = loader.get();
+        if (generation.get() == loadedAt) {
+            cache.put(key, report);
+            // An invalidation between the check and the put may have missed the entry: it is taken back then. The
+            // generation moves before an invalidation removes anything, so one that started after the check still sees
+            // the put.
+            if (generation.get() != loadedAt) {
+                cache.asMap().remove(key, report);
+            }
+        }
+        return report;
+    }
+
+    // Drops the organization-wide reports and those of the department, plus every report of the employee
+    private void invalidate(Integer organizationId, Integer departmentId, Integer employeeId) {
+        Predicate<ReportKey> affected = key -> switch (key) {
+            case OrgReportKey org -> organizationId != null
+                    && Objects.equals(org.organizationId(), organizationId)
+                    && (org.departmentId() == null || Objects.equals(org.departmentId(), departmentId));
+            case EmployeeReportKey employee -> employeeId != null && Objects.equals(employee.employeeId(), employeeId);
+        };
+
+        invalidate(affected, "organization " + organizationId + ", department " + departmentId + ", employee " + employeeId);
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        invalidationCount.addAndGet(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    // The invalidation count is the number of cached reports dropped this way
+    private void invalidate(Predicate<ReportKey> affected, String scope) {
+        generation.incrementAndGet();
+
+        long removed = 0;
+        for (Iterator<ReportKey> keys = cache.asMap().keySet().iterator(); keys.hasNext(); ) {
+            if (affected.test(keys.next())) {
+                keys.remove();
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            invalidationCount.addAndGet(removed);
+            log.debug("Invalidated {} cached reports of {}", removed, scope);
+        }
+    }
+}
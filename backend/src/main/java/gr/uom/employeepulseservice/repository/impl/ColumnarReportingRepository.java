@@ -0,0 +1,533 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.analytics.RatingHistogram;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore.EntryScope;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.*;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.*;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import gr.uom.employeepulseservice.repository.ReportingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+// Answers the reports and timelines from the in-memory SkillEntryColumnStore once it is loaded, and from the SQL
+// repository otherwise. The results match the SQL ones; only names are read from the database, by primary key.
+// Reports asked for at a report version the store has not applied yet come from the SQL repository too.
+// Exports stream straight from the database through the SQL repository, and batches run as grouped SQL statements.
+@Repository
+@RequiredArgsConstructor
+public class ColumnarReportingRepository implements ReportingRepository {
+
+    private static final TimelineDownsampler.Axes<EmployeeSkillTimelinePointDto> EMPLOYEE_POINT_AXES =
+            new TimelineDownsampler.Axes<>(
+                    point -> point.date().toEpochDay(),
+                    EmployeeSkillTimelinePointDto::rating,
+                    EmployeeSkillTimelinePointDto::rating,
+                    EmployeeSkillTimelinePointDto::rating
+            );
+
+    private static final TimelineDownsampler.Axes<OrgDeptSkillTimelinePointDto> ORG_DEPT_POINT_AXES =
+            new TimelineDownsampler.Axes<>(
+                    point -> point.date().toEpochDay(),
+                    OrgDeptSkillTimelinePointDto::avgRating,
+                    OrgDeptSkillTimelinePointDto::minRating,
+                    OrgDeptSkillTimelinePointDto::maxRating
+            );
+
+    private final ReportingRepositoryImpl sqlRepository;
+    private final SkillEntryColumnStore store;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ReportingNameDictionary reportingNames;
+
+    @Override
+    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
+                                                                            Integer organizationId,
+                                                                            Integer departmentId,
+                                                                            Integer skillId,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate,
+                                                                            EmployeeCountMode employeeCountMode) {
+        // Approximate counts come from the sketches stored beside the rollups
+        if (!store.isLoaded() || employeeCountMode == EmployeeCountMode.APPROXIMATE) {
+            return sqlRepository.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId,
+                    startDate, endDate, employeeCountMode);
+        }
+        // Default period type if missing
+        PeriodType period = periodType == null ? PeriodType.QUARTER : periodType;
+
+        String[] names = organizationNames(organizationId, departmentId);
+        if (names == null) {
+            throw new RuntimeException("Organization not found");
+        }
+
+        EntryScope scope = EntryScope.ofOrganization(organizationId, departmentId, skillId, startDate, endDate);
+        List<OrgDeptReportingSkillDto> skills = skillStatistics(scope, period, (skillName, periods) ->
+                new OrgDeptReportingSkillDto(skillName, periods.entrySet().stream()
+                        .map(entry -> new OrgDeptReportingPeriodDto(
+                                LocalDate.ofEpochDay(entry.getKey()),
+                                entry.getValue().average(),
+                                entry.getValue().min(),
+                                entry.getValue().max(),
+                                entry.getValue().count,
+                                entry.getValue().employees,
+                                entry.getValue().histogram.toDto()
+                        ))
+                        .toList()));
+
+        List<OrgDeptOverallRatingPeriodDto> overallRatings = new ArrayList<>();
+        overallRatings(scope, period).forEach((day, stats) ->
+                overallRatings.add(new OrgDeptOverallRatingPeriodDto(LocalDate.ofEpochDay(day), stats.average())));
+
+        return new OrgDeptReportingResponseDto(
+                organizationId,
+                names[0],
+                departmentId,
+                departmentId != null ? names[1] : null,
+                skills,
+                overallRatings
+        );
+    }
+
+    @Override
+    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(PeriodType periodType,
+                                                                            Integer organizationId,
+                                                                            Integer departmentId,
+                                                                            Integer skillId,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate,
+                                                                            EmployeeCountMode employeeCountMode,
+                                                                            ScopeVersion version) {
+        if (!store.hasApplied(version)) {
+            return sqlRepository.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId,
+                    startDate, endDate, employeeCountMode);
+        }
+        return getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate, endDate,
+                employeeCountMode);
+    }
+
+    @Override
+    public EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
+                                                            Integer employeeId,
+                                                            Integer skillId,
+                                                            LocalDate startDate,
+                                                            LocalDate endDate) {
+        if (!store.isLoaded()) {
+            return sqlRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate);
+        }
+        // Default period type if missing
+        PeriodType period = periodType == null ? PeriodType.QUARTER : periodType;
+
+        EntryScope scope = EntryScope.ofEmployee(employeeId, skillId, startDate, endDate);
+        List<EmployeeReportingSkillDto> skills = skillStatistics(scope, period, (skillName, periods) ->
+                new EmployeeReportingSkillDto(skillName, periods.entrySet().stream()
+                        .map(entry -> new EmployeeReportingPeriodDto(
+                                LocalDate.ofEpochDay(entry.getKey()),
+                                entry.getValue().average(),
+                                entry.getValue().min(),
+                                entry.getValue().max()
+                        ))
+                        .toList()));
+
+        List<EmployeeOverallRatingPeriodDto> overallRatings = new ArrayList<>();
+        overallRatings(scope, period).forEach((day, stats) ->
+                overallRatings.add(new EmployeeOverallRatingPeriodDto(LocalDate.ofEpochDay(day), stats.average())));
+
+        String[] names = employeeNames(employeeId);
+        return new EmployeeReportingResponseDto(
+                employeeId,
+                names != null ? names[0] : null,
+                names != null ? names[1] : null,
+                skills,
+                overallRatings
+        );
+    }
+
+    @Override
+    public EmployeeReportingResponseDto getReportByEmployee(PeriodType periodType,
+                                                            Integer employeeId,
+                                                            Integer skillId,
+                                                            LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            ScopeVersion version) {
+        if (!store.hasApplied(version)) {
+            return sqlRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate);
+        }
+        return getReportByEmployee(periodType, employeeId, skillId, startDate, endDate);
+    }
+
+    @Override
+    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                       Integer skillId,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Integer maxPoints,
+                                                                       DownsamplingMethod downsampling) {
+        if (!store.isLoaded()) {
+            return sqlRepository.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling);
+        }
+        TimelineDownsampler.validateMaxPoints(maxPoints);
+
+        // Entries of one employee arrive by skill, then by day
+        Map<Integer, List<EmployeeSkillTimelinePointDto>> bySkill = new HashMap<>();
+        Map<Integer, Statistics> statisticsBySkill = new HashMap<>();
+        store.scanEntries(EntryScope.ofEmployee(employeeId, skillId, startDate, endDate),
+                (departmentId, employee, skill, day, rating) -> {
+                    bySkill.computeIfAbsent(skill, k -> new ArrayList<>())
+                            .add(new EmployeeSkillTimelinePointDto(LocalDate.ofEpochDay(day), Statistics.orZero(rating)));
+                    statisticsBySkill.computeIfAbsent(skill, k -> new Statistics()).add(employee, rating);
+                });
+
+        if (bySkill.isEmpty()) {
+            return null;
+        }
+
+        List<EmployeeSkillTimelineSkillDto> skills = new ArrayList<>();
+        skillNames(bySkill.keySet()).forEach((skill, skillName) -> {
+            Statistics statistics = statisticsBySkill.get(skill);
+            skills.add(new EmployeeSkillTimelineSkillDto(
+                    skill,
+                    skillName,
+                    downsample(bySkill.get(skill), maxPoints, downsampling, EMPLOYEE_POINT_AXES),
+                    statistics.min(),
+                    statistics.max(),
+                    statistics.average()
+            ));
+        });
+
+        String[] names = employeeNames(employeeId);
+        return new EmployeeSkillTimelineResponseDto(
+                employeeId,
+                names != null ? names[0] : null,
+                names != null ? names[1] : null,
+                skills
+        );
+    }
+
+    @Override
+    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                       Integer skillId,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Integer maxPoints,
+                                                                       DownsamplingMethod downsampling,
+                                                                       ScopeVersion version) {
+        if (!store.hasApplied(version)) {
+            return sqlRepository.getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling);
+        }
+        return getSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, maxPoints, downsampling);
+    }
+
+    @Override
+    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                                                       Integer departmentId,
+                                                                                       Integer skillId,
+                                                                                       LocalDate startDate,
+                                                                                       LocalDate endDate,
+                                                                                       Integer maxPoints,
+                                                                                       DownsamplingMethod downsampling) {
+        if (!store.isLoaded()) {
+            return sqlRepository.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId,
+                    startDate, endDate, maxPoints, downsampling);
+        }
+        TimelineDownsampler.validateMaxPoints(maxPoints);
+
+        // One point per skill, day and department, like the SQL grouping; days sort first, then departments
+        Map<Integer, TreeMap<Long, Statistics>> bySkill = new HashMap<>();
+        store.scanEntries(EntryScope.ofOrganization(organizationId, departmentId, skillId, startDate, endDate),
+                (department, employee, skill, day, rating) -> bySkill
+                        .computeIfAbsent(skill, k -> new TreeMap<>())
+                        .computeIfAbsent(((long) day << 32) | (department & 0xffffffffL), k -> new Statistics())
+                        .add(employee, rating));
+
+        if (bySkill.isEmpty()) {
+            return null;
+        }
+
+        List<OrgDeptSkillTimelineSkillDto> skills = new ArrayList<>();
+        skillNames(bySkill.keySet()).forEach((skill, skillName) -> {
+            List<OrgDeptSkillTimelinePointDto> timeline = new ArrayList<>();
+            bySkill.get(skill).forEach((dayAndDepartment, statistics) -> timeline.add(new OrgDeptSkillTimelinePointDto(
+                    LocalDate.ofEpochDay(dayAndDepartment >> 32),
+                    statistics.min(),
+                    statistics.max(),
+                    statistics.average()
+            )));
+            skills.add(new OrgDeptSkillTimelineSkillDto(
+                    skill,
+                    skillName,
+                    downsample(timeline, maxPoints, downsampling, ORG_DEPT_POINT_AXES)
+            ));
+        });
+
+        String[] names = organizationNames(organizationId, departmentId);
+        return new OrgDeptSkillTimelineResponseDto(
+                organizationId,
+                names != null ? names[0] : null,
+                departmentId,
+                departmentId != null && names != null ? names[1] : null,
+                skills
+        );
+    }
+
+    @Override
+    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                                                       Integer departmentId,
+                                                                                       Integer skillId,
+                                                                                       LocalDate startDate,
+                                                                                       LocalDate endDate,
+                                                                                       Integer maxPoints,
+                                                                                       DownsamplingMethod downsampling,
+                                                                                       ScopeVersion version) {
+        if (!store.hasApplied(version)) {
+            return sqlRepository.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId,
+                    startDate, endDate, maxPoints, downsampling);
+        }
+        return getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate,
+                maxPoints, downsampling);
+    }
+
+    @Override
+    public BatchReportingResponseDto getBatchReport(PeriodType periodType,
+                                                    Integer organizationId,
+                                                    List<Integer> departmentIds,
+                                                    List<Integer> employeeIds,
+                                                    Integer skillId,
+                                                    LocalDate startDate,
+                                                    LocalDate endDate) {
+        return sqlRepository.getBatchReport(periodType, organizationId, departmentIds, employeeIds, skillId, startDate, endDate);
+    }
+
+    @Override
+    public void streamSkillTimelineByEmployee(Integer employeeId,
+                                              Integer skillId,
+                                              LocalDate startDate,
+                                              LocalDate endDate,
+                                              Consumer<EmployeeSkillTimelineRowDto> consumer) {
+        sqlRepository.streamSkillTimelineByEmployee(employeeId, skillId, startDate, endDate, consumer);
+    }
+
+    @Override
+    public void streamSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                               Integer departmentId,
+                                                               Integer skillId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               Consumer<OrgDeptSkillTimelineRowDto> consumer) {
+        sqlRepository.streamSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId,
+                startDate, endDate, consumer);
+    }
+
+    @FunctionalInterface
+    private interface SkillDtoFactory<S> {
+        S create(String skillName, Map<Integer, Statistics> periodsNewestFirst);
+    }
+
+    // Aggregates the entries in scope per skill name and period, skills ordered by name and periods newest first.
+    // Skills sharing a name are reported as one, like the SQL grouping by skill_name; since the employee count of
+    // such a group must count every employee once, the entries are then aggregated again per name.
+    private <S> List<S> skillStatistics(EntryScope scope, PeriodType periodType, SkillDtoFactory<S> dtoFactory) {
+        Map<Integer, TreeMap<Integer, Statistics>> bySkill = aggregateByPeriod(scope, periodType, IntUnaryOperator.identity());
+
+        // First skill (in name order) of every name, standing for the whole name
+        Map<String, Integer> firstSkillOfName = new LinkedHashMap<>();
+        Map<Integer, Integer> groupOfSkill = new HashMap<>();
+        skillNames(bySkill.keySet()).forEach((skill, name) ->
+                groupOfSkill.put(skill, firstSkillOfName.computeIfAbsent(name, k -> skill)));
+        if (firstSkillOfName.size() < groupOfSkill.size()) {
+            bySkill = aggregateByPeriod(scope, periodType, groupOfSkill::get);
+        }
+
+        List<S> skills = new ArrayList<>();
+        for (Map.Entry<String, Integer> nameAndSkill : firstSkillOfName.entrySet()) {
+            skills.add(dtoFactory.create(nameAndSkill.getKey(), bySkill.get(nameAndSkill.getValue()).descendingMap()));
+        }
+        return skills;
+    }
+
+    // Statistics (with rating histogram) per skill group and period start (as epoch day)
+    private Map<Integer, TreeMap<Integer, Statistics>> aggregateByPeriod(EntryScope scope,
+                                                                         PeriodType periodType,
+                                                                         IntUnaryOperator skillGroup) {
+        Map<Integer, TreeMap<Integer, Statistics>> bySkill = new HashMap<>();
+        PeriodStarts periodStarts = new PeriodStarts(periodType);
+        // An organization-wide scan runs department by department, and an employee who moved within the organization
+        // has entries in more than one of them: only within a department are the entries of an employee consecutive
+        boolean spansDepartments = scope.employeeId() == null && scope.departmentId() == null;
+
+        store.scanEntries(scope, new SkillEntryColumnStore.EntryVisitor() {
+            // Consecutive entries mostly fall into the same group and period
+            private int lastGroup;
+            private int lastPeriod;
+            private Statistics last;
+
+            @Override
+            public void visit(int departmentId, int employeeId, int skillId, int day, double rating) {
+                int group = skillGroup.applyAsInt(skillId);
+                int period = periodStarts.of(day);
+                if (last == null || group != lastGroup || period != lastPeriod) {
+                    last = bySkill.computeIfAbsent(group, k -> new TreeMap<>())
+                            .computeIfAbsent(period, k -> Statistics.forReport(spansDepartments));
+                    lastGroup = group;
+                    lastPeriod = period;
+                }
+                last.add(employeeId, rating);
+            }
+        });
+        return bySkill;
+    }
+
+    // Average overall rating per review period start (as epoch day), oldest first
+    private TreeMap<Integer, Statistics> overallRatings(EntryScope scope, PeriodType periodType) {
+        TreeMap<Integer, Statistics> byPeriod = new TreeMap<>();
+        PeriodStarts periodStarts = new PeriodStarts(periodType);
+        store.scanReviews(scope, (day, overallRating) ->
+                byPeriod.computeIfAbsent(periodStarts.of(day), k -> new Statistics()).add(overallRating));
+        return byPeriod;
+    }
+
+    private static <P> List<P> downsample(List<P> points,
+                                          Integer maxPoints,
+                                          DownsamplingMethod downsampling,
+                                          TimelineDownsampler.Axes<P> axes) {
+        if (maxPoints == null) {
+            return points;
+        }
+        List<P> kept = new ArrayList<>();
+        Consumer<P> downsampler = TimelineDownsampler.downsample(
+                downsampling != null ? downsampling : DownsamplingMethod.MIN_MAX, maxPoints, points.size(), axes, kept::add);
+        points.forEach(downsampler);
+        return kept;
+    }
+
+    // Names of the given skills, ordered by name in the database collation like the SQL reports
+    private Map<Integer, String> skillNames(Collection<Integer> skillIds) {
+        Map<Integer, String> names = new LinkedHashMap<>();
+        if (skillIds.isEmpty()) {
+            return names;
+        }
+        jdbc.query("SELECT id, name FROM skills WHERE id IN (:skillIds) ORDER BY name, id",
+                new MapSqlParameterSource("skillIds", Set.copyOf(skillIds)),
+                (RowCallbackHandler) rs -> names.put(rs.getInt("id"), rs.getString("name")));
+        return names;
+    }
+
+    // Organization and department name, or null when the organization does not exist
+    private String[] organizationNames(Integer organizationId, Integer departmentId) {
+        String organizationName = reportingNames.organizationName(organizationId);
+        return organizationName == null ? null : new String[]{organizationName, reportingNames.departmentName(departmentId)};
+    }
+
+    // First and last name, or null when the employee does not exist
+    private String[] employeeNames(Integer employeeId) {
+        List<String[]> rows = jdbc.query("SELECT first_name, last_name FROM employees WHERE id = :employeeId",
+                new MapSqlParameterSource("employeeId", employeeId),
+                (rs, rowNum) -> new String[]{rs.getString("first_name"), rs.getString("last_name")});
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    // Running count/sum/min/max of ratings and number of distinct employees. Entries of one employee are scanned
+    // one after the other within a department, so there an employee is new to the group exactly when it differs from
+    // the previous one; statistics over several departments also remember the employees they have counted.
+    // Missing (NaN) ratings count as samples only; without any rating the statistics read 0 like the SQL results do.
+    private static final class Statistics {
+        private long count;
+        private long ratingCount;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private long employees;
+        private int lastEmployee = -1;
+        private Set<Integer> countedEmployees;
+        // Only kept for report periods, timeline points do not need one
+        private RatingHistogram histogram;
+
+        private static Statistics forReport(boolean spansDepartments) {
+            Statistics statistics = new Statistics();
+            statistics.histogram = new RatingHistogram();
+            if (spansDepartments) {
+                statistics.countedEmployees = new HashSet<>();
+            }
+            return statistics;
+        }
+
+        private void add(int employeeId, double rating) {
+            if (employeeId != lastEmployee) {
+                if (countedEmployees == null || countedEmployees.add(employeeId)) {
+                    employees++;
+                }
+                lastEmployee = employeeId;
+            }
+            add(rating);
+        }
+
+        private void add(double rating) {
+            count++;
+            if (Double.isNaN(rating)) {
+                return;
+            }
+            ratingCount++;
+            sum += rating;
+            if (histogram != null) {
+                histogram.add(rating);
+            }
+            min = Math.min(min, rating);
+            max = Math.max(max, rating);
+        }
+
+        private double average() {
+            return ratingCount > 0 ? sum / ratingCount : 0.0;
+        }
+
+        private double min() {
+            return ratingCount > 0 ? min : 0.0;
+        }
+
+        private double max() {
+            return ratingCount > 0 ? max : 0.0;
+        }
+
+        private static double orZero(double rating) {
+            return Double.isNaN(rating) ? 0.0 : rating;
+        }
+    }
+
+    // Maps epoch days to the epoch day their period starts on, remembering the last period since days mostly ascend
+    private static final class PeriodStarts {
+        private final PeriodType periodType;
+        private int start = 1;
+        private int next = 0;
+
+        private PeriodStarts(PeriodType periodType) {
+            this.periodType = periodType;
+        }
+
+        private int of(int day) {
+            if (day < start || day >= next) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                start = (int) periodType.periodStart(date).toEpochDay();
+                next = (int) periodType.nextPeriodStart(date).toEpochDay();
+            }
+            return start;
+        }
+    }
+}
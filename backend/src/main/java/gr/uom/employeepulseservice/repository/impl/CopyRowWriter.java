@@ -0,0 +1,76 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+// Writes rows in the text format of COPY ... FROM STDIN, sent to the server in chunks as they fill up
+class CopyRowWriter {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 1024);
+    private boolean firstColumn = true;
+
+    CopyRowWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    CopyRowWriter column(Object value) {
+        if (!firstColumn) {
+            chunk.append('\t');
+        }
+        firstColumn = false;
+
+        if (value == null) {
+            chunk.append("\\N");
+            return this;
+        }
+
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> chunk.append("\\\\");
+                case '\t' -> chunk.append("\\t");
+                case '\n' -> chunk.append("\\n");
+                case '\r' -> chunk.append("\\r");
+                default -> chunk.append(c);
+            }
+        }
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        chunk.append('\n');
+        firstColumn = true;
+
+        if (chunk.length() >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    // Returns the number of rows copied
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    // Leaves the connection usable when a row could not be written, the transaction rolls back anyway
+    void abort() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
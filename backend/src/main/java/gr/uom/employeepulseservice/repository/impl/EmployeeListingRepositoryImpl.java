@@ -0,0 +1,119 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class EmployeeListingRepositoryImpl implements EmployeeListingRepository {
+
+    // The skill entry ids come from idx_skill_entries_employee_skill_date, one index range per employee
+    private static final String SELECT_SQL = """
+            SELECT e.id, e.first_name, e.last_name, e.email, e.hire_date,
+                   e.department_id, d.name AS department_name, e.organization_id,
+                   e.occupation_id, o.title AS occupation_title,
+                   COALESCE((SELECT array_agg(se.id ORDER BY se.id)
+                             FROM skill_entries se
+                             WHERE se.employee_id = e.id), '{}') AS skill_entry_ids
+            FROM employees e
+                     LEFT JOIN departments d ON d.id = e.department_id
+                     LEFT JOIN occupations o ON o.id = e.occupation_id
+            """;
+
+    private static final String FIND_PAGE_SQL = SELECT_SQL + """
+            WHERE e.id > :afterId
+            ORDER BY e.id
+            LIMIT :limit
+            """;
+
+    // Range scan of idx_employees_department_id_id
+    private static final String FIND_PAGE_BY_DEPARTMENT_SQL = SELECT_SQL + """
+            WHERE e.department_id = :departmentId
+              AND e.id > :afterId
+            ORDER BY e.id
+            LIMIT :limit
+            """;
+
+    // Backward range scan of idx_employees_organization_hire_date_id: a missing hire date sorts as -infinity, after
+    // every other one, and the first page starts before +infinity. The name filter is checked along the scan, so a
+    // search still stops after one page of matches.
+    private static final String FIND_PAGE_BY_ORGANIZATION_SQL = SELECT_SQL + """
+            WHERE e.organization_id = :organizationId
+              AND (COALESCE(e.hire_date, '-infinity'::date), e.id) < (CAST(:hireDate AS date), :id)
+              AND (CAST(:namePattern AS text) IS NULL
+                   OR concat_ws(' ', e.first_name, e.last_name) ILIKE CAST(:namePattern AS text))
+            ORDER BY COALESCE(e.hire_date, '-infinity'::date) DESC, e.id DESC
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<EmployeeDto> EMPLOYEE_DTO = (rs, rowNum) -> {
+        Date hireDate = rs.getDate("hire_date");
+        return new EmployeeDto(
+                rs.getInt("id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                hireDate != null ? hireDate.toLocalDate() : null,
+                rs.getObject("department_id", Integer.class),
+                rs.getString("department_name"),
+                rs.getObject("organization_id", Integer.class),
+                rs.getObject("occupation_id", Integer.class),
+                rs.getString("occupation_title"),
+                toIds(rs.getArray("skill_entry_ids")));
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public List<EmployeeDto> findPage(Integer afterId, int limit) {
+        return jdbc.query(FIND_PAGE_SQL, new MapSqlParameterSource()
+                .addValue("afterId", afterId != null ? afterId : 0)
+                .addValue("limit", limit), EMPLOYEE_DTO);
+    }
+
+    @Override
+    public List<EmployeeDto> findPageByDepartmentId(Integer departmentId, Integer afterId, int limit) {
+        return jdbc.query(FIND_PAGE_BY_DEPARTMENT_SQL, new MapSqlParameterSource()
+                .addValue("departmentId", departmentId)
+                .addValue("afterId", afterId != null ? afterId : 0)
+                .addValue("limit", limit), EMPLOYEE_DTO);
+    }
+
+    @Override
+    public List<EmployeeDto> findPageByOrganizationId(Integer organizationId, String name, HireDateKey after, int limit) {
+        String hireDate = after == null ? "infinity" : after.hireDate() == null ? "-infinity" : after.hireDate().toString();
+        return jdbc.query(FIND_PAGE_BY_ORGANIZATION_SQL, new MapSqlParameterSource()
+                .addValue("organizationId", organizationId)
+                .addValue("namePattern", containsPattern(name))
+                .addValue("hireDate", hireDate)
+                .addValue("id", after != null ? after.id() : Integer.MAX_VALUE)
+                .addValue("limit", limit), EMPLOYEE_DTO);
+    }
+
+    // The name is matched literally: the LIKE wildcards and their escape character are escaped
+    private static String containsPattern(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return "%" + name.strip().replaceAll("[\\\\%_]", "\\\\$0") + "%";
+    }
+
+    private static List<Integer> toIds(Array array) throws SQLException {
+        try {
+            return Arrays.asList((Integer[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.EmployeeSkillRatingsDto;
+import gr.uom.employeepulseservice.controller.dto.SkillToRatingDto;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class EmployeeSkillLatestRepositoryImpl implements EmployeeSkillLatestRepository {
+
+    // Ties on entry_date go to the last written entry, as in the 012 backfill
+    private static final String ADD_ENTRY_SQL = """
+            INSERT INTO employee_skill_latest (employee_id, skill_id, skill_entry_id, entry_date, rating)
+            VALUES (:employeeId, :skillId, :skillEntryId, :entryDate, :rating)
+            ON CONFLICT (employee_id, skill_id) DO UPDATE
+                SET skill_entry_id = excluded.skill_entry_id,
+                    entry_date     = excluded.entry_date,
+                    rating         = excluded.rating
+                WHERE (excluded.entry_date, excluded.skill_entry_id)
+                          > (employee_skill_latest.entry_date, employee_skill_latest.skill_entry_id)
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM employee_skill_latest
+            WHERE employee_id = :employeeId
+              AND skill_id = :skillId
+            """;
+
+    // Backward scan of idx_skill_entries_employee_skill_date
+    private static final String REFRESH_SQL = """
+            INSERT INTO employee_skill_latest (employee_id, skill_id, skill_entry_id, entry_date, rating)
+            SELECT employee_id, skill_id, id, entry_date, rating
+            FROM skill_entries
+            WHERE employee_id = :employeeId
+              AND skill_id = :skillId
+            ORDER BY entry_date DESC, id DESC
+            LIMIT 1
+            """;
+
+    private static final String FIND_BY_EMPLOYEE_SQL = """
+            SELECT l.skill_id, s.name AS skill_name, l.rating
+            FROM employee_skill_latest l
+                     JOIN skills s ON s.id = l.skill_id
+            WHERE l.employee_id = :employeeId
+            ORDER BY l.entry_date DESC, l.skill_entry_id DESC
+            """;
+
+    private static final String FIND_BY_DEPARTMENT_SQL = """
+            SELECT e.id AS employee_id, e.first_name, e.last_name, l.skill_id, s.name AS skill_name, l.rating
+            FROM employees e
+                     LEFT JOIN employee_skill_latest l ON l.employee_id = e.id
+                     LEFT JOIN skills s ON s.id = l.skill_id
+            WHERE e.department_id = :departmentId
+            ORDER BY e.id, l.entry_date DESC, l.skill_entry_id DESC
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public void addEntries(List<SkillEntryChange> changes) {
+        MapSqlParameterSource[] batch = changes.stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("employeeId", change.employeeId())
+                        .addValue("skillId", change.skillId())
+                        .addValue("skillEntryId", change.skillEntryId())
+                        .addValue("entryDate", change.entryDate())
+                        .addValue("rating", change.rating()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbc.batchUpdate(ADD_ENTRY_SQL, batch);
+    }
+
+    @Override
+    public void refresh(Collection<EmployeeSkill> keys) {
+        MapSqlParameterSource[] batch = keys.stream()
+                .map(key -> new MapSqlParameterSource()
+                        .addValue("employeeId", key.employeeId())
+                        .addValue("skillId", key.skillId()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbc.batchUpdate(DELETE_SQL, batch);
+        jdbc.batchUpdate(REFRESH_SQL, batch);
+    }
+
+    @Override
+    public List<SkillToRatingDto> findByEmployeeId(Integer employeeId) {
+        return jdbc.query(FIND_BY_EMPLOYEE_SQL, new MapSqlParameterSource("employeeId", employeeId),
+                (rs, rowNum) -> new SkillToRatingDto(
+                        rs.getInt("skill_id"),
+                        rs.getString("skill_name"),
+                        rs.getObject("rating", Double.class)));
+    }
+
+    @Override
+    public List<EmployeeSkillRatingsDto> findByDepartmentId(Integer departmentId) {
+        return jdbc.query(FIND_BY_DEPARTMENT_SQL, new MapSqlParameterSource("departmentId", departmentId),
+                (ResultSetExtractor<List<EmployeeSkillRatingsDto>>) rs -> {
+                    Map<Integer, EmployeeSkillRatingsDto> employees = new LinkedHashMap<>();
+                    while (rs.next()) {
+                        int employeeId = rs.getInt("employee_id");
+                        EmployeeSkillRatingsDto employee = employees.get(employeeId);
+                        if (employee == null) {
+                            employee = new EmployeeSkillRatingsDto(employeeId, rs.getString("first_name"),
+                                    rs.getString("last_name"), new ArrayList<>());
+                            employees.put(employeeId, employee);
+                        }
+                        // Employees without skill entries come with a single row of nulls
+                        Integer skillId = rs.getObject("skill_id", Integer.class);
+                        if (skillId != null) {
+                            employee.skills().add(new SkillToRatingDto(skillId, rs.getString("skill_name"),
+                                    rs.getObject("rating", Double.class)));
+                        }
+                    }
+                    return new ArrayList<>(employees.values());
+                });
+    }
+}
@@ -0,0 +1,30 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.repository.PartitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepositoryImpl implements PartitionRepository {
+
+    // Defined by the 011 changeset, which also creates the first partitions with it; serialized per table since every
+    // replica runs it
+    private static final String ENSURE_QUARTERLY_PARTITIONS_SQL =
+            "SELECT ensure_quarterly_partitions(CAST(:table AS regclass), :from, :to)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public int ensureQuarterlyPartitions(String table, LocalDate from, LocalDate to) {
+        Integer created = jdbc.queryForObject(ENSURE_QUARTERLY_PARTITIONS_SQL, new MapSqlParameterSource()
+                .addValue("table", table)
+                .addValue("from", from)
+                .addValue("to", to), Integer.class);
+        return created != null ? created : 0;
+    }
+}
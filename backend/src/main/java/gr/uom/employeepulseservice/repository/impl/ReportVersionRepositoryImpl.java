@@ -0,0 +1,94 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Repository
+@RequiredArgsConstructor
+public class ReportVersionRepositoryImpl implements ReportVersionRepository {
+
+    // Counted per row under its row lock, so concurrent writers never move a scope back
+    private static final String BUMP_SQL = """
+            INSERT INTO report_versions (scope, scope_id, version, modified_at)
+            VALUES (:scope, :scopeId, 1, clock_timestamp())
+            ON CONFLICT (scope, scope_id) DO UPDATE
+            SET version     = report_versions.version + 1,
+                modified_at = greatest(report_versions.modified_at, EXCLUDED.modified_at)
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT scope, scope_id, version, modified_at
+            FROM report_versions
+            WHERE (scope, scope_id) IN (:scopes)
+            """;
+
+    private static final String FIND_ALL_SQL = "SELECT scope, scope_id, version FROM report_versions";
+
+    // Rows are locked in one order by every writer, so two writers bumping the same scopes cannot deadlock
+    private static final Comparator<ScopeKey> LOCK_ORDER =
+            Comparator.comparing(ScopeKey::scope).thenComparingInt(ScopeKey::id);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    // The bumped rows stay locked until the transaction ends, so they are read back as this transaction left them
+    @Override
+    @Transactional
+    public Map<ScopeKey, Long> bump(Collection<ScopeKey> scopes) {
+        TreeSet<ScopeKey> ordered = new TreeSet<>(LOCK_ORDER);
+        ordered.addAll(scopes);
+
+        jdbc.batchUpdate(BUMP_SQL, ordered.stream()
+                .map(key -> new MapSqlParameterSource()
+                        .addValue("scope", key.scope().name())
+                        .addValue("scopeId", key.id()))
+                .toArray(SqlParameterSource[]::new));
+        return find(ordered).versions();
+    }
+
+    @Override
+    public ScopeVersion find(Collection<ScopeKey> scopes) {
+        List<Object[]> keys = scopes.stream()
+                .map(key -> new Object[]{key.scope().name(), key.id()})
+                .toList();
+
+        Map<ScopeKey, Long> versions = new HashMap<>();
+        scopes.forEach(key -> versions.put(key, 0L));
+        Instant[] modifiedAt = {Instant.EPOCH};
+        jdbc.query(FIND_SQL, new MapSqlParameterSource("scopes", keys), (RowCallbackHandler) rs -> {
+            versions.put(scopeKey(rs), rs.getLong("version"));
+            Instant rowModifiedAt = rs.getObject("modified_at", OffsetDateTime.class).toInstant();
+            if (rowModifiedAt.isAfter(modifiedAt[0])) {
+                modifiedAt[0] = rowModifiedAt;
+            }
+        });
+        return new ScopeVersion(versions, modifiedAt[0]);
+    }
+
+    @Override
+    public Map<ScopeKey, Long> findAll() {
+        Map<ScopeKey, Long> versions = new HashMap<>();
+        jdbc.query(FIND_ALL_SQL, (RowCallbackHandler) rs -> versions.put(scopeKey(rs), rs.getLong("version")));
+        return versions;
+    }
+
+    private static ScopeKey scopeKey(ResultSet rs) throws SQLException {
+        return new ScopeKey(Scope.valueOf(rs.getString("scope")), rs.getInt("scope_id"));
+    }
+}
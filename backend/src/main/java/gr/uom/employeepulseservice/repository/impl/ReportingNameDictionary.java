@@ -0,0 +1,66 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Organization and department names by id, so reporting statements filter and group on the ids stored with the skill
+// entries and never join the name tables. Names are read on first use and dropped once renamed or deleted; unknown
+// ids are not remembered, so an organization created later is found on its next lookup.
+@Component
+@RequiredArgsConstructor
+public class ReportingNameDictionary {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final Map<Integer, String> organizationNames = new ConcurrentHashMap<>();
+    private final Map<Integer, String> departmentNames = new ConcurrentHashMap<>();
+
+    // Returns null for an unknown organization
+    public String organizationName(Integer organizationId) {
+        if (organizationId == null) {
+            return null;
+        }
+        return organizationNames.computeIfAbsent(organizationId, id -> findName("organizations", id));
+    }
+
+    // Returns null for an unknown department
+    public String departmentName(Integer departmentId) {
+        if (departmentId == null) {
+            return null;
+        }
+        return departmentNames.computeIfAbsent(departmentId, id -> findName("departments", id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationStructureChanged(OrganizationStructureChangedEvent event) {
+        if (event.departmentId() != null) {
+            departmentNames.remove(event.departmentId());
+            return;
+        }
+        // Deleting an organization deletes its departments as well
+        organizationNames.remove(event.organizationId());
+        departmentNames.clear();
+    }
+
+    @EventListener
+    public void onChangesMissed(ChangesMissedEvent event) {
+        organizationNames.clear();
+        departmentNames.clear();
+    }
+
+    private String findName(String table, Integer id) {
+        List<String> names = jdbc.queryForList("SELECT name FROM " + table + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), String.class);
+        return names.isEmpty() ? null : names.getFirst();
+    }
+}
@@ -0,0 +1,124 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.query.ReportQueryStatsDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.query.SampledConnectionStatsDto;
+import gr.uom.employeepulseservice.model.PeriodType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Catalog of the reporting statements, one fixed SQL text per (query, period type, filter mask) variant. The text of a
+// variant never changes, so pgjdbc finds it in the per-connection statement cache and, from its prepareThreshold-th
+// execution on a connection, runs it as a server-side prepared statement instead of parsing and planning it again.
+// Values never go into the text, only into the parameters.
+@Component
+@RequiredArgsConstructor
+public class ReportingQueryCatalog {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<QueryKey, CompiledQuery> queries = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public enum ReportQuery {
+        ORG_REPORT,
+        EMPLOYEE_REPORT,
+        BATCH_DEPARTMENTS,
+        BATCH_EMPLOYEES,
+        EMPLOYEE_TIMELINE,
+        ORG_TIMELINE
+    }
+
+    // The filters and paths that change the SQL text of a query
+    public enum QueryFilter {
+        DEPARTMENT,
+        SKILL,
+        START_DATE,
+        END_DATE,
+        // Whole periods read from the rollup tables
+        ROLLUPS,
+        // Partial periods before and after the whole rollup periods, read from the raw rows
+        LEADING_EDGE,
+        TRAILING_EDGE,
+        // Employee counts estimated from the rollup sketches
+        APPROXIMATE,
+        // A batch restricted to some departments, or to none at all
+        DEPARTMENT_IDS,
+        NO_DEPARTMENT_IDS,
+        // Timelines counting the points of each series for downsampling
+        SERIES_POINTS
+    }
+
+    // periodType is null for queries that do not group by period
+    public record QueryKey(ReportQuery query, PeriodType periodType, Set<QueryFilter> filters) {
+
+        public static QueryKey of(ReportQuery query, PeriodType periodType, EnumSet<QueryFilter> filters) {
+            return new QueryKey(query, periodType, Collections.unmodifiableSet(filters));
+        }
+    }
+
+    // The statement of a query; for reports also the statement of each part on its own, in part order, for the
+    // SEQUENTIAL and PARALLEL execution modes
+    public record CompiledQuery(String sql, Map<String, String> partSql) {
+
+        public static CompiledQuery of(String sql) {
+            return new CompiledQuery(sql, Map.of());
+        }
+
+        public static CompiledQuery of(String sql, LinkedHashMap<String, String> partSql) {
+            return new CompiledQuery(sql, Collections.unmodifiableMap(partSql));
+        }
+    }
+
+    // Returns the statement of the variant, compiling it on first use
+    public CompiledQuery get(QueryKey key, Supplier<CompiledQuery> compiler) {
+        CompiledQuery query = queries.get(key);
+        if (query != null) {
+            hitCount.increment();
+            return query;
+        }
+
+        missCount.increment();
+        return queries.computeIfAbsent(key, k -> compiler.get());
+    }
+
+    // Compiles the variant ahead of its first request; not counted as a hit or a miss
+    public void precompile(QueryKey key, Supplier<CompiledQuery> compiler) {
+        queries.computeIfAbsent(key, k -> compiler.get());
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    // Catalog counters since startup, plus the server-side prepared statements of the pooled connection serving the
+    // request: how many it holds, and how often Postgres reused a cached generic plan for them or planned them again.
+    // pg_prepared_statements only shows the current session, so that part is a sample of one connection, not the pool.
+    public ReportQueryStatsDto stats() {
+        long hits = hitCount.sum();
+        long misses = missCount.sum();
+
+        long[] server = jdbcTemplate.queryForObject("""
+                SELECT count(*), coalesce(sum(generic_plans), 0), coalesce(sum(custom_plans), 0)
+                FROM pg_prepared_statements
+                """, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+
+        return new ReportQueryStatsDto(
+                queries.size(),
+                hits,
+                misses,
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses),
+                new SampledConnectionStatsDto(server[0], server[1], server[2])
+        );
+    }
+}
@@ -1,28 +1,203 @@
 package gr.uom.employeepulseservice.repository.impl;
 
+import gr.uom.employeepulseservice.analytics.HyperLogLog;
+import gr.uom.employeepulseservice.analytics.RatingHistogram;
+import gr.uom.employeepulseservice.config.CursorJdbcTemplate;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.*;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.*;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
 import gr.uom.employeepulseservice.model.PeriodType;
 import gr.uom.employeepulseservice.repository.ReportingRepository;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.CompiledQuery;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.QueryFilter;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.QueryKey;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.ReportQuery;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class ReportingRepositoryImpl implements ReportingRepository {
 
     // JDBC template for executing parameterized SQL queries
     private final NamedParameterJdbcTemplate jdbc;
 
+    // Selects where org/department skill statistics are aggregated from
+    private final ReportingProperties reportingProperties;
+
+    // Fixed SQL text of every query variant, compiled once
+    private final ReportingQueryCatalog queryCatalog;
+
+    // Organization and department names by id, for statements that only read the ids stored with the skill entries
+    private final ReportingNameDictionary reportingNames;
+
+    // Fetches rows in batches, so exports read through a server-side cursor
+    private final CursorJdbcTemplate cursorJdbc;
+
+    // Dates standing in for request bounds while compiling the statement variants on startup
+    private static final LocalDate PRECOMPILE_START_DATE = LocalDate.of(2000, 1, 5);
+    private static final LocalDate PRECOMPILE_END_DATE = LocalDate.of(2010, 6, 15);
+
+    // Runs report parts concurrently in PARALLEL execution mode, one virtual thread per part
+    private final ExecutorService reportPartExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final RowMapper<EmployeeSkillTimelineRowDto> EMPLOYEE_TIMELINE_ROW_MAPPER = (rs, rn) ->
+            new EmployeeSkillTimelineRowDto(
+                    rs.getInt("employee_id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getInt("skill_id"),
+                    rs.getString("skill_name"),
+                    rs.getObject("entry_date", LocalDate.class),
+                    rs.getDouble("rating"),
+                    rs.getDouble("min_rating"),
+                    rs.getDouble("max_rating"),
+                    rs.getDouble("avg_rating")
+            );
+
+    // Employee timelines plot each rating on its own
+    private static final TimelineDownsampler.Axes<EmployeeSkillTimelineRowDto> EMPLOYEE_TIMELINE_AXES =
+            new TimelineDownsampler.Axes<>(
+                    row -> row.entryDate().toEpochDay(),
+                    EmployeeSkillTimelineRowDto::rating,
+                    EmployeeSkillTimelineRowDto::rating,
+                    EmployeeSkillTimelineRowDto::rating
+            );
+
+    // Org/department timelines plot the daily average, bounded by the daily min and max
+    private static final TimelineDownsampler.Axes<OrgDeptSkillTimelineRowDto> ORG_DEPT_TIMELINE_AXES =
+            new TimelineDownsampler.Axes<>(
+                    row -> row.date().toEpochDay(),
+                    OrgDeptSkillTimelineRowDto::avgRating,
+                    OrgDeptSkillTimelineRowDto::minRating,
+                    OrgDeptSkillTimelineRowDto::maxRating
+            );
+
+    // Compiles the org/department report, employee report and timeline variants once the application is up, so
+    // requests only look their statements up. Batch variants are compiled on first use.
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompileQueries() {
+        List<Integer> optionalIds = Arrays.asList(null, 0);
+        List<LocalDate> optionalStartDates = Arrays.asList(null, PRECOMPILE_START_DATE);
+        List<LocalDate> optionalEndDates = Arrays.asList(null, PRECOMPILE_END_DATE);
+        boolean rollupSource = reportingProperties.getSource() == ReportingProperties.Source.ROLLUPS;
+
+        for (PeriodType periodType : PeriodType.values()) {
+            // No bound, a bound on a period boundary and one inside a period, giving every rollup edge combination
+            List<LocalDate> startDates = Arrays.asList(null,
+                    periodType.periodStart(PRECOMPILE_START_DATE),
+                    periodType.periodStart(PRECOMPILE_START_DATE).plusDays(1));
+            List<LocalDate> endDates = Arrays.asList(null,
+                    periodType.nextPeriodStart(PRECOMPILE_END_DATE).minusDays(1),
+                    periodType.periodStart(PRECOMPILE_END_DATE));
+
+            for (Integer departmentId : optionalIds) {
+                for (Integer skillId : optionalIds) {
+                    for (LocalDate startDate : startDates) {
+                        for (LocalDate endDate : endDates) {
+                            RollupRange range = rollupRange(periodType, startDate, endDate);
+                            precompileOrgReport(periodType, departmentId, skillId, startDate, endDate, null, EmployeeCountMode.EXACT);
+                            if (range != null && rollupSource) {
+                                precompileOrgReport(periodType, departmentId, skillId, startDate, endDate, range, EmployeeCountMode.EXACT);
+                            }
+                            if (range != null) {
+                                precompileOrgReport(periodType, departmentId, skillId, startDate, endDate, range, EmployeeCountMode.APPROXIMATE);
+                            }
+                        }
+                    }
+                }
+            }
+
+            for (Integer skillId : optionalIds) {
+                for (LocalDate startDate : optionalStartDates) {
+                    for (LocalDate endDate : optionalEndDates) {
+                        queryCatalog.precompile(
+                                employeeReportKey(periodType, skillId, startDate, endDate),
+                                () -> compileReport(employeeReportParts(periodType, skillId, startDate, endDate)));
+                    }
+                }
+            }
+        }
+
+        for (Integer departmentId : optionalIds) {
+            for (Integer skillId : optionalIds) {
+                for (LocalDate startDate : optionalStartDates) {
+                    for (LocalDate endDate : optionalEndDates) {
+                        for (boolean countSeriesPoints : List.of(false, true)) {
+                            if (departmentId == null) {
+                                queryCatalog.precompile(
+                                        employeeTimelineKey(skillId, startDate, endDate, countSeriesPoints),
+                                        () -> CompiledQuery.of(buildEmployeeTimelineSql(skillId, startDate, endDate, countSeriesPoints)));
+                            }
+                            queryCatalog.precompile(
+                                    orgDeptTimelineKey(departmentId, skillId, startDate, endDate, countSeriesPoints),
+                                    () -> CompiledQuery.of(buildOrgDeptTimelineSql(departmentId, skillId, startDate, endDate, countSeriesPoints)));
+                        }
+                    }
+                }
+            }
+        }
+
+        log.info("Compiled {} reporting statements", queryCatalog.size());
+    }
+
+    private void precompileOrgReport(PeriodType periodType,
+                                     Integer departmentId,
+                                     Integer skillId,
+                                     LocalDate startDate,
+                                     LocalDate endDate,
+                                     RollupRange range,
+                                     EmployeeCountMode employeeCountMode) {
+        queryCatalog.precompile(
+                orgReportKey(periodType, departmentId, skillId, startDate, endDate, range, employeeCountMode),
+                () -> compileReport(orgReportParts(periodType, departmentId, skillId, startDate, endDate, range, employeeCountMode)));
+    }
+
     // Returns SQL expression that calculates the start date of the given period type
     private String periodStartExpression(PeriodType periodType) {
         return switch (periodType) {
@@ -34,47 +209,32 @@ public class ReportingRepositoryImpl implements ReportingRepository {
         };
     }
 
-    // Returns SQL predicate for filtering by an optional date range
+    // Returns SQL predicate for filtering by an optional date range, served by the (…, entry_date) indexes
     private String dateRangePredicate(LocalDate startDate, LocalDate endDate) {
         StringBuilder predicate = new StringBuilder("TRUE");
 
         if (startDate != null) {
-            predicate.append(" AND entry_date::date >= :startDate");
+            predicate.append(" AND entry_date >= :startDate");
         }
         if (endDate != null) {
-            predicate.append(" AND entry_date::date <= :endDate");
+            predicate.append(" AND entry_date <= :endDate");
         }
 
         return predicate.toString();
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(
-            PeriodType periodType,
-            Integer organizationId,
-            Integer departmentId,
-            Integer skillId,
-            LocalDate startDate,
-            LocalDate endDate
-    ) {
-        // Default period type if missing
-        periodType = periodType == null ? PeriodType.QUARTER : periodType;
-
+    // Returns SQL (unordered) aggregating org/department skill statistics per period from the reporting views
+    private String viewSkillStatsSql(PeriodType periodType,
+                                     Integer departmentId,
+                                     Integer skillId,
+                                     LocalDate startDate,
+                                     LocalDate endDate) {
         String periodStart = periodStartExpression(periodType);
         String dateRangeWhere = dateRangePredicate(startDate, endDate);
 
-        // Build SELECT clause - conditionally include department_name
-        StringBuilder selectBuilder = new StringBuilder("""
+        // Organization and department names are not needed here, the report header carries them
+        StringBuilder sqlBuilder = new StringBuilder(String.format("""
                 SELECT
-                    organization_name,
-                """);
-        if (departmentId != null) {
-            selectBuilder.append("department_name,\n");
-        } else {
-            selectBuilder.append("NULL AS department_name,\n");
-        }
-        selectBuilder.append(String.format("""
                     skill_name,
                     %s AS period_start,
                     avg(rating) AS avg_rating,
@@ -86,9 +246,6 @@ public class ReportingRepositoryImpl implements ReportingRepository {
                 WHERE organization_id = :orgId
                 """, periodStart));
 
-        // Build SQL with conditional filters
-        StringBuilder sqlBuilder = new StringBuilder(selectBuilder);
-
         // Add department filter only when departmentId is provided
         if (departmentId != null) {
             sqlBuilder.append(" AND department_id = :deptId");
@@ -100,213 +257,748 @@ public class ReportingRepositoryImpl implements ReportingRepository {
         }
 
         sqlBuilder.append(" AND ").append(dateRangeWhere);
-        
-        // Build GROUP BY clause - conditionally include department_name
-        sqlBuilder.append(" GROUP BY organization_name");
-        if (departmentId != null) {
-            sqlBuilder.append(", department_name");
+
+        sqlBuilder.append(" GROUP BY skill_name, period_start");
+
+        return sqlBuilder.toString();
+    }
+
+    // Whole periods of a date range that can be read from the rollup tables: [rollupStart, rollupEnd), either bound
+    // open when the range is, plus whether partial periods remain before and after them
+    private record RollupRange(LocalDate rollupStart, LocalDate rollupEnd, boolean leadingEdge, boolean trailingEdge) {
+    }
+
+    // Returns the whole periods inside the date range, or null when the range lies within a single period
+    private static RollupRange rollupRange(PeriodType periodType, LocalDate startDate, LocalDate endDate) {
+        // First whole period on or after startDate, and end (exclusive) of the last whole period up to endDate
+        LocalDate rollupStart = null;
+        LocalDate rollupEnd = null;
+        if (startDate != null) {
+            rollupStart = periodType.periodStart(startDate).equals(startDate)
+                    ? startDate
+                    : periodType.nextPeriodStart(startDate);
+        }
+        if (endDate != null) {
+            rollupEnd = periodType.periodStart(endDate.plusDays(1));
+        }
+        if (rollupStart != null && rollupEnd != null && !rollupStart.isBefore(rollupEnd)) {
+            return null;
         }
-        sqlBuilder.append(", skill_name, period_start");
-        sqlBuilder.append(" ORDER BY skill_name, period_start DESC;");
 
-        String sql = sqlBuilder.toString();
+        return new RollupRange(
+                rollupStart,
+                rollupEnd,
+                startDate != null && startDate.isBefore(rollupStart),
+                endDate != null && !rollupEnd.isAfter(endDate)
+        );
+    }
 
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("orgId", organizationId);
+    // Parameters of the rollup statements for the whole periods of the range
+    private static void rollupParams(PeriodType periodType, RollupRange range, MapSqlParameterSource params) {
+        params.addValue("periodType", periodType.name());
+        if (range.rollupStart() != null) params.addValue("rollupStart", range.rollupStart());
+        if (range.rollupEnd() != null) params.addValue("rollupEnd", range.rollupEnd());
+    }
 
-        if (departmentId != null) params.addValue("deptId", departmentId);
-        if (skillId != null) params.addValue("skillId", skillId);
-        if (startDate != null) params.addValue("startDate", startDate);
-        if (endDate != null) params.addValue("endDate", endDate);
+    // Filter of rollup rows on the organization, optional department and skill, and the whole periods of the range
+    private static String rollupBucketFilter(Integer departmentId, Integer skillId, RollupRange range) {
+        StringBuilder bucketFilter = new StringBuilder("organization_id = :orgId AND period_type = :periodType");
+        if (departmentId != null) bucketFilter.append(" AND department_id = :deptId");
+        if (skillId != null) bucketFilter.append(" AND skill_id = :skillId");
+        if (range.rollupStart() != null) bucketFilter.append(" AND period_start >= :rollupStart");
+        if (range.rollupEnd() != null) bucketFilter.append(" AND period_start < :rollupEnd");
+        return bucketFilter.toString();
+    }
 
-        // Execute SQL & map each row to a statistics DTO
-        List<OrgDeptReportingStatsDto> rows = jdbc.query(sql, params, (rs, rn) ->
-                new OrgDeptReportingStatsDto(
-                        rs.getString("organization_name"),
-                        rs.getString("department_name"),
-                        rs.getString("skill_name"),
-                        rs.getObject("period_start", LocalDate.class),
-                        rs.getDouble("avg_rating"),
-                        rs.getDouble("min_rating"),
-                        rs.getDouble("max_rating"),
-                        rs.getLong("sample_count"),
-                        rs.getLong("employee_count")
+    // Predicate on entry_date selecting the partial periods at either edge of the range
+    private static String rollupEdgesPredicate(RollupRange range) {
+        List<String> edges = new ArrayList<>();
+        if (range.leadingEdge()) edges.add("(entry_date >= :startDate AND entry_date < :rollupStart)");
+        if (range.trailingEdge()) edges.add("(entry_date >= :rollupEnd AND entry_date <= :endDate)");
+        return String.join(" OR ", edges);
+    }
+
+    // Returns SQL counting the distinct employees of every skill name and whole period: exactly from the bucket
+    // employees, or estimated from the bucket sketches merged register by register
+    private static String bucketEmployeesSql(EmployeeCountMode employeeCountMode, String bucketFilter) {
+        if (employeeCountMode == EmployeeCountMode.APPROXIMATE) {
+            return String.format("""
+                        SELECT skill_name,
+                               period_start,
+                               %s AS employee_count
+                        FROM (
+                            SELECT s.name AS skill_name, period_start, register, max(rank) AS rank
+                            FROM skill_rating_rollup_employee_sketches
+                            JOIN skills s ON s.id = skill_id
+                            WHERE %s
+                            GROUP BY s.name, period_start, register
+                        ) registers
+                        GROUP BY skill_name, period_start
+                    """,
+                    HyperLogLog.estimateSql("count(*)", "sum(" + HyperLogLog.scaledInverseSql("rank") + ")"),
+                    bucketFilter);
+        }
+        return String.format("""
+                    SELECT s.name AS skill_name,
+                           period_start,
+                           COUNT(DISTINCT employee_id) AS employee_count
+                    FROM skill_rating_rollup_employees
+                    JOIN skills s ON s.id = skill_id
+                    WHERE %s
+                    GROUP BY s.name, period_start
+                """, bucketFilter);
+    }
+
+    // Returns SQL reading org/department skill statistics from the rollup tables.
+    // Whole periods inside the date range come from the rollups; the partial periods at either edge of the range
+    // are aggregated from the raw rows, so the result matches the view-based aggregation exactly. Buckets are kept per
+    // skill id, but like the views they are reported per skill name. Expects the parameters rollupParams sets.
+    private String rollupSkillStatsSql(PeriodType periodType,
+                                       Integer departmentId,
+                                       Integer skillId,
+                                       RollupRange range,
+                                       EmployeeCountMode employeeCountMode) {
+        String bucketFilter = rollupBucketFilter(departmentId, skillId, range);
+
+        StringBuilder sql = new StringBuilder(String.format("""
+                WITH buckets AS (
+                    SELECT s.name AS skill_name,
+                           period_start,
+                           sum(sample_count) AS sample_count,
+                           sum(rating_count) AS rating_count,
+                           sum(rating_sum)   AS rating_sum,
+                           min(min_rating)   AS min_rating,
+                           max(max_rating)   AS max_rating
+                    FROM skill_rating_rollups
+                    JOIN skills s ON s.id = skill_id
+                    WHERE %1$s
+                    GROUP BY s.name, period_start
+                ), bucket_employees AS (
+                %2$s
+                ), stats AS (
+                    SELECT b.skill_name, b.period_start, b.sample_count, b.rating_count, b.rating_sum,
+                           b.min_rating, b.max_rating, be.employee_count
+                    FROM buckets b
+                    JOIN bucket_employees be USING (skill_name, period_start)
+                """, bucketFilter, bucketEmployeesSql(employeeCountMode, bucketFilter)));
+
+        if (range.leadingEdge() || range.trailingEdge()) {
+            sql.append(String.format("""
+                        UNION ALL
+                        SELECT skill_name,
+                               %s AS period_start,
+                               count(*),
+                               count(rating),
+                               coalesce(sum(rating), 0),
+                               min(rating),
+                               max(rating),
+                               COUNT(DISTINCT employee_id)
+                        FROM v_org_department_skill_period
+                        WHERE organization_id = :orgId
+                        %s
+                        %s
+                          AND (%s)
+                        GROUP BY skill_name, period_start
+                    """,
+                    periodStartExpression(periodType),
+                    departmentId != null ? "AND department_id = :deptId" : "",
+                    skillId != null ? "AND skill_id = :skillId" : "",
+                    rollupEdgesPredicate(range)));
+        }
+
+        sql.append("""
                 )
-        );
+                SELECT
+                    skill_name,
+                    period_start,
+                    rating_sum / NULLIF(rating_count, 0) AS avg_rating,
+                    min_rating,
+                    max_rating,
+                    sample_count,
+                    employee_count
+                FROM stats
+                """);
+
+        return sql.toString();
+    }
 
-        // Note: We don't return null even if rows is empty, because we might have overall ratings
+    // Returns SQL (unordered) counting the ratings of each org/department skill period per rating histogram bin,
+    // read from the reporting views
+    private String viewSkillDistributionsSql(PeriodType periodType,
+                                             Integer departmentId,
+                                             Integer skillId,
+                                             LocalDate startDate,
+                                             LocalDate endDate) {
+        return String.format("""
+                        SELECT skill_name,
+                               %s AS period_start,
+                               %s AS rating_bin,
+                               count(*) AS rating_count
+                        FROM v_org_department_skill_period
+                        WHERE organization_id = :orgId
+                        %s
+                        %s
+                          AND rating IS NOT NULL
+                          AND %s
+                        GROUP BY skill_name, period_start, rating_bin
+                        """,
+                periodStartExpression(periodType),
+                RatingHistogram.binSql("rating"),
+                departmentId != null ? "AND department_id = :deptId" : "",
+                skillId != null ? "AND skill_id = :skillId" : "",
+                dateRangePredicate(startDate, endDate));
+    }
 
-        // Group all rows by skillName
-        Map<String, List<OrgDeptReportingStatsDto>> bySkill = new LinkedHashMap<>();
-        for (OrgDeptReportingStatsDto row : rows) {
-            bySkill.computeIfAbsent(row.skillName(), k -> new ArrayList<>()).add(row);
+    // Returns SQL counting ratings per histogram bin like viewSkillDistributionsSql, with whole periods read from the
+    // rollup histograms and the partial edge periods from the raw rows. Expects the parameters rollupParams sets.
+    private String rollupSkillDistributionsSql(PeriodType periodType,
+                                               Integer departmentId,
+                                               Integer skillId,
+                                               RollupRange range) {
+        StringBuilder sql = new StringBuilder(String.format("""
+                SELECT s.name AS skill_name,
+                       h.period_start,
+                       h.rating_bin,
+                       sum(h.rating_count) AS rating_count
+                FROM (
+                    SELECT skill_id, period_start, rating_bin, rating_count
+                    FROM skill_rating_rollup_histograms
+                    WHERE %s
+                """, rollupBucketFilter(departmentId, skillId, range)));
+
+        if (range.leadingEdge() || range.trailingEdge()) {
+            sql.append(String.format("""
+                        UNION ALL
+                        SELECT skill_id, %s, %s, count(*)
+                        FROM v_org_department_skill_period
+                        WHERE organization_id = :orgId
+                        %s
+                        %s
+                          AND rating IS NOT NULL
+                          AND (%s)
+                        GROUP BY 1, 2, 3
+                    """,
+                    periodStartExpression(periodType),
+                    RatingHistogram.binSql("rating"),
+                    departmentId != null ? "AND department_id = :deptId" : "",
+                    skillId != null ? "AND skill_id = :skillId" : "",
+                    rollupEdgesPredicate(range)));
         }
 
-        // Convert grouped rows into skill-level structures
-        List<OrgDeptReportingSkillDto> skills = new ArrayList<>();
+        sql.append("""
+                ) h
+                JOIN skills s ON s.id = h.skill_id
+                GROUP BY s.name, h.period_start, h.rating_bin
+                """);
+        return sql.toString();
+    }
 
-        for (Map.Entry<String, List<OrgDeptReportingStatsDto>> entry : bySkill.entrySet()) {
-            String skillName = entry.getKey();
-            List<OrgDeptReportingStatsDto> skillRows = entry.getValue();
+    // Returns SQL predicate filtering the given review date column by an optional date range
+    private String reviewDateRangePredicate(String column, LocalDate startDate, LocalDate endDate) {
+        StringBuilder predicate = new StringBuilder("TRUE");
+        if (startDate != null) {
+            predicate.append(" AND ").append(column).append(" >= :startDate");
+        }
+        if (endDate != null) {
+            predicate.append(" AND ").append(column).append(" <= :endDate");
+        }
+        return predicate.toString();
+    }
+
+    // One independently runnable piece of a report: a CTE and the projection of its rows into the report row shape
+    private record ReportPart(String name, String cteSql, String projection) {
+    }
+
+    // Accumulates report rows of every row_kind. When the parts run as separate statements, each part fills
+    // its own instance and the results are absorbed in part order, giving the same report as the combined statement.
+    private interface ReportRows<R extends ReportRows<R>> {
+
+        void add(ResultSet rs) throws SQLException;
+
+        void absorb(R other);
+    }
 
-            // Convert each flat row into a lean period DTO
-            List<OrgDeptReportingPeriodDto> periods = new ArrayList<>();
-            for (OrgDeptReportingStatsDto r : skillRows) {
-                periods.add(new OrgDeptReportingPeriodDto(
-                        r.periodStart(),
-                        r.avgRating(),
-                        r.minRating(),
-                        r.maxRating(),
-                        r.sampleCount(),
-                        r.employeeCount()
+    private static final class OrgReportRows implements ReportRows<OrgReportRows> {
+
+        private boolean organizationFound;
+        private String organizationName;
+        private String departmentName;
+        private final Map<String, List<OrgDeptReportingPeriodDto>> bySkill = new LinkedHashMap<>();
+        private final List<OrgDeptOverallRatingPeriodDto> overallRatings = new ArrayList<>();
+        // Rating histogram per skill name and period start
+        private final Map<String, Map<LocalDate, RatingHistogram>> distributions = new HashMap<>();
+
+        @Override
+        public void add(ResultSet rs) throws SQLException {
+            switch (rs.getInt("row_kind")) {
+                case 0 -> {
+                    organizationFound = true;
+                    organizationName = rs.getString("organization_name");
+                    departmentName = rs.getString("department_name");
+                }
+                case 1 -> bySkill.computeIfAbsent(rs.getString("skill_name"), k -> new ArrayList<>())
+                        .add(new OrgDeptReportingPeriodDto(
+                                rs.getObject("period_start", LocalDate.class),
+                                rs.getDouble("avg_rating"),
+                                rs.getDouble("min_rating"),
+                                rs.getDouble("max_rating"),
+                                rs.getLong("sample_count"),
+                                rs.getLong("employee_count"),
+                                null
+                        ));
+                case 3 -> distributions
+                        .computeIfAbsent(rs.getString("skill_name"), k -> new HashMap<>())
+                        .computeIfAbsent(rs.getObject("period_start", LocalDate.class), k -> new RatingHistogram())
+                        .add(rs.getInt("rating_bin"), rs.getLong("sample_count"));
+                default -> overallRatings.add(new OrgDeptOverallRatingPeriodDto(
+                        rs.getObject("period_start", LocalDate.class),
+                        rs.getDouble("avg_rating")
                 ));
             }
+        }
 
-            skills.add(new OrgDeptReportingSkillDto(skillName, periods));
-        }
-
-        // Extract parent org/dept info from first row (if available)
-        String organizationName = null;
-        String departmentName = null;
-        if (!rows.isEmpty()) {
-            OrgDeptReportingStatsDto first = rows.getFirst();
-            organizationName = first.organizationName();
-            departmentName = (departmentId != null) ? first.departmentName() : null;
-        }
-
-        // If no skill results but we need org/dept info, get it from a separate query
-        if (organizationName == null) {
-            String orgNameSql = """
-                    SELECT o.name AS organization_name
-                    FROM organizations o
-                    WHERE o.id = :orgId
-                    LIMIT 1;
-                    """;
-            List<Map<String, Object>> orgRows = jdbc.query(orgNameSql,
-                    new MapSqlParameterSource().addValue("orgId", organizationId),
-                    (rs, rn) -> {
-                        Map<String, Object> row = new LinkedHashMap<>();
-                        row.put("organization_name", rs.getString("organization_name"));
-                        return row;
-                    });
-            if (!orgRows.isEmpty()) {
-                organizationName = (String) orgRows.getFirst().get("organization_name");
+        @Override
+        public void absorb(OrgReportRows other) {
+            if (other.organizationFound) {
+                organizationFound = true;
+                organizationName = other.organizationName;
+                departmentName = other.departmentName;
             }
+            other.bySkill.forEach((skill, periods) -> bySkill.computeIfAbsent(skill, k -> new ArrayList<>()).addAll(periods));
+            overallRatings.addAll(other.overallRatings);
+            other.distributions.forEach((skill, byPeriod) -> byPeriod.forEach((periodStart, histogram) -> distributions
+                    .computeIfAbsent(skill, k -> new HashMap<>())
+                    .computeIfAbsent(periodStart, k -> new RatingHistogram())
+                    .merge(histogram)));
+        }
+
+        private OrgDeptReportingResponseDto response(Integer organizationId, Integer departmentId) {
+            return new OrgDeptReportingResponseDto(
+                    organizationId,
+                    organizationName,
+                    departmentId,
+                    departmentName,
+                    skills(),
+                    overallRatings
+            );
         }
 
-        // Get department name if needed and not already available
-        if (departmentId != null && departmentName == null) {
-            String deptNameSql = """
-                    SELECT d.name AS department_name
-                    FROM departments d
-                    WHERE d.id = :deptId
-                    LIMIT 1;
-                    """;
-            List<Map<String, Object>> deptRows = jdbc.query(deptNameSql,
-                    new MapSqlParameterSource().addValue("deptId", departmentId),
-                    (rs, rn) -> {
-                        Map<String, Object> row = new LinkedHashMap<>();
-                        row.put("department_name", rs.getString("department_name"));
-                        return row;
-                    });
-            if (!deptRows.isEmpty()) {
-                departmentName = (String) deptRows.getFirst().get("department_name");
+        // Skill periods with the rating distribution of each attached
+        private List<OrgDeptReportingSkillDto> skills() {
+            return bySkill.entrySet().stream()
+                    .map(entry -> {
+                        Map<LocalDate, RatingHistogram> byPeriod = distributions.getOrDefault(entry.getKey(), Map.of());
+                        return new OrgDeptReportingSkillDto(entry.getKey(), entry.getValue().stream()
+                                .map(period -> {
+                                    RatingHistogram histogram = byPeriod.get(period.periodStart());
+                                    return new OrgDeptReportingPeriodDto(
+                                            period.periodStart(),
+                                            period.avgRating(),
+                                            period.minRating(),
+                                            period.maxRating(),
+                                            period.sampleCount(),
+                                            period.employeeCount(),
+                                            histogram != null ? histogram.toDto() : null
+                                    );
+                                })
+                                .toList());
+                    })
+                    .toList();
+        }
+    }
+
+    private static final class EmployeeReportRows implements ReportRows<EmployeeReportRows> {
+
+        private boolean employeeFound;
+        private String firstName;
+        private String lastName;
+        private final Map<String, List<EmployeeReportingPeriodDto>> bySkill = new LinkedHashMap<>();
+        private final List<EmployeeOverallRatingPeriodDto> overallRatings = new ArrayList<>();
+
+        @Override
+        public void add(ResultSet rs) throws SQLException {
+            switch (rs.getInt("row_kind")) {
+                case 0 -> {
+                    employeeFound = true;
+                    firstName = rs.getString("first_name");
+                    lastName = rs.getString("last_name");
+                }
+                case 1 -> bySkill.computeIfAbsent(rs.getString("skill_name"), k -> new ArrayList<>())
+                        .add(new EmployeeReportingPeriodDto(
+                                rs.getObject("period_start", LocalDate.class),
+                                rs.getDouble("avg_rating"),
+                                rs.getDouble("min_rating"),
+                                rs.getDouble("max_rating")
+                        ));
+                default -> overallRatings.add(new EmployeeOverallRatingPeriodDto(
+                        rs.getObject("period_start", LocalDate.class),
+                        rs.getDouble("avg_rating")
+                ));
             }
         }
 
-        // Build date range predicate for performance_reviews (using review_date instead of entry_date)
-        StringBuilder overallRatingDatePredicate = new StringBuilder("TRUE");
-        if (startDate != null) {
-            overallRatingDatePredicate.append(" AND pr.review_date::date >= :startDate");
+        @Override
+        public void absorb(EmployeeReportRows other) {
+            if (other.employeeFound) {
+                employeeFound = true;
+                firstName = other.firstName;
+                lastName = other.lastName;
+            }
+            other.bySkill.forEach((skill, periods) -> bySkill.computeIfAbsent(skill, k -> new ArrayList<>()).addAll(periods));
+            overallRatings.addAll(other.overallRatings);
         }
-        if (endDate != null) {
-            overallRatingDatePredicate.append(" AND pr.review_date::date <= :endDate");
+
+        private EmployeeReportingResponseDto response(Integer employeeId) {
+            return new EmployeeReportingResponseDto(
+                    employeeId,
+                    firstName,
+                    lastName,
+                    bySkill.entrySet().stream()
+                            .map(entry -> new EmployeeReportingSkillDto(entry.getKey(), entry.getValue()))
+                            .toList(),
+                    overallRatings
+            );
         }
+    }
 
-        // Query overall ratings from performance_reviews table
-        // Use review_date for period grouping instead of entry_date
-        String overallRatingPeriodStart = periodStart.replace("entry_date", "review_date");
-        String overallRatingSql = String.format("""
-                SELECT
-                    %s AS period_start,
-                    AVG(pr.overall_rating) AS avg_overall_rating
-                FROM performance_reviews pr
-                JOIN employees e ON pr.employee_id = e.id
-                JOIN departments d ON e.department_id = d.id
-                WHERE d.organization_id = :orgId
-                  AND pr.review_date IS NOT NULL
-                  AND pr.overall_rating IS NOT NULL
-                  %s
-                  AND %s
-                GROUP BY period_start
-                ORDER BY period_start;
-                """, overallRatingPeriodStart,
-                (departmentId != null) ? "AND d.id = :deptId" : "",
-                overallRatingDatePredicate.toString());
-
-        // Use same parameters for overall rating query
-        MapSqlParameterSource overallRatingParams = new MapSqlParameterSource()
-                .addValue("orgId", organizationId);
-        if (departmentId != null) overallRatingParams.addValue("deptId", departmentId);
-        if (startDate != null) overallRatingParams.addValue("startDate", startDate);
-        if (endDate != null) overallRatingParams.addValue("endDate", endDate);
+    // Rows of the reports of several entities read together, handed to the rows of each entity by the key column.
+    // Rows with a NULL key belong to the enclosing report (e.g. the organization of a department batch).
+    private static final class KeyedReportRows<R extends ReportRows<R>> implements ReportRows<KeyedReportRows<R>> {
 
-        // Execute overall rating query
-        List<OrgDeptOverallRatingPeriodDto> overallRatings = jdbc.query(overallRatingSql, overallRatingParams, (rs, rn) ->
-                new OrgDeptOverallRatingPeriodDto(
-                        rs.getObject("period_start", LocalDate.class),
-                        rs.getDouble("avg_overall_rating")
-                )
-        );
+        private final String keyColumn;
+        private final Supplier<R> rowsFactory;
+        private final R unkeyed;
+        // Ordered by key, so batch responses list entities by id
+        private final Map<Integer, R> byKey = new TreeMap<>();
 
-        return new OrgDeptReportingResponseDto(
-                organizationId,
-                organizationName,
-                departmentId,
-                departmentName,
-                skills,
-                overallRatings
-        );
+        private KeyedReportRows(String keyColumn, Supplier<R> rowsFactory) {
+            this.keyColumn = keyColumn;
+            this.rowsFactory = rowsFactory;
+            this.unkeyed = rowsFactory.get();
+        }
+
+        @Override
+        public void add(ResultSet rs) throws SQLException {
+            Integer key = rs.getObject(keyColumn, Integer.class);
+            (key == null ? unkeyed : byKey.computeIfAbsent(key, k -> rowsFactory.get())).add(rs);
+        }
+
+        @Override
+        public void absorb(KeyedReportRows<R> other) {
+            unkeyed.absorb(other.unkeyed);
+            other.byKey.forEach((key, rows) -> byKey.computeIfAbsent(key, k -> rowsFactory.get()).absorb(rows));
+        }
+    }
+
+    // Returns one statement producing the rows of the given parts, ordered by row_kind, then skill and period
+    private static String reportStatement(List<ReportPart> parts) {
+        StringBuilder sql = new StringBuilder("WITH ");
+        for (int i = 0; i < parts.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(parts.get(i).name()).append(" AS (\n")
+                    .append(parts.get(i).cteSql()).append(")");
+        }
+        // Postgres only orders a UNION by its output columns, so the rows are ordered in an outer query
+        sql.append("\nSELECT * FROM (\n");
+        for (int i = 0; i < parts.size(); i++) {
+            sql.append(i == 0 ? "" : "UNION ALL\n").append(parts.get(i).projection());
+        }
+        sql.append("""
+                ) report_rows
+                ORDER BY row_kind,
+                         skill_name,
+                         CASE WHEN row_kind = 1 THEN period_start END DESC,
+                         period_start;
+                """);
+        return sql.toString();
+    }
+
+    // Compiles the parts of a report into the combined statement and the statement of each part on its own
+    private static CompiledQuery compileReport(List<ReportPart> parts) {
+        LinkedHashMap<String, String> partSql = new LinkedHashMap<>();
+        for (ReportPart part : parts) {
+            partSql.put(part.name(), reportStatement(List.of(part)));
+        }
+        return CompiledQuery.of(reportStatement(parts), partSql);
+    }
+
+    // Runs the compiled report according to the configured execution mode and collects its rows
+    private <R extends ReportRows<R>> R runReport(CompiledQuery report, MapSqlParameterSource params, Supplier<R> rowsFactory) {
+        return switch (reportingProperties.getExecution().getMode()) {
+            case COMBINED -> jdbc.query(report.sql(), params, (ResultSetExtractor<R>) rs -> collectRows(rs, rowsFactory.get()));
+            case SEQUENTIAL -> {
+                R rows = rowsFactory.get();
+                for (String partSql : report.partSql().values()) {
+                    jdbc.query(partSql, params, (ResultSetExtractor<R>) rs -> collectRows(rs, rows));
+                }
+                yield rows;
+            }
+            case PARALLEL -> runParallel(report, params, rowsFactory);
+        };
+    }
+
+    private static <R extends ReportRows<R>> R collectRows(ResultSet rs, R rows) throws SQLException {
+        while (rs.next()) {
+            rows.add(rs);
+        }
+        return rows;
+    }
+
+    // Runs every part on its own virtual thread and pooled connection. When a part fails or the report deadline
+    // passes, the statements still running are cancelled on the server so no sibling keeps a connection busy.
+    // The report methods do not start a transaction of their own, so the calling thread holds no connection while
+    // its parts wait for theirs: reports waiting on their parts could otherwise hold the whole pool.
+    private <R extends ReportRows<R>> R runParallel(CompiledQuery report, MapSqlParameterSource params, Supplier<R> rowsFactory) {
+        Duration deadline = reportingProperties.getExecution().getDeadline();
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        Set<Statement> running = ConcurrentHashMap.newKeySet();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Runnable cancelSiblings = () -> {
+            cancelled.set(true);
+            running.forEach(ReportingRepositoryImpl::cancelQuietly);
+        };
+        // Cancelled siblings fail too, only the failure that caused the cancellation is reported
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        report.partSql().forEach((partName, partSql) -> {
+            futures.add(CompletableFuture.supplyAsync(() -> jdbc.execute(
+                    partSql,
+                    params,
+                    (PreparedStatement ps) -> {
+                        running.add(ps);
+                        try {
+                            if (cancelled.get()) {
+                                throw new SQLException("Report part " + partName + " cancelled");
+                            }
+                            ps.setQueryTimeout(remainingSeconds(deadlineNanos));
+                            try (ResultSet rs = ps.executeQuery()) {
+                                return collectRows(rs, rowsFactory.get());
+                            }
+                        } finally {
+                            running.remove(ps);
+                        }
+                    }), reportPartExecutor)
+                    // Chained rather than registered alongside, so the failure is recorded before the report sees it
+                    .whenComplete((rows, failure) -> {
+                        if (failure != null) {
+                            firstFailure.compareAndSet(null, failure instanceof CompletionException ? failure.getCause() : failure);
+                            cancelSiblings.run();
+                        }
+                    }));
+        });
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            cancelSiblings.run();
+            throw new QueryTimeoutException("Report did not complete within " + deadline);
+        } catch (ExecutionException e) {
+            Throwable cause = firstFailure.get();
+            throw cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("Report query failed", cause);
+        } catch (InterruptedException e) {
+            cancelSiblings.run();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Report query interrupted", e);
+        }
+
+        R rows = rowsFactory.get();
+        futures.forEach(future -> rows.absorb(future.join()));
+        return rows;
+    }
+
+    private static int remainingSeconds(long deadlineNanos) {
+        long remaining = TimeUnit.NANOSECONDS.toSeconds(deadlineNanos - System.nanoTime() + 999_999_999L);
+        return (int) Math.max(1, remaining);
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            // The statement already finished or its connection is gone, nothing left to cancel
+        }
+    }
+
+    // Waits for the running parts, which the report deadline bounds
+    @PreDestroy
+    public void closeReportPartExecutor() {
+        reportPartExecutor.close();
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public EmployeeReportingResponseDto getReportByEmployee(
+    // Joins the caller's transaction without starting one, see runParallel
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public OrgDeptReportingResponseDto getReportByOrganizationAndDepartment(
             PeriodType periodType,
-            Integer employeeId,
+            Integer organizationId,
+            Integer departmentId,
             Integer skillId,
             LocalDate startDate,
-            LocalDate endDate
+            LocalDate endDate,
+            EmployeeCountMode employeeCountMode
     ) {
         // Default period type if missing
-        periodType = periodType == null ? PeriodType.QUARTER : periodType;
+        PeriodType reportPeriodType = periodType == null ? PeriodType.QUARTER : periodType;
 
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orgId", organizationId);
+
+        if (departmentId != null) params.addValue("deptId", departmentId);
+        if (skillId != null) params.addValue("skillId", skillId);
+        if (startDate != null) params.addValue("startDate", startDate);
+        if (endDate != null) params.addValue("endDate", endDate);
+
+        // Skill statistics and rating histograms come either from the rollup tables or straight from the reporting views.
+        // Approximate employee counts merge the sketches kept beside the rollups, so they read the rollups whatever the
+        // source; partial periods at the edges of the range, and ranges within a single period, are counted exactly.
+        RollupRange range = null;
+        if (reportingProperties.getSource() == ReportingProperties.Source.ROLLUPS
+                || employeeCountMode == EmployeeCountMode.APPROXIMATE) {
+            range = rollupRange(reportPeriodType, startDate, endDate);
+        }
+        if (range != null) {
+            rollupParams(reportPeriodType, range, params);
+        }
+
+        RollupRange reportRange = range;
+        CompiledQuery report = queryCatalog.get(
+                orgReportKey(reportPeriodType, departmentId, skillId, startDate, endDate, reportRange, employeeCountMode),
+                () -> compileReport(orgReportParts(reportPeriodType, departmentId, skillId, startDate, endDate,
+                        reportRange, employeeCountMode)));
+
+        OrgReportRows rows = runReport(report, params, OrgReportRows::new);
+        if (!rows.organizationFound) {
+            throw new RuntimeException("Organization not found");
+        }
+
+        return rows.response(organizationId, departmentId);
+    }
+
+    // The SQL text of an org/department report depends only on which filters are present and where the statistics
+    // are read from; range is null when they come from the reporting views
+    private static QueryKey orgReportKey(PeriodType periodType,
+                                         Integer departmentId,
+                                         Integer skillId,
+                                         LocalDate startDate,
+                                         LocalDate endDate,
+                                         RollupRange range,
+                                         EmployeeCountMode employeeCountMode) {
+        EnumSet<QueryFilter> filters = dateFilters(startDate, endDate);
+        if (departmentId != null) filters.add(QueryFilter.DEPARTMENT);
+        if (skillId != null) filters.add(QueryFilter.SKILL);
+        if (range != null) {
+            filters.add(QueryFilter.ROLLUPS);
+            if (range.leadingEdge()) filters.add(QueryFilter.LEADING_EDGE);
+            if (range.trailingEdge()) filters.add(QueryFilter.TRAILING_EDGE);
+            if (employeeCountMode == EmployeeCountMode.APPROXIMATE) filters.add(QueryFilter.APPROXIMATE);
+        }
+        return QueryKey.of(ReportQuery.ORG_REPORT, periodType, filters);
+    }
+
+    private static EnumSet<QueryFilter> dateFilters(LocalDate startDate, LocalDate endDate) {
+        EnumSet<QueryFilter> filters = EnumSet.noneOf(QueryFilter.class);
+        if (startDate != null) filters.add(QueryFilter.START_DATE);
+        if (endDate != null) filters.add(QueryFilter.END_DATE);
+        return filters;
+    }
+
+    private List<ReportPart> orgReportParts(PeriodType periodType,
+                                            Integer departmentId,
+                                            Integer skillId,
+                                            LocalDate startDate,
+                                            LocalDate endDate,
+                                            RollupRange range,
+                                            EmployeeCountMode employeeCountMode) {
         String periodStart = periodStartExpression(periodType);
-        String dateRangeWhere = dateRangePredicate(startDate, endDate);
 
-        // Build WHERE clause with optional skill filter
-        StringBuilder whereClause = new StringBuilder("employee_id = :employeeId");
-        if (skillId != null) {
-            whereClause.append(" AND skill_id = :skillId");
+        String skillStatsSql;
+        String skillDistributionsSql;
+        if (range != null) {
+            skillStatsSql = rollupSkillStatsSql(periodType, departmentId, skillId, range, employeeCountMode);
+            skillDistributionsSql = rollupSkillDistributionsSql(periodType, departmentId, skillId, range);
+        } else {
+            skillStatsSql = viewSkillStatsSql(periodType, departmentId, skillId, startDate, endDate);
+            skillDistributionsSql = viewSkillDistributionsSql(periodType, departmentId, skillId, startDate, endDate);
         }
-        whereClause.append(" AND ").append(dateRangeWhere);
 
-        // SQL expression for period grouping (month, quarter, etc.)
-        String sql = String.format("""
-                SELECT
-                    employee_id,
-                    first_name,
-                    last_name,
-                    skill_name,
-                    %s AS period_start,
-                    avg(rating) AS avg_rating,
-                    min(rating) AS min_rating,
-                    max(rating) AS max_rating
-                FROM v_employee_skill_period
-                WHERE %s
-                GROUP BY employee_id, first_name, last_name, skill_name, period_start
-                ORDER BY skill_name, period_start DESC;
-                """, periodStart, whereClause);
+        // Overall ratings are grouped by review_date instead of entry_date
+        String overallRatingPeriodStart = periodStart.replace("entry_date", "review_date");
+
+        // The report rows are the org/dept header row, the skill statistics, the overall ratings and the rating
+        // histogram bins, told apart by row_kind (0 = header, 1 = skill period, 2 = overall rating period, 3 = bin)
+        return List.of(
+                new ReportPart("header", String.format("""
+                        SELECT o.name AS organization_name,
+                               %s AS department_name
+                        FROM organizations o
+                        %s
+                        WHERE o.id = :orgId
+                        """,
+                        departmentId != null ? "d.name" : "NULL",
+                        departmentId != null ? "LEFT JOIN departments d ON d.id = :deptId" : ""), """
+                        SELECT 0 AS row_kind, organization_name, department_name,
+                               NULL AS skill_name, NULL::date AS period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating,
+                               NULL::bigint AS sample_count, NULL::bigint AS employee_count, NULL::int AS rating_bin
+                        FROM header
+                        """),
+                new ReportPart("skill_stats", skillStatsSql, """
+                        SELECT 1 AS row_kind, NULL AS organization_name, NULL AS department_name,
+                               skill_name, period_start,
+                               avg_rating::float8 AS avg_rating, min_rating::float8 AS min_rating, max_rating::float8 AS max_rating,
+                               sample_count::bigint AS sample_count, employee_count::bigint AS employee_count,
+                               NULL::int AS rating_bin
+                        FROM skill_stats
+                        """),
+                new ReportPart("skill_distributions", skillDistributionsSql, """
+                        SELECT 3 AS row_kind, NULL AS organization_name, NULL AS department_name,
+                               skill_name, period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating,
+                               rating_count::bigint AS sample_count, NULL::bigint AS employee_count, rating_bin
+                        FROM skill_distributions
+                        """),
+                new ReportPart("overall_ratings", String.format("""
+                        SELECT
+                            %s AS period_start,
+                            AVG(pr.overall_rating) AS avg_overall_rating
+                        FROM performance_reviews pr
+                        JOIN employees e ON pr.employee_id = e.id
+                        JOIN departments d ON e.department_id = d.id
+                        WHERE d.organization_id = :orgId
+                          AND pr.review_date IS NOT NULL
+                          AND pr.overall_rating IS NOT NULL
+                          %s
+                          AND %s
+                        GROUP BY period_start
+                        """,
+                        overallRatingPeriodStart,
+                        departmentId != null ? "AND d.id = :deptId" : "",
+                        reviewDateRangePredicate("pr.review_date", startDate, endDate)), """
+                        SELECT 2 AS row_kind, NULL AS organization_name, NULL AS department_name,
+                               NULL AS skill_name, period_start,
+                               avg_overall_rating::float8 AS avg_rating, NULL AS min_rating, NULL AS max_rating,
+                               NULL AS sample_count, NULL AS employee_count, NULL::int AS rating_bin
+                        FROM overall_ratings
+                        """)
+        );
+    }
+
+    @Override
+    // Joins the caller's transaction without starting one, see runParallel
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public EmployeeReportingResponseDto getReportByEmployee(
+            PeriodType periodType,
+            Integer employeeId,
+            Integer skillId,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        // Default period type if missing
+        PeriodType reportPeriodType = periodType == null ? PeriodType.QUARTER : periodType;
 
         // Mandatory employee parameter
         MapSqlParameterSource params = new MapSqlParameterSource()
@@ -314,142 +1006,363 @@ public class ReportingRepositoryImpl implements ReportingRepository {
 
         // Optional skill filter parameter
         if (skillId != null) params.addValue("skillId", skillId);
-        
+
         // Optional date range parameters
         if (startDate != null) params.addValue("startDate", startDate);
         if (endDate != null) params.addValue("endDate", endDate);
 
-        // Execute SQL & map each row to a statistics DTO
-        List<EmployeeReportingStatsDto> rows = jdbc.query(sql, params, (rs, rn) ->
-                new EmployeeReportingStatsDto(
-                        rs.getInt("employee_id"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getString("skill_name"),
-                        rs.getObject("period_start", LocalDate.class),
-                        rs.getDouble("avg_rating"),
-                        rs.getDouble("min_rating"),
-                        rs.getDouble("max_rating")
-                )
-        );
-
-        // Note: We don't return null even if rows is empty, because we might have overall ratings
+        CompiledQuery report = queryCatalog.get(
+                employeeReportKey(reportPeriodType, skillId, startDate, endDate),
+                () -> compileReport(employeeReportParts(reportPeriodType, skillId, startDate, endDate)));
 
-        // Group all rows by skillName
-        Map<String, List<EmployeeReportingStatsDto>> bySkill = new LinkedHashMap<>();
-        for (EmployeeReportingStatsDto row : rows) {
-            bySkill.computeIfAbsent(row.skillName(), k -> new ArrayList<>()).add(row);
-        }
+        EmployeeReportRows rows = runReport(report, params, EmployeeReportRows::new);
 
-        // Convert grouped rows into skill-level structures
-        List<EmployeeReportingSkillDto> skills = new ArrayList<>();
+        return rows.response(employeeId);
+    }
 
-        for (Map.Entry<String, List<EmployeeReportingStatsDto>> entry : bySkill.entrySet()) {
-            String skillName = entry.getKey();
-            List<EmployeeReportingStatsDto> skillRows = entry.getValue();
+    private static QueryKey employeeReportKey(PeriodType periodType, Integer skillId, LocalDate startDate, LocalDate endDate) {
+        EnumSet<QueryFilter> filters = dateFilters(startDate, endDate);
+        if (skillId != null) filters.add(QueryFilter.SKILL);
+        return QueryKey.of(ReportQuery.EMPLOYEE_REPORT, periodType, filters);
+    }
 
-            // Convert each flat row into a lean period DTO
-            List<EmployeeReportingPeriodDto> periods = new ArrayList<>();
-            for (EmployeeReportingStatsDto r : skillRows) {
-                periods.add(new EmployeeReportingPeriodDto(
-                        r.periodStart(),
-                        r.avgRating(),
-                        r.minRating(),
-                        r.maxRating()
-                ));
-            }
+    private List<ReportPart> employeeReportParts(PeriodType periodType,
+                                                 Integer skillId,
+                                                 LocalDate startDate,
+                                                 LocalDate endDate) {
+        String periodStart = periodStartExpression(periodType);
+        String dateRangeWhere = dateRangePredicate(startDate, endDate);
 
-            // Add final skill entry
-            skills.add(new EmployeeReportingSkillDto(skillName, periods));
+        // Build WHERE clause with optional skill filter
+        StringBuilder whereClause = new StringBuilder("employee_id = :employeeId");
+        if (skillId != null) {
+            whereClause.append(" AND skill_id = :skillId");
         }
+        whereClause.append(" AND ").append(dateRangeWhere);
 
-        // Extract parent employee info from first row (if available)
-        String firstName = null;
-        String lastName = null;
-        if (!rows.isEmpty()) {
-            EmployeeReportingStatsDto first = rows.getFirst();
-            firstName = first.firstName();
-            lastName = first.lastName();
-        }
+        // Overall ratings are grouped by review_date instead of entry_date
+        String overallRatingPeriodStart = periodStart.replace("entry_date", "review_date");
 
-        // Build date range predicate for performance_reviews (using review_date instead of entry_date)
-        StringBuilder overallRatingDatePredicate = new StringBuilder("TRUE");
-        if (startDate != null) {
-            overallRatingDatePredicate.append(" AND review_date::date >= :startDate");
-        }
-        if (endDate != null) {
-            overallRatingDatePredicate.append(" AND review_date::date <= :endDate");
+        // The report rows are the employee header row, the skill statistics and the overall ratings,
+        // told apart by row_kind (0 = header, 1 = skill period, 2 = overall rating period)
+        return List.of(
+                new ReportPart("header", """
+                        SELECT first_name, last_name
+                        FROM employees
+                        WHERE id = :employeeId
+                        """, """
+                        SELECT 0 AS row_kind, first_name, last_name,
+                               NULL AS skill_name, NULL::date AS period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating
+                        FROM header
+                        """),
+                new ReportPart("skill_stats", String.format("""
+                        SELECT
+                            skill_name,
+                            %s AS period_start,
+                            avg(rating) AS avg_rating,
+                            min(rating) AS min_rating,
+                            max(rating) AS max_rating
+                        FROM v_employee_skill_period
+                        WHERE %s
+                        GROUP BY skill_name, period_start
+                        """, periodStart, whereClause), """
+                        SELECT 1 AS row_kind, NULL AS first_name, NULL AS last_name,
+                               skill_name, period_start,
+                               avg_rating::float8 AS avg_rating, min_rating::float8 AS min_rating, max_rating::float8 AS max_rating
+                        FROM skill_stats
+                        """),
+                new ReportPart("overall_ratings", String.format("""
+                        SELECT
+                            %s AS period_start,
+                            AVG(overall_rating) AS overall_rating
+                        FROM performance_reviews
+                        WHERE employee_id = :employeeId
+                          AND review_date IS NOT NULL
+                          AND overall_rating IS NOT NULL
+                          AND %s
+                        GROUP BY period_start
+                        """, overallRatingPeriodStart, reviewDateRangePredicate("review_date", startDate, endDate)), """
+                        SELECT 2 AS row_kind, NULL AS first_name, NULL AS last_name,
+                               NULL AS skill_name, period_start,
+                               overall_rating::float8 AS avg_rating, NULL AS min_rating, NULL AS max_rating
+                        FROM overall_ratings
+                        """)
+        );
+    }
+
+    // Restricts a column to the ids of an array parameter: not at all for a null list, to nothing for an empty one.
+    // The ids are bound as one array, so the statement text does not change with their number.
+    private static String idsPredicate(String column, String parameter, List<Integer> ids) {
+        if (ids == null) {
+            return "";
         }
+        return ids.isEmpty() ? "AND FALSE" : "AND " + column + " = ANY(:" + parameter + ")";
+    }
 
-        // Query overall ratings from performance_reviews table
-        // Use review_date for period grouping instead of entry_date
-        String overallRatingPeriodStart = periodStart.replace("entry_date", "review_date");
-        String overallRatingSql = String.format("""
-                SELECT
-                    %s AS period_start,
-                    AVG(overall_rating) AS overall_rating
-                FROM performance_reviews
-                WHERE employee_id = :employeeId
-                  AND review_date IS NOT NULL
-                  AND overall_rating IS NOT NULL
-                  AND %s
-                GROUP BY period_start
-                ORDER BY period_start;
-                """, overallRatingPeriodStart, overallRatingDatePredicate.toString());
-
-        // Use same parameters for overall rating query
-        MapSqlParameterSource overallRatingParams = new MapSqlParameterSource()
-                .addValue("employeeId", employeeId);
-        if (startDate != null) overallRatingParams.addValue("startDate", startDate);
-        if (endDate != null) overallRatingParams.addValue("endDate", endDate);
+    // Parts of the department reports of a batch: the report parts of getReportByOrganizationAndDepartment, grouped
+    // by department_id as well. The organization header row has a NULL department_id.
+    private List<ReportPart> batchDepartmentParts(PeriodType periodType,
+                                                  List<Integer> departmentIds,
+                                                  Integer skillId,
+                                                  LocalDate startDate,
+                                                  LocalDate endDate) {
+        String periodStart = periodStartExpression(periodType);
+        String departmentFilter = idsPredicate("department_id", "deptIds", departmentIds);
+        String skillFilter = skillId != null ? "AND skill_id = :skillId" : "";
+
+        return List.of(
+                new ReportPart("header", String.format("""
+                        SELECT o.name AS organization_name, NULL::int AS department_id, NULL AS department_name
+                        FROM organizations o
+                        WHERE o.id = :orgId
+                        UNION ALL
+                        SELECT o.name, d.id, d.name
+                        FROM departments d
+                        JOIN organizations o ON o.id = d.organization_id
+                        WHERE d.organization_id = :orgId
+                        %s
+                        """, idsPredicate("d.id", "deptIds", departmentIds)), """
+                        SELECT 0 AS row_kind, department_id, organization_name, department_name,
+                               NULL AS skill_name, NULL::date AS period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating,
+                               NULL::bigint AS sample_count, NULL::bigint AS employee_count, NULL::int AS rating_bin
+                        FROM header
+                        """),
+                new ReportPart("skill_stats", String.format("""
+                        SELECT department_id,
+                               skill_name,
+                               %s AS period_start,
+                               avg(rating) AS avg_rating,
+                               min(rating) AS min_rating,
+                               max(rating) AS max_rating,
+                               count(*) AS sample_count,
+                               COUNT(DISTINCT employee_id) AS employee_count
+                        FROM v_org_department_skill_period
+                        WHERE organization_id = :orgId
+                        %s
+                        %s
+                          AND %s
+                        GROUP BY department_id, skill_name, period_start
+                        """, periodStart, departmentFilter, skillFilter, dateRangePredicate(startDate, endDate)), """
+                        SELECT 1 AS row_kind, department_id, NULL AS organization_name, NULL AS department_name,
+                               skill_name, period_start,
+                               avg_rating::float8 AS avg_rating, min_rating::float8 AS min_rating, max_rating::float8 AS max_rating,
+                               sample_count::bigint AS sample_count, employee_count::bigint AS employee_count,
+                               NULL::int AS rating_bin
+                        FROM skill_stats
+                        """),
+                new ReportPart("skill_distributions", String.format("""
+                        SELECT department_id,
+                               skill_name,
+                               %s AS period_start,
+                               %s AS rating_bin,
+                               count(*) AS rating_count
+                        FROM v_org_department_skill_period
+                        WHERE organization_id = :orgId
+                        %s
+                        %s
+                          AND rating IS NOT NULL
+                          AND %s
+                        GROUP BY department_id, skill_name, period_start, rating_bin
+                        """, periodStart, RatingHistogram.binSql("rating"), departmentFilter, skillFilter,
+                        dateRangePredicate(startDate, endDate)), """
+                        SELECT 3 AS row_kind, department_id, NULL AS organization_name, NULL AS department_name,
+                               skill_name, period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating,
+                               rating_count::bigint AS sample_count, NULL::bigint AS employee_count, rating_bin
+                        FROM skill_distributions
+                        """),
+                new ReportPart("overall_ratings", String.format("""
+                        SELECT d.id AS department_id,
+                               %s AS period_start,
+                               AVG(pr.overall_rating) AS avg_overall_rating
+                        FROM performance_reviews pr
+                        JOIN employees e ON pr.employee_id = e.id
+                        JOIN departments d ON e.department_id = d.id
+                        WHERE d.organization_id = :orgId
+                          AND pr.review_date IS NOT NULL
+                          AND pr.overall_rating IS NOT NULL
+                          %s
+                          AND %s
+                        GROUP BY d.id, period_start
+                        """,
+                        periodStart.replace("entry_date", "review_date"),
+                        idsPredicate("d.id", "deptIds", departmentIds),
+                        reviewDateRangePredicate("pr.review_date", startDate, endDate)), """
+                        SELECT 2 AS row_kind, department_id, NULL AS organization_name, NULL AS department_name,
+                               NULL AS skill_name, period_start,
+                               avg_overall_rating::float8 AS avg_rating, NULL AS min_rating, NULL AS max_rating,
+                               NULL AS sample_count, NULL AS employee_count, NULL::int AS rating_bin
+                        FROM overall_ratings
+                        """)
+        );
+    }
 
-        // Execute overall rating query
-        List<EmployeeOverallRatingPeriodDto> overallRatings = jdbc.query(overallRatingSql, overallRatingParams, (rs, rn) ->
-                new EmployeeOverallRatingPeriodDto(
-                        rs.getObject("period_start", LocalDate.class),
-                        rs.getDouble("overall_rating")
-                )
+    // Parts of the employee reports of a batch: the report parts of getReportByEmployee, grouped by employee_id as
+    // well and limited to the requested employees of the organization
+    private List<ReportPart> batchEmployeeParts(PeriodType periodType,
+                                                Integer skillId,
+                                                LocalDate startDate,
+                                                LocalDate endDate) {
+        String periodStart = periodStartExpression(periodType);
+        String employees = "SELECT id FROM employees WHERE organization_id = :orgId AND id = ANY(:employeeIds)";
+
+        return List.of(
+                new ReportPart("header", """
+                        SELECT id AS employee_id, first_name, last_name
+                        FROM employees
+                        WHERE organization_id = :orgId
+                          AND id = ANY(:employeeIds)
+                        """, """
+                        SELECT 0 AS row_kind, employee_id, first_name, last_name,
+                               NULL AS skill_name, NULL::date AS period_start,
+                               NULL::float8 AS avg_rating, NULL::float8 AS min_rating, NULL::float8 AS max_rating
+                        FROM header
+                        """),
+                new ReportPart("skill_stats", String.format("""
+                        SELECT employee_id,
+                               skill_name,
+                               %s AS period_start,
+                               avg(rating) AS avg_rating,
+                               min(rating) AS min_rating,
+                               max(rating) AS max_rating
+                        FROM v_employee_skill_period
+                        WHERE employee_id IN (%s)
+                        %s
+                          AND %s
+                        GROUP BY employee_id, skill_name, period_start
+                        """, periodStart, employees, skillId != null ? "AND skill_id = :skillId" : "",
+                        dateRangePredicate(startDate, endDate)), """
+                        SELECT 1 AS row_kind, employee_id, NULL AS first_name, NULL AS last_name,
+                               skill_name, period_start,
+                               avg_rating::float8 AS avg_rating, min_rating::float8 AS min_rating, max_rating::float8 AS max_rating
+                        FROM skill_stats
+                        """),
+                new ReportPart("overall_ratings", String.format("""
+                        SELECT employee_id,
+                               %s AS period_start,
+                               AVG(overall_rating) AS overall_rating
+                        FROM performance_reviews
+                        WHERE employee_id IN (%s)
+                          AND review_date IS NOT NULL
+                          AND overall_rating IS NOT NULL
+                          AND %s
+                        GROUP BY employee_id, period_start
+                        """, periodStart.replace("entry_date", "review_date"), employees,
+                        reviewDateRangePredicate("review_date", startDate, endDate)), """
+                        SELECT 2 AS row_kind, employee_id, NULL AS first_name, NULL AS last_name,
+                               NULL AS skill_name, period_start,
+                               overall_rating::float8 AS avg_rating, NULL AS min_rating, NULL AS max_rating
+                        FROM overall_ratings
+                        """)
         );
+    }
+
+    // Batches always aggregate from the reporting views: grouped by department, one pass over the organization's
+    // rows serves every department, so one batch costs about as much as the organization-wide report
+    @Override
+    // Joins the caller's transaction without starting one, see runParallel
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public BatchReportingResponseDto getBatchReport(PeriodType periodType,
+                                                    Integer organizationId,
+                                                    List<Integer> departmentIds,
+                                                    List<Integer> employeeIds,
+                                                    Integer skillId,
+                                                    LocalDate startDate,
+                                                    LocalDate endDate) {
+        // Default period type if missing
+        PeriodType reportPeriodType = periodType == null ? PeriodType.QUARTER : periodType;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orgId", organizationId);
+
+        if (departmentIds != null && !departmentIds.isEmpty()) params.addValue("deptIds", departmentIds.toArray(Integer[]::new));
+        if (employeeIds != null && !employeeIds.isEmpty()) params.addValue("employeeIds", employeeIds.toArray(Integer[]::new));
+        if (skillId != null) params.addValue("skillId", skillId);
+        if (startDate != null) params.addValue("startDate", startDate);
+        if (endDate != null) params.addValue("endDate", endDate);
 
-        // If no skill results but we have employee info from overall ratings, we still need employee name
-        // Try to get employee name from a separate query if not available
-        if (firstName == null || lastName == null) {
-            String employeeNameSql = """
-                    SELECT first_name, last_name
-                    FROM employees
-                    WHERE id = :employeeId
-                    LIMIT 1;
-                    """;
-            List<Map<String, Object>> employeeRows = jdbc.query(employeeNameSql, 
-                    new MapSqlParameterSource().addValue("employeeId", employeeId),
-                    (rs, rn) -> {
-                        Map<String, Object> row = new LinkedHashMap<>();
-                        row.put("first_name", rs.getString("first_name"));
-                        row.put("last_name", rs.getString("last_name"));
-                        return row;
-                    });
-            if (!employeeRows.isEmpty()) {
-                Map<String, Object> empRow = employeeRows.getFirst();
-                firstName = (String) empRow.get("first_name");
-                lastName = (String) empRow.get("last_name");
+        EnumSet<QueryFilter> filters = dateFilters(startDate, endDate);
+        if (skillId != null) filters.add(QueryFilter.SKILL);
+
+        EnumSet<QueryFilter> departmentFilters = EnumSet.copyOf(filters);
+        if (departmentIds != null) {
+            departmentFilters.add(departmentIds.isEmpty() ? QueryFilter.NO_DEPARTMENT_IDS : QueryFilter.DEPARTMENT_IDS);
+        }
+        CompiledQuery departmentReport = queryCatalog.get(
+                QueryKey.of(ReportQuery.BATCH_DEPARTMENTS, reportPeriodType, departmentFilters),
+                () -> compileReport(batchDepartmentParts(reportPeriodType, departmentIds, skillId, startDate, endDate)));
+
+        KeyedReportRows<OrgReportRows> departmentRows = runReport(
+                departmentReport,
+                params,
+                () -> new KeyedReportRows<>("department_id", OrgReportRows::new));
+        if (!departmentRows.unkeyed.organizationFound) {
+            throw new RuntimeException("Organization not found");
+        }
+
+        // Only departments with a header row belong to the organization
+        Map<Integer, OrgDeptReportingResponseDto> departments = new LinkedHashMap<>();
+        departmentRows.byKey.forEach((departmentId, rows) -> {
+            if (rows.organizationFound) {
+                departments.put(departmentId, rows.response(organizationId, departmentId));
             }
+        });
+
+        Map<Integer, EmployeeReportingResponseDto> employees = new LinkedHashMap<>();
+        if (employeeIds != null && !employeeIds.isEmpty()) {
+            CompiledQuery employeeReport = queryCatalog.get(
+                    QueryKey.of(ReportQuery.BATCH_EMPLOYEES, reportPeriodType, filters),
+                    () -> compileReport(batchEmployeeParts(reportPeriodType, skillId, startDate, endDate)));
+            KeyedReportRows<EmployeeReportRows> employeeRows = runReport(
+                    employeeReport,
+                    params,
+                    () -> new KeyedReportRows<>("employee_id", EmployeeReportRows::new));
+            employeeRows.byKey.forEach((employeeId, rows) -> {
+                if (rows.employeeFound) {
+                    employees.put(employeeId, rows.response(employeeId));
+                }
+            });
         }
 
-        // Build the final parent DTO
-        return new EmployeeReportingResponseDto(
-                employeeId,
-                firstName,
-                lastName,
-                skills,
-                overallRatings
+        return new BatchReportingResponseDto(
+                organizationId,
+                departmentRows.unkeyed.organizationName,
+                departments,
+                employees
         );
     }
 
+    // Returns the employee timeline SQL (one row per skill entry) and fills in its parameters.
+    // countSeriesPoints adds the number of points of each skill series, which downsampling needs up front.
+    private String employeeTimelineSql(Integer employeeId,
+                                       Integer skillId,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       boolean countSeriesPoints,
+                                       MapSqlParameterSource params) {
+        params.addValue("employeeId", employeeId);
+        if (skillId != null) params.addValue("skillId", skillId);
+        if (startDate != null) params.addValue("startDate", startDate);
+        if (endDate != null) params.addValue("endDate", endDate);
+
+        return queryCatalog.get(
+                employeeTimelineKey(skillId, startDate, endDate, countSeriesPoints),
+                () -> CompiledQuery.of(buildEmployeeTimelineSql(skillId, startDate, endDate, countSeriesPoints))).sql();
+    }
 
-    @Override
-    @Transactional(readOnly = true)
-    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId, Integer skillId, LocalDate startDate, LocalDate endDate) {
+    private static QueryKey employeeTimelineKey(Integer skillId, LocalDate startDate, LocalDate endDate, boolean countSeriesPoints) {
+        EnumSet<QueryFilter> filters = dateFilters(startDate, endDate);
+        if (skillId != null) filters.add(QueryFilter.SKILL);
+        if (countSeriesPoints) filters.add(QueryFilter.SERIES_POINTS);
+        return QueryKey.of(ReportQuery.EMPLOYEE_TIMELINE, null, filters);
+    }
 
+    private String buildEmployeeTimelineSql(Integer skillId,
+                                            LocalDate startDate,
+                                            LocalDate endDate,
+                                            boolean countSeriesPoints) {
         // Base SQL selecting all skill entries for the employee with window-based min/max/avg
         String baseSql = """
                 SELECT
@@ -462,10 +1375,12 @@ public class ReportingRepositoryImpl implements ReportingRepository {
                     rating,
                     MIN(rating) OVER (PARTITION BY employee_id, skill_id) AS min_rating,
                     MAX(rating) OVER (PARTITION BY employee_id, skill_id) AS max_rating,
-                    AVG(rating) OVER (PARTITION BY employee_id, skill_id) AS avg_rating
+                    AVG(rating) OVER (PARTITION BY employee_id, skill_id) AS avg_rating%s
                 FROM v_employee_skill_period
                 WHERE employee_id = :employeeId
-                """;
+                """.formatted(countSeriesPoints
+                ? ",\n    COUNT(*) OVER (PARTITION BY employee_id, skill_id) AS series_points"
+                : "");
 
         StringBuilder sqlBuilder = new StringBuilder(baseSql);
 
@@ -482,110 +1397,72 @@ public class ReportingRepositoryImpl implements ReportingRepository {
 
         sqlBuilder.append(" ORDER BY skill_name, entry_date");
 
-        String sql = sqlBuilder.toString();
+        return sqlBuilder.toString();
+    }
 
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("employeeId", employeeId);
+    // Returns the org/department timeline SQL (one row per skill and day) and fills in its parameters.
+    // countSeriesPoints adds the number of points of each skill series, which downsampling needs up front.
+    private String orgDeptTimelineSql(Integer organizationId,
+                                      Integer departmentId,
+                                      Integer skillId,
+                                      LocalDate startDate,
+                                      LocalDate endDate,
+                                      boolean countSeriesPoints,
+                                      MapSqlParameterSource params) {
+        // Set mandatory organizationId parameter
+        params.addValue("orgId", organizationId);
+
+        if (departmentId != null) params.addValue("deptId", departmentId);
         if (skillId != null) params.addValue("skillId", skillId);
         if (startDate != null) params.addValue("startDate", startDate);
         if (endDate != null) params.addValue("endDate", endDate);
 
-        List<EmployeeSkillTimelineRowDto> rows = jdbc.query(sql, params, (rs, rn) ->
-                new EmployeeSkillTimelineRowDto(
-                        rs.getInt("employee_id"),
-                        rs.getString("first_name"),
-                        rs.getString("last_name"),
-                        rs.getInt("skill_id"),
-                        rs.getString("skill_name"),
-                        rs.getObject("entry_date", LocalDate.class),
-                        rs.getDouble("rating"),
-                        rs.getDouble("min_rating"),
-                        rs.getDouble("max_rating"),
-                        rs.getDouble("avg_rating")
-                )
-        );
-
-        if (rows.isEmpty()) {
-            return null;
-        }
-
-        // Group all rows by skillId
-        Map<Integer, List<EmployeeSkillTimelineRowDto>> bySkill = new LinkedHashMap<>();
-        for (EmployeeSkillTimelineRowDto row : rows) {
-            bySkill.computeIfAbsent(row.skillId(), k -> new ArrayList<>()).add(row);
-        }
-
-        // Use the first row to extract common employee info
-        EmployeeSkillTimelineRowDto first = rows.getFirst();
-        List<EmployeeSkillTimelineSkillDto> skills = new ArrayList<>();
-
-        // Convert each group (per skill) into a skill DTO with its timeline
-        for (List<EmployeeSkillTimelineRowDto> skillRows : bySkill.values()) {
-            EmployeeSkillTimelineRowDto srFirst = skillRows.getFirst();
-
-            // Build the ordered timeline of points for that skill
-            List<EmployeeSkillTimelinePointDto> timeline = new ArrayList<>();
-            for (EmployeeSkillTimelineRowDto row : skillRows) {
-                timeline.add(new EmployeeSkillTimelinePointDto(
-                        row.entryDate(),
-                        row.rating()
-                ));
-            }
-
-            // Add aggregated skill-level timeline to the list
-            skills.add(new EmployeeSkillTimelineSkillDto(
-                    srFirst.skillId(),
-                    srFirst.skillName(),
-                    timeline,
-                    srFirst.minRating(),
-                    srFirst.maxRating(),
-                    srFirst.avgRating()
-            ));
-        }
-
-        // Return top-level response containing employee info and all skill timelines
-        return new EmployeeSkillTimelineResponseDto(
-                first.employeeId(),
-                first.firstName(),
-                first.lastName(),
-                skills
-        );
+        return queryCatalog.get(
+                orgDeptTimelineKey(departmentId, skillId, startDate, endDate, countSeriesPoints),
+                () -> CompiledQuery.of(buildOrgDeptTimelineSql(departmentId, skillId, startDate, endDate, countSeriesPoints))).sql();
     }
 
+    private static QueryKey orgDeptTimelineKey(Integer departmentId,
+                                               Integer skillId,
+                                               LocalDate startDate,
+                                               LocalDate endDate,
+                                               boolean countSeriesPoints) {
+        EnumSet<QueryFilter> filters = dateFilters(startDate, endDate);
+        if (departmentId != null) filters.add(QueryFilter.DEPARTMENT);
+        if (skillId != null) filters.add(QueryFilter.SKILL);
+        if (countSeriesPoints) filters.add(QueryFilter.SERIES_POINTS);
+        return QueryKey.of(ReportQuery.ORG_TIMELINE, null, filters);
+    }
 
-    @Override
-    @Transactional(readOnly = true)
-    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(
-            Integer organizationId,
-            Integer departmentId,
-            Integer skillId,
-            LocalDate startDate,
-            LocalDate endDate
-    ) {
+    private String buildOrgDeptTimelineSql(Integer departmentId,
+                                           Integer skillId,
+                                           LocalDate startDate,
+                                           LocalDate endDate,
+                                           boolean countSeriesPoints) {
         // Base SQL selecting aggregated ratings per day for org/department
         String baseSql = """
                 SELECT
                     organization_id,
-                    organization_name,
                     department_id,
-                    department_name,
                     skill_id,
                     skill_name,
-                    entry_date::date AS date,
+                    entry_date AS date,
                     MIN(rating) AS min_rating,
                     MAX(rating) AS max_rating,
-                    AVG(rating) AS avg_rating
+                    AVG(rating) AS avg_rating%s
                 FROM v_org_department_skill_period
                 WHERE organization_id = :orgId
-                """;
+                """.formatted(countSeriesPoints
+                ? ",\n    COUNT(*) OVER (PARTITION BY skill_id) AS series_points"
+                : "");
 
         StringBuilder sqlBuilder = new StringBuilder(baseSql);
 
         if (startDate != null) {
-            sqlBuilder.append(" AND entry_date::date >= :startDate ");
+            sqlBuilder.append(" AND entry_date >= :startDate ");
         }
         if (endDate != null) {
-            sqlBuilder.append(" AND entry_date::date <= :endDate ");
+            sqlBuilder.append(" AND entry_date <= :endDate ");
         }
 
         if (departmentId != null) {
@@ -598,53 +1475,99 @@ public class ReportingRepositoryImpl implements ReportingRepository {
 
         // Group by org/dept/skill/date and order by skill then date
         sqlBuilder.append("""
-                                   GROUP BY organization_id, organization_name,
-                                           department_id, department_name,
+                                   GROUP BY organization_id, department_id,
                                            skill_id, skill_name, date
                                   ORDER BY skill_name, date
                                   """);
 
-        // Final SQL string
-        String sql = sqlBuilder.toString();
+        return sqlBuilder.toString();
+    }
 
-        // Set mandatory organizationId parameter
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("orgId", organizationId);
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeSkillTimelineResponseDto getSkillTimelineByEmployee(Integer employeeId,
+                                                                       Integer skillId,
+                                                                       LocalDate startDate,
+                                                                       LocalDate endDate,
+                                                                       Integer maxPoints,
+                                                                       DownsamplingMethod downsampling) {
+        TimelineDownsampler.validateMaxPoints(maxPoints);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = employeeTimelineSql(employeeId, skillId, startDate, endDate, maxPoints != null, params);
+
+        TimelineCollector<EmployeeSkillTimelineRowDto, EmployeeSkillTimelinePointDto> collector = new TimelineCollector<>(
+                maxPoints,
+                downsampling,
+                EMPLOYEE_TIMELINE_AXES,
+                EmployeeSkillTimelineRowDto::skillId,
+                row -> new EmployeeSkillTimelinePointDto(row.entryDate(), row.rating())
+        );
+        collectTimeline(sql, params, EMPLOYEE_TIMELINE_ROW_MAPPER, collector);
 
-        if (departmentId != null) params.addValue("deptId", departmentId);
-        if (skillId != null) params.addValue("skillId", skillId);
-        if (startDate != null) params.addValue("startDate", startDate);
-        if (endDate != null) params.addValue("endDate", endDate);
+        if (collector.bySkill.isEmpty()) {
+            return null;
+        }
 
-        // Execute query and map each row to a flat org/dept timeline row DTO
-        List<OrgDeptSkillTimelineRowDto> rows = jdbc.query(sql, params, (rs, rn) ->
-                new OrgDeptSkillTimelineRowDto(
-                        rs.getInt("organization_id"),
-                        rs.getString("organization_name"),
-                        rs.getInt("department_id"),
-                        rs.getString("department_name"),
-                        rs.getInt("skill_id"),
-                        rs.getString("skill_name"),
-                        rs.getObject("date", LocalDate.class),
-                        rs.getDouble("min_rating"),
-                        rs.getDouble("max_rating"),
-                        rs.getDouble("avg_rating")
-                )
+        // Use the first row to extract common employee info
+        EmployeeSkillTimelineRowDto first = collector.firstRow();
+        List<EmployeeSkillTimelineSkillDto> skills = new ArrayList<>();
+
+        // Convert each series (per skill) into a skill DTO with its timeline; min/max/avg cover every point
+        for (TimelineSeries<EmployeeSkillTimelineRowDto, EmployeeSkillTimelinePointDto> series : collector.bySkill.values()) {
+            EmployeeSkillTimelineRowDto srFirst = series.first;
+            skills.add(new EmployeeSkillTimelineSkillDto(
+                    srFirst.skillId(),
+                    srFirst.skillName(),
+                    series.points,
+                    srFirst.minRating(),
+                    srFirst.maxRating(),
+                    srFirst.avgRating()
+            ));
+        }
+
+        // Return top-level response containing employee info and all skill timelines
+        return new EmployeeSkillTimelineResponseDto(
+                first.employeeId(),
+                first.firstName(),
+                first.lastName(),
+                skills
         );
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrgDeptSkillTimelineResponseDto getSkillTimelineByOrganizationAndDepartment(
+            Integer organizationId,
+            Integer departmentId,
+            Integer skillId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer maxPoints,
+            DownsamplingMethod downsampling
+    ) {
+        TimelineDownsampler.validateMaxPoints(maxPoints);
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = orgDeptTimelineSql(organizationId, departmentId, skillId, startDate, endDate, maxPoints != null, params);
+
+        TimelineCollector<OrgDeptSkillTimelineRowDto, OrgDeptSkillTimelinePointDto> collector = new TimelineCollector<>(
+                maxPoints,
+                downsampling,
+                ORG_DEPT_TIMELINE_AXES,
+                OrgDeptSkillTimelineRowDto::skillId,
+                row -> new OrgDeptSkillTimelinePointDto(row.date(), row.minRating(), row.maxRating(), row.avgRating())
+        );
+        collectTimeline(sql, params, this::mapOrgDeptTimelineRow, collector);
 
         // When no data exists return null (or could return an empty response)
-        if (rows.isEmpty()) {
+        if (collector.bySkill.isEmpty()) {
             return null;
         }
 
-        // Group all rows by skillId
-        Map<Integer, List<OrgDeptSkillTimelineRowDto>> bySkill = new LinkedHashMap<>();
-        for (OrgDeptSkillTimelineRowDto row : rows) {
-            bySkill.computeIfAbsent(row.skillId(), k -> new ArrayList<>()).add(row);
-        }
-
         // Use the first row to extract org/dept info
-        OrgDeptSkillTimelineRowDto first = rows.getFirst();
+        OrgDeptSkillTimelineRowDto first = collector.firstRow();
 
         // When department is not filtered, do not expose department details in the response
         Integer deptIdForResponse = (departmentId != null) ? first.departmentId() : null;
@@ -652,26 +1575,12 @@ public class ReportingRepositoryImpl implements ReportingRepository {
 
         List<OrgDeptSkillTimelineSkillDto> skills = new ArrayList<>();
 
-        // Convert each group (per skill) into a skill DTO with its timeline
-        for (List<OrgDeptSkillTimelineRowDto> skillRows : bySkill.values()) {
-            OrgDeptSkillTimelineRowDto srFirst = skillRows.getFirst();
-
-            // Build the ordered timeline of points for that skill
-            List<OrgDeptSkillTimelinePointDto> timeline = new ArrayList<>();
-            for (OrgDeptSkillTimelineRowDto row : skillRows) {
-                timeline.add(new OrgDeptSkillTimelinePointDto(
-                        row.date(),
-                        row.minRating(),
-                        row.maxRating(),
-                        row.avgRating()
-                ));
-            }
-
-            // Add skill-level timeline to the list
+        // Convert each series (per skill) into a skill DTO with its timeline
+        for (TimelineSeries<OrgDeptSkillTimelineRowDto, OrgDeptSkillTimelinePointDto> series : collector.bySkill.values()) {
             skills.add(new OrgDeptSkillTimelineSkillDto(
-                    srFirst.skillId(),
-                    srFirst.skillName(),
-                    timeline
+                    series.first.skillId(),
+                    series.first.skillName(),
+                    series.points
             ));
         }
 
@@ -684,4 +1593,116 @@ public class ReportingRepositoryImpl implements ReportingRepository {
                 skills
         );
     }
+
+    // Organization and department names come from the name dictionary, the timeline SQL only reads their ids
+    private OrgDeptSkillTimelineRowDto mapOrgDeptTimelineRow(ResultSet rs, int rowNum) throws SQLException {
+        return new OrgDeptSkillTimelineRowDto(
+                rs.getInt("organization_id"),
+                reportingNames.organizationName(rs.getInt("organization_id")),
+                rs.getInt("department_id"),
+                reportingNames.departmentName(rs.getInt("department_id")),
+                rs.getInt("skill_id"),
+                rs.getString("skill_name"),
+                rs.getObject("date", LocalDate.class),
+                rs.getDouble("min_rating"),
+                rs.getDouble("max_rating"),
+                rs.getDouble("avg_rating")
+        );
+    }
+
+    // Without maxPoints every point is returned, so the rows are simply mapped. With it the rows stream through a
+    // cursor in a single pass and only the points kept by the downsamplers are ever collected.
+    private <R> void collectTimeline(String sql,
+                                     MapSqlParameterSource params,
+                                     RowMapper<R> rowMapper,
+                                     TimelineCollector<R, ?> collector) {
+        if (collector.maxPoints == null) {
+            jdbc.query(sql, params, rowMapper).forEach(row -> collector.add(row, 0));
+            return;
+        }
+
+        cursorJdbc.query(sql, params, (RowCallbackHandler) rs ->
+                collector.add(rowMapper.mapRow(rs, rs.getRow()), rs.getLong("series_points")));
+    }
+
+    // Timeline points of one skill, together with the first row of the skill for its skill-level info
+    private static final class TimelineSeries<R, T> {
+        private final R first;
+        private final List<T> points = new ArrayList<>();
+        private Consumer<R> sink;
+
+        private TimelineSeries(R first) {
+            this.first = first;
+        }
+    }
+
+    // Groups timeline rows by skill as they arrive; rows of each skill pass through their own downsampler
+    private static final class TimelineCollector<R, T> {
+        private final Integer maxPoints;
+        private final DownsamplingMethod downsampling;
+        private final TimelineDownsampler.Axes<R> axes;
+        private final Function<R, Integer> skillId;
+        private final Function<R, T> toPoint;
+        private final Map<Integer, TimelineSeries<R, T>> bySkill = new LinkedHashMap<>();
+
+        private TimelineCollector(Integer maxPoints,
+                                  DownsamplingMethod downsampling,
+                                  TimelineDownsampler.Axes<R> axes,
+                                  Function<R, Integer> skillId,
+                                  Function<R, T> toPoint) {
+            this.maxPoints = maxPoints;
+            this.downsampling = downsampling != null ? downsampling : DownsamplingMethod.MIN_MAX;
+            this.axes = axes;
+            this.skillId = skillId;
+            this.toPoint = toPoint;
+        }
+
+        private void add(R row, long seriesPoints) {
+            bySkill.computeIfAbsent(skillId.apply(row), id -> newSeries(row, seriesPoints)).sink.accept(row);
+        }
+
+        private TimelineSeries<R, T> newSeries(R first, long seriesPoints) {
+            TimelineSeries<R, T> series = new TimelineSeries<>(first);
+            Consumer<R> keep = row -> series.points.add(toPoint.apply(row));
+            series.sink = maxPoints == null
+                    ? keep
+                    : TimelineDownsampler.downsample(downsampling, maxPoints, seriesPoints, axes, keep);
+            return series;
+        }
+
+        private R firstRow() {
+            return bySkill.values().iterator().next().first;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSkillTimelineByEmployee(Integer employeeId,
+                                              Integer skillId,
+                                              LocalDate startDate,
+                                              LocalDate endDate,
+                                              Consumer<EmployeeSkillTimelineRowDto> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = employeeTimelineSql(employeeId, skillId, startDate, endDate, false, params);
+
+        // Each row is handed over as soon as it is read; nothing is collected
+        cursorJdbc.query(sql, params, (RowCallbackHandler) rs ->
+                consumer.accept(EMPLOYEE_TIMELINE_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSkillTimelineByOrganizationAndDepartment(Integer organizationId,
+                                                               Integer departmentId,
+                                                               Integer skillId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               Consumer<OrgDeptSkillTimelineRowDto> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = orgDeptTimelineSql(organizationId, departmentId, skillId, startDate, endDate, false, params);
+
+        // Each row is handed over as soon as it is read; nothing is collected
+        cursorJdbc.query(sql, params, (RowCallbackHandler) rs ->
+                consumer.accept(mapOrgDeptTimelineRow(rs, rs.getRow())));
+    }
 }
@@ -0,0 +1,55 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.model.SkillEntry;
+import gr.uom.employeepulseservice.repository.SkillEntryBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SkillEntryBatchRepositoryImpl implements SkillEntryBatchRepository {
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval('skill_entries_seq') FROM generate_series(1, :count)";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO skill_entries (id, skill_id, rating, entry_date, entry_date_time, employee_id,
+                                       performance_review_id, organization_id, department_id)
+            VALUES (:id, :skillId, :rating, :entryDate, :entryDateTime, :employeeId,
+                    :performanceReviewId, :organizationId, :departmentId)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public void insertReviewEntries(Integer performanceReviewId, List<SkillEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = jdbc.queryForList(RESERVE_IDS_SQL,
+                new MapSqlParameterSource("count", entries.size()), Integer.class);
+
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            SkillEntry entry = entries.get(i);
+            entry.setId(ids.get(i));
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("id", entry.getId())
+                    .addValue("skillId", entry.getSkill().getId())
+                    .addValue("rating", entry.getRating())
+                    .addValue("entryDate", entry.getEntryDate())
+                    .addValue("entryDateTime", entry.getEntryDateTime())
+                    .addValue("employeeId", entry.getEmployee() != null ? entry.getEmployee().getId() : null)
+                    .addValue("performanceReviewId", performanceReviewId)
+                    .addValue("organizationId", entry.getOrganizationId())
+                    .addValue("departmentId", entry.getDepartmentId());
+        }
+
+        jdbc.batchUpdate(INSERT_SQL, batch);
+    }
+}
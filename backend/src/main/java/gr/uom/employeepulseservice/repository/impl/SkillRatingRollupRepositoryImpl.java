@@ -0,0 +1,395 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.analytics.HyperLogLog;
+import gr.uom.employeepulseservice.analytics.RatingHistogram;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupBucketMismatchDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupConsistencyReportDto;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.SkillRatingRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class SkillRatingRollupRepositoryImpl implements SkillRatingRollupRepository {
+
+    // Inline table with one row per period type: name, date_trunc unit and period length
+    static final String PERIODS = Arrays.stream(PeriodType.values())
+            .map(p -> "('%s', '%s', interval '%s')".formatted(p.name(), p.sqlUnit(), periodLength(p)))
+            .collect(Collectors.joining(", ", "(VALUES ", ") AS p (period_type, unit, step)"));
+
+    private static final String ADD_ENTRY_SQL = """
+            INSERT INTO skill_rating_rollups AS r
+                (organization_id, department_id, skill_id, period_type, period_start,
+                 sample_count, rating_count, rating_sum, min_rating, max_rating)
+            SELECT :orgId, :deptId, :skillId, p.period_type, date_trunc(p.unit, CAST(:entryDate AS date))::date,
+                   1,
+                   CASE WHEN CAST(:rating AS float8) IS NULL THEN 0 ELSE 1 END,
+                   coalesce(CAST(:rating AS float8), 0),
+                   CAST(:rating AS float8),
+                   CAST(:rating AS float8)
+            FROM %s
+            ON CONFLICT (organization_id, department_id, skill_id, period_type, period_start) DO UPDATE
+            SET sample_count = r.sample_count + EXCLUDED.sample_count,
+                rating_count = r.rating_count + EXCLUDED.rating_count,
+                rating_sum   = r.rating_sum + EXCLUDED.rating_sum,
+                min_rating   = least(r.min_rating, EXCLUDED.min_rating),
+                max_rating   = greatest(r.max_rating, EXCLUDED.max_rating)
+            """.formatted(PERIODS);
+
+    private static final String ADD_ENTRY_EMPLOYEE_SQL = """
+            INSERT INTO skill_rating_rollup_employees AS r
+                (organization_id, department_id, skill_id, period_type, period_start, employee_id, sample_count)
+            SELECT :orgId, :deptId, :skillId, p.period_type, date_trunc(p.unit, CAST(:entryDate AS date))::date,
+                   :employeeId, 1
+            FROM %s
+            ON CONFLICT (organization_id, department_id, skill_id, period_type, period_start, employee_id) DO UPDATE
+            SET sample_count = r.sample_count + 1
+            """.formatted(PERIODS);
+
+    // Entries without a rating fall into no bin
+    private static final String ADD_ENTRY_HISTOGRAM_SQL = """
+            INSERT INTO skill_rating_rollup_histograms AS r
+                (organization_id, department_id, skill_id, period_type, period_start, rating_bin, rating_count)
+            SELECT :orgId, :deptId, :skillId, p.period_type, date_trunc(p.unit, CAST(:entryDate AS date))::date,
+                   %s, 1
+            FROM %s
+            WHERE CAST(:rating AS float8) IS NOT NULL
+            ON CONFLICT (organization_id, department_id, skill_id, period_type, period_start, rating_bin) DO UPDATE
+            SET rating_count = r.rating_count + 1
+            """.formatted(RatingHistogram.binSql("CAST(:rating AS float8)"), PERIODS);
+
+    private static final String ADD_ENTRY_SKETCH_SQL = """
+            INSERT INTO skill_rating_rollup_employee_sketches AS r
+                (organization_id, department_id, skill_id, period_type, period_start, register, rank)
+            SELECT :orgId, :deptId, :skillId, p.period_type, date_trunc(p.unit, CAST(:entryDate AS date))::date, %s, %s
+            FROM %s
+            ON CONFLICT (organization_id, department_id, skill_id, period_type, period_start, register) DO UPDATE
+            SET rank = greatest(r.rank, EXCLUDED.rank)
+            """.formatted(HyperLogLog.registerSql("CAST(:employeeId AS int)"), HyperLogLog.rankSql("CAST(:employeeId AS int)"), PERIODS);
+
+    private static final String DELETE_BUCKETS_SQL = """
+            DELETE FROM %s r
+            USING %s
+            WHERE r.organization_id = :orgId
+              AND r.department_id = :deptId
+              AND r.skill_id = :skillId
+              AND r.period_type = p.period_type
+              AND r.period_start = date_trunc(p.unit, CAST(:entryDate AS date))::date
+            """;
+
+    // Buckets of the given day with the date range each of them covers
+    private static final String BUCKETS_OF_DAY = """
+            (SELECT p.period_type,
+                    date_trunc(p.unit, CAST(:entryDate AS date))::date AS period_start,
+                    (date_trunc(p.unit, CAST(:entryDate AS date)) + p.step)::date AS period_end
+             FROM %s) AS b""".formatted(PERIODS);
+
+    // Days of one batch can share a bucket (the same year, say); the first of them rebuilds it in full, so later
+    // inserts of that bucket are skipped
+    private static final String REFRESH_BUCKETS_SQL = """
+            INSERT INTO skill_rating_rollups
+                (organization_id, department_id, skill_id, period_type, period_start,
+                 sample_count, rating_count, rating_sum, min_rating, max_rating)
+            SELECT se.organization_id, se.department_id, se.skill_id, b.period_type, b.period_start,
+                   count(*), count(se.rating), coalesce(sum(se.rating), 0), min(se.rating), max(se.rating)
+            FROM %s
+                     JOIN skill_entries se ON se.entry_date >= b.period_start AND se.entry_date < b.period_end
+            WHERE se.entry_date >= :windowStart
+              AND se.entry_date < :windowEnd
+              AND se.organization_id = :orgId
+              AND se.department_id = :deptId
+              AND se.skill_id = :skillId
+            GROUP BY se.organization_id, se.department_id, se.skill_id, b.period_type, b.period_start
+            ON CONFLICT DO NOTHING
+            """.formatted(BUCKETS_OF_DAY);
+
+    private static final String REFRESH_BUCKET_EMPLOYEES_SQL = """
+            INSERT INTO skill_rating_rollup_employees
+                (organization_id, department_id, skill_id, period_type, period_start, employee_id, sample_count)
+            SELECT se.organization_id, se.department_id, se.skill_id, b.period_type, b.period_start, se.employee_id, count(*)
+            FROM %s
+                     JOIN skill_entries se ON se.entry_date >= b.period_start AND se.entry_date < b.period_end
+            WHERE se.entry_date >= :windowStart
+              AND se.entry_date < :windowEnd
+              AND se.organization_id = :orgId
+              AND se.department_id = :deptId
+              AND se.skill_id = :skillId
+            GROUP BY se.organization_id, se.department_id, se.skill_id, b.period_type, b.period_start, se.employee_id
+            ON CONFLICT DO NOTHING
+            """.formatted(BUCKETS_OF_DAY);
+
+    private static final String REFRESH_BUCKET_HISTOGRAMS_SQL = """
+            INSERT INTO skill_rating_rollup_histograms
+                (organization_id, department_id, skill_id, period_type, period_start, rating_bin, rating_count)
+            SELECT se.organization_id, se.department_id, se.skill_id, b.period_type, b.period_start, %s, count(*)
+            FROM %s
+                     JOIN skill_entries se ON se.entry_date >= b.period_start AND se.entry_date < b.period_end
+            WHERE se.entry_date >= :windowStart
+              AND se.entry_date < :windowEnd
+              AND se.organization_id = :orgId
+              AND se.department_id = :deptId
+              AND se.skill_id = :skillId
+              AND se.rating IS NOT NULL
+            GROUP BY 1, 2, 3, 4, 5, 6
+            ON CONFLICT DO NOTHING
+            """.formatted(RatingHistogram.binSql("se.rating"), BUCKETS_OF_DAY);
+
+    // Sketches cannot drop an employee, so refreshed buckets are sketched again from their employees
+    private static final String REFRESH_BUCKET_SKETCHES_SQL = """
+            INSERT INTO skill_rating_rollup_employee_sketches
+                (organization_id, department_id, skill_id, period_type, period_start, register, rank)
+            SELECT organization_id, department_id, skill_id, period_type, period_start, register, max(rank)
+            FROM (SELECT re.organization_id, re.department_id, re.skill_id, re.period_type, re.period_start,
+                         %s AS register, %s AS rank
+                  FROM %s
+                           JOIN skill_rating_rollup_employees re
+                                ON re.period_type = b.period_type AND re.period_start = b.period_start
+                  WHERE re.organization_id = :orgId
+                    AND re.department_id = :deptId
+                    AND re.skill_id = :skillId) e
+            GROUP BY 1, 2, 3, 4, 5, 6
+            ON CONFLICT DO NOTHING
+            """.formatted(HyperLogLog.registerSql("re.employee_id"), HyperLogLog.rankSql("re.employee_id"), BUCKETS_OF_DAY);
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO skill_rating_rollups
+                (organization_id, department_id, skill_id, period_type, period_start,
+                 sample_count, rating_count, rating_sum, min_rating, max_rating)
+            SELECT v.organization_id, v.department_id, v.skill_id, p.period_type,
+                   date_trunc(p.unit, v.entry_date)::date,
+                   count(*), count(v.rating), coalesce(sum(v.rating), 0), min(v.rating), max(v.rating)
+            FROM v_skill_entries v
+                     CROSS JOIN %s
+            WHERE v.entry_date IS NOT NULL
+            GROUP BY 1, 2, 3, 4, 5
+            """.formatted(PERIODS);
+
+    private static final String REBUILD_EMPLOYEES_SQL = """
+            INSERT INTO skill_rating_rollup_employees
+                (organization_id, department_id, skill_id, period_type, period_start, employee_id, sample_count)
+            SELECT v.organization_id, v.department_id, v.skill_id, p.period_type,
+                   date_trunc(p.unit, v.entry_date)::date, v.employee_id, count(*)
+            FROM v_skill_entries v
+                     CROSS JOIN %s
+            WHERE v.entry_date IS NOT NULL
+            GROUP BY 1, 2, 3, 4, 5, 6
+            """.formatted(PERIODS);
+
+    private static final String REBUILD_HISTOGRAMS_SQL = """
+            INSERT INTO skill_rating_rollup_histograms
+                (organization_id, department_id, skill_id, period_type, period_start, rating_bin, rating_count)
+            SELECT v.organization_id, v.department_id, v.skill_id, p.period_type,
+                   date_trunc(p.unit, v.entry_date)::date, %s, count(*)
+            FROM v_skill_entries v
+                     CROSS JOIN %s
+            WHERE v.entry_date IS NOT NULL
+              AND v.rating IS NOT NULL
+            GROUP BY 1, 2, 3, 4, 5, 6
+            """.formatted(RatingHistogram.binSql("v.rating"), PERIODS);
+
+    private static final String REBUILD_SKETCHES_SQL = """
+            INSERT INTO skill_rating_rollup_employee_sketches
+                (organization_id, department_id, skill_id, period_type, period_start, register, rank)
+            SELECT organization_id, department_id, skill_id, period_type, period_start, register, max(rank)
+            FROM (SELECT organization_id, department_id, skill_id, period_type, period_start,
+                         %s AS register, %s AS rank
+                  FROM skill_rating_rollup_employees) e
+            GROUP BY 1, 2, 3, 4, 5, 6
+            """.formatted(HyperLogLog.registerSql("employee_id"), HyperLogLog.rankSql("employee_id"));
+
+    private static final String MISMATCHES_SQL = """
+            WITH expected AS (
+                SELECT v.organization_id, v.department_id, v.skill_id, p.period_type,
+                       date_trunc(p.unit, v.entry_date)::date AS period_start,
+                       count(*)                      AS sample_count,
+                       count(v.rating)               AS rating_count,
+                       coalesce(sum(v.rating), 0)    AS rating_sum,
+                       min(v.rating)                 AS min_rating,
+                       max(v.rating)                 AS max_rating,
+                       count(DISTINCT v.employee_id) AS employee_count
+                FROM v_org_department_skill_period v
+                         CROSS JOIN %s
+                WHERE v.entry_date IS NOT NULL
+                GROUP BY 1, 2, 3, 4, 5
+            ), actual AS (
+                SELECT r.organization_id, r.department_id, r.skill_id, r.period_type, r.period_start,
+                       r.sample_count, r.rating_count, r.rating_sum, r.min_rating, r.max_rating,
+                       coalesce(re.employee_count, 0) AS employee_count
+                FROM skill_rating_rollups r
+                         LEFT JOIN (SELECT organization_id, department_id, skill_id, period_type, period_start,
+                                           count(*) AS employee_count
+                                    FROM skill_rating_rollup_employees
+                                    GROUP BY organization_id, department_id, skill_id, period_type, period_start) re
+                                   USING (organization_id, department_id, skill_id, period_type, period_start)
+            ), mismatches AS (
+                SELECT organization_id, department_id, skill_id, period_type, period_start,
+                       e.sample_count                                    AS expected_sample_count,
+                       a.sample_count                                    AS actual_sample_count,
+                       e.rating_sum / NULLIF(e.rating_count, 0)          AS expected_avg_rating,
+                       a.rating_sum / NULLIF(a.rating_count, 0)          AS actual_avg_rating,
+                       e.min_rating                                      AS expected_min_rating,
+                       a.min_rating                                      AS actual_min_rating,
+                       e.max_rating                                      AS expected_max_rating,
+                       a.max_rating                                      AS actual_max_rating,
+                       e.employee_count                                  AS expected_employee_count,
+                       a.employee_count                                  AS actual_employee_count
+                FROM expected e
+                         FULL OUTER JOIN actual a
+                                         USING (organization_id, department_id, skill_id, period_type, period_start)
+                WHERE e.sample_count IS DISTINCT FROM a.sample_count
+                   OR e.rating_count IS DISTINCT FROM a.rating_count
+                   OR e.employee_count IS DISTINCT FROM a.employee_count
+                   OR e.min_rating IS DISTINCT FROM a.min_rating
+                   OR e.max_rating IS DISTINCT FROM a.max_rating
+                   OR abs(e.rating_sum - a.rating_sum) > 1e-6
+            )
+            SELECT m.*, count(*) OVER () AS total_mismatches
+            FROM mismatches m
+            ORDER BY organization_id, department_id, skill_id, period_type, period_start
+            LIMIT :maxMismatches
+            """.formatted(PERIODS);
+
+    // JDBC template for executing parameterized SQL queries
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private static String periodLength(PeriodType periodType) {
+        return switch (periodType) {
+            case DAY -> "1 day";
+            case WEEK -> "1 week";
+            case MONTH -> "1 month";
+            case QUARTER -> "3 months";
+            case YEAR -> "1 year";
+        };
+    }
+
+    @Override
+    public void addEntries(List<SkillEntryChange> changes) {
+        MapSqlParameterSource[] batch = changes.stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("orgId", change.organizationId())
+                        .addValue("deptId", change.departmentId())
+                        .addValue("skillId", change.skillId())
+                        .addValue("employeeId", change.employeeId())
+                        .addValue("entryDate", change.entryDate())
+                        .addValue("rating", change.rating()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbc.batchUpdate(ADD_ENTRY_SQL, batch);
+        jdbc.batchUpdate(ADD_ENTRY_EMPLOYEE_SQL, batch);
+        jdbc.batchUpdate(ADD_ENTRY_HISTOGRAM_SQL, batch);
+        jdbc.batchUpdate(ADD_ENTRY_SKETCH_SQL, batch);
+    }
+
+    @Override
+    public void refreshBuckets(Collection<BucketKey> keys) {
+        MapSqlParameterSource[] batch = keys.stream()
+                .map(key -> new MapSqlParameterSource()
+                        .addValue("orgId", key.organizationId())
+                        .addValue("deptId", key.departmentId())
+                        .addValue("skillId", key.skillId())
+                        .addValue("entryDate", key.entryDate())
+                        // The buckets are joined at execution time; bare bounds on their union let Postgres skip the
+                        // skill entry partitions outside it
+                        .addValue("windowStart", bucketsStart(key.entryDate()))
+                        .addValue("windowEnd", bucketsEnd(key.entryDate())))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbc.batchUpdate(DELETE_BUCKETS_SQL.formatted("skill_rating_rollups", PERIODS), batch);
+        jdbc.batchUpdate(DELETE_BUCKETS_SQL.formatted("skill_rating_rollup_employees", PERIODS), batch);
+        jdbc.batchUpdate(DELETE_BUCKETS_SQL.formatted("skill_rating_rollup_histograms", PERIODS), batch);
+        jdbc.batchUpdate(DELETE_BUCKETS_SQL.formatted("skill_rating_rollup_employee_sketches", PERIODS), batch);
+        jdbc.batchUpdate(REFRESH_BUCKETS_SQL, batch);
+        jdbc.batchUpdate(REFRESH_BUCKET_EMPLOYEES_SQL, batch);
+        jdbc.batchUpdate(REFRESH_BUCKET_HISTOGRAMS_SQL, batch);
+        // After the bucket employees, which it is sketched from
+        jdbc.batchUpdate(REFRESH_BUCKET_SKETCHES_SQL, batch);
+    }
+
+    // First day of the earliest bucket of the day (its week may start in the previous year)
+    private static LocalDate bucketsStart(LocalDate entryDate) {
+        return Arrays.stream(PeriodType.values())
+                .map(p -> p.periodStart(entryDate))
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+    }
+
+    // Day after the latest bucket of the day
+    private static LocalDate bucketsEnd(LocalDate entryDate) {
+        return Arrays.stream(PeriodType.values())
+                .map(p -> p.nextPeriodStart(entryDate))
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+    }
+
+    @Override
+    public void rebuild() {
+        jdbc.getJdbcTemplate().execute(
+                "TRUNCATE TABLE skill_rating_rollups, skill_rating_rollup_employees, skill_rating_rollup_histograms, "
+                        + "skill_rating_rollup_employee_sketches");
+        jdbc.getJdbcTemplate().update(REBUILD_SQL);
+        jdbc.getJdbcTemplate().update(REBUILD_EMPLOYEES_SQL);
+        jdbc.getJdbcTemplate().update(REBUILD_HISTOGRAMS_SQL);
+        jdbc.getJdbcTemplate().update(REBUILD_SKETCHES_SQL);
+    }
+
+    @Override
+    public RollupConsistencyReportDto checkConsistency(int maxMismatches) {
+        Long rollupBuckets = jdbc.getJdbcTemplate()
+                .queryForObject("SELECT count(*) FROM skill_rating_rollups", Long.class);
+
+        long[] totalMismatches = {0};
+        List<RollupBucketMismatchDto> mismatches = jdbc.query(MISMATCHES_SQL,
+                new MapSqlParameterSource().addValue("maxMismatches", maxMismatches),
+                (rs, rn) -> {
+                    totalMismatches[0] = rs.getLong("total_mismatches");
+                    return new RollupBucketMismatchDto(
+                            rs.getInt("organization_id"),
+                            rs.getInt("department_id"),
+                            rs.getInt("skill_id"),
+                            rs.getString("period_type"),
+                            rs.getObject("period_start", LocalDate.class),
+                            getLong(rs, "expected_sample_count"),
+                            getLong(rs, "actual_sample_count"),
+                            getDouble(rs, "expected_avg_rating"),
+                            getDouble(rs, "actual_avg_rating"),
+                            getDouble(rs, "expected_min_rating"),
+                            getDouble(rs, "actual_min_rating"),
+                            getDouble(rs, "expected_max_rating"),
+                            getDouble(rs, "actual_max_rating"),
+                            getLong(rs, "expected_employee_count"),
+                            getLong(rs, "actual_employee_count")
+                    );
+                });
+
+        return new RollupConsistencyReportDto(
+                totalMismatches[0] == 0,
+                rollupBuckets != null ? rollupBuckets : 0,
+                totalMismatches[0],
+                mismatches
+        );
+    }
+
+    // Missing buckets on either side come back as SQL NULL, which must not be reported as zero
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+}
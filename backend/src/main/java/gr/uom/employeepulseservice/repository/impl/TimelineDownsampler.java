@@ -0,0 +1,210 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+// Reduces a timeline series to at most maxPoints points while its points stream by in date order.
+// The series size is known up front (the timeline SQL counts it with a window function), so the buckets are laid out
+// before the first point arrives and at most two buckets of points are held at any time.
+// The first and the last point of a series are always kept.
+final class TimelineDownsampler {
+
+    // First and last point plus at least one bucket of min/max points
+    static final int MIN_POINTS = 4;
+
+    private TimelineDownsampler() {
+    }
+
+    // How a point is plotted: x is its position on the time axis, y its value, low/high the extremes it carries
+    record Axes<P>(ToDoubleFunction<P> x,
+                   ToDoubleFunction<P> y,
+                   ToDoubleFunction<P> low,
+                   ToDoubleFunction<P> high) {
+    }
+
+    static void validateMaxPoints(Integer maxPoints) {
+        if (maxPoints != null && maxPoints < MIN_POINTS) {
+            throw new IllegalArgumentException("maxPoints must be at least " + MIN_POINTS);
+        }
+    }
+
+    // Returns a consumer accepting the seriesSize points of one series and passing the kept ones on to out, in order
+    static <P> Consumer<P> downsample(DownsamplingMethod method,
+                                      int maxPoints,
+                                      long seriesSize,
+                                      Axes<P> axes,
+                                      Consumer<P> out) {
+        validateMaxPoints(maxPoints);
+        if (seriesSize <= maxPoints) {
+            return out;
+        }
+
+        return switch (method) {
+            case LTTB -> new Lttb<>(maxPoints, seriesSize, axes, out);
+            case MIN_MAX -> new MinMax<>(maxPoints, seriesSize, axes, out);
+        };
+    }
+
+    // Splits the interior points into (maxPoints - 2) / 2 buckets and keeps the lowest and the highest point of each
+    private static final class MinMax<P> implements Consumer<P> {
+
+        private final long seriesSize;
+        private final int buckets;
+        private final Axes<P> axes;
+        private final Consumer<P> out;
+
+        private long index;
+        private int bucket = -1;
+        private P lowest;
+        private long lowestIndex;
+        private P highest;
+        private long highestIndex;
+
+        private MinMax(int maxPoints, long seriesSize, Axes<P> axes, Consumer<P> out) {
+            this.seriesSize = seriesSize;
+            this.buckets = (maxPoints - 2) / 2;
+            this.axes = axes;
+            this.out = out;
+        }
+
+        @Override
+        public void accept(P point) {
+            long i = index++;
+            if (i == 0) {
+                out.accept(point);
+                return;
+            }
+            if (i == seriesSize - 1) {
+                flush();
+                out.accept(point);
+                return;
+            }
+
+            int pointBucket = (int) ((i - 1) * buckets / (seriesSize - 2));
+            if (pointBucket != bucket) {
+                flush();
+                bucket = pointBucket;
+            }
+
+            if (lowest == null || axes.low().applyAsDouble(point) < axes.low().applyAsDouble(lowest)) {
+                lowest = point;
+                lowestIndex = i;
+            }
+            if (highest == null || axes.high().applyAsDouble(point) > axes.high().applyAsDouble(highest)) {
+                highest = point;
+                highestIndex = i;
+            }
+        }
+
+        // Emits the extremes of the finished bucket in their original order
+        private void flush() {
+            if (lowest == null) {
+                return;
+            }
+
+            if (lowestIndex == highestIndex) {
+                out.accept(lowest);
+            } else if (lowestIndex < highestIndex) {
+                out.accept(lowest);
+                out.accept(highest);
+            } else {
+                out.accept(highest);
+                out.accept(lowest);
+            }
+            lowest = null;
+            highest = null;
+        }
+    }
+
+    // Largest-Triangle-Three-Buckets (Steinarsson, 2013). A bucket's point is chosen once the following bucket is
+    // complete, as the one forming the largest triangle with the previously kept point and that bucket's average.
+    private static final class Lttb<P> implements Consumer<P> {
+
+        private final long seriesSize;
+        private final int interiorBuckets;
+        private final double bucketWidth;
+        private final Axes<P> axes;
+        private final Consumer<P> out;
+
+        private long index;
+        private P anchor;
+        private int fillingBucket = -1;
+        private List<P> filling = new ArrayList<>();
+        // Complete bucket waiting for the average of the bucket being filled
+        private List<P> waiting;
+
+        private Lttb(int maxPoints, long seriesSize, Axes<P> axes, Consumer<P> out) {
+            this.seriesSize = seriesSize;
+            this.interiorBuckets = maxPoints - 2;
+            this.bucketWidth = (double) (seriesSize - 2) / interiorBuckets;
+            this.axes = axes;
+            this.out = out;
+        }
+
+        @Override
+        public void accept(P point) {
+            long i = index++;
+            if (i == 0) {
+                out.accept(point);
+                anchor = point;
+                return;
+            }
+
+            // The last point forms a bucket of its own, the "next bucket" of the last interior one
+            int pointBucket = i == seriesSize - 1
+                    ? interiorBuckets
+                    : (int) Math.min(interiorBuckets - 1, Math.ceil(i / bucketWidth) - 1);
+            if (pointBucket != fillingBucket && !filling.isEmpty()) {
+                completeFillingBucket();
+            }
+            fillingBucket = pointBucket;
+            filling.add(point);
+
+            if (i == seriesSize - 1) {
+                completeFillingBucket();
+                out.accept(point);
+            }
+        }
+
+        private void completeFillingBucket() {
+            if (waiting != null) {
+                selectFromWaiting();
+            }
+            waiting = filling;
+            filling = new ArrayList<>();
+        }
+
+        private void selectFromWaiting() {
+            double avgX = 0;
+            double avgY = 0;
+            for (P point : filling) {
+                avgX += axes.x().applyAsDouble(point);
+                avgY += axes.y().applyAsDouble(point);
+            }
+            avgX /= filling.size();
+            avgY /= filling.size();
+
+            double anchorX = axes.x().applyAsDouble(anchor);
+            double anchorY = axes.y().applyAsDouble(anchor);
+
+            P selected = null;
+            double maxArea = -1;
+            for (P point : waiting) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((anchorX - avgX) * (axes.y().applyAsDouble(point) - anchorY)
+                        - (anchorX - axes.x().applyAsDouble(point)) * (avgY - anchorY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = point;
+                }
+            }
+
+            out.accept(selected);
+            anchor = selected;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.config.CacheInvalidationProperties;
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.event.ClusterEvent;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
+import gr.uom.employeepulseservice.event.RemoteChangeEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.repository.CacheInvalidationRepository;
+import gr.uom.employeepulseservice.repository.CacheInvalidationRepository.CacheInvalidation;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Carries the ClusterEvents of every node to the others over Postgres LISTEN/NOTIFY, so the replicas behind the load
+// balancer drop what their in-process caches hold about a change as well. Changes are written to cache_invalidations
+// in the transaction that makes them and notified on its commit; each node listens on a dedicated connection and
+// republishes the changes of the other nodes as RemoteChangeEvents. Notifications sent while a node was not listening
+// are lost, so a node replays the recent changes whenever it (re)connects.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    // Resolved by name: only these types are ever read back from the table
+    private static final Map<String, Class<? extends ClusterEvent>> EVENT_TYPES = Stream.of(
+                    SkillEntriesChangedEvent.class,
+                    EmployeeDepartmentChangedEvent.class,
+                    EmployeeRenamedEvent.class,
+                    PerformanceReviewChangedEvent.class,
+                    OrganizationStructureChangedEvent.class,
+                    ReferenceDataChangedEvent.class,
+                    ReferenceDataImportedEvent.class,
+                    ReportVersionsBumpedEvent.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    // Ids applied lately, so a change both notified and replayed is applied once
+    private static final int APPLIED_IDS = 10_000;
+
+    private final CacheInvalidationProperties properties;
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final JdbcConnectionDetails connectionDetails;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String node = UUID.randomUUID().toString();
+    private final Set<Long> appliedIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > APPLIED_IDS;
+        }
+    });
+
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread listener;
+
+    public String node() {
+        return node;
+    }
+
+    // Runs inside the writing transaction: a rolled back change is neither stored nor notified
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onChange(ClusterEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            cacheInvalidationRepository.append(properties.getChannel(), node, event.getClass().getSimpleName(),
+                    objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread stopping;
+        synchronized (this) {
+            running = false;
+            stopping = listener;
+        }
+        if (stopping == null) {
+            return;
+        }
+        // Closing the connection ends a pending wait for notifications
+        closeQuietly(listenerConnection);
+        stopping.join(properties.getPollTimeout().plusSeconds(5).toMillis());
+    }
+
+    @Scheduled(cron = "#{@cacheInvalidationProperties.cleanupCron}")
+    public void deleteExpired() {
+        int deleted = cacheInvalidationRepository.deleteOlderThan(properties.getRetention());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired cache invalidations", deleted);
+        }
+    }
+
+    private void listen() {
+        // Monotonic time the last connection was last known to be alive, null before the first connection
+        Long aliveAt = null;
+
+        while (running) {
+            try (Connection connection = connect()) {
+                listenerConnection = connection;
+                catchUp(aliveAt);
+                aliveAt = System.nanoTime();
+
+                while (running) {
+                    PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                            .getNotifications((int) properties.getPollTimeout().toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        apply(cacheInvalidationRepository.findByIds(Arrays.stream(notifications)
+                                .map(notification -> Long.valueOf(notification.getParameter()))
+                                .toList(), node));
+                    } else if (!connection.isValid((int) properties.getPollTimeout().toSeconds())) {
+                        throw new SQLException("Listener connection is no longer valid");
+                    }
+                    aliveAt = System.nanoTime();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}",
+                        properties.getReconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } finally {
+                listenerConnection = null;
+            }
+        }
+    }
+
+    // Outside the connection pool: LISTEN belongs to the session and the connection is held for good
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("user", connectionDetails.getUsername());
+        if (connectionDetails.getPassword() != null) {
+            info.setProperty("password", connectionDetails.getPassword());
+        }
+        info.setProperty("ApplicationName", "cache-invalidation-" + node);
+
+        Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(), info);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + connection.unwrap(PGConnection.class).escapeIdentifier(properties.getChannel()));
+        }
+        return connection;
+    }
+
+    // Listening already, so nothing committed from here on is missed; what was committed meanwhile is replayed.
+    // Replaying the changes of the first connection covers those made while this node was starting.
+    private void catchUp(Long aliveAt) {
+        Duration window = properties.getReplayWindow();
+        if (aliveAt != null && Duration.ofNanos(System.nanoTime() - aliveAt).compareTo(window) >= 0) {
+            log.warn("Cache invalidation listener was disconnected for longer than {}, dropping every cache", window);
+            eventPublisher.publishEvent(new ChangesMissedEvent());
+            return;
+        }
+
+        List<CacheInvalidation> replayed = cacheInvalidationRepository.findWrittenWithin(window, node);
+        apply(replayed);
+        if (aliveAt != null) {
+            log.info("Cache invalidation listener reconnected, replayed {} changes of the last {}", replayed.size(), window);
+        }
+    }
+
+    private void apply(List<CacheInvalidation> invalidations) {
+        for (CacheInvalidation invalidation : invalidations) {
+            if (!appliedIds.add(invalidation.id())) {
+                continue;
+            }
+            Class<? extends ClusterEvent> type = EVENT_TYPES.get(invalidation.eventType());
+            if (type == null) {
+                log.warn("Skipping cache invalidation {} of unknown type {}", invalidation.id(), invalidation.eventType());
+                continue;
+            }
+            try {
+                ClusterEvent change = objectMapper.readValue(invalidation.payload(), type);
+                eventPublisher.publishEvent(new RemoteChangeEvent<>(this, change));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Could not apply cache invalidation {} of node {}", invalidation.id(), invalidation.node(), e);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close the cache invalidation listener connection", e);
+        }
+    }
+}
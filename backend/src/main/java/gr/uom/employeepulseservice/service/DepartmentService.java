@@ -2,17 +2,23 @@ package gr.uom.employeepulseservice.service;
 
 import gr.uom.employeepulseservice.controller.dto.DepartmentDto;
 import gr.uom.employeepulseservice.controller.dto.CreateDepartmentDto;
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
 import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.EmployeeSkillRatingsDto;
 import gr.uom.employeepulseservice.controller.dto.UpdateDepartmentDto;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
 import gr.uom.employeepulseservice.mapper.DepartmentMapper;
-import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.model.Department;
 import gr.uom.employeepulseservice.model.Employee;
 import gr.uom.employeepulseservice.model.Organization;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
 import gr.uom.employeepulseservice.repository.EmployeeRepository;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository;
 import gr.uom.employeepulseservice.repository.OrganizationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,19 +31,24 @@ public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final OrganizationRepository organizationRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeListingRepository employeeListingRepository;
+    private final EmployeeSkillLatestRepository employeeSkillLatestRepository;
     private final DepartmentMapper departmentMapper;
-    private final EmployeeMapper employeeMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaging keysetPaging;
 
     @Transactional(readOnly = true)
     public List<DepartmentDto> findAll() {
-        List<Department> departments = departmentRepository.findAll();
+        List<Department> departments = departmentRepository.findAllWithDetails();
 
         return departmentMapper.toDtos(departments);
     }
 
     @Transactional(readOnly = true)
     public DepartmentDto findDepartmentById(Integer id) {
-        Department department = findById(id);
+        Department department = departmentRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
 
         return departmentMapper.toDto(department);
     }
@@ -50,6 +61,8 @@ public class DepartmentService {
         department.setOrganization(organization);
 
         departmentRepository.save(department);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, department.getId()));
     }
 
     @Transactional
@@ -57,6 +70,10 @@ public class DepartmentService {
         Department department = findById(id);
 
         department.setName(dto.name());
+
+        eventPublisher.publishEvent(new OrganizationStructureChangedEvent(
+                department.getOrganization() != null ? department.getOrganization().getId() : null, id));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, id));
     }
 
     @Transactional
@@ -68,6 +85,9 @@ public class DepartmentService {
         }
 
         departmentRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new OrganizationStructureChangedEvent(null, id));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, id));
     }
 
     private Department findById(Integer id) {
@@ -81,10 +101,22 @@ public class DepartmentService {
     }
 
     @Transactional(readOnly = true)
-    public List<EmployeeDto> findEmployeesById(Integer id) {
-        List<Employee> employees = employeeRepository.findByDepartmentId(id);
+    public CursorPageDto<EmployeeDto> findEmployeesById(Integer id, String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        Integer afterId = keysetPaging.decode(cursor, 1, keys -> Integer.valueOf(keys[0]), null);
 
-        return employeeMapper.toDtos(employees);
+        return keysetPaging.page(employeeListingRepository.findPageByDepartmentId(id, afterId, pageSize + 1), pageSize,
+                employee -> keysetPaging.encode(employee.id()));
+    }
+
+    // One query over the employee_skill_latest projection for the whole department
+    @Transactional(readOnly = true)
+    public List<EmployeeSkillRatingsDto> findLatestSkillRatingsById(Integer id) {
+        if (!departmentRepository.existsById(id)) {
+            throw new RuntimeException("Department not found");
+        }
+
+        return employeeSkillLatestRepository.findByDepartmentId(id);
     }
 
     private Employee findEmployeeById(Integer id) {
@@ -102,5 +134,7 @@ public class DepartmentService {
         }
 
         department.setManager(manager);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, id));
     }
 }
@@ -3,45 +3,62 @@ package gr.uom.employeepulseservice.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
 import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.mapper.SkillEntryMapper;
 import gr.uom.employeepulseservice.model.*;
 import gr.uom.employeepulseservice.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeListingRepository employeeListingRepository;
     private final DepartmentRepository departmentRepository;
     private final OccupationRepository occupationRepository;
     private final OrganizationRepository organizationRepository;
     private final SkillEntryRepository skillEntryRepository;
     private final SkillRepository skillRepository;
+    private final EmployeeSkillLatestRepository employeeSkillLatestRepository;
+    private final BulkImportRepository bulkImportRepository;
 
     private final EmployeeMapper employeeMapper;
     private final SkillEntryMapper skillEntryMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaging keysetPaging;
+
     // Ensure Java Time (LocalDate, etc.) is supported for bulkCreate JSON parsing
     private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @Transactional(readOnly = true)
-    public List<EmployeeDto> findAll() {
-        List<Employee> employees = employeeRepository.findAll();
+    public CursorPageDto<EmployeeDto> findAll(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        Integer afterId = keysetPaging.decode(cursor, 1, keys -> Integer.valueOf(keys[0]), null);
 
-        return employeeMapper.toDtos(employees);
+        return keysetPaging.page(employeeListingRepository.findPage(afterId, pageSize + 1), pageSize,
+                employee -> keysetPaging.encode(employee.id()));
     }
 
     @Transactional
     public EmployeeDto findEmployeeById(Integer id) {
-        Employee employee = findById(id);
+        Employee employee = employeeRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new RuntimeException("Employee not found"));
 
         return employeeMapper.toDto(employee);
     }
@@ -66,15 +83,55 @@ public class EmployeeService {
             checkIfDuplicateEmailExists(dto.email());
         }
 
+        Department source = employee.getDepartment();
+        String firstName = employee.getFirstName();
+        String lastName = employee.getLastName();
+
         employeeMapper.updateFromDto(employee, dto);
         setEmployeeRelations(dto, employee);
 
+        if (!Objects.equals(firstName, employee.getFirstName()) || !Objects.equals(lastName, employee.getLastName())) {
+            eventPublisher.publishEvent(new EmployeeRenamedEvent(id));
+        }
+
+        // Moving the employee through an update re-attributes their reviews just like changeDepartmentOfEmployee
+        Department target = employee.getDepartment();
+        if (source == null || !Objects.equals(source.getId(), target.getId())) {
+            eventPublisher.publishEvent(new EmployeeDepartmentChangedEvent(
+                    id,
+                    source != null && source.getOrganization() != null ? source.getOrganization().getId() : null,
+                    source != null ? source.getId() : null,
+                    target.getOrganization().getId(),
+                    target.getId()
+            ));
+        }
     }
 
     @Transactional
     public void deleteEmployee(Integer id) {
-        departmentRepository.deleteManagerOfDepartmentsByEmployeeId(id);
+        // Skill entries and performance reviews are removed together with the employee; their organization and
+        // department are read before the delete
+        Optional<Employee> employee = employeeRepository.findById(id);
+        List<SkillEntryChange> removedEntries = employee
+                .map(Employee::getSkillEntries)
+                .map(entries -> entries.stream().map(SkillEntryChange::removed).toList())
+                .orElse(List.of());
+        List<PerformanceReviewChangedEvent> removedReviews = employee
+                .map(Employee::getPerformanceReviews)
+                .map(reviews -> reviews.stream().map(PerformanceReviewChangedEvent::of).toList())
+                .orElse(List.of());
+
+        int managedDepartments = departmentRepository.deleteManagerOfDepartmentsByEmployeeId(id);
         employeeRepository.deleteById(id);
+
+        if (managedDepartments > 0) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, null));
+        }
+
+        if (!removedEntries.isEmpty()) {
+            eventPublisher.publishEvent(new SkillEntriesChangedEvent(removedEntries));
+        }
+        removedReviews.forEach(eventPublisher::publishEvent);
     }
 
     @Transactional
@@ -85,7 +142,16 @@ public class EmployeeService {
         if (!Objects.equals(target.getOrganization().getId(), employee.getOrganization().getId())) {
             throw new RuntimeException("Target department belongs to a different organization");
         }
+        Department source = employee.getDepartment();
         employee.setDepartment(target);
+
+        eventPublisher.publishEvent(new EmployeeDepartmentChangedEvent(
+                employeeId,
+                source != null && source.getOrganization() != null ? source.getOrganization().getId() : null,
+                source != null ? source.getId() : null,
+                target.getOrganization().getId(),
+                target.getId()
+        ));
     }
 
     @Transactional(readOnly = true)
@@ -98,9 +164,21 @@ public class EmployeeService {
 
     @SneakyThrows
     @Transactional
-    public void bulkCreate(String json) {
+    public void bulkCreate(String json, ImportMode mode) {
         List<SaveEmployeeDto> dtos = objectMapper.readValue(json, new TypeReference<>() {});
 
+        importEmployees(dtos, mode);
+    }
+
+    // Also writes the chunks of employee import jobs
+    @Transactional
+    public void importEmployees(List<SaveEmployeeDto> dtos, ImportMode mode) {
+        if (mode == ImportMode.COPY) {
+            validateEmployeeRelations(dtos);
+            bulkImportRepository.copyEmployees(dtos);
+            return;
+        }
+
         List<Employee> entities = new ArrayList<>(dtos.size());
         for (SaveEmployeeDto dto : dtos) {
             Employee e = employeeMapper.toEntity(dto);
@@ -110,21 +188,14 @@ public class EmployeeService {
         employeeRepository.saveAll(entities);
     }
 
+    // Read from the employee_skill_latest projection instead of the skill entry history
     @Transactional(readOnly = true)
     public List<SkillToRatingDto> getLatestSkillEntriesOfEmployee(Integer employeeId) {
-        ensureEmployeeExists(employeeId);
-
-        List<SkillEntry> all = skillEntryRepository.findAllByEmployeeIdOrderByEntryDateDesc(employeeId);
-
-        Map<Integer, SkillEntry> latestPerSkill = new LinkedHashMap<>();
-        for (SkillEntry se : all) {
-            Integer skillId = se.getSkill().getId();
-            latestPerSkill.putIfAbsent(skillId, se);
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
         }
 
-        return latestPerSkill.values().stream()
-                .map(it -> new SkillToRatingDto(it.getSkill().getId(), it.getSkill().getName(), it.getRating()))
-                .toList();
+        return employeeSkillLatestRepository.findByEmployeeId(employeeId);
     }
 
     @Transactional
@@ -134,23 +205,27 @@ public class EmployeeService {
                 .orElseThrow(() -> new RuntimeException("Skill not found"));
 
         SkillEntry se = new SkillEntry();
-        se.setEmployee(employee);
+        se.attributeTo(employee);
         se.setSkill(skill);
         se.setRating(dto.rating());
         
         LocalDate entryDate = dto.entryDate() != null ? dto.entryDate() : LocalDate.now();
         se.setEntryDate(entryDate);
         se.setEntryDateTime(entryDate.atStartOfDay());
-        skillEntryRepository.save(se);
+        SkillEntry saved = skillEntryRepository.save(se);
+
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(SkillEntryChange.added(saved)));
     }
 
     @Transactional
     public void removeSkillEntryFromEmployee(Integer employeeId, Integer skillEntryId) {
-        boolean owns = skillEntryRepository.existsByIdAndEmployeeId(skillEntryId, employeeId);
-        if (!owns) {
-            throw new RuntimeException("Skill entry not found for this employee");
-        }
-        skillEntryRepository.deleteById(skillEntryId);
+        SkillEntry entry = skillEntryRepository.findById(skillEntryId)
+                .filter(se -> se.getEmployee() != null && Objects.equals(se.getEmployee().getId(), employeeId))
+                .orElseThrow(() -> new RuntimeException("Skill entry not found for this employee"));
+
+        skillEntryRepository.delete(entry);
+
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(SkillEntryChange.removed(entry)));
     }
 
     private void setEmployeeRelations(SaveEmployeeDto dto, Employee employee) {
@@ -169,6 +244,31 @@ public class EmployeeService {
         employee.setOrganization(organization);
     }
 
+    // The checks of setEmployeeRelations with one lookup per related table instead of three per employee
+    private void validateEmployeeRelations(List<SaveEmployeeDto> dtos) {
+        Map<Integer, Integer> organizationsOfDepartments = bulkImportRepository.findOrganizationIdsOfDepartments(
+                dtos.stream().map(SaveEmployeeDto::departmentId).collect(Collectors.toSet()));
+        Set<Integer> organizationIds = bulkImportRepository.findExistingOrganizationIds(
+                dtos.stream().map(SaveEmployeeDto::organizationId).collect(Collectors.toSet()));
+        Set<Integer> occupationIds = bulkImportRepository.findExistingOccupationIds(
+                dtos.stream().map(SaveEmployeeDto::occupationId).collect(Collectors.toSet()));
+
+        for (SaveEmployeeDto dto : dtos) {
+            if (!organizationsOfDepartments.containsKey(dto.departmentId())) {
+                throw new RuntimeException("Department not found");
+            }
+            if (!organizationIds.contains(dto.organizationId())) {
+                throw new RuntimeException("Organization not found");
+            }
+            if (!occupationIds.contains(dto.occupationId())) {
+                throw new RuntimeException("Occupation not found");
+            }
+            if (!Objects.equals(organizationsOfDepartments.get(dto.departmentId()), dto.organizationId())) {
+                throw new RuntimeException("Department does not belong to the Organization");
+            }
+        }
+    }
+
     private Employee findById(Integer id) {
         return employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
@@ -0,0 +1,55 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.event.RemoteChangeEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository.EmployeeSkill;
+import gr.uom.employeepulseservice.repository.SkillEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Keeps employee_skill_latest in step with the skill entries
+@Service
+@RequiredArgsConstructor
+public class EmployeeSkillLatestService {
+
+    private final EmployeeSkillLatestRepository employeeSkillLatestRepository;
+    private final SkillEntryRepository skillEntryRepository;
+
+    // Runs synchronously inside the transaction that wrote the skill entries, on the node that wrote them
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    @Transactional
+    public void onSkillEntriesChanged(SkillEntriesChangedEvent event) {
+        List<SkillEntryChange> added = new ArrayList<>();
+        Set<EmployeeSkill> removed = new LinkedHashSet<>();
+
+        for (SkillEntryChange change : event.changes()) {
+            if (change.employeeId() == null || change.skillId() == null || change.entryDate() == null) {
+                continue;
+            }
+            if (change.type() == SkillEntryChange.ChangeType.ADDED) {
+                added.add(change);
+            } else {
+                removed.add(new EmployeeSkill(change.employeeId(), change.skillId()));
+            }
+        }
+
+        if (!added.isEmpty()) {
+            employeeSkillLatestRepository.addEntries(added);
+        }
+
+        // The next latest entry is looked up in skill_entries, so pending entity changes must reach the database first
+        if (!removed.isEmpty()) {
+            skillEntryRepository.flush();
+            employeeSkillLatestRepository.refresh(removed);
+        }
+    }
+}
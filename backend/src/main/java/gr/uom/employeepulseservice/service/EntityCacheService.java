@@ -0,0 +1,106 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.EntityCacheProperties;
+import gr.uom.employeepulseservice.controller.dto.EntityCacheRegionStatsDto;
+import gr.uom.employeepulseservice.controller.dto.EntityCacheStatsDto;
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
+import gr.uom.employeepulseservice.event.RemoteChangeEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.cache.CacheManager;
+import java.util.List;
+
+// The Hibernate second-level cache: its statistics, and its eviction after writes Hibernate does not see, i.e. imports
+// and the writes of other nodes
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager entityCacheManager;
+    private final EntityCacheProperties entityCacheProperties;
+
+    public EntityCacheStatsDto stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+
+        List<EntityCacheRegionStatsDto> regions = entityCacheProperties.getRegions().entrySet().stream()
+                .map(region -> regionStats(statistics, region.getKey(), region.getValue()))
+                .toList();
+
+        return new EntityCacheStatsDto(
+                regions,
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()
+        );
+    }
+
+    // Once the import is committed, so no transaction running meanwhile caches what the import replaced again.
+    // Copies only insert: the cached entities stay valid, but cached query results may miss the new rows.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataImported(ReferenceDataImportedEvent event) {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        cache.evictEntityData(event.entityClass());
+        cache.evictQueryRegions();
+
+        log.info("Evicted the cached {} entities and every cached query result after an import",
+                event.entityClass().getSimpleName());
+    }
+
+    // This node's cache is kept current by Hibernate; the copies on the other nodes are evicted, with every cached
+    // query result that may list the entity
+    @EventListener(condition = RemoteChangeEvent.REMOTE_ONLY)
+    public void onRemoteReferenceDataChanged(ReferenceDataChangedEvent event) {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        if (event.id() != null) {
+            cache.evictEntityData(event.entityClass(), event.id());
+        } else {
+            cache.evictEntityData(event.entityClass());
+        }
+        cache.evictQueryRegions();
+    }
+
+    @EventListener
+    public void onChangesMissed(ChangesMissedEvent event) {
+        sessionFactory().getCache().evictAll();
+    }
+
+    private EntityCacheRegionStatsDto regionStats(Statistics statistics, String region, long maximumSize) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        long hits = regionStatistics != null ? regionStatistics.getHitCount() : 0;
+        long misses = regionStatistics != null ? regionStatistics.getMissCount() : 0;
+        long puts = regionStatistics != null ? regionStatistics.getPutCount() : 0;
+
+        return new EntityCacheRegionStatsDto(
+                region,
+                size(region),
+                maximumSize,
+                hits,
+                misses,
+                hits + misses > 0 ? (double) hits / (hits + misses) : 0,
+                puts
+        );
+    }
+
+    // The Caffeine cache behind the JCache region; Hibernate's own statistics do not count JCache entries
+    private long size(String region) {
+        return entityCacheManager.getCache(region)
+                .unwrap(com.github.benmanes.caffeine.cache.Cache.class)
+                .estimatedSize();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
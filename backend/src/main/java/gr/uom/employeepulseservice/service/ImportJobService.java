@@ -0,0 +1,244 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.config.ImportProperties;
+import gr.uom.employeepulseservice.controller.dto.ImportJobDto;
+import gr.uom.employeepulseservice.controller.dto.ImportJobErrorDto;
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.mapper.ImportJobMapper;
+import gr.uom.employeepulseservice.model.*;
+import gr.uom.employeepulseservice.repository.ImportJobErrorRepository;
+import gr.uom.employeepulseservice.repository.ImportJobRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+// Imports a JSON array of rows read incrementally from the request body, committing every chunk of rows in a
+// transaction of its own together with the job's progress. Rows that cannot be parsed or written are recorded as
+// errors of the job instead of failing the import.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportJobMapper importJobMapper;
+    private final ImportProperties importProperties;
+
+    private final EmployeeService employeeService;
+    private final SkillService skillService;
+    private final OccupationService occupationService;
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Transactional
+    public ImportJobDto createJob(ImportEntityType entityType, ImportMode mode, Integer chunkSize) {
+        if (chunkSize != null && chunkSize < 1) {
+            throw new RuntimeException("Chunk size must be positive");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = new ImportJob();
+        job.setEntityType(entityType);
+        job.setMode(mode);
+        job.setStatus(ImportJobStatus.PENDING);
+        job.setChunkSize(chunkSize != null ? chunkSize : importProperties.getChunkSize());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+
+        return importJobMapper.toDto(importJobRepository.save(job));
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobDto findJobById(Integer id) {
+        return importJobMapper.toDto(findById(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ImportJobErrorDto> findErrorsOfJob(Integer id, Pageable pageable) {
+        ensureJobExists(id);
+        return importJobErrorRepository.findByImportJobIdOrderByRowNumber(id, pageable)
+                .map(importJobMapper::toErrorDto);
+    }
+
+    // Not transactional: every chunk commits on its own. A failed job, or one left running by a dead node, resumes
+    // when the same payload is uploaded again, skipping the rows it already processed. A run only writes while the
+    // job is still claimed by it: a run that was slow enough to be reclaimed stops at its next chunk.
+    public ImportJobDto runJob(Integer id, InputStream payload) {
+        String run = UUID.randomUUID().toString();
+        if (importJobRepository.start(id, run, importProperties.getStaleAfter().toSeconds()) == 0) {
+            // Fails for an unknown job
+            findById(id);
+            throw new RuntimeException("Import job is already running or completed");
+        }
+        // Read once claimed: no earlier run can commit progress any more
+        ImportJob job = findById(id);
+
+        try {
+            switch (job.getEntityType()) {
+                case EMPLOYEES -> importRows(job, run, payload, SaveEmployeeDto.class, employeeService::importEmployees);
+                case SKILLS -> importRows(job, run, payload, SaveSkillDto.class, skillService::importSkills);
+                case OCCUPATIONS -> importRows(job, run, payload, SaveOccupationDto.class, occupationService::importOccupations);
+            }
+            if (importJobRepository.complete(id, run) == 0) {
+                throw new RunTakenOverException();
+            }
+        } catch (RunTakenOverException e) {
+            log.warn("Import job {} stopped: it was claimed by another run", id);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import job {} stopped: {}", id, e.getMessage());
+            importJobRepository.fail(id, run, messageOf(e));
+        }
+
+        return findJobById(id);
+    }
+
+    private <T> void importRows(ImportJob job, String run, InputStream payload, Class<T> rowType,
+                                BiConsumer<List<T>, ImportMode> writer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Import payload must be a JSON array");
+            }
+
+            List<ImportRow<T>> chunk = new ArrayList<>(job.getChunkSize());
+            long rowNumber = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new RuntimeException("Import payload ended before its last row");
+                }
+                rowNumber++;
+
+                // Committed by an earlier run of the job
+                if (rowNumber <= job.getProcessedRows()) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                chunk.add(readRow(parser, rowNumber, rowType));
+                if (chunk.size() == job.getChunkSize()) {
+                    commitChunk(job, run, chunk, writer);
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                commitChunk(job, run, chunk, writer);
+            }
+        }
+    }
+
+    private <T> ImportRow<T> readRow(JsonParser parser, long rowNumber, Class<T> rowType) throws IOException {
+        // Only malformed JSON fails the job, a row that does not fit its type is rejected on its own
+        JsonNode node = parser.readValueAsTree();
+        try {
+            return new ImportRow<>(rowNumber, objectMapper.treeToValue(node, rowType), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow<>(rowNumber, null, truncate(e.getOriginalMessage()));
+        }
+    }
+
+    private <T> void commitChunk(ImportJob job, String run, List<ImportRow<T>> chunk,
+                                 BiConsumer<List<T>, ImportMode> writer) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeRows(job, run, chunk, writer));
+        } catch (RunTakenOverException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // A single bad row rolls back its whole chunk: the rows are written again one per transaction to keep the
+            // good ones and record the bad ones
+            for (ImportRow<T> row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeRows(job, run, List.of(row), writer));
+                } catch (RunTakenOverException rowException) {
+                    throw rowException;
+                } catch (RuntimeException rowException) {
+                    ImportRow<T> rejected = new ImportRow<>(row.rowNumber(), null, messageOf(rowException));
+                    transactionTemplate.executeWithoutResult(status -> writeRows(job, run, List.of(rejected), writer));
+                }
+            }
+        }
+
+        // The request's persistence context would otherwise keep every entity the job imports
+        entityManager.clear();
+    }
+
+    private <T> void writeRows(ImportJob job, String run, List<ImportRow<T>> rows, BiConsumer<List<T>, ImportMode> writer) {
+        List<T> values = new ArrayList<>(rows.size());
+        List<ImportJobError> errors = new ArrayList<>();
+        for (ImportRow<T> row : rows) {
+            if (row.error() == null) {
+                values.add(row.value());
+            } else {
+                ImportJobError error = new ImportJobError();
+                error.setImportJobId(job.getId());
+                error.setRowNumber(row.rowNumber());
+                error.setMessage(row.error());
+                errors.add(error);
+            }
+        }
+
+        if (!values.isEmpty()) {
+            writer.accept(values, job.getMode());
+        }
+        importJobErrorRepository.saveAll(errors);
+        // Rolls the chunk back when another run claimed the job meanwhile
+        if (importJobRepository.recordChunk(job.getId(), run, rows.getLast().rowNumber(), values.size(), errors.size()) == 0) {
+            throw new RunTakenOverException();
+        }
+    }
+
+    private ImportJob findById(Integer id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+    }
+
+    private void ensureJobExists(Integer id) {
+        if (!importJobRepository.existsById(id)) {
+            throw new RuntimeException("Import job not found");
+        }
+    }
+
+    private static String messageOf(Exception e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return truncate(cause.getMessage() != null ? cause.getMessage() : cause.toString());
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    // A row of the payload, with either its value or the reason it is rejected
+    private record ImportRow<T>(long rowNumber, T value, String error) {
+    }
+
+    // The job was claimed by another run: this run stops without writing anything more
+    private static class RunTakenOverException extends RuntimeException {
+    }
+}
@@ -0,0 +1,74 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.PaginationProperties;
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Page sizes and cursors of the keyset-paged listings. A cursor is the opaque sort key of the last row of its page;
+// the next page is read after that key instead of skipping the rows before it, so deep pages cost as much as the first.
+@Component
+@RequiredArgsConstructor
+public class KeysetPaging {
+
+    private static final String SEPARATOR = ",";
+
+    private final PaginationProperties paginationProperties;
+
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return paginationProperties.getDefaultPageSize();
+        }
+        if (requested < 1) {
+            throw new RuntimeException("Page size must be positive");
+        }
+        return Math.min(requested, paginationProperties.getMaxPageSize());
+    }
+
+    // Null values are encoded as empty keys
+    public String encode(Object... keys) {
+        String joined = Arrays.stream(keys)
+                .map(key -> key != null ? key.toString() : "")
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The parser gets the keys of the cursor, empty keys as nulls; a request without a cursor starts from the first page
+    public <K> K decode(String cursor, int keyCount, Function<String[], K> parser, K firstPage) {
+        if (cursor == null || cursor.isEmpty()) {
+            return firstPage;
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (keys.length != keyCount) {
+                throw new IllegalArgumentException("Expected " + keyCount + " keys");
+            }
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keys[i].isEmpty() ? null : keys[i];
+            }
+            return parser.apply(keys);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // The listings read one row more than the page size: it only tells whether another page follows
+    public <T> CursorPageDto<T> page(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        return page(rows, pageSize, Function.identity(), cursorOf);
+    }
+
+    // Maps only the rows of the page
+    public <E, T> CursorPageDto<T> page(List<E> rows, int pageSize, Function<List<E>, List<T>> mapper,
+                                        Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = mapper.apply(hasNext ? rows.subList(0, pageSize) : rows);
+        return new CursorPageDto<>(items, hasNext ? cursorOf.apply(items.getLast()) : null);
+    }
+}
@@ -4,11 +4,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.uom.employeepulseservice.controller.dto.OccupationDto;
 import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
 import gr.uom.employeepulseservice.mapper.OccupationMapper;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.model.Occupation;
+import gr.uom.employeepulseservice.repository.BulkImportRepository;
 import gr.uom.employeepulseservice.repository.OccupationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,6 +27,8 @@ public class OccupationService {
 
     private final OccupationRepository occupationRepository;
     private final OccupationMapper occupationMapper;
+    private final BulkImportRepository bulkImportRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -48,6 +55,8 @@ public class OccupationService {
         Occupation occupation = occupationMapper.toEntity(dto);
 
         occupationRepository.save(occupation);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Occupation.class, occupation.getId()));
     }
 
     @Transactional
@@ -55,17 +64,33 @@ public class OccupationService {
         Occupation occupation = findById(id);
 
         occupationMapper.updateFromDto(occupation, dto);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Occupation.class, id));
     }
 
     @Transactional
     public void deleteOccupation(Integer id) {
         occupationRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Occupation.class, id));
     }
 
     @SneakyThrows
     @Transactional
-    public void bulkCreateOccupations(String json) {
+    public void bulkCreateOccupations(String json, ImportMode mode) {
         List<SaveOccupationDto> dtos = objectMapper.readValue(json, new TypeReference<>() {});
+
+        importOccupations(dtos, mode);
+    }
+
+    // Also writes the chunks of occupation import jobs
+    @Transactional
+    public void importOccupations(List<SaveOccupationDto> dtos, ImportMode mode) {
+        if (mode == ImportMode.COPY) {
+            bulkImportRepository.copyOccupations(dtos);
+            eventPublisher.publishEvent(new ReferenceDataImportedEvent(Occupation.class));
+            return;
+        }
         
         List<Occupation> toSave = dtos.stream()
                 .map(occupationMapper::toEntity)
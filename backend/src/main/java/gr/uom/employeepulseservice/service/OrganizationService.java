@@ -1,21 +1,25 @@
 package gr.uom.employeepulseservice.service;
 
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
 import gr.uom.employeepulseservice.mapper.DepartmentMapper;
-import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.mapper.OrganizationMapper;
 import gr.uom.employeepulseservice.mapper.SkillMapper;
-import gr.uom.employeepulseservice.model.Employee;
+import gr.uom.employeepulseservice.model.Department;
 import gr.uom.employeepulseservice.model.Organization;
 import gr.uom.employeepulseservice.model.Skill;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
-import gr.uom.employeepulseservice.repository.EmployeeRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository.HireDateKey;
 import gr.uom.employeepulseservice.repository.OrganizationRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -24,13 +28,15 @@ public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
     private final OrganizationMapper organizationMapper;
-    private final EmployeeRepository employeeRepository;
-    private final EmployeeMapper employeeMapper;
+    private final EmployeeListingRepository employeeListingRepository;
     private final DepartmentRepository departmentRepository;
     private final DepartmentMapper departmentMapper;
     private final SkillRepository skillRepository;
     private final SkillMapper skillMapper;
 
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaging keysetPaging;
+
     @Transactional(readOnly = true)
     public List<OrganizationDto> findAll() {
         List<Organization> organizations = organizationRepository.findAll();
@@ -61,6 +67,8 @@ public class OrganizationService {
         Organization organization = organizationMapper.toEntity(dto);
 
         organizationRepository.save(organization);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Organization.class, organization.getId()));
     }
 
     @Transactional
@@ -69,18 +77,29 @@ public class OrganizationService {
 
         organization.setName(dto.name());
         organization.setLocation(dto.location());
+
+        eventPublisher.publishEvent(new OrganizationStructureChangedEvent(id, null));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Organization.class, id));
     }
 
     @Transactional
     public void deleteOrganization(Integer id) {
         organizationRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new OrganizationStructureChangedEvent(id, null));
+        // Its departments are deleted with it
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Organization.class, id));
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Department.class, null));
     }
 
     @Transactional(readOnly = true)
-    public List<EmployeeDto> findEmployeesById(Integer id) {
-        List<Employee> employees = employeeRepository.findByOrganizationIdOrderByHireDateDesc(id);
+    public CursorPageDto<EmployeeDto> findEmployeesById(Integer id, String name, String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        HireDateKey after = keysetPaging.decode(cursor, 2,
+                keys -> new HireDateKey(keys[0] != null ? LocalDate.parse(keys[0]) : null, Integer.valueOf(keys[1])), null);
 
-        return employeeMapper.toDtos(employees);
+        return keysetPaging.page(employeeListingRepository.findPageByOrganizationId(id, name, after, pageSize + 1), pageSize,
+                employee -> keysetPaging.encode(employee.hireDate(), employee.id()));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,46 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.repository.PartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    // Partitioned by quarter on entry_date / review_date
+    static final List<String> PARTITIONED_TABLES = List.of("skill_entries", "performance_reviews");
+
+    private final PartitionRepository partitionRepository;
+    private final ReportingProperties reportingProperties;
+
+    // Also on startup, in case the application was down when the job was due. Rows written to a quarter without a
+    // partition land in the default partition and are moved into their own on the next run, so a failed run is only
+    // logged: it must not stop the application from starting.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "#{@reportingProperties.partitions.cron}")
+    public void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusMonths(3L * reportingProperties.getPartitions().getQuartersAhead());
+
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                int created = partitionRepository.ensureQuarterlyPartitions(table, today, horizon);
+                if (created > 0) {
+                    log.info("Created {} quarterly partitions of {} up to {}", created, table, horizon);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not create the quarterly partitions of {} up to {}", table, horizon, e);
+            }
+        }
+    }
+}
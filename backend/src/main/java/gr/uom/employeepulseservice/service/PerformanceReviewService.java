@@ -1,6 +1,9 @@
 package gr.uom.employeepulseservice.service;
 
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
 import gr.uom.employeepulseservice.llm.ChatGptClient;
 import gr.uom.employeepulseservice.llm.GeneratedSkill;
 import gr.uom.employeepulseservice.mapper.PerformanceReviewMapper;
@@ -11,27 +14,37 @@ import gr.uom.employeepulseservice.model.SkillEntry;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
 import gr.uom.employeepulseservice.repository.EmployeeRepository;
 import gr.uom.employeepulseservice.repository.PerformanceReviewRepository;
+import gr.uom.employeepulseservice.repository.SkillEntryBatchRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PerformanceReviewService {
 
+    // Precedes every review in the listings' newest-first order: the key of their first page
+    private static final ReviewKey FIRST_PAGE = new ReviewKey(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Integer.MAX_VALUE);
+
     private final PerformanceReviewRepository performanceReviewRepository;
     private final PerformanceReviewMapper performanceReviewMapper;
     private final SkillRepository skillRepository;
     private final EmployeeRepository employeeRepository;
     private final ChatGptClient chatGptClient;
     private final DepartmentRepository departmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaging keysetPaging;
+    private final SkillEntryBatchRepository skillEntryBatchRepository;
 
     @Transactional
     public CreatePerformanceReviewResponseDto createPerformanceReview(CreatePerformanceReviewDto dto) {
@@ -56,6 +69,8 @@ public class PerformanceReviewService {
 
         PerformanceReview createdPerformanceReview = performanceReviewRepository.save(performanceReview);
 
+        eventPublisher.publishEvent(PerformanceReviewChangedEvent.of(createdPerformanceReview));
+
         log.info("Created performance review for {}", dto.employeeId());
         return new CreatePerformanceReviewResponseDto(createdPerformanceReview.getId());
     }
@@ -78,6 +93,8 @@ public class PerformanceReviewService {
 
         PerformanceReview updatedPerformanceReview = performanceReviewRepository.save(performanceReview);
 
+        eventPublisher.publishEvent(PerformanceReviewChangedEvent.of(updatedPerformanceReview));
+
         log.info("Updated performance review {}", reviewId);
         return performanceReviewMapper.toDto(updatedPerformanceReview);
     }
@@ -96,65 +113,70 @@ public class PerformanceReviewService {
 
     @Transactional(readOnly = true)
     public PerformanceReviewDto findById(Integer id) {
-        PerformanceReview pr = performanceReviewRepository.findById(id)
+        PerformanceReview pr = performanceReviewRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Performance review not found"));
         return performanceReviewMapper.toDto(pr);
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByDate(LocalDate date) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByReviewDate(date)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByDate(LocalDate date, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByReviewDate(
+                date, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByDateRange(LocalDate from, LocalDate to) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByReviewDateBetween(from, to)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByDateRange(LocalDate from, LocalDate to, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByReviewDateBetween(
+                from, to, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByEmployee(Integer employeeId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByRefersToId(employeeId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByEmployee(Integer employeeId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByRefersToId(
+                employeeId, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByReviewer(Integer reporterId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByReportedById(reporterId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByReviewer(Integer reporterId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByReportedById(
+                reporterId, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByDepartment(Integer departmentId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByDepartmentId(departmentId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByDepartment(Integer departmentId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByDepartmentId(
+                departmentId, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByOrganization(Integer organizationId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByDepartmentOrganizationIdOrderByReviewDateTimeDesc(organizationId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByOrganization(Integer organizationId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByOrganizationId(
+                organizationId, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findBySkill(Integer skillId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllBySkillId(skillId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findBySkill(Integer skillId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageBySkillId(
+                skillId, before.reviewDateTime(), before.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<PerformanceReviewDto> findByOccupation(Integer occupationId) {
-        return performanceReviewMapper.toDtos(
-                performanceReviewRepository.findAllByRefersToOccupationId(occupationId)
-        );
+    public CursorPageDto<PerformanceReviewDto> findByOccupation(Integer occupationId, String cursor, Integer size) {
+        return findPage(cursor, size, (before, limit) -> performanceReviewRepository.findPageByOccupationId(
+                occupationId, before.reviewDateTime(), before.id(), limit));
+    }
+
+    // The review listings are ordered by (reviewDateTime, id), newest first; a cursor holds the key of the last review
+    // of its page
+    private CursorPageDto<PerformanceReviewDto> findPage(String cursor, Integer size,
+                                                        BiFunction<ReviewKey, Limit, List<PerformanceReview>> listing) {
+        int pageSize = keysetPaging.pageSize(size);
+        ReviewKey before = keysetPaging.decode(cursor, 2,
+                keys -> new ReviewKey(LocalDateTime.parse(keys[0]), Integer.valueOf(keys[1])), FIRST_PAGE);
+
+        return keysetPaging.page(listing.apply(before, Limit.of(pageSize + 1)), pageSize,
+                performanceReviewMapper::toDtos,
+                review -> keysetPaging.encode(review.reviewDateTime(), review.id()));
     }
 
     @Transactional
@@ -174,41 +196,44 @@ public class PerformanceReviewService {
             : (review.getReviewDate() != null ? review.getReviewDate() : LocalDate.now());
         entry.setEntryDate(entryDate);
         entry.setEntryDateTime(entryDate.atStartOfDay());
-        entry.setEmployee(review.getRefersTo());
+        entry.attributeTo(review.getRefersTo());
 
         review.getSkillEntries().add(entry);
 
-        return performanceReviewMapper.toDto(
-                performanceReviewRepository.save(review)
-        );
+        PerformanceReview saved = performanceReviewRepository.save(review);
+        publishAddedEntries(saved, 1);
+
+        return performanceReviewMapper.toDto(saved);
     }
 
     @Transactional
     public PerformanceReviewDto addSkillEntriesToReview(Integer reviewId, List<SaveSkillEntryDto> dtos) {
-        PerformanceReview review = performanceReviewRepository.findById(reviewId)
+        // The review's skill entries are not loaded here: the DTO loads them after the insert, new entries included
+        PerformanceReview review = performanceReviewRepository.findWithDetailsById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Performance review not found"));
 
+        Map<Integer, Skill> skills = findSkillsByIds(dtos.stream().map(SaveSkillEntryDto::skillId).toList());
         LocalDate defaultEntryDate = review.getReviewDate() != null ? review.getReviewDate() : LocalDate.now();
 
+        List<SkillEntry> entries = new ArrayList<>(dtos.size());
         for (SaveSkillEntryDto dto : dtos) {
-            Skill skill = skillRepository.findById(dto.skillId())
-                    .orElseThrow(() -> new RuntimeException("Skill not found with id: " + dto.skillId()));
-
             SkillEntry entry = new SkillEntry();
-            entry.setSkill(skill);
+            entry.setSkill(skills.get(dto.skillId()));
             entry.setRating(dto.rating());
-            
+
             LocalDate entryDate = dto.entryDate() != null ? dto.entryDate() : defaultEntryDate;
             entry.setEntryDate(entryDate);
             entry.setEntryDateTime(entryDate.atStartOfDay());
-            entry.setEmployee(review.getRefersTo());
+            entry.attributeTo(review.getRefersTo());
 
-            review.getSkillEntries().add(entry);
+            entries.add(entry);
         }
 
-        return performanceReviewMapper.toDto(
-                performanceReviewRepository.save(review)
-        );
+        // One batch instead of a sequence call, an insert and a foreign key update per entry
+        skillEntryBatchRepository.insertReviewEntries(reviewId, entries);
+        publishAddedEntries(entries);
+
+        return performanceReviewMapper.toDto(review);
     }
 
     @Transactional
@@ -221,6 +246,8 @@ public class PerformanceReviewService {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Skill entry not found for this review"));
 
+        SkillEntryChange before = SkillEntryChange.removed(entry);
+
         if (dto.skillId() != null && !dto.skillId().equals(entry.getSkill().getId())) {
             Skill skill = skillRepository.findById(dto.skillId())
                     .orElseThrow(() -> new RuntimeException("Skill not found"));
@@ -236,6 +263,8 @@ public class PerformanceReviewService {
         entry.setEntryDate(entryDate);
         entry.setEntryDateTime(entryDate.atStartOfDay());
 
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(before, SkillEntryChange.added(entry)));
+
         return performanceReviewMapper.toDto(review);
     }
 
@@ -244,20 +273,68 @@ public class PerformanceReviewService {
         PerformanceReview review = performanceReviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Performance review not found"));
 
-        boolean removed = review.getSkillEntries().removeIf(se -> se.getId().equals(entryId));
+        SkillEntry entry = review.getSkillEntries().stream()
+                .filter(se -> se.getId().equals(entryId))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Skill entry not found for this review"));
+
+        review.getSkillEntries().remove(entry);
 
-        if (!removed) {
-            throw new RuntimeException("Skill entry not found for this review");
-        }
+        PerformanceReview saved = performanceReviewRepository.save(review);
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(SkillEntryChange.removed(entry)));
 
-        return performanceReviewMapper.toDto(
-                performanceReviewRepository.save(review)
-        );
+        return performanceReviewMapper.toDto(saved);
     }
 
     @Transactional
     public void deletePerformanceReview(Integer reviewId) {
+        Optional<PerformanceReview> review = performanceReviewRepository.findById(reviewId);
+
+        // Skill entries of the review are removed together with it
+        List<SkillEntryChange> removedEntries = review
+                .map(PerformanceReview::getSkillEntries)
+                .map(entries -> entries.stream().map(SkillEntryChange::removed).toList())
+                .orElse(List.of());
+        Optional<PerformanceReviewChangedEvent> reviewChanged = review.map(PerformanceReviewChangedEvent::of);
+
         performanceReviewRepository.deleteById(reviewId);
+
+        if (!removedEntries.isEmpty()) {
+            eventPublisher.publishEvent(new SkillEntriesChangedEvent(removedEntries));
+        }
+        reviewChanged.ifPresent(eventPublisher::publishEvent);
+    }
+
+    // New entries are appended to the review's collection, so after saving they are its last `count` elements
+    private void publishAddedEntries(PerformanceReview saved, int count) {
+        List<SkillEntry> entries = saved.getSkillEntries();
+        publishAddedEntries(entries.subList(entries.size() - count, entries.size()));
+    }
+
+    private void publishAddedEntries(List<SkillEntry> entries) {
+        List<SkillEntryChange> added = entries.stream()
+                .map(SkillEntryChange::added)
+                .toList();
+
+        if (!added.isEmpty()) {
+            eventPublisher.publishEvent(new SkillEntriesChangedEvent(added));
+        }
+    }
+
+    // All the skills in one query; every id that does not exist is reported at once
+    private Map<Integer, Skill> findSkillsByIds(List<Integer> skillIds) {
+        Map<Integer, Skill> skills = new HashMap<>();
+        skillRepository.findAllById(skillIds.stream().filter(Objects::nonNull).distinct().toList())
+                .forEach(skill -> skills.put(skill.getId(), skill));
+
+        List<Integer> missing = skillIds.stream()
+                .filter(skillId -> !skills.containsKey(skillId))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Skills not found with ids: " + missing);
+        }
+        return skills;
     }
 
     @Transactional(readOnly = true)
@@ -302,4 +379,7 @@ public class PerformanceReviewService {
                 .orElse("") + "\n]";
     }
 
+    // Position of a review in the listings' order
+    private record ReviewKey(LocalDateTime reviewDateTime, Integer id) {
+    }
 }
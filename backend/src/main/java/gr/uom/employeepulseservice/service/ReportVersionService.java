@@ -0,0 +1,188 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.RemoteChangeEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps a version per organization, department and employee, bumped with every write to their skill entries or
+// performance reviews, and with every rename of a name they carry. Reports use it as ETag/Last-Modified so unchanged
+// data is answered with a 304 before any reporting SQL runs. Versions live in report_versions and move in the
+// transaction of the write, so every node answers with the same ETag as soon as the write is committed. The bumped
+// versions are published as well, so the per-node copies of the data can tell how far they have caught up.
+@Service
+@RequiredArgsConstructor
+public class ReportVersionService {
+
+    private final ReportVersionRepository reportVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The scope versions go to the reporting repository, which answers with data at least that new
+    public record ReportVersion(String eTag, Instant lastModified, ScopeVersion scopes) {
+    }
+
+    // Organization-wide reports change with any department of the organization
+    public ReportVersion organizationVersion(Integer organizationId, Integer departmentId) {
+        if (departmentId == null) {
+            return find(List.of(new ScopeKey(Scope.ORGANIZATION, organizationId)));
+        }
+        return find(List.of(
+                new ScopeKey(Scope.DEPARTMENT, departmentId),
+                new ScopeKey(Scope.ORGANIZATION_NAME, organizationId)));
+    }
+
+    public ReportVersion employeeVersion(Integer employeeId) {
+        return find(List.of(new ScopeKey(Scope.EMPLOYEE, employeeId)));
+    }
+
+    // A batch of an organization's departments and employees changes with the organization or any of the employees
+    public ReportVersion batchVersion(Integer organizationId, Collection<Integer> employeeIds) {
+        List<ScopeKey> scopes = new ArrayList<>();
+        scopes.add(new ScopeKey(Scope.ORGANIZATION, organizationId));
+        if (employeeIds != null) {
+            employeeIds.forEach(employeeId -> scopes.add(new ScopeKey(Scope.EMPLOYEE, employeeId)));
+        }
+        return find(scopes);
+    }
+
+    // The listeners run on the node that wrote, the other nodes read the bumped rows instead of bumping again.
+    // Scopes are bumped once per transaction right before it commits: a rolled back write moves no version, and the
+    // rows are locked in one order and only while committing, however many events the transaction published.
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onSkillEntriesChanged(SkillEntriesChangedEvent event) {
+        List<ScopeKey> scopes = new ArrayList<>();
+        for (SkillEntryChange change : event.changes()) {
+            addScopes(scopes, change.organizationId(), change.departmentId(), change.employeeId());
+        }
+        bump(scopes);
+    }
+
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onEmployeeDepartmentChanged(EmployeeDepartmentChangedEvent event) {
+        List<ScopeKey> scopes = new ArrayList<>();
+        addScopes(scopes, event.fromOrganizationId(), event.fromDepartmentId(), event.employeeId());
+        addScopes(scopes, event.toOrganizationId(), event.toDepartmentId(), event.employeeId());
+        bump(scopes);
+    }
+
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onPerformanceReviewChanged(PerformanceReviewChangedEvent event) {
+        List<ScopeKey> scopes = new ArrayList<>();
+        addScopes(scopes, event.organizationId(), event.departmentId(), event.employeeId());
+        bump(scopes);
+    }
+
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onOrganizationStructureChanged(OrganizationStructureChangedEvent event) {
+        if (event.departmentId() == null) {
+            bump(List.of(
+                    new ScopeKey(Scope.ORGANIZATION, event.organizationId()),
+                    new ScopeKey(Scope.ORGANIZATION_NAME, event.organizationId())));
+        } else if (event.organizationId() != null) {
+            // Organization reports and batches carry the department names as well
+            bump(List.of(
+                    new ScopeKey(Scope.ORGANIZATION, event.organizationId()),
+                    new ScopeKey(Scope.DEPARTMENT, event.departmentId())));
+        } else {
+            // A deleted department, its organization is no longer known
+            bump(List.of(ScopeKey.ALL));
+        }
+    }
+
+    // Every report may carry the skill, and a rename cannot be told from a creation here: every version moves on.
+    // Organizations and departments come with an OrganizationStructureChangedEvent, occupations are not reported.
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.entityClass() == Skill.class) {
+            bump(List.of(ScopeKey.ALL));
+        }
+    }
+
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    public void onEmployeeRenamed(EmployeeRenamedEvent event) {
+        bump(List.of(new ScopeKey(Scope.EMPLOYEE, event.employeeId())));
+    }
+
+    private static void addScopes(List<ScopeKey> scopes, Integer organizationId, Integer departmentId, Integer employeeId) {
+        if (organizationId != null) {
+            scopes.add(new ScopeKey(Scope.ORGANIZATION, organizationId));
+        }
+        if (departmentId != null) {
+            scopes.add(new ScopeKey(Scope.DEPARTMENT, departmentId));
+        }
+        if (employeeId != null) {
+            scopes.add(new ScopeKey(Scope.EMPLOYEE, employeeId));
+        }
+    }
+
+    private void bump(List<ScopeKey> scopes) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpNow(scopes);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<ScopeKey> pending = (Set<ScopeKey>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<ScopeKey> bumped = new HashSet<>();
+            pending = bumped;
+            TransactionSynchronizationManager.bindResource(this, bumped);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    bumpNow(bumped);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportVersionService.this);
+                }
+            });
+        }
+        pending.addAll(scopes);
+    }
+
+    // Published after the changes of the transaction, so every listener and every other node sees them first
+    private void bumpNow(Collection<ScopeKey> scopes) {
+        Map<ScopeKey, Long> versions = reportVersionRepository.bump(scopes);
+        if (!versions.isEmpty()) {
+            eventPublisher.publishEvent(ReportVersionsBumpedEvent.of(versions));
+        }
+    }
+
+    // Every report also moves with the ALL row
+    private ReportVersion find(List<ScopeKey> scopes) {
+        List<ScopeKey> withAll = new ArrayList<>(scopes);
+        withAll.add(ScopeKey.ALL);
+
+        ScopeVersion version = reportVersionRepository.find(withAll);
+        return new ReportVersion("\"" + version.version() + "\"", version.modifiedAt(), version);
+    }
+}
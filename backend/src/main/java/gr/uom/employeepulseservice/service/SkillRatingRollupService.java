@@ -0,0 +1,80 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupConsistencyReportDto;
+import gr.uom.employeepulseservice.event.RemoteChangeEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.repository.SkillEntryRepository;
+import gr.uom.employeepulseservice.repository.SkillRatingRollupRepository;
+import gr.uom.employeepulseservice.repository.SkillRatingRollupRepository.BucketKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillRatingRollupService {
+
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final SkillRatingRollupRepository skillRatingRollupRepository;
+    private final SkillEntryRepository skillEntryRepository;
+
+    // Runs synchronously inside the transaction that wrote the skill entries, on the node that wrote them
+    @EventListener(condition = RemoteChangeEvent.LOCAL_ONLY)
+    @Transactional
+    public void onSkillEntriesChanged(SkillEntriesChangedEvent event) {
+        List<SkillEntryChange> added = new ArrayList<>();
+        Set<BucketKey> removed = new LinkedHashSet<>();
+
+        for (SkillEntryChange change : event.changes()) {
+            // Entries written while the employee had no organization/department never show up in the reporting views
+            if (change.organizationId() == null || change.departmentId() == null || change.entryDate() == null) {
+                continue;
+            }
+            if (change.type() == SkillEntryChange.ChangeType.ADDED) {
+                added.add(change);
+            } else {
+                removed.add(new BucketKey(change.organizationId(), change.departmentId(), change.skillId(), change.entryDate()));
+            }
+        }
+
+        if (!added.isEmpty()) {
+            skillRatingRollupRepository.addEntries(added);
+        }
+
+        // Removed buckets are recomputed from the raw rows, so pending entity changes must reach the database first
+        if (!removed.isEmpty()) {
+            skillEntryRepository.flush();
+            skillRatingRollupRepository.refreshBuckets(removed);
+        }
+    }
+
+    @Transactional
+    public RollupConsistencyReportDto rebuild() {
+        log.info("Rebuilding skill rating rollups");
+        skillRatingRollupRepository.rebuild();
+
+        RollupConsistencyReportDto report = skillRatingRollupRepository.checkConsistency(MAX_REPORTED_MISMATCHES);
+        log.info("Rebuilt skill rating rollups: {} buckets", report.rollupBuckets());
+        return report;
+    }
+
+    @Transactional(readOnly = true)
+    public RollupConsistencyReportDto checkConsistency() {
+        RollupConsistencyReportDto report = skillRatingRollupRepository.checkConsistency(MAX_REPORTED_MISMATCHES);
+        if (!report.consistent()) {
+            log.warn("Skill rating rollups are inconsistent with the reporting views: {} mismatched buckets",
+                    report.mismatchedBuckets());
+        }
+        return report;
+    }
+}
@@ -4,11 +4,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
 import gr.uom.employeepulseservice.controller.dto.SkillDto;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
 import gr.uom.employeepulseservice.mapper.SkillMapper;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.BulkImportRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,6 +27,8 @@ public class SkillService {
 
     private final SkillRepository skillRepository;
     private final SkillMapper skillMapper;
+    private final BulkImportRepository bulkImportRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -48,6 +55,8 @@ public class SkillService {
         Skill skill = skillMapper.toEntity(dto);
 
         skillRepository.save(skill);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Skill.class, skill.getId()));
     }
 
     @Transactional
@@ -55,18 +64,34 @@ public class SkillService {
         Skill skill = findById(id);
 
         skillMapper.updateFromDto(skill, dto);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Skill.class, id));
     }
 
     @Transactional
     public void deleteSkill(Integer id) {
         skillRepository.deleteById(id);
+
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Skill.class, id));
     }
 
     @SneakyThrows
     @Transactional
-    public void bulkCreateSkills(String json) {
+    public void bulkCreateSkills(String json, ImportMode mode) {
         List<SaveSkillDto> dtos = objectMapper.readValue(json, new TypeReference<>() {});
 
+        importSkills(dtos, mode);
+    }
+
+    // Also writes the chunks of skill import jobs
+    @Transactional
+    public void importSkills(List<SaveSkillDto> dtos, ImportMode mode) {
+        if (mode == ImportMode.COPY) {
+            bulkImportRepository.copySkills(dtos);
+            eventPublisher.publishEvent(new ReferenceDataImportedEvent(Skill.class));
+            return;
+        }
+
         List<Skill> toSave = dtos.stream()
                 .map(skillMapper::toEntity)
                 .toList();
@@ -0,0 +1,141 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineRowDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineRowDto;
+import gr.uom.employeepulseservice.model.ExportFormat;
+import gr.uom.employeepulseservice.repository.ReportingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class SkillTimelineExportService {
+
+    // CSV columns of the employee timeline export, in output order
+    private static final Map<String, Function<EmployeeSkillTimelineRowDto, Object>> EMPLOYEE_COLUMNS = new LinkedHashMap<>();
+    // CSV columns of the org/department timeline export, in output order
+    private static final Map<String, Function<OrgDeptSkillTimelineRowDto, Object>> ORG_DEPT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        EMPLOYEE_COLUMNS.put("employeeId", EmployeeSkillTimelineRowDto::employeeId);
+        EMPLOYEE_COLUMNS.put("firstName", EmployeeSkillTimelineRowDto::firstName);
+        EMPLOYEE_COLUMNS.put("lastName", EmployeeSkillTimelineRowDto::lastName);
+        EMPLOYEE_COLUMNS.put("skillId", EmployeeSkillTimelineRowDto::skillId);
+        EMPLOYEE_COLUMNS.put("skillName", EmployeeSkillTimelineRowDto::skillName);
+        EMPLOYEE_COLUMNS.put("entryDate", EmployeeSkillTimelineRowDto::entryDate);
+        EMPLOYEE_COLUMNS.put("rating", EmployeeSkillTimelineRowDto::rating);
+        EMPLOYEE_COLUMNS.put("minRating", EmployeeSkillTimelineRowDto::minRating);
+        EMPLOYEE_COLUMNS.put("maxRating", EmployeeSkillTimelineRowDto::maxRating);
+        EMPLOYEE_COLUMNS.put("avgRating", EmployeeSkillTimelineRowDto::avgRating);
+
+        ORG_DEPT_COLUMNS.put("organizationId", OrgDeptSkillTimelineRowDto::organizationId);
+        ORG_DEPT_COLUMNS.put("organizationName", OrgDeptSkillTimelineRowDto::organizationName);
+        ORG_DEPT_COLUMNS.put("departmentId", OrgDeptSkillTimelineRowDto::departmentId);
+        ORG_DEPT_COLUMNS.put("departmentName", OrgDeptSkillTimelineRowDto::departmentName);
+        ORG_DEPT_COLUMNS.put("skillId", OrgDeptSkillTimelineRowDto::skillId);
+        ORG_DEPT_COLUMNS.put("skillName", OrgDeptSkillTimelineRowDto::skillName);
+        ORG_DEPT_COLUMNS.put("date", OrgDeptSkillTimelineRowDto::date);
+        ORG_DEPT_COLUMNS.put("minRating", OrgDeptSkillTimelineRowDto::minRating);
+        ORG_DEPT_COLUMNS.put("maxRating", OrgDeptSkillTimelineRowDto::maxRating);
+        ORG_DEPT_COLUMNS.put("avgRating", OrgDeptSkillTimelineRowDto::avgRating);
+    }
+
+    private final ReportingRepository reportingRepository;
+    private final ObjectMapper objectMapper;
+
+    // Writes every timeline row of the employee to out as it is read from the database
+    public void exportEmployeeTimeline(Integer employeeId,
+                                       Integer skillId,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       ExportFormat format,
+                                       OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            reportingRepository.streamSkillTimelineByEmployee(employeeId, skillId, startDate, endDate,
+                    rowWriter(format, writer, EMPLOYEE_COLUMNS));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Writes every timeline row of the organization/department to out as it is read from the database
+    public void exportOrganizationTimeline(Integer organizationId,
+                                           Integer departmentId,
+                                           Integer skillId,
+                                           LocalDate startDate,
+                                           LocalDate endDate,
+                                           ExportFormat format,
+                                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            reportingRepository.streamSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId,
+                    startDate, endDate, rowWriter(format, writer, ORG_DEPT_COLUMNS));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Returns a consumer writing each row in the requested format; the CSV header is written up front
+    private <T> Consumer<T> rowWriter(ExportFormat format,
+                                      Writer writer,
+                                      Map<String, Function<T, Object>> columns) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", columns.keySet()));
+            writer.write('\n');
+        }
+
+        return row -> {
+            try {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, row, columns);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private <T> void writeCsvLine(Writer writer, T row, Map<String, Function<T, Object>> columns) throws IOException {
+        boolean first = true;
+        for (Function<T, Object> column : columns.values()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+
+            Object value = column.apply(row);
+            if (value != null) {
+                writer.write(csvValue(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // Quotes values containing separators, quotes or line breaks (RFC 4180)
+    private String csvValue(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,66 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:7
+
+-- Per (organization, department, skill, period) aggregates of skill entry ratings, maintained by the services
+CREATE TABLE skill_rating_rollups (
+    organization_id INTEGER     NOT NULL,
+    department_id   INTEGER     NOT NULL,
+    skill_id        INTEGER     NOT NULL,
+    period_type     VARCHAR(16) NOT NULL,
+    period_start    DATE        NOT NULL,
+    sample_count    BIGINT      NOT NULL,
+    rating_count    BIGINT      NOT NULL,
+    rating_sum      float8      NOT NULL,
+    min_rating      float8,
+    max_rating      float8,
+    CONSTRAINT skill_rating_rollups_pkey
+        PRIMARY KEY (organization_id, department_id, skill_id, period_type, period_start)
+);
+
+-- Number of entries per employee in each rollup bucket, needed for exact distinct employee counts
+CREATE TABLE skill_rating_rollup_employees (
+    organization_id INTEGER     NOT NULL,
+    department_id   INTEGER     NOT NULL,
+    skill_id        INTEGER     NOT NULL,
+    period_type     VARCHAR(16) NOT NULL,
+    period_start    DATE        NOT NULL,
+    employee_id     INTEGER     NOT NULL,
+    sample_count    BIGINT      NOT NULL,
+    CONSTRAINT skill_rating_rollup_employees_pkey
+        PRIMARY KEY (organization_id, department_id, skill_id, period_type, period_start, employee_id)
+);
+
+-- Backfill from the existing skill entries
+INSERT INTO skill_rating_rollups (organization_id, department_id, skill_id, period_type, period_start,
+                                  sample_count, rating_count, rating_sum, min_rating, max_rating)
+SELECT v.organization_id,
+       v.department_id,
+       v.skill_id,
+       p.period_type,
+       date_trunc(p.unit, v.entry_date)::date,
+       count(*),
+       count(v.rating),
+       coalesce(sum(v.rating), 0),
+       min(v.rating),
+       max(v.rating)
+FROM v_skill_entries v
+         CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month'),
+                            ('QUARTER', 'quarter'), ('YEAR', 'year')) AS p (period_type, unit)
+WHERE v.entry_date IS NOT NULL
+GROUP BY 1, 2, 3, 4, 5;
+
+INSERT INTO skill_rating_rollup_employees (organization_id, department_id, skill_id, period_type, period_start,
+                                           employee_id, sample_count)
+SELECT v.organization_id,
+       v.department_id,
+       v.skill_id,
+       p.period_type,
+       date_trunc(p.unit, v.entry_date)::date,
+       v.employee_id,
+       count(*)
+FROM v_skill_entries v
+         CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month'),
+                            ('QUARTER', 'quarter'), ('YEAR', 'year')) AS p (period_type, unit)
+WHERE v.entry_date IS NOT NULL
+GROUP BY 1, 2, 3, 4, 5, 6;
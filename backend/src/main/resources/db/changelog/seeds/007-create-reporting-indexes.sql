@@ -0,0 +1,60 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:8
+
+-- Drops the entry_date::date cast of the view, a no-op since the column already is a DATE: the range predicates
+-- could use an index on entry_date before as well, it is the indexes below that give them one. The 011 changeset
+-- drops these indexes with the tables it partitions and creates them again on the partitioned tables.
+CREATE OR REPLACE VIEW v_skill_entries AS
+SELECT
+    skill_entries.id AS skill_entry_id,
+
+    skill_entries.employee_id,
+    employees.first_name,
+    employees.last_name,
+
+    skill_entries.entry_date,
+
+    employees.department_id,
+    departments.name AS department_name,
+
+    employees.organization_id,
+    organizations.name AS organization_name,
+
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+
+    skill_entries.rating
+
+FROM skill_entries
+         JOIN employees      ON employees.id = skill_entries.employee_id
+         JOIN departments    ON departments.id = employees.department_id
+         JOIN organizations  ON organizations.id = employees.organization_id
+         JOIN skills         ON skills.id = skill_entries.skill_id;
+
+-- Employee reports and timelines: employee_id = ? [AND skill_id = ?] [AND entry_date BETWEEN ? AND ?]
+CREATE INDEX IF NOT EXISTS idx_skill_entries_employee_skill_date
+    ON skill_entries (employee_id, skill_id, entry_date);
+
+-- Org/department reports filtered by skill: skill_id = ? [AND entry_date BETWEEN ? AND ?]
+CREATE INDEX IF NOT EXISTS idx_skill_entries_skill_date
+    ON skill_entries (skill_id, entry_date);
+
+-- Loading the skill entries of a performance review
+CREATE INDEX IF NOT EXISTS idx_skill_entries_performance_review
+    ON skill_entries (performance_review_id);
+
+-- Overall ratings per employee: employee_id = ? [AND review_date BETWEEN ? AND ?]
+CREATE INDEX IF NOT EXISTS idx_performance_reviews_employee_date
+    ON performance_reviews (employee_id, review_date);
+
+-- Org/department reports resolve their employees first: organization_id = ? [AND department_id = ?]
+CREATE INDEX IF NOT EXISTS idx_employees_organization_department
+    ON employees (organization_id, department_id);
+
+CREATE INDEX IF NOT EXISTS idx_employees_department
+    ON employees (department_id);
+
+CREATE INDEX IF NOT EXISTS idx_departments_organization
+    ON departments (organization_id);
@@ -0,0 +1,34 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:9
+
+-- Number of ratings per rating bin (0.1 wide, 0..50) in each rollup bucket, for percentiles and histograms.
+-- Bins of several buckets add up, so departments and periods combine without rescanning entries.
+CREATE TABLE skill_rating_rollup_histograms (
+    organization_id INTEGER     NOT NULL,
+    department_id   INTEGER     NOT NULL,
+    skill_id        INTEGER     NOT NULL,
+    period_type     VARCHAR(16) NOT NULL,
+    period_start    DATE        NOT NULL,
+    rating_bin      SMALLINT    NOT NULL,
+    rating_count    BIGINT      NOT NULL,
+    CONSTRAINT skill_rating_rollup_histograms_pkey
+        PRIMARY KEY (organization_id, department_id, skill_id, period_type, period_start, rating_bin)
+);
+
+-- Backfill from the existing skill entries
+INSERT INTO skill_rating_rollup_histograms (organization_id, department_id, skill_id, period_type, period_start,
+                                            rating_bin, rating_count)
+SELECT v.organization_id,
+       v.department_id,
+       v.skill_id,
+       p.period_type,
+       date_trunc(p.unit, v.entry_date)::date,
+       least(greatest(floor(v.rating * 10 + 0.5), 0), 50)::int,
+       count(*)
+FROM v_skill_entries v
+         CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month'),
+                            ('QUARTER', 'quarter'), ('YEAR', 'year')) AS p (period_type, unit)
+WHERE v.entry_date IS NOT NULL
+  AND v.rating IS NOT NULL
+GROUP BY 1, 2, 3, 4, 5, 6;
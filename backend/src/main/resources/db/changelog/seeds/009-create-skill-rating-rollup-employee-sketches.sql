@@ -0,0 +1,35 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:10
+
+-- HyperLogLog sketch of the employees of each rollup bucket, one row per non-empty register (1024 registers) with
+-- the highest rank hashed to it. Sketches merge by the register-wise maximum, so distinct employee counts of coarser
+-- periods, departments and organizations are estimated without counting employees again.
+CREATE TABLE skill_rating_rollup_employee_sketches (
+    organization_id INTEGER     NOT NULL,
+    department_id   INTEGER     NOT NULL,
+    skill_id        INTEGER     NOT NULL,
+    period_type     VARCHAR(16) NOT NULL,
+    period_start    DATE        NOT NULL,
+    register        SMALLINT    NOT NULL,
+    rank            SMALLINT    NOT NULL,
+    CONSTRAINT skill_rating_rollup_employee_sketches_pkey
+        PRIMARY KEY (organization_id, department_id, skill_id, period_type, period_start, register)
+);
+
+-- Backfill from the existing bucket employees; register and rank as in HyperLogLog.registerSql and rankSql
+INSERT INTO skill_rating_rollup_employee_sketches (organization_id, department_id, skill_id, period_type,
+                                                   period_start, register, rank)
+SELECT organization_id,
+       department_id,
+       skill_id,
+       period_type,
+       period_start,
+       (h & 1023)::smallint,
+       max(CASE WHEN (h >> 10) & 4294967295 = 0 THEN 33
+                ELSE length(ltrim((((h >> 10) & 4294967295) & -((h >> 10) & 4294967295))::bit(64)::text, '0'))
+           END)::smallint
+FROM (SELECT organization_id, department_id, skill_id, period_type, period_start,
+             ('x' || substr(md5(employee_id::text), 1, 16))::bit(64)::bigint AS h
+      FROM skill_rating_rollup_employees) e
+GROUP BY 1, 2, 3, 4, 5, 6;
@@ -0,0 +1,92 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:11
+
+-- Organization and department of the employee when the entry was written. Reports attribute entries to these
+-- snapshots instead of the employee's current department, so a later move leaves historical reports unchanged and
+-- org/department reports read a single table. Plain columns rather than foreign keys: a snapshot outlives the
+-- employee's membership of the department it names.
+ALTER TABLE skill_entries
+    ADD COLUMN organization_id INTEGER,
+    ADD COLUMN department_id   INTEGER;
+
+-- Backfill from the current department of each employee, which is where reports attributed the entries until now
+UPDATE skill_entries se
+SET organization_id = e.organization_id,
+    department_id   = e.department_id
+FROM employees e
+WHERE e.id = se.employee_id;
+
+-- Org/department reports and timelines: organization_id = ? [AND department_id = ?] [AND entry_date BETWEEN ? AND ?]
+CREATE INDEX IF NOT EXISTS idx_skill_entries_organization_department_date
+    ON skill_entries (organization_id, department_id, entry_date);
+
+-- Columns are removed from the views, so they are dropped and created again rather than replaced
+DROP VIEW IF EXISTS v_employee_skill_period;
+DROP VIEW IF EXISTS v_org_department_skill_period;
+DROP VIEW IF EXISTS v_skill_entries;
+
+-- Entries with their snapshot organization/department and all names, for the rollup rebuild and the analytics store.
+-- Entries written for an employee without a department stay out of the reporting views, as before.
+CREATE VIEW v_skill_entries AS
+SELECT
+    skill_entries.id AS skill_entry_id,
+
+    skill_entries.employee_id,
+    employees.first_name,
+    employees.last_name,
+
+    skill_entries.entry_date,
+
+    skill_entries.department_id,
+    departments.name AS department_name,
+
+    skill_entries.organization_id,
+    organizations.name AS organization_name,
+
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+
+    skill_entries.rating
+
+FROM skill_entries
+         JOIN employees          ON employees.id = skill_entries.employee_id
+         LEFT JOIN departments   ON departments.id = skill_entries.department_id
+         LEFT JOIN organizations ON organizations.id = skill_entries.organization_id
+         JOIN skills             ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
+
+-- Org/department reports filter and group on skill_entries alone; skills is joined for the skill names reports
+-- group by. Organization and department names are resolved by the application.
+CREATE VIEW v_org_department_skill_period AS
+SELECT
+    skill_entries.organization_id,
+    skill_entries.department_id,
+    skill_entries.employee_id,
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+    skill_entries.entry_date,
+    skill_entries.rating
+FROM skill_entries
+         JOIN skills ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
+
+CREATE VIEW v_employee_skill_period AS
+SELECT
+    skill_entries.employee_id,
+    employees.first_name,
+    employees.last_name,
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+    skill_entries.entry_date,
+    skill_entries.rating
+FROM skill_entries
+         JOIN employees ON employees.id = skill_entries.employee_id
+         JOIN skills    ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
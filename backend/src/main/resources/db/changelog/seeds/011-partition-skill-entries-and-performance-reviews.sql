@@ -0,0 +1,366 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:12 splitStatements:false
+
+-- Creates the missing quarterly partitions (<table>_<year>q<quarter>) of a table partitioned by range on a date, for
+-- every quarter from from_date to to_date and for the quarters of the rows that ended up in <table>_default. Those
+-- rows are moved into their new partition, Postgres refuses a partition whose rows are still held by the default
+-- one. Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_quarterly_partitions(parent regclass, from_date date, to_date date)
+    RETURNS integer
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    parent_name    text := (SELECT relname FROM pg_class WHERE oid = parent);
+    default_name   text := parent_name || '_default';
+    key_column     text;
+    default_from   date;
+    default_to     date;
+    quarter_start  date;
+    quarter_end    date;
+    partition_name text;
+    created        integer := 0;
+BEGIN
+    -- Every replica runs this on startup and on its schedule: one at a time per table, so that a partition created
+    -- meanwhile by another one is seen by to_regclass instead of failing the CREATE TABLE
+    PERFORM pg_advisory_xact_lock(parent::oid::bigint);
+
+    SELECT a.attname
+    INTO key_column
+    FROM pg_partitioned_table p
+             JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+    WHERE p.partrelid = parent;
+
+    EXECUTE format('SELECT min(%I), max(%I) FROM %I', key_column, key_column, default_name)
+        INTO default_from, default_to;
+
+    -- least/greatest skip the nulls of an empty default partition
+    quarter_start := date_trunc('quarter', least(from_date, default_from))::date;
+    WHILE quarter_start <= greatest(to_date, default_to)
+        LOOP
+            quarter_end := (quarter_start + interval '3 months')::date;
+            partition_name := parent_name || '_' || to_char(quarter_start, 'YYYY"q"Q');
+
+            IF to_regclass(partition_name) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I (LIKE %s INCLUDING DEFAULTS)', partition_name, parent);
+                EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= $1 AND %I < $2 RETURNING *) '
+                                   'INSERT INTO %I SELECT * FROM moved',
+                               default_name, key_column, key_column, partition_name)
+                    USING quarter_start, quarter_end;
+                -- Builds the partition's share of the parent's indexes and foreign keys
+                EXECUTE format('ALTER TABLE %s ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent, partition_name, quarter_start, quarter_end);
+                created := created + 1;
+            END IF;
+
+            quarter_start := quarter_end;
+        END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Unique keys of a partitioned table must include the partition key, so the ids of skill_entries and
+-- performance_reviews are kept unique by a table of their own (TG_ARGV[0], primary key id). These statement level
+-- triggers of the partitioned table keep it in step with the rows written through it; the rows ensure_quarterly_partitions
+-- moves between partitions keep their ids and are not seen by them.
+CREATE OR REPLACE FUNCTION track_partitioned_ids()
+    RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        EXECUTE format('TRUNCATE %I', TG_ARGV[0]);
+    ELSIF TG_OP = 'INSERT' THEN
+        EXECUTE format('INSERT INTO %I (id) SELECT id FROM new_rows', TG_ARGV[0]);
+    ELSIF TG_OP = 'DELETE' THEN
+        EXECUTE format('DELETE FROM %I t USING old_rows o WHERE t.id = o.id', TG_ARGV[0]);
+    ELSE
+        -- Only ids that changed, most updates keep them
+        EXECUTE format('DELETE FROM %I t USING old_rows o WHERE t.id = o.id '
+                           'AND NOT EXISTS (SELECT 1 FROM new_rows n WHERE n.id = o.id)', TG_ARGV[0]);
+        EXECUTE format('INSERT INTO %I (id) SELECT n.id FROM new_rows n '
+                           'WHERE NOT EXISTS (SELECT 1 FROM old_rows o WHERE o.id = n.id)', TG_ARGV[0]);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- The foreign key of skill_entries.performance_review_id, which cannot reference the partitioned reviews by id alone.
+-- Written entries lock the ids of their reviews like a foreign key check does, so a concurrent delete of the review
+-- waits for them and then sees them.
+CREATE OR REPLACE FUNCTION check_skill_entry_reviews()
+    RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    missing integer;
+BEGIN
+    PERFORM 1
+    FROM performance_review_ids r
+    WHERE r.id IN (SELECT performance_review_id FROM new_rows)
+    FOR KEY SHARE;
+
+    SELECT n.performance_review_id
+    INTO missing
+    FROM new_rows n
+    WHERE n.performance_review_id IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM performance_review_ids r WHERE r.id = n.performance_review_id)
+    LIMIT 1;
+
+    IF FOUND THEN
+        RAISE foreign_key_violation USING
+            MESSAGE = format('skill entry references performance review %s, which does not exist', missing);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- The other side of that foreign key: reviews still referenced by skill entries cannot be deleted, nor change id
+CREATE OR REPLACE FUNCTION check_referenced_reviews()
+    RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    referenced integer;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT se.performance_review_id
+        INTO referenced
+        FROM old_rows o
+                 JOIN skill_entries se ON se.performance_review_id = o.id
+        LIMIT 1;
+    ELSE
+        SELECT se.performance_review_id
+        INTO referenced
+        FROM old_rows o
+                 JOIN skill_entries se ON se.performance_review_id = o.id
+        WHERE NOT EXISTS (SELECT 1 FROM new_rows n WHERE n.id = o.id)
+        LIMIT 1;
+    END IF;
+
+    IF FOUND THEN
+        RAISE foreign_key_violation USING
+            MESSAGE = format('performance review %s is still referenced by skill entries', referenced);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+--changeset Aristeidis_Tsachlaris:13
+
+-- Skill entries and reviews are only ever appended to recent quarters, and every report is bounded by date: range
+-- partitions by quarter let the date range predicates skip whole quarters instead of descending every index of one
+-- ever-growing table. PartitionMaintenanceService keeps creating the upcoming quarters.
+
+-- The reporting views read both tables, they are created again below
+DROP VIEW v_employee_skill_period;
+DROP VIEW v_org_department_skill_period;
+DROP VIEW v_skill_entries;
+
+ALTER TABLE skill_entries RENAME TO skill_entries_unpartitioned;
+ALTER TABLE performance_reviews RENAME TO performance_reviews_unpartitioned;
+
+-- The partition key is part of the primary key and cannot be null. The services always set it; rows written
+-- without one take the day of their timestamp.
+UPDATE skill_entries_unpartitioned
+SET entry_date = entry_date_time::date
+WHERE entry_date IS NULL;
+
+UPDATE performance_reviews_unpartitioned
+SET review_date = review_date_time::date
+WHERE review_date IS NULL;
+
+CREATE TABLE skill_entries (LIKE skill_entries_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (entry_date);
+
+CREATE TABLE performance_reviews (LIKE performance_reviews_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (review_date);
+
+-- Rows outside every quarterly partition, e.g. backdated before the first one. The maintenance job gives their
+-- quarters partitions of their own.
+CREATE TABLE skill_entries_default PARTITION OF skill_entries DEFAULT;
+CREATE TABLE performance_reviews_default PARTITION OF performance_reviews DEFAULT;
+
+-- From the first quarter with data up to a year ahead, as the maintenance job does with its default settings
+SELECT ensure_quarterly_partitions('skill_entries',
+                                   least(current_date, (SELECT min(entry_date) FROM skill_entries_unpartitioned)),
+                                   (current_date + interval '1 year')::date);
+
+SELECT ensure_quarterly_partitions('performance_reviews',
+                                   least(current_date, (SELECT min(review_date) FROM performance_reviews_unpartitioned)),
+                                   (current_date + interval '1 year')::date);
+
+INSERT INTO skill_entries SELECT * FROM skill_entries_unpartitioned;
+INSERT INTO performance_reviews SELECT * FROM performance_reviews_unpartitioned;
+
+DROP TABLE skill_entries_unpartitioned;
+DROP TABLE performance_reviews_unpartitioned;
+
+-- Unique keys of a partitioned table must include the partition key; ids are kept unique by the id tables below
+ALTER TABLE skill_entries
+    ADD CONSTRAINT skill_entries_pkey PRIMARY KEY (id, entry_date);
+
+ALTER TABLE performance_reviews
+    ADD CONSTRAINT performance_reviews_pkey PRIMARY KEY (id, review_date);
+
+ALTER TABLE skill_entries
+    ADD CONSTRAINT fk4nhorbvermp1wnlk3nrq0su1y FOREIGN KEY (employee_id) REFERENCES employees (id);
+
+ALTER TABLE skill_entries
+    ADD CONSTRAINT fke6em2g34e7ynoxeb5u0hlj9ws FOREIGN KEY (skill_id) REFERENCES skills (id);
+
+ALTER TABLE performance_reviews
+    ADD CONSTRAINT fk75f19q3rvitsw5bl5o3k0lirt FOREIGN KEY (employee_id) REFERENCES employees (id);
+
+ALTER TABLE performance_reviews
+    ADD CONSTRAINT fkhv0lu3p1ar7x8aqbta2nxr8fv FOREIGN KEY (reporter_id) REFERENCES employees (id);
+
+ALTER TABLE performance_reviews
+    ADD CONSTRAINT fk_performance_reviews_department FOREIGN KEY (department_id) REFERENCES departments (id);
+
+-- Ids are written explicitly by imports and backdated entries too, the database keeps them unique
+CREATE TABLE skill_entry_ids (
+    id INTEGER NOT NULL,
+    CONSTRAINT skill_entry_ids_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE performance_review_ids (
+    id INTEGER NOT NULL,
+    CONSTRAINT performance_review_ids_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO skill_entry_ids (id) SELECT id FROM skill_entries;
+INSERT INTO performance_review_ids (id) SELECT id FROM performance_reviews;
+
+CREATE TRIGGER skill_entries_ids_insert
+    AFTER INSERT ON skill_entries REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('skill_entry_ids');
+
+CREATE TRIGGER skill_entries_ids_update
+    AFTER UPDATE ON skill_entries REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('skill_entry_ids');
+
+CREATE TRIGGER skill_entries_ids_delete
+    AFTER DELETE ON skill_entries REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('skill_entry_ids');
+
+CREATE TRIGGER skill_entries_ids_truncate
+    AFTER TRUNCATE ON skill_entries
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('skill_entry_ids');
+
+CREATE TRIGGER performance_reviews_ids_insert
+    AFTER INSERT ON performance_reviews REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('performance_review_ids');
+
+CREATE TRIGGER performance_reviews_ids_update
+    AFTER UPDATE ON performance_reviews REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('performance_review_ids');
+
+CREATE TRIGGER performance_reviews_ids_delete
+    AFTER DELETE ON performance_reviews REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('performance_review_ids');
+
+CREATE TRIGGER performance_reviews_ids_truncate
+    AFTER TRUNCATE ON performance_reviews
+    FOR EACH STATEMENT EXECUTE FUNCTION track_partitioned_ids('performance_review_ids');
+
+-- skill_entries.performance_review_id keeps its foreign key as triggers. Triggers of one event fire by name: the
+-- *_references_* ones run after the ids of deleted reviews are gone, waiting for the entries written meanwhile.
+CREATE TRIGGER skill_entries_reviews_insert
+    AFTER INSERT ON skill_entries REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION check_skill_entry_reviews();
+
+CREATE TRIGGER skill_entries_reviews_update
+    AFTER UPDATE ON skill_entries REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION check_skill_entry_reviews();
+
+CREATE TRIGGER performance_reviews_references_update
+    AFTER UPDATE ON performance_reviews REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION check_referenced_reviews();
+
+CREATE TRIGGER performance_reviews_references_delete
+    AFTER DELETE ON performance_reviews REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION check_referenced_reviews();
+
+-- The reporting indexes of 007 and 010, partitioned along with their tables
+CREATE INDEX idx_skill_entries_employee_skill_date
+    ON skill_entries (employee_id, skill_id, entry_date);
+
+CREATE INDEX idx_skill_entries_skill_date
+    ON skill_entries (skill_id, entry_date);
+
+CREATE INDEX idx_skill_entries_performance_review
+    ON skill_entries (performance_review_id);
+
+CREATE INDEX idx_skill_entries_organization_department_date
+    ON skill_entries (organization_id, department_id, entry_date);
+
+CREATE INDEX idx_performance_reviews_employee_date
+    ON performance_reviews (employee_id, review_date);
+
+-- The views of 010, unchanged
+CREATE VIEW v_skill_entries AS
+SELECT
+    skill_entries.id AS skill_entry_id,
+
+    skill_entries.employee_id,
+    employees.first_name,
+    employees.last_name,
+
+    skill_entries.entry_date,
+
+    skill_entries.department_id,
+    departments.name AS department_name,
+
+    skill_entries.organization_id,
+    organizations.name AS organization_name,
+
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+
+    skill_entries.rating
+
+FROM skill_entries
+         JOIN employees          ON employees.id = skill_entries.employee_id
+         LEFT JOIN departments   ON departments.id = skill_entries.department_id
+         LEFT JOIN organizations ON organizations.id = skill_entries.organization_id
+         JOIN skills             ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
+
+CREATE VIEW v_org_department_skill_period AS
+SELECT
+    skill_entries.organization_id,
+    skill_entries.department_id,
+    skill_entries.employee_id,
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+    skill_entries.entry_date,
+    skill_entries.rating
+FROM skill_entries
+         JOIN skills ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
+
+CREATE VIEW v_employee_skill_period AS
+SELECT
+    skill_entries.employee_id,
+    employees.first_name,
+    employees.last_name,
+    skill_entries.skill_id,
+    skills.name AS skill_name,
+    skills.description AS skill_description,
+    skill_entries.entry_date,
+    skill_entries.rating
+FROM skill_entries
+         JOIN employees ON employees.id = skill_entries.employee_id
+         JOIN skills    ON skills.id = skill_entries.skill_id
+WHERE skill_entries.organization_id IS NOT NULL
+  AND skill_entries.department_id IS NOT NULL;
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:14
+
+-- Latest skill entry of every employee and skill (the most recent entry_date, the last written on ties), maintained
+-- by the services on each skill entry write. Serves the latest ratings of an employee or a whole department without
+-- reading their skill entry history.
+CREATE TABLE employee_skill_latest (
+    employee_id    INTEGER NOT NULL,
+    skill_id       INTEGER NOT NULL,
+    skill_entry_id INTEGER NOT NULL,
+    entry_date     DATE    NOT NULL,
+    rating         float8,
+    CONSTRAINT employee_skill_latest_pkey PRIMARY KEY (employee_id, skill_id)
+);
+
+-- Backfill from the existing skill entries
+INSERT INTO employee_skill_latest (employee_id, skill_id, skill_entry_id, entry_date, rating)
+SELECT DISTINCT ON (employee_id, skill_id) employee_id, skill_id, id, entry_date, rating
+FROM skill_entries
+WHERE employee_id IS NOT NULL
+  AND skill_id IS NOT NULL
+ORDER BY employee_id, skill_id, entry_date DESC, id DESC;
@@ -0,0 +1,39 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:15
+
+-- Streamed bulk imports, committed in chunks. processed_rows is the number of leading rows of the payload that are
+-- committed, imported or rejected: a run resumed with the same payload skips them. run_token identifies the run that
+-- claimed the job last, only that run may record progress or finish the job.
+CREATE SEQUENCE IF NOT EXISTS import_jobs_seq AS bigint START WITH 1 INCREMENT BY 1 CACHE 1;
+
+CREATE TABLE import_jobs (
+    id              INTEGER      NOT NULL,
+    entity_type     VARCHAR(32)  NOT NULL,
+    mode            VARCHAR(32)  NOT NULL,
+    status          VARCHAR(32)  NOT NULL,
+    chunk_size      INTEGER      NOT NULL,
+    processed_rows  BIGINT       NOT NULL DEFAULT 0,
+    imported_rows   BIGINT       NOT NULL DEFAULT 0,
+    failed_rows     BIGINT       NOT NULL DEFAULT 0,
+    run_token       VARCHAR(36),
+    failure_message VARCHAR(1000),
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT import_jobs_pkey PRIMARY KEY (id)
+);
+
+-- Rows of a job that could not be imported, numbered from 1 in payload order
+CREATE SEQUENCE IF NOT EXISTS import_job_errors_seq AS bigint START WITH 1 INCREMENT BY 1 CACHE 1;
+
+CREATE TABLE import_job_errors (
+    id            INTEGER       NOT NULL,
+    import_job_id INTEGER       NOT NULL,
+    row_number    BIGINT        NOT NULL,
+    message       VARCHAR(1000),
+    CONSTRAINT import_job_errors_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_import_job_errors_import_job FOREIGN KEY (import_job_id) REFERENCES import_jobs (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_import_job_errors_job_row
+    ON import_job_errors (import_job_id, row_number);
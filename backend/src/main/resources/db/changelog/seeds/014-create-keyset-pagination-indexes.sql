@@ -0,0 +1,36 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:16
+
+-- The review and employee listings are paged by keyset: every page starts with a row comparison against the last row
+-- of the previous page, which these indexes answer with a single range scan however deep the page is.
+
+-- Reviews are listed by (review_date_time, id), newest first. The services always set review_date_time; rows
+-- written without one take the start of their review day.
+UPDATE performance_reviews
+SET review_date_time = review_date::timestamp
+WHERE review_date_time IS NULL;
+
+ALTER TABLE performance_reviews
+    ALTER COLUMN review_date_time SET NOT NULL;
+
+-- The organization, occupation, skill and date listings filter along the way
+CREATE INDEX idx_performance_reviews_date_time_id
+    ON performance_reviews (review_date_time, id);
+
+CREATE INDEX idx_performance_reviews_department_date_time_id
+    ON performance_reviews (department_id, review_date_time, id);
+
+CREATE INDEX idx_performance_reviews_employee_date_time_id
+    ON performance_reviews (employee_id, review_date_time, id);
+
+CREATE INDEX idx_performance_reviews_reporter_date_time_id
+    ON performance_reviews (reporter_id, review_date_time, id);
+
+-- Employees of an organization are listed by (hire_date, id), most recently hired first and those without a hire
+-- date last; employees of a department by id
+CREATE INDEX idx_employees_organization_hire_date_id
+    ON employees (organization_id, COALESCE(hire_date, '-infinity'::date), id);
+
+CREATE INDEX idx_employees_department_id_id
+    ON employees (department_id, id);
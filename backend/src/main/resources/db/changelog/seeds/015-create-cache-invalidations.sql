@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:17
+
+-- Changes every node applies to its in-process caches, written in the transaction of the change. The NOTIFY sent on
+-- commit carries only the id; nodes that were not listening replay the recent rows once they reconnect.
+CREATE TABLE cache_invalidations (
+    id         BIGSERIAL    NOT NULL,
+    node       VARCHAR(64)  NOT NULL,
+    event_type VARCHAR(64)  NOT NULL,
+    payload    TEXT         NOT NULL,
+    created_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT cache_invalidations_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cache_invalidations_created_at
+    ON cache_invalidations (created_at);
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset Aristeidis_Tsachlaris:18
+
+-- Version of each reported scope, bumped in the transaction that changes it, so every node answers conditional report
+-- requests with the same ETag. Scopes without a row are at version 0; the ALL row moves every scope at once.
+CREATE TABLE report_versions (
+    scope       VARCHAR(32)  NOT NULL,
+    scope_id    INTEGER      NOT NULL,
+    version     BIGINT       NOT NULL,
+    modified_at TIMESTAMPTZ  NOT NULL,
+    CONSTRAINT report_versions_pkey PRIMARY KEY (scope, scope_id)
+);
+
+INSERT INTO report_versions (scope, scope_id, version, modified_at)
+VALUES ('ALL', 0, 0, now());
@@ -0,0 +1,76 @@
+package gr.uom.employeepulseservice.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void registerAndRank_ShouldStayWithinSketchBounds() {
+        for (int employeeId = 1; employeeId <= 5000; employeeId++) {
+            int register = HyperLogLog.register(employeeId);
+            int rank = HyperLogLog.rank(employeeId);
+            assertTrue(register >= 0 && register < HyperLogLog.REGISTERS);
+            assertTrue(rank >= 1 && rank <= HyperLogLog.MAX_RANK);
+        }
+    }
+
+    @Test
+    void estimate_WithFewEmployees_ShouldBeNearlyExact() {
+        // Given
+        HyperLogLog sketch = sketchOf(1, 40);
+
+        // When
+        long estimate = sketch.estimate();
+
+        // Then
+        assertTrue(Math.abs(estimate - 40) <= 1, "estimate " + estimate);
+    }
+
+    @Test
+    void estimate_WithManyEmployees_ShouldStayWithinErrorBound() {
+        // Given
+        HyperLogLog sketch = sketchOf(1, 20_000);
+
+        // When
+        long estimate = sketch.estimate();
+
+        // Then
+        // Three standard errors of 3.3%
+        assertEquals(20_000, estimate, 2_000);
+    }
+
+    @Test
+    void estimate_WhenSameEmployeeAddedTwice_ShouldCountOnce() {
+        // Given
+        HyperLogLog sketch = sketchOf(1, 10);
+
+        // When
+        sketch.add(5);
+
+        // Then
+        assertEquals(sketchOf(1, 10).estimate(), sketch.estimate());
+    }
+
+    @Test
+    void merge_ShouldEqualSketchOfUnion() {
+        // Given
+        HyperLogLog first = sketchOf(1, 3000);
+        HyperLogLog second = sketchOf(2000, 6000);
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertEquals(sketchOf(1, 6000).estimate(), first.estimate());
+    }
+
+    private static HyperLogLog sketchOf(int firstId, int lastId) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int employeeId = firstId; employeeId <= lastId; employeeId++) {
+            sketch.add(employeeId);
+        }
+        return sketch;
+    }
+}
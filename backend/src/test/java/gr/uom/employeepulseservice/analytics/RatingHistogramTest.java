@@ -0,0 +1,86 @@
+package gr.uom.employeepulseservice.analytics;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.RatingDistributionDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.RatingHistogramBucketDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingHistogramTest {
+
+    @Test
+    void bin_ShouldRoundToNearestTenthAndClampToScale() {
+        assertEquals(0, RatingHistogram.bin(-1.0));
+        assertEquals(0, RatingHistogram.bin(0.04));
+        assertEquals(1, RatingHistogram.bin(0.05));
+        assertEquals(37, RatingHistogram.bin(3.7));
+        assertEquals(50, RatingHistogram.bin(5.0));
+        assertEquals(50, RatingHistogram.bin(7.5));
+    }
+
+    @Test
+    void percentile_ShouldReturnNearestRankValue() {
+        // Given
+        RatingHistogram histogram = histogramOf(1.0, 2.0, 3.0, 4.0, 5.0, 5.0, 5.0, 5.0, 5.0, 5.0);
+
+        // When & Then
+        assertEquals(3.0, histogram.percentile(0.25));
+        assertEquals(5.0, histogram.percentile(0.50));
+        assertEquals(1.0, histogram.percentile(0.01));
+        assertEquals(5.0, histogram.percentile(1.0));
+    }
+
+    @Test
+    void add_WithMissingRating_ShouldNotCount() {
+        // Given
+        RatingHistogram histogram = new RatingHistogram();
+
+        // When
+        histogram.add(Double.NaN);
+
+        // Then
+        assertTrue(histogram.isEmpty());
+        assertNull(histogram.toDto());
+    }
+
+    @Test
+    void merge_ShouldEqualHistogramOfAllRatings() {
+        // Given
+        RatingHistogram first = histogramOf(1.5, 4.0);
+        RatingHistogram second = histogramOf(2.5, 4.0, 4.5);
+
+        // When
+        first.merge(second);
+
+        // Then
+        assertEquals(histogramOf(1.5, 4.0, 2.5, 4.0, 4.5).toDto(), first.toDto());
+    }
+
+    @Test
+    void toDto_ShouldReportPercentilesAndHalfPointBuckets() {
+        // Given
+        RatingHistogram histogram = histogramOf(0.0, 2.4, 2.5, 4.9, 5.0);
+
+        // When
+        RatingDistributionDto dto = histogram.toDto();
+
+        // Then
+        assertEquals(List.of(2.4, 2.5, 4.9, 5.0), List.of(dto.p25(), dto.p50(), dto.p75(), dto.p90()));
+        assertEquals(10, dto.histogram().size());
+        assertEquals(new RatingHistogramBucketDto(0.0, 0.5, 1L), dto.histogram().getFirst());
+        assertEquals(new RatingHistogramBucketDto(2.0, 2.5, 1L), dto.histogram().get(4));
+        assertEquals(new RatingHistogramBucketDto(2.5, 3.0, 1L), dto.histogram().get(5));
+        // The last bucket includes the top of the scale
+        assertEquals(new RatingHistogramBucketDto(4.5, 5.0, 2L), dto.histogram().getLast());
+    }
+
+    private static RatingHistogram histogramOf(double... ratings) {
+        RatingHistogram histogram = new RatingHistogram();
+        for (double rating : ratings) {
+            histogram.add(rating);
+        }
+        return histogram;
+    }
+}
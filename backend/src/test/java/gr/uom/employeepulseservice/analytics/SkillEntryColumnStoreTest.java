@@ -0,0 +1,495 @@
+package gr.uom.employeepulseservice.analytics;
+
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore.EntryScope;
+import gr.uom.employeepulseservice.config.CursorJdbcTemplate;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkillEntryColumnStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 15);
+    private static final ScopeKey EMPLOYEE = new ScopeKey(Scope.EMPLOYEE, 100);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private CursorJdbcTemplate cursorJdbc;
+
+    @Mock
+    private ReportVersionRepository reportVersionRepository;
+
+    private ReportingProperties reportingProperties;
+
+    private SkillEntryColumnStore store;
+
+    private record Visit(int departmentId, int employeeId, int skillId, LocalDate day, double rating) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        reportingProperties = new ReportingProperties();
+        store = new SkillEntryColumnStore(jdbc, cursorJdbc, reportingProperties, reportVersionRepository);
+    }
+
+    @Test
+    void onSkillEntriesChanged_BeforeLoad_ShouldBeIgnored() {
+        // When
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added(1, 1, 10, 100, 5, DAY, 4.0)));
+
+        // Then
+        assertFalse(store.isLoaded());
+        assertEquals(0, store.deltaSize());
+    }
+
+    @Test
+    void reload_ShouldLoadEntriesAndReviewsFromCursor() {
+        // Given
+        stubLoad(
+                List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0), entryRow(2, 1, 11, 101, 5, DAY, null)),
+                List.of(reviewRow(7, 100, 10, 1, DAY, 3.5))
+        );
+
+        // When
+        store.reload();
+
+        // Then
+        assertTrue(store.isLoaded());
+        assertEquals(2, store.mainSize());
+        List<Visit> visits = scan(EntryScope.ofOrganization(1, null, null, null, null));
+        assertEquals(2, visits.size());
+        assertEquals(new Visit(10, 100, 5, DAY, 4.0), visits.get(0));
+        assertTrue(Double.isNaN(visits.get(1).rating()));
+
+        List<Double> overallRatings = new ArrayList<>();
+        store.scanReviews(EntryScope.ofOrganization(1, 10, null, null, null), (day, rating) -> overallRatings.add(rating));
+        assertEquals(List.of(3.5), overallRatings);
+    }
+
+    @Test
+    void reload_WhenWrittenDuringRead_ShouldReplayTheWriteOnTheReloadedCopy() {
+        // Given
+        loadEmpty();
+        answerRows(cursorJdbc, "FROM v_skill_entries",
+                List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0), entryRow(2, 1, 10, 100, 5, DAY, 3.0)),
+                // Committed after the read started, so the read may miss it
+                () -> store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                        added(3, 1, 10, 100, 5, DAY.plusDays(1), 5.0),
+                        new SkillEntryChange(ChangeType.REMOVED, 2, 1, 10, 100, 5, DAY, 3.0))));
+        answerRows(cursorJdbc, "FROM performance_reviews", List.of());
+
+        // When
+        store.reload();
+
+        // Then
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 4.0), new Visit(10, 100, 5, DAY.plusDays(1), 5.0)),
+                scan(EntryScope.ofOrganization(1, null, null, null, null)));
+    }
+
+    @Test
+    void reload_WhileReading_ShouldLeaveScansOnTheCurrentContent() {
+        // Given
+        loadEmpty();
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added(1, 1, 10, 100, 5, DAY, 4.0)));
+        List<List<Visit>> scannedDuringRead = new ArrayList<>();
+        answerRows(cursorJdbc, "FROM v_skill_entries",
+                List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0), entryRow(2, 1, 10, 100, 5, DAY, 3.0)),
+                () -> scannedDuringRead.add(CompletableFuture
+                        .supplyAsync(() -> scan(EntryScope.ofOrganization(1, null, null, null, null)))
+                        .orTimeout(5, TimeUnit.SECONDS)
+                        .join()));
+        answerRows(cursorJdbc, "FROM performance_reviews", List.of());
+
+        // When
+        store.reload();
+
+        // Then
+        assertEquals(List.of(List.of(new Visit(10, 100, 5, DAY, 4.0))), scannedDuringRead);
+        assertEquals(2, scan(EntryScope.ofOrganization(1, null, null, null, null)).size());
+    }
+
+    @Test
+    void scanEntries_ShouldVisitEntriesInScopeInKeyOrder() {
+        // Given
+        loadEmpty();
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                added(3, 1, 11, 102, 5, DAY, 2.0),
+                added(2, 1, 10, 100, 6, DAY, 3.0),
+                added(1, 1, 10, 100, 5, DAY.plusDays(1), 4.0),
+                added(4, 1, 10, 100, 5, DAY, 5.0),
+                added(5, 2, 20, 200, 5, DAY, 1.0)
+        ));
+
+        // When
+        List<Visit> organization = scan(EntryScope.ofOrganization(1, null, null, null, null));
+        List<Visit> department = scan(EntryScope.ofOrganization(1, 10, 5, null, null));
+        List<Visit> employee = scan(EntryScope.ofEmployee(100, 5, DAY, DAY));
+
+        // Then
+        assertEquals(List.of(
+                new Visit(10, 100, 5, DAY, 5.0),
+                new Visit(10, 100, 5, DAY.plusDays(1), 4.0),
+                new Visit(10, 100, 6, DAY, 3.0),
+                new Visit(11, 102, 5, DAY, 2.0)
+        ), organization);
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 5.0), new Visit(10, 100, 5, DAY.plusDays(1), 4.0)), department);
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 5.0)), employee);
+    }
+
+    @Test
+    void onSkillEntriesChanged_WhenAppliedTwice_ShouldKeepOneEntry() {
+        // Given
+        loadEmpty();
+        SkillEntryChange added = added(1, 1, 10, 100, 5, DAY, 4.0);
+
+        // When
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added));
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added));
+
+        // Then
+        assertEquals(1, scan(EntryScope.ofEmployee(100, null, null, null)).size());
+    }
+
+    @Test
+    void onSkillEntriesChanged_WithUpdatedEntry_ShouldReplaceRating() {
+        // Given
+        stubLoad(List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0)), List.of());
+        store.reload();
+
+        // When
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                new SkillEntryChange(ChangeType.REMOVED, 1, 1, 10, 100, 5, DAY, 4.0),
+                added(1, 1, 10, 100, 5, DAY, 2.0)
+        ));
+
+        // Then
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 2.0)), scan(EntryScope.ofEmployee(100, null, null, null)));
+        assertEquals(1, store.deltaSize());
+    }
+
+    @Test
+    void onSkillEntriesChanged_OverCompactionThreshold_ShouldMergeDeltaIntoMain() {
+        // Given
+        reportingProperties.getAnalytics().setCompactionThreshold(2);
+        stubLoad(List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0), entryRow(2, 1, 10, 100, 5, DAY.plusDays(2), 3.0)), List.of());
+        store.reload();
+
+        // When
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                new SkillEntryChange(ChangeType.REMOVED, 2, 1, 10, 100, 5, DAY.plusDays(2), 3.0),
+                added(3, 1, 10, 100, 5, DAY.plusDays(1), 5.0),
+                added(4, 1, 10, 100, 5, DAY.plusDays(3), 1.0)
+        ));
+
+        // Then
+        assertEquals(0, store.deltaSize());
+        assertEquals(3, store.mainSize());
+        assertEquals(List.of(
+                new Visit(10, 100, 5, DAY, 4.0),
+                new Visit(10, 100, 5, DAY.plusDays(1), 5.0),
+                new Visit(10, 100, 5, DAY.plusDays(3), 1.0)
+        ), scan(EntryScope.ofEmployee(100, null, null, null)));
+    }
+
+    @Test
+    void onEmployeeDepartmentChanged_ShouldRereadReviewsAndKeepEntriesInTheirDepartment() {
+        // Given
+        stubLoad(List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0)), List.of(reviewRow(7, 100, 10, 1, DAY, 3.5)));
+        store.reload();
+        answerRows(jdbc, "FROM performance_reviews", List.of(reviewRow(7, 100, 20, 2, DAY, 3.5)));
+
+        // When
+        store.onEmployeeDepartmentChanged(new EmployeeDepartmentChangedEvent(100, 1, 10, 2, 20));
+
+        // Then
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 4.0)), scan(EntryScope.ofOrganization(1, 10, null, null, null)));
+        assertTrue(scan(EntryScope.ofOrganization(2, null, null, null, null)).isEmpty());
+        verify(jdbc, never()).query(contains("FROM v_skill_entries"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        List<Double> overallRatings = new ArrayList<>();
+        store.scanReviews(EntryScope.ofOrganization(2, null, null, null, null), (day, rating) -> overallRatings.add(rating));
+        assertEquals(List.of(3.5), overallRatings);
+    }
+
+    @Test
+    void scanEntries_OfEmployeeWithEntriesInSeveralDepartments_ShouldVisitBySkillAndDay() {
+        // Given
+        loadEmpty();
+        store.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                added(1, 1, 10, 100, 5, DAY, 4.0),
+                added(2, 1, 10, 100, 6, DAY, 3.0),
+                added(3, 1, 11, 100, 5, DAY.minusDays(1), 2.0),
+                added(4, 1, 11, 100, 5, DAY.plusDays(1), 5.0)
+        ));
+
+        // When
+        List<Visit> employee = scan(EntryScope.ofEmployee(100, null, null, null));
+        List<Visit> skill = scan(EntryScope.ofEmployee(100, 5, DAY, null));
+
+        // Then
+        assertEquals(List.of(
+                new Visit(11, 100, 5, DAY.minusDays(1), 2.0),
+                new Visit(10, 100, 5, DAY, 4.0),
+                new Visit(11, 100, 5, DAY.plusDays(1), 5.0),
+                new Visit(10, 100, 6, DAY, 3.0)
+        ), employee);
+        assertEquals(List.of(new Visit(10, 100, 5, DAY, 4.0), new Visit(11, 100, 5, DAY.plusDays(1), 5.0)), skill);
+    }
+
+    @Test
+    void onPerformanceReviewChanged_ShouldRereadReview() {
+        // Given
+        stubLoad(List.of(), List.of(reviewRow(7, 100, 10, 1, DAY, 3.5)));
+        store.reload();
+        answerRows(jdbc, "AND pr.id = :reviewId", List.of(reviewRow(7, 100, 10, 1, DAY.plusDays(1), 4.5)));
+
+        // When
+        store.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(7, 100, 1, 10));
+
+        // Then
+        List<LocalDate> days = new ArrayList<>();
+        List<Double> overallRatings = new ArrayList<>();
+        store.scanReviews(EntryScope.ofEmployee(100, null, null, null), (day, rating) -> {
+            days.add(LocalDate.ofEpochDay(day));
+            overallRatings.add(rating);
+        });
+        assertEquals(List.of(DAY.plusDays(1)), days);
+        assertEquals(List.of(4.5), overallRatings);
+    }
+
+    @Test
+    void onPerformanceReviewChanged_WhileReadingTheReview_ShouldLeaveScansRunning() {
+        // Given
+        stubLoad(List.of(), List.of(reviewRow(7, 100, 10, 1, DAY, 3.5)));
+        store.reload();
+        List<List<Double>> scannedDuringRead = new ArrayList<>();
+        answerRows(jdbc, "AND pr.id = :reviewId", List.of(reviewRow(7, 100, 10, 1, DAY, 4.5)),
+                () -> scannedDuringRead.add(CompletableFuture
+                        .supplyAsync(() -> overallRatings(EntryScope.ofEmployee(100, null, null, null)))
+                        .orTimeout(5, TimeUnit.SECONDS)
+                        .join()));
+
+        // When
+        store.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(7, 100, 1, 10));
+
+        // Then
+        assertEquals(List.of(List.of(3.5)), scannedDuringRead);
+        assertEquals(List.of(4.5), overallRatings(EntryScope.ofEmployee(100, null, null, null)));
+    }
+
+    @Test
+    void reload_WhenReviewChangedDuringRead_ShouldReplayTheReadRowsWithoutQueryingAgain() {
+        // Given
+        loadEmpty();
+        answerRows(jdbc, "AND pr.id = :reviewId", List.of(reviewRow(7, 100, 10, 1, DAY, 4.5)));
+        answerRows(cursorJdbc, "FROM v_skill_entries", List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0)),
+                () -> store.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(7, 100, 1, 10)));
+        answerRows(cursorJdbc, "FROM performance_reviews", List.of(reviewRow(7, 100, 10, 1, DAY, 3.5)));
+
+        // When
+        store.reload();
+
+        // Then
+        assertEquals(List.of(4.5), overallRatings(EntryScope.ofEmployee(100, null, null, null)));
+        verify(jdbc, times(1)).query(contains("AND pr.id = :reviewId"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void onPerformanceReviewChanged_BeforeLoad_ShouldNotQuery() {
+        // When
+        store.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(7, 100, 1, 10));
+
+        // Then
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void hasApplied_ShouldCoverTheLoadedVersionsAndThoseBumpedSince() {
+        // Given
+        when(reportVersionRepository.findAll()).thenReturn(Map.of(EMPLOYEE, 3L));
+        assertFalse(store.hasApplied(version(3)));
+
+        // When
+        loadEmpty();
+
+        // Then
+        assertTrue(store.hasApplied(version(3)));
+        assertFalse(store.hasApplied(version(4)));
+        store.onReportVersionsBumped(bumped(4));
+        assertTrue(store.hasApplied(version(4)));
+    }
+
+    @Test
+    void hasApplied_WhenVersionsArriveOutOfOrder_ShouldWaitForTheMissingOne() {
+        // Given
+        loadEmpty();
+
+        // When
+        store.onReportVersionsBumped(bumped(2));
+
+        // Then
+        assertFalse(store.hasApplied(version(2)));
+        store.onReportVersionsBumped(bumped(1));
+        assertTrue(store.hasApplied(version(2)));
+    }
+
+    @Test
+    void reload_WhenVersionBumpedDuringRead_ShouldKeepItOnTheReloadedCopy() {
+        // Given
+        loadEmpty();
+        answerRows(cursorJdbc, "FROM v_skill_entries", List.of(entryRow(1, 1, 10, 100, 5, DAY, 4.0)),
+                () -> store.onReportVersionsBumped(bumped(1)));
+        answerRows(cursorJdbc, "FROM performance_reviews", List.of());
+
+        // When
+        store.reload();
+
+        // Then
+        assertTrue(store.hasApplied(version(1)));
+        assertFalse(store.hasApplied(version(2)));
+    }
+
+    private void loadEmpty() {
+        stubLoad(List.of(), List.of());
+        store.reload();
+    }
+
+    private void stubLoad(List<ResultSet> entries, List<ResultSet> reviews) {
+        answerRows(cursorJdbc, "FROM v_skill_entries", entries);
+        answerRows(cursorJdbc, "FROM performance_reviews", reviews);
+    }
+
+    private static void answerRows(NamedParameterJdbcTemplate template, String sqlPart, List<ResultSet> rows) {
+        answerRows(template, sqlPart, rows, () -> {
+        });
+    }
+
+    private static void answerRows(NamedParameterJdbcTemplate template, String sqlPart, List<ResultSet> rows,
+                                   Runnable duringRead) {
+        doAnswer(rowsAnswer(rows, duringRead))
+                .when(template).query(contains(sqlPart), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private static void answerRows(CursorJdbcTemplate template, String sqlPart, List<ResultSet> rows) {
+        answerRows(template, sqlPart, rows, () -> {
+        });
+    }
+
+    // Runs duringRead between handing over the first row and the others
+    private static void answerRows(CursorJdbcTemplate template, String sqlPart, List<ResultSet> rows, Runnable duringRead) {
+        doAnswer(rowsAnswer(rows, duringRead))
+                .when(template).query(contains(sqlPart), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private static Answer<Void> rowsAnswer(List<ResultSet> rows, Runnable duringRead) {
+        return invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (int i = 0; i < rows.size(); i++) {
+                handler.processRow(rows.get(i));
+                if (i == 0) {
+                    duringRead.run();
+                }
+            }
+            return null;
+        };
+    }
+
+    private List<Double> overallRatings(EntryScope scope) {
+        List<Double> overallRatings = new ArrayList<>();
+        store.scanReviews(scope, (day, rating) -> overallRatings.add(rating));
+        return overallRatings;
+    }
+
+    private List<Visit> scan(EntryScope scope) {
+        List<Visit> visits = new ArrayList<>();
+        store.scanEntries(scope, (departmentId, employeeId, skillId, day, rating) ->
+                visits.add(new Visit(departmentId, employeeId, skillId, LocalDate.ofEpochDay(day), rating)));
+        return visits;
+    }
+
+    private static ScopeVersion version(long version) {
+        return new ScopeVersion(Map.of(EMPLOYEE, version), Instant.EPOCH);
+    }
+
+    private static ReportVersionsBumpedEvent bumped(long version) {
+        return ReportVersionsBumpedEvent.of(Map.of(EMPLOYEE, version));
+    }
+
+    private static SkillEntryChange added(int id, int organizationId, int departmentId, int employeeId, int skillId,
+                                          LocalDate day, Double rating) {
+        return new SkillEntryChange(ChangeType.ADDED, id, organizationId, departmentId, employeeId, skillId, day, rating);
+    }
+
+    private static ResultSet entryRow(int id, int organizationId, int departmentId, int employeeId, int skillId,
+                                      LocalDate day, Double rating) {
+        return row(Map.of(
+                "skill_entry_id", id,
+                "organization_id", organizationId,
+                "department_id", departmentId,
+                "employee_id", employeeId,
+                "skill_id", skillId,
+                "entry_date", day,
+                "rating", rating != null ? rating : Double.NaN
+        ));
+    }
+
+    private static ResultSet reviewRow(int id, int employeeId, int departmentId, int organizationId,
+                                       LocalDate day, double overallRating) {
+        return row(Map.of(
+                "id", id,
+                "employee_id", employeeId,
+                "department_id", departmentId,
+                "organization_id", organizationId,
+                "review_date", day,
+                "overall_rating", overallRating
+        ));
+    }
+
+    // Result set positioned on one row; a NaN double reads as SQL NULL
+    private static ResultSet row(Map<String, Object> columns) {
+        boolean[] lastWasNull = {false};
+        return mock(ResultSet.class, invocation -> {
+            String method = invocation.getMethod().getName();
+            if (method.equals("wasNull")) {
+                return lastWasNull[0];
+            }
+            Object value = columns.get((String) invocation.getArgument(0));
+            lastWasNull[0] = value instanceof Double d && d.isNaN();
+            return lastWasNull[0] ? 0.0 : value;
+        });
+    }
+}
@@ -0,0 +1,208 @@
+package gr.uom.employeepulseservice.controller;
+
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveOrganizationDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.controller.dto.UpdateDepartmentDto;
+import gr.uom.employeepulseservice.service.DepartmentService;
+import gr.uom.employeepulseservice.service.EmployeeService;
+import gr.uom.employeepulseservice.service.OrganizationService;
+import gr.uom.employeepulseservice.service.SkillService;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional report requests: a client revalidating with the ETag of its copy gets a 304 while nothing in the report
+// changed, and the renamed report, not a cached copy, as soon as a name it carries changed, even before this node
+// heard of the change.
+@AutoConfigureMockMvc
+class ReportingControllerTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATION = 1;
+    private static final int DEPARTMENT = ORGANIZATION;
+    private static final int OCCUPATION = ORGANIZATION;
+    private static final int EMPLOYEE = employeeId(ORGANIZATION, 1);
+    private static final int SKILL = skillId(ORGANIZATION, 1);
+
+    private static final String ORGANIZATION_REPORT = "/reports/org/" + ORGANIZATION;
+    private static final String DEPARTMENT_REPORT = "/reports/org/" + ORGANIZATION + "?deptId=" + DEPARTMENT;
+    private static final String EMPLOYEE_REPORT = "/reports/employee/" + EMPLOYEE;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void seed() {
+        seedOrganization(ORGANIZATION, 1, 1);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, organization_id, department_id, entry_date, " +
+                "entry_date_time, rating) VALUES (1, ?, ?, ?, ?, DATE '2024-03-10', TIMESTAMP '2024-03-10 00:00', 4.0)",
+                EMPLOYEE, SKILL, ORGANIZATION, DEPARTMENT);
+    }
+
+    @Test
+    void unchangedReport_ShouldBeNotModified() throws Exception {
+        String eTag = eTagOf(ORGANIZATION_REPORT);
+
+        mockMvc.perform(get(ORGANIZATION_REPORT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unchangedReport_WhenOrganizationHeaderMatches_ShouldBeNotModified() throws Exception {
+        String eTag = eTagOf(ORGANIZATION_REPORT);
+
+        mockMvc.perform(get(ORGANIZATION_REPORT)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header("X-Organization-Name", organizationName(ORGANIZATION)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unchangedReport_WhenOrganizationHeaderDiffers_ShouldBeBadRequest() throws Exception {
+        String eTag = eTagOf(ORGANIZATION_REPORT);
+
+        mockMvc.perform(get(ORGANIZATION_REPORT)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header("X-Organization-Name", "Other"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void organizationRename_ShouldRejectTheOldNameInTheHeader() throws Exception {
+        // Given
+        String eTag = eTagOf(ORGANIZATION_REPORT);
+
+        // When
+        organizationService.updateOrganization(ORGANIZATION, new SaveOrganizationDto("Renamed", "Athens"));
+
+        // Then
+        mockMvc.perform(get(ORGANIZATION_REPORT)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .header("X-Organization-Name", organizationName(ORGANIZATION)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void organizationRename_ShouldAnswerTheOldETagsWithTheRenamedReports() throws Exception {
+        // Given
+        String organizationETag = eTagOf(ORGANIZATION_REPORT);
+        String departmentETag = eTagOf(DEPARTMENT_REPORT);
+
+        // When
+        organizationService.updateOrganization(ORGANIZATION, new SaveOrganizationDto("Renamed", "Athens"));
+
+        // Then
+        mockMvc.perform(get(ORGANIZATION_REPORT).header(HttpHeaders.IF_NONE_MATCH, organizationETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.organizationName").value("Renamed"));
+        mockMvc.perform(get(DEPARTMENT_REPORT).header(HttpHeaders.IF_NONE_MATCH, departmentETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.organizationName").value("Renamed"));
+    }
+
+    @Test
+    void departmentRename_ShouldAnswerTheOldETagWithTheRenamedReport() throws Exception {
+        // Given
+        String eTag = eTagOf(DEPARTMENT_REPORT);
+
+        // When
+        departmentService.updateDepartment(DEPARTMENT, new UpdateDepartmentDto("Research"));
+
+        // Then
+        mockMvc.perform(get(DEPARTMENT_REPORT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departmentName").value("Research"));
+    }
+
+    @Test
+    void skillRename_ShouldAnswerTheOldETagWithTheRenamedReport() throws Exception {
+        // Given
+        String eTag = eTagOf(EMPLOYEE_REPORT);
+
+        // When
+        skillService.updateSkill(SKILL, new SaveSkillDto("Kotlin", "JVM language", null));
+
+        // Then
+        mockMvc.perform(get(EMPLOYEE_REPORT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skills[0].skillName").value("Kotlin"));
+    }
+
+    @Test
+    void employeeRename_ShouldAnswerTheOldETagWithTheRenamedReport() throws Exception {
+        // Given
+        String eTag = eTagOf(EMPLOYEE_REPORT);
+
+        // When
+        employeeService.updateEmployee(EMPLOYEE, new SaveEmployeeDto("First 1", "Renamed", employeeEmail(ORGANIZATION, 1),
+                LocalDate.of(2020, 1, 2), ORGANIZATION, DEPARTMENT, OCCUPATION));
+
+        // Then
+        mockMvc.perform(get(EMPLOYEE_REPORT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Renamed"));
+    }
+
+    @Test
+    void versionMovedBeforeTheInvalidationArrived_ShouldNotServeTheCachedReportUnderTheNewETag() throws Exception {
+        // Given
+        String eTag = eTagOf(EMPLOYEE_REPORT);
+
+        // When another node renamed the employee: the row and its version are committed, the invalidation is on its way
+        jdbc.update("UPDATE employees SET last_name = 'Renamed' WHERE id = ?", EMPLOYEE);
+        jdbc.update("INSERT INTO report_versions (scope, scope_id, version, modified_at) VALUES ('EMPLOYEE', ?, 1, now()) " +
+                "ON CONFLICT (scope, scope_id) DO UPDATE SET version = report_versions.version + 1", EMPLOYEE);
+
+        // Then
+        String newETag = mockMvc.perform(get(EMPLOYEE_REPORT).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Renamed"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void unknownOrganization_ShouldNeverBeNotModified() throws Exception {
+        for (String report : new String[]{"/reports/org/999", "/reports/org/999/batch",
+                "/reports/organizations/999/skills/timeline"}) {
+            // If-None-Match: * matches any current ETag
+            mockMvc.perform(get(report).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Organization not found"));
+        }
+    }
+
+    private String eTagOf(String report) throws Exception {
+        return mockMvc.perform(get(report))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,124 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.model.ImportMode;
+import gr.uom.employeepulseservice.service.EmployeeService;
+import gr.uom.employeepulseservice.service.SkillService;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Imports a catalog the size of ESCO's skills through both import modes and compares their rows/sec
+@Slf4j
+class BulkImportBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int SKILLS = 13_000;
+    private static final int EMPLOYEES = 5_000;
+
+    // The organization has the department and occupation of its id and a second department, the other organization
+    // the department of its id
+    private static final int ORGANIZATION = 1;
+    private static final int SECOND_DEPARTMENT = 3;
+    private static final int OTHER_ORGANIZATION = 2;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void seed() {
+        seedOrganization(ORGANIZATION, 0, 0);
+        seedOrganization(OTHER_ORGANIZATION, 0, 0);
+        jdbc.update("INSERT INTO departments (id, organization_id, name) VALUES (?, ?, ?)",
+                SECOND_DEPARTMENT, ORGANIZATION, departmentName(SECOND_DEPARTMENT));
+    }
+
+    @Test
+    void bulkCreateSkills_CopyMode_ShouldImportSameRowsFasterThanEntities() {
+        String json = skillsJson();
+
+        double entityRate = importSkills(json, ImportMode.ENTITIES);
+        List<String> entityDescriptions = jdbc.queryForList("SELECT description FROM skills ORDER BY id", String.class);
+
+        jdbc.execute("TRUNCATE skills CASCADE");
+        double copyRate = importSkills(json, ImportMode.COPY);
+        List<String> copyDescriptions = jdbc.queryForList("SELECT description FROM skills ORDER BY id", String.class);
+
+        log.info("Imported {} skills: {} rows/sec with entities, {} rows/sec with COPY",
+                SKILLS, Math.round(entityRate), Math.round(copyRate));
+
+        assertEquals(entityDescriptions, copyDescriptions);
+        assertTrue(copyRate > entityRate, "COPY should import faster than saveAll");
+
+        // The copied ids come from the sequence, rows saved later do not collide with them
+        Integer maxId = jdbc.queryForObject("SELECT max(id) FROM skills", Integer.class);
+        Integer nextId = jdbc.queryForObject("SELECT nextval('skills_seq')", Integer.class);
+        assertTrue(nextId > maxId);
+    }
+
+    @Test
+    void bulkCreate_CopyMode_ShouldImportEmployeesWithValidatedRelations() {
+        List<SaveEmployeeDto> employees = IntStream.rangeClosed(1, EMPLOYEES)
+                .mapToObj(i -> new SaveEmployeeDto("First " + i, "Last " + i, "employee" + i + "@test.com",
+                        LocalDate.of(2020, 1, 1), ORGANIZATION, i % 2 == 0 ? ORGANIZATION : SECOND_DEPARTMENT, ORGANIZATION))
+                .toList();
+
+        long started = System.nanoTime();
+        employeeService.bulkCreate(toJson(employees), ImportMode.COPY);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Imported {} employees: {} rows/sec with COPY", EMPLOYEES, Math.round(EMPLOYEES / seconds));
+
+        assertEquals(EMPLOYEES, jdbc.queryForObject(
+                "SELECT count(*) FROM employees WHERE organization_id = ? AND occupation_id = ?", Integer.class,
+                ORGANIZATION, ORGANIZATION));
+
+        // The department of the other organization: nothing of the batch is imported
+        List<SaveEmployeeDto> invalid = new ArrayList<>(employees.subList(0, 10));
+        invalid.add(new SaveEmployeeDto("Other", "Organization", "other@test.com", LocalDate.of(2020, 1, 1),
+                ORGANIZATION, OTHER_ORGANIZATION, ORGANIZATION));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> employeeService.bulkCreate(toJson(invalid), ImportMode.COPY));
+        assertEquals("Department does not belong to the Organization", exception.getMessage());
+        assertEquals(EMPLOYEES, jdbc.queryForObject("SELECT count(*) FROM employees", Integer.class));
+    }
+
+    private double importSkills(String json, ImportMode mode) {
+        long started = System.nanoTime();
+        skillService.bulkCreateSkills(json, mode);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(SKILLS, jdbc.queryForObject("SELECT count(*) FROM skills", Integer.class));
+        return SKILLS / seconds;
+    }
+
+    // Descriptions carry the characters COPY's text format escapes
+    private String skillsJson() {
+        return toJson(IntStream.rangeClosed(1, SKILLS)
+                .mapToObj(i -> new SaveSkillDto("Skill " + i,
+                        i % 100 == 0 ? "Tabs\tnew lines\nand back\\slashes of skill " + i : "Description of skill " + i,
+                        i % 10 == 0 ? null : "http://data.europa.eu/esco/skill/" + i))
+                .toList());
+    }
+
+    @SneakyThrows
+    private String toJson(Object value) {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,301 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.cache.ReportCacheStatsDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.Occupation;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingReportingRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 6, 30);
+    private static final ScopeVersion VERSION = new ScopeVersion(Map.of(ScopeKey.ALL, 1L), Instant.EPOCH);
+    private static final ScopeVersion NEXT_VERSION = new ScopeVersion(Map.of(ScopeKey.ALL, 2L), Instant.EPOCH);
+
+    @Mock
+    private ColumnarReportingRepository delegate;
+
+    private ReportingProperties reportingProperties;
+
+    private CachingReportingRepository cachingReportingRepository;
+
+    @BeforeEach
+    void setUp() {
+        reportingProperties = new ReportingProperties();
+        cachingReportingRepository = new CachingReportingRepository(delegate, reportingProperties);
+
+        lenient().when(delegate.getReportByOrganizationAndDepartment(any(), anyInt(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new OrgDeptReportingResponseDto(
+                        invocation.getArgument(1), "Org", invocation.getArgument(2), null, List.of(), List.of()));
+        lenient().when(delegate.getReportByEmployee(any(), anyInt(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new EmployeeReportingResponseDto(
+                        invocation.getArgument(1), "John", "Doe", List.of(), List.of()));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WhenRequestedTwice_ShouldQueryOnce() {
+        // When
+        OrgDeptReportingResponseDto first = cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        OrgDeptReportingResponseDto second = cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+
+        // Then
+        assertSame(first, second);
+        verify(delegate, times(1)).getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+
+        ReportCacheStatsDto stats = cachingReportingRepository.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithDifferentArguments_ShouldNotShareEntries() {
+        // When
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.YEAR, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, 5, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, null, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, EmployeeCountMode.APPROXIMATE, VERSION);
+
+        // Then
+        verify(delegate, times(5)).getReportByOrganizationAndDepartment(any(), eq(1), eq(10), any(), eq(START), any(), any(), any());
+        assertEquals(0, cachingReportingRepository.stats().hitCount());
+    }
+
+    @Test
+    void getReportByEmployee_AtANewerVersion_ShouldQueryAgainBeforeAnyInvalidation() {
+        // Given
+        EmployeeReportingResponseDto cached = cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // When another node committed a write whose invalidation has not arrived yet
+        EmployeeReportingResponseDto newer = cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, NEXT_VERSION);
+
+        // Then
+        assertNotSame(cached, newer);
+        verify(delegate).getReportByEmployee(PeriodType.MONTH, 100, null, START, END, NEXT_VERSION);
+        assertEquals(0, cachingReportingRepository.stats().hitCount());
+    }
+
+    @Test
+    void getReportByEmployee_WithoutVersion_ShouldNotBeCached() {
+        // When
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END);
+
+        // Then
+        verify(delegate, times(2)).getReportByEmployee(PeriodType.MONTH, 100, null, START, END);
+        assertEquals(0, cachingReportingRepository.stats().size());
+    }
+
+    @Test
+    void onSkillEntriesChanged_ShouldInvalidateOnlyAffectedScopes() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 20, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 2, null, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 101, null, START, END, VERSION);
+
+        SkillEntryChange added = new SkillEntryChange(ChangeType.ADDED, 1, 1, 10, 100, 5, START, 4.0);
+
+        // When
+        cachingReportingRepository.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added));
+
+        // Then
+        assertEquals(3, cachingReportingRepository.stats().invalidationCount());
+        assertEquals(3, cachingReportingRepository.stats().size());
+
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 20, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 2, null, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 101, null, START, END, VERSION);
+        assertEquals(3, cachingReportingRepository.stats().hitCount());
+
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        verify(delegate, times(2)).getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+    }
+
+    @Test
+    void onPerformanceReviewChanged_ShouldInvalidateReportsOfEmployeeAndDepartment() {
+        // Given
+        cachingReportingRepository.getReportByEmployee(PeriodType.QUARTER, 100, null, null, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.QUARTER, 1, 10, null, null, null, null, VERSION);
+
+        // When
+        cachingReportingRepository.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(55, 100, 1, 10));
+        cachingReportingRepository.getReportByEmployee(PeriodType.QUARTER, 100, null, null, null, VERSION);
+
+        // Then
+        verify(delegate, times(2)).getReportByEmployee(eq(PeriodType.QUARTER), eq(100), isNull(), isNull(), isNull(), any());
+        assertEquals(2, cachingReportingRepository.stats().invalidationCount());
+    }
+
+    @Test
+    void onEmployeeDepartmentChanged_ShouldInvalidateBothDepartments() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 20, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 30, null, START, END, null, VERSION);
+
+        // When
+        cachingReportingRepository.onEmployeeDepartmentChanged(new EmployeeDepartmentChangedEvent(100, 1, 10, 1, 20));
+
+        // Then
+        assertEquals(1, cachingReportingRepository.stats().size());
+        assertEquals(2, cachingReportingRepository.stats().invalidationCount());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenOrganizationRenamed_ShouldInvalidateEveryReportOfIt() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 20, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 2, 30, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // When
+        cachingReportingRepository.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(1, null));
+
+        // Then
+        assertEquals(2, cachingReportingRepository.stats().size());
+        assertEquals(3, cachingReportingRepository.stats().invalidationCount());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenDepartmentRenamed_ShouldInvalidateItsReportsAndTheOrganizationWideOnes() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 20, null, START, END, null, VERSION);
+
+        // When
+        cachingReportingRepository.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(1, 10));
+
+        // Then
+        assertEquals(1, cachingReportingRepository.stats().size());
+        assertEquals(2, cachingReportingRepository.stats().invalidationCount());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenDepartmentDeleted_ShouldInvalidateAll() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // When
+        cachingReportingRepository.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(null, 10));
+
+        // Then
+        assertEquals(0, cachingReportingRepository.stats().size());
+    }
+
+    @Test
+    void onReferenceDataChanged_ShouldInvalidateAllOnlyForSkills() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // When
+        cachingReportingRepository.onReferenceDataChanged(new ReferenceDataChangedEvent(Occupation.class, 1));
+        long sizeAfterOccupationChange = cachingReportingRepository.stats().size();
+        cachingReportingRepository.onReferenceDataChanged(new ReferenceDataChangedEvent(Skill.class, 5));
+
+        // Then
+        assertEquals(2, sizeAfterOccupationChange);
+        assertEquals(0, cachingReportingRepository.stats().size());
+    }
+
+    @Test
+    void onEmployeeRenamed_ShouldInvalidateOnlyTheEmployeeReports() {
+        // Given
+        cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, START, END, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.QUARTER, 100, null, null, null, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 200, null, START, END, VERSION);
+
+        // When
+        cachingReportingRepository.onEmployeeRenamed(new EmployeeRenamedEvent(100));
+
+        // Then
+        assertEquals(2, cachingReportingRepository.stats().size());
+        assertEquals(2, cachingReportingRepository.stats().invalidationCount());
+    }
+
+    @Test
+    void getReportByEmployee_WhenWriteCommitsDuringLoad_ShouldNotCacheLoadedReport() {
+        // Given
+        when(delegate.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION)).thenAnswer(invocation -> {
+            // The write commits while the report query is still running
+            cachingReportingRepository.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(55, 100, 1, 10));
+            return new EmployeeReportingResponseDto(100, "John", "Doe", List.of(), List.of());
+        });
+
+        // When
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // Then
+        verify(delegate, times(2)).getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        assertEquals(0, cachingReportingRepository.stats().size());
+    }
+
+    @Test
+    void getReportByEmployee_WhenCacheDisabled_ShouldAlwaysQuery() {
+        // Given
+        reportingProperties.getCache().setEnabled(false);
+        cachingReportingRepository = new CachingReportingRepository(delegate, reportingProperties);
+
+        // When
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        cachingReportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+
+        // Then
+        verify(delegate, times(2)).getReportByEmployee(PeriodType.MONTH, 100, null, START, END, VERSION);
+        assertFalse(cachingReportingRepository.stats().enabled());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WhenDelegateThrows_ShouldNotCache() {
+        // Given
+        when(delegate.getReportByOrganizationAndDepartment(PeriodType.MONTH, 999, null, null, START, END, null, VERSION))
+                .thenThrow(new RuntimeException("Organization not found"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () ->
+                cachingReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 999, null, null, START, END, null, VERSION));
+        assertEquals(0, cachingReportingRepository.stats().size());
+    }
+}
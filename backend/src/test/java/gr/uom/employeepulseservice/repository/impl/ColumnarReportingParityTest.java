@@ -0,0 +1,320 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks the reports of the in-memory column store against the SQL reports over the same data, right after the
+// load and after incremental writes, department moves and compactions, and at report versions the store has not
+// applied yet.
+class ColumnarReportingParityTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATIONS = 3;
+    private static final int DEPARTMENTS_PER_ORGANIZATION = 3;
+    private static final int SKILLS = 40;
+    private static final int EMPLOYEES = 300;
+    private static final int SKILL_ENTRIES = 30_000;
+    private static final int PERFORMANCE_REVIEWS = 2_000;
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 2, 10);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 11, 20);
+
+    @Autowired
+    private ColumnarReportingRepository columnarRepository;
+
+    @Autowired
+    private ReportingRepositoryImpl sqlRepository;
+
+    @Autowired
+    private SkillEntryColumnStore store;
+
+    @Autowired
+    private ReportingProperties reportingProperties;
+
+    @Autowired
+    private ReportVersionRepository reportVersionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("INSERT INTO organizations (id, name, location) SELECT g, 'Organization ' || g, 'Thessaloniki' " +
+                "FROM generate_series(1, ?) g", ORGANIZATIONS);
+        jdbc.update("INSERT INTO departments (id, organization_id, name) " +
+                        "SELECT g, (g - 1) / ? + 1, 'Department ' || g FROM generate_series(1, ?) g",
+                DEPARTMENTS_PER_ORGANIZATION, ORGANIZATIONS * DEPARTMENTS_PER_ORGANIZATION);
+        // The last two skills share their names with the first two, reports merge them
+        jdbc.update("INSERT INTO skills (id, name) SELECT g, 'Skill ' || CASE WHEN g > ? THEN g - ? + 1 ELSE g END " +
+                "FROM generate_series(1, ?) g", SKILLS - 2, SKILLS - 2, SKILLS);
+        // Every 50th employee has no department, so only their overall ratings are reported
+        jdbc.update("INSERT INTO employees (id, department_id, organization_id, first_name, last_name, email, hire_date) " +
+                        "SELECT g, CASE WHEN g % 50 = 0 THEN NULL ELSE d END, (d - 1) / ? + 1, " +
+                        "'First ' || g, 'Last ' || g, 'employee' || g || '@test.com', DATE '2020-01-01' " +
+                        "FROM generate_series(1, ?) g, LATERAL (SELECT (g - 1) % ? + 1 AS d) dept",
+                DEPARTMENTS_PER_ORGANIZATION, EMPLOYEES, ORGANIZATIONS * DEPARTMENTS_PER_ORGANIZATION);
+        // Every 97th entry has no rating
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, entry_date, entry_date_time, rating) " +
+                "SELECT g, g % ? + 1, (g * 7) % ? + 1, DATE '2023-01-01' + g % 730, " +
+                "(DATE '2023-01-01' + g % 730)::timestamp, CASE WHEN g % 97 = 0 THEN NULL ELSE (g % 51) / 10.0 END " +
+                "FROM generate_series(1, ?) g", EMPLOYEES, SKILLS, SKILL_ENTRIES);
+        jdbc.update("UPDATE skill_entries se SET organization_id = e.organization_id, department_id = e.department_id " +
+                "FROM employees e WHERE e.id = se.employee_id");
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, reporter_id, overall_rating, review_date, review_date_time) " +
+                "SELECT g, g % ? + 1, 1, (g % 51) / 10.0, DATE '2023-01-01' + g % 730, " +
+                "(DATE '2023-01-01' + g % 730)::timestamp " +
+                "FROM generate_series(1, ?) g", EMPLOYEES, PERFORMANCE_REVIEWS);
+
+        store.reload();
+    }
+
+    @AfterEach
+    void resetCompactionThreshold() {
+        reportingProperties.getAnalytics().setCompactionThreshold(new ReportingProperties.Analytics().getCompactionThreshold());
+    }
+
+    @Test
+    void afterLoad_ShouldAnswerEveryReportLikeSql() {
+        assertTrue(store.isLoaded());
+        assertAllReportsMatch();
+    }
+
+    @Test
+    void afterWrites_ShouldAnswerEveryReportLikeSql() {
+        // Added, updated and deleted entries of one employee, kept in the delta segment
+        writeEntries();
+        assertAllReportsMatch();
+
+        // A department move within the organization: old entries stay in their department, reviews follow the
+        // employee, and new entries of the same skills and periods go to the new department
+        jdbc.update("UPDATE employees SET department_id = 8 WHERE id = 7");
+        eventPublisher.publishEvent(new EmployeeDepartmentChangedEvent(7, 3, 7, 3, 8));
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, organization_id, department_id, skill_id, entry_date, entry_date_time, rating) VALUES " +
+                "(900003, 7, 3, 8, 3, DATE '2023-01-20', TIMESTAMP '2023-01-20 00:00', 2.5), " +
+                "(900004, 7, 3, 8, 23, DATE '2023-11-10', TIMESTAMP '2023-11-10 00:00', 3.5)");
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(
+                new SkillEntryChange(ChangeType.ADDED, 900003, 3, 8, 7, 3, LocalDate.of(2023, 1, 20), 2.5),
+                new SkillEntryChange(ChangeType.ADDED, 900004, 3, 8, 7, 23, LocalDate.of(2023, 11, 10), 3.5)
+        ));
+
+        // An edited review
+        jdbc.update("UPDATE performance_reviews SET overall_rating = 1.5, review_date = DATE '2024-05-05' WHERE id = 11");
+        eventPublisher.publishEvent(new PerformanceReviewChangedEvent(11, 12, 1, 3));
+
+        assertAllReportsMatch();
+    }
+
+    @Test
+    void afterCompaction_ShouldAnswerEveryReportLikeSql() {
+        // Given
+        reportingProperties.getAnalytics().setCompactionThreshold(1);
+
+        // When
+        writeEntries();
+
+        // Then
+        assertAllReportsMatch();
+    }
+
+    @Test
+    void timelinesWithMaxPoints_ShouldDownsampleLikeSql() {
+        for (DownsamplingMethod method : DownsamplingMethod.values()) {
+            assertSameReport(
+                    () -> sqlRepository.getSkillTimelineByOrganizationAndDepartment(2, 5, null, null, null, 20, method),
+                    () -> columnarRepository.getSkillTimelineByOrganizationAndDepartment(2, 5, null, null, null, 20, method),
+                    "org timeline " + method);
+        }
+    }
+
+    @Test
+    void atAVersionNotAppliedYet_ShouldAnswerLikeSql() {
+        // Given an entry another node committed, whose change has not reached this node yet
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, organization_id, department_id, skill_id, entry_date, entry_date_time, rating) VALUES " +
+                "(900005, 5, 2, 5, 3, DATE '2024-03-03', TIMESTAMP '2024-03-03 00:00', 4.9)");
+        jdbc.update("INSERT INTO report_versions (scope, scope_id, version, modified_at) VALUES ('EMPLOYEE', 5, 1, now()) " +
+                "ON CONFLICT (scope, scope_id) DO UPDATE SET version = report_versions.version + 1");
+        ScopeVersion version = reportVersionRepository.find(List.of(new ScopeKey(Scope.EMPLOYEE, 5), ScopeKey.ALL));
+
+        // When & Then
+        assertFalse(store.hasApplied(version));
+        assertSameReport(
+                () -> sqlRepository.getReportByEmployee(PeriodType.MONTH, 5, null, null, null),
+                () -> columnarRepository.getReportByEmployee(PeriodType.MONTH, 5, null, null, null, version),
+                "employee report at a version not applied");
+        assertSameReport(
+                () -> sqlRepository.getSkillTimelineByEmployee(5, null, null, null, null, null),
+                () -> columnarRepository.getSkillTimelineByEmployee(5, null, null, null, null, null, version),
+                "employee timeline at a version not applied");
+    }
+
+    private void writeEntries() {
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, organization_id, department_id, skill_id, entry_date, entry_date_time, rating) VALUES " +
+                "(900001, 5, 2, 5, 3, DATE '2024-03-03', TIMESTAMP '2024-03-03 00:00', 4.9), " +
+                "(900002, 5, 2, 5, 39, DATE '2024-03-04', TIMESTAMP '2024-03-04 00:00', 0.1)");
+        jdbc.update("UPDATE skill_entries SET rating = 5.0 WHERE id = 4");
+        jdbc.update("DELETE FROM skill_entries WHERE id = 304");
+
+        LocalDate entryDate4 = LocalDate.of(2023, 1, 1).plusDays(4);
+        LocalDate entryDate304 = LocalDate.of(2023, 1, 1).plusDays(304);
+        eventPublisher.publishEvent(SkillEntriesChangedEvent.of(
+                new SkillEntryChange(ChangeType.ADDED, 900001, 2, 5, 5, 3, LocalDate.of(2024, 3, 3), 4.9),
+                new SkillEntryChange(ChangeType.ADDED, 900002, 2, 5, 5, 39, LocalDate.of(2024, 3, 4), 0.1),
+                new SkillEntryChange(ChangeType.REMOVED, 4, 2, 5, 5, 29, entryDate4, 0.4),
+                new SkillEntryChange(ChangeType.ADDED, 4, 2, 5, 5, 29, entryDate4, 5.0),
+                new SkillEntryChange(ChangeType.REMOVED, 304, 2, 5, 5, 9, entryDate304, 4.9)
+        ));
+    }
+
+    private void assertAllReportsMatch() {
+        for (int organizationId = 1; organizationId <= ORGANIZATIONS; organizationId++) {
+            for (Integer departmentId : departmentsOf(organizationId)) {
+                for (PeriodType periodType : PeriodType.values()) {
+                    assertOrgReportsMatch(periodType, organizationId, departmentId, null, null, null);
+                }
+                assertOrgReportsMatch(PeriodType.MONTH, organizationId, departmentId, 3, START_DATE, END_DATE);
+                assertOrgReportsMatch(null, organizationId, departmentId, null, START_DATE, null);
+                assertOrgTimelinesMatch(organizationId, departmentId, null, null, null);
+                assertOrgTimelinesMatch(organizationId, departmentId, 39, START_DATE, END_DATE);
+            }
+        }
+        // Employees 5 and 7 are the written and moved ones, 50 has no department
+        for (int employeeId : List.of(1, 5, 7, 12, 50, 299, EMPLOYEES + 1)) {
+            for (PeriodType periodType : PeriodType.values()) {
+                assertEmployeeReportsMatch(periodType, employeeId, null, null, null);
+            }
+            assertEmployeeReportsMatch(PeriodType.QUARTER, employeeId, 3, START_DATE, END_DATE);
+            assertSameReport(
+                    () -> sqlRepository.getSkillTimelineByEmployee(employeeId, null, null, null, null, null),
+                    () -> columnarRepository.getSkillTimelineByEmployee(employeeId, null, null, null, null, null),
+                    "employee timeline " + employeeId);
+            assertSameReport(
+                    () -> sqlRepository.getSkillTimelineByEmployee(employeeId, 3, START_DATE, END_DATE, null, null),
+                    () -> columnarRepository.getSkillTimelineByEmployee(employeeId, 3, START_DATE, END_DATE, null, null),
+                    "employee timeline " + employeeId + " of skill 3");
+        }
+        assertSameReport(
+                () -> sqlRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, ORGANIZATIONS + 1, null, null, null, null, null),
+                () -> columnarRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, ORGANIZATIONS + 1, null, null, null, null, null),
+                "unknown organization");
+    }
+
+    private void assertOrgReportsMatch(PeriodType periodType, int organizationId, Integer departmentId, Integer skillId,
+                                       LocalDate startDate, LocalDate endDate) {
+        assertSameReport(
+                () -> sqlRepository.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate, endDate, null),
+                () -> columnarRepository.getReportByOrganizationAndDepartment(periodType, organizationId, departmentId, skillId, startDate, endDate, null),
+                "org report " + periodType + " " + organizationId + "/" + departmentId + " skill " + skillId);
+    }
+
+    private void assertOrgTimelinesMatch(int organizationId, Integer departmentId, Integer skillId,
+                                         LocalDate startDate, LocalDate endDate) {
+        assertSameReport(
+                () -> sqlRepository.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate, null, null),
+                () -> columnarRepository.getSkillTimelineByOrganizationAndDepartment(organizationId, departmentId, skillId, startDate, endDate, null, null),
+                "org timeline " + organizationId + "/" + departmentId + " skill " + skillId);
+    }
+
+    private void assertEmployeeReportsMatch(PeriodType periodType, int employeeId, Integer skillId,
+                                            LocalDate startDate, LocalDate endDate) {
+        assertSameReport(
+                () -> sqlRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate),
+                () -> columnarRepository.getReportByEmployee(periodType, employeeId, skillId, startDate, endDate),
+                "employee report " + periodType + " " + employeeId + " skill " + skillId);
+    }
+
+    // Departments to report on: the whole organization (null) and each department
+    private List<Integer> departmentsOf(int organizationId) {
+        List<Integer> departments = new ArrayList<>();
+        departments.add(null);
+        departments.addAll(jdbc.queryForList("SELECT id FROM departments WHERE organization_id = ? ORDER BY id",
+                Integer.class, organizationId));
+        return departments;
+    }
+
+    // Compares both reports, or the messages of the exceptions both threw
+    private void assertSameReport(Supplier<Object> sql, Supplier<Object> columnar, String description) {
+        Object expected;
+        try {
+            expected = sql.get();
+        } catch (RuntimeException e) {
+            RuntimeException thrown = assertThrows(RuntimeException.class, columnar::get, description);
+            assertEquals(e.getMessage(), thrown.getMessage(), description);
+            return;
+        }
+        Object actual = columnar.get();
+        if (expected == null) {
+            assertNull(actual, description);
+            return;
+        }
+        assertNotNull(actual, description);
+        assertEquals(normalize(objectMapper.valueToTree(expected)), normalize(objectMapper.valueToTree(actual)), description);
+    }
+
+    // Rounds doubles, since averages differ in the last bits with the order of summation, and sorts timeline points and
+    // timeline skills, since SQL leaves the order of points on the same date (other departments, several entries a day)
+    // and of skills sharing a name open
+    private static JsonNode normalize(JsonNode node) {
+        if (node.isDouble()) {
+            return DoubleNode.valueOf(Math.round(node.doubleValue() * 1e9) / 1e9);
+        }
+        if (node.isObject()) {
+            ObjectNode normalized = JsonNodeFactory.instance.objectNode();
+            node.properties().forEach(field -> normalized.set(field.getKey(), normalize(field.getValue())));
+            if (normalized.get("timeline") instanceof ArrayNode timeline) {
+                normalized.set("timeline", sorted(timeline, Comparator.comparing(JsonNode::toString)));
+            }
+            if (normalized.get("skills") instanceof ArrayNode skills && skills.path(0).has("skillId")) {
+                normalized.set("skills", sorted(skills, Comparator
+                        .comparing((JsonNode skill) -> skill.path("skillName").asText())
+                        .thenComparingInt(skill -> skill.path("skillId").asInt())));
+            }
+            return normalized;
+        }
+        if (node.isArray()) {
+            ArrayNode normalized = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> normalized.add(normalize(element)));
+            return normalized;
+        }
+        return node;
+    }
+
+    private static ArrayNode sorted(ArrayNode array, Comparator<JsonNode> order) {
+        List<JsonNode> elements = new ArrayList<>();
+        array.forEach(elements::add);
+        elements.sort(order);
+        return JsonNodeFactory.instance.arrayNode().addAll(elements);
+    }
+}
@@ -0,0 +1,217 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.analytics.RatingHistogram;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore.EntryScope;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore.EntryVisitor;
+import gr.uom.employeepulseservice.analytics.SkillEntryColumnStore.ReviewVisitor;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptOverallRatingPeriodDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingPeriodDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.RatingDistributionDto;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnarReportingRepositoryTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2026, 1, 10);
+    private static final LocalDate APRIL = LocalDate.of(2026, 4, 20);
+
+    @Mock
+    private ReportingRepositoryImpl sqlRepository;
+
+    @Mock
+    private SkillEntryColumnStore store;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private ReportingNameDictionary reportingNames;
+
+    @InjectMocks
+    private ColumnarReportingRepository columnarReportingRepository;
+
+    @Test
+    void getReportByOrganizationAndDepartment_WhenStoreNotLoaded_ShouldUseSql() {
+        // Given
+        OrgDeptReportingResponseDto report = new OrgDeptReportingResponseDto(1, "Org", null, null, List.of(), List.of());
+        when(store.isLoaded()).thenReturn(false);
+        when(sqlRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, null, null, null)).thenReturn(report);
+
+        // When
+        OrgDeptReportingResponseDto result = columnarReportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, null, null, null, null, null);
+
+        // Then
+        assertSame(report, result);
+        verify(store, never()).scanEntries(any(), any());
+    }
+
+    @Test
+    void getReportByEmployee_AtAVersionTheStoreHasNotApplied_ShouldUseSql() {
+        // Given
+        ScopeVersion version = new ScopeVersion(Map.of(new ScopeKey(Scope.EMPLOYEE, 100), 5L), Instant.EPOCH);
+        EmployeeReportingResponseDto report = new EmployeeReportingResponseDto(100, "John", "Doe", List.of(), List.of());
+        when(store.hasApplied(version)).thenReturn(false);
+        when(sqlRepository.getReportByEmployee(PeriodType.MONTH, 100, null, null, null)).thenReturn(report);
+
+        // When
+        EmployeeReportingResponseDto result = columnarReportingRepository.getReportByEmployee(
+                PeriodType.MONTH, 100, null, null, null, version);
+
+        // Then
+        assertSame(report, result);
+        verify(store, never()).scanEntries(any(), any());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithApproximateEmployeeCount_ShouldUseSqlSketches() {
+        // Given
+        OrgDeptReportingResponseDto report = new OrgDeptReportingResponseDto(1, "Org", null, null, List.of(), List.of());
+        when(sqlRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, null, null, EmployeeCountMode.APPROXIMATE))
+                .thenReturn(report);
+
+        // When
+        OrgDeptReportingResponseDto result = columnarReportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, null, null, null, null, EmployeeCountMode.APPROXIMATE);
+
+        // Then
+        assertSame(report, result);
+        verify(store, never()).scanEntries(any(), any());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_ShouldAggregateSkillsByNameAndPeriodNewestFirst() {
+        // Given
+        when(store.isLoaded()).thenReturn(true);
+        when(reportingNames.organizationName(1)).thenReturn("Org");
+        when(reportingNames.departmentName(10)).thenReturn("Dept");
+        // Skills 1 and 3 share a name and are reported as one skill
+        stubSkillNames(new Object[]{2, "Java"}, new Object[]{1, "Python"}, new Object[]{3, "Python"});
+        stubEntries(
+                new Object[]{10, 100, 1, JANUARY, 4.0},
+                new Object[]{10, 100, 1, APRIL, 2.0},
+                new Object[]{10, 100, 2, JANUARY, 3.0},
+                new Object[]{10, 100, 3, JANUARY, 5.0},
+                new Object[]{10, 101, 1, JANUARY, Double.NaN}
+        );
+        doAnswer(invocation -> {
+            ReviewVisitor visitor = invocation.getArgument(1);
+            visitor.visit((int) JANUARY.toEpochDay(), 3.0);
+            visitor.visit((int) JANUARY.plusDays(5).toEpochDay(), 4.0);
+            return null;
+        }).when(store).scanReviews(any(), any());
+
+        // When
+        OrgDeptReportingResponseDto result = columnarReportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.QUARTER, 1, 10, null, null, null, null);
+
+        // Then
+        assertEquals("Org", result.organizationName());
+        assertEquals("Dept", result.departmentName());
+        assertEquals(List.of("Java", "Python"), result.skills().stream().map(skill -> skill.skillName()).toList());
+        assertEquals(List.of(
+                new OrgDeptReportingPeriodDto(LocalDate.of(2026, 4, 1), 2.0, 2.0, 2.0, 1L, 1L, distributionOf(2.0)),
+                new OrgDeptReportingPeriodDto(LocalDate.of(2026, 1, 1), 4.5, 4.0, 5.0, 3L, 2L, distributionOf(4.0, 5.0))
+        ), result.skills().get(1).periods());
+        RatingDistributionDto january = result.skills().get(1).periods().getLast().distribution();
+        assertEquals(List.of(4.0, 4.0, 5.0, 5.0), List.of(january.p25(), january.p50(), january.p75(), january.p90()));
+        assertEquals(List.of(new OrgDeptOverallRatingPeriodDto(LocalDate.of(2026, 1, 1), 3.5)), result.overallRatings());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithUnknownOrganization_ShouldThrow() {
+        // Given
+        when(store.isLoaded()).thenReturn(true);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                columnarReportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 99, null, null, null, null, null));
+        assertEquals("Organization not found", exception.getMessage());
+    }
+
+    @Test
+    void getSkillTimelineByEmployee_WithoutEntries_ShouldReturnNull() {
+        // Given
+        when(store.isLoaded()).thenReturn(true);
+
+        // When
+        EmployeeSkillTimelineResponseDto result = columnarReportingRepository.getSkillTimelineByEmployee(
+                100, null, null, null, null, null);
+
+        // Then
+        assertNull(result);
+        verify(store).scanEntries(eq(EntryScope.ofEmployee(100, null, null, null)), any());
+    }
+
+    @Test
+    void getSkillTimelineByEmployee_WithMaxPointsBelowMinimum_ShouldThrow() {
+        // Given
+        when(store.isLoaded()).thenReturn(true);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+                columnarReportingRepository.getSkillTimelineByEmployee(100, null, null, null, 2, null));
+    }
+
+    private static RatingDistributionDto distributionOf(double... ratings) {
+        RatingHistogram histogram = new RatingHistogram();
+        for (double rating : ratings) {
+            histogram.add(rating);
+        }
+        return histogram.toDto();
+    }
+
+    // Entries as {departmentId, employeeId, skillId, date, rating}, handed over in the given order
+    private void stubEntries(Object[]... entries) {
+        doAnswer(invocation -> {
+            EntryVisitor visitor = invocation.getArgument(1);
+            for (Object[] entry : entries) {
+                visitor.visit((int) entry[0], (int) entry[1], (int) entry[2],
+                        (int) ((LocalDate) entry[3]).toEpochDay(), (double) entry[4]);
+            }
+            return null;
+        }).when(store).scanEntries(any(), any());
+    }
+
+    // Skills as {id, name}, in name order
+    private void stubSkillNames(Object[]... skills) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Object[] skill : skills) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getInt("id")).thenReturn((int) skill[0]);
+                when(rs.getString("name")).thenReturn((String) skill[1]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbc).query(contains("FROM skills"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,77 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CopyRowWriterTest {
+
+    @Mock
+    private CopyIn copyIn;
+
+    @Test
+    void finish_ShouldSendEscapedRowsInCopyTextFormat() throws Exception {
+        // Given
+        when(copyIn.endCopy()).thenReturn(2L);
+        CopyRowWriter writer = new CopyRowWriter(copyIn);
+
+        // When
+        writer.column(1).column("Tab\there").column(null).column(LocalDate.of(2024, 1, 31));
+        writer.endRow();
+        writer.column(2).column("Line\nbreak\r").column("C:\\path").column("Ελληνικά");
+        writer.endRow();
+        long copied = writer.finish();
+
+        // Then
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Integer> length = ArgumentCaptor.forClass(Integer.class);
+        verify(copyIn).writeToCopy(bytes.capture(), eq(0), length.capture());
+
+        assertEquals("1\tTab\\there\t\\N\t2024-01-31\n2\tLine\\nbreak\\r\tC:\\\\path\tΕλληνικά\n",
+                new String(bytes.getValue(), 0, length.getValue(), StandardCharsets.UTF_8));
+        assertEquals(2L, copied);
+    }
+
+    @Test
+    void endRow_WhenChunkFillsUp_ShouldSendItBeforeFinish() throws Exception {
+        // Given
+        CopyRowWriter writer = new CopyRowWriter(copyIn);
+        String value = "x".repeat(1000);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            writer.column(i).column(value);
+            writer.endRow();
+        }
+
+        // Then
+        verify(copyIn, atLeastOnce()).writeToCopy(any(byte[].class), eq(0), anyInt());
+        verify(copyIn, never()).endCopy();
+    }
+
+    @Test
+    void abort_WhenCopyActive_ShouldCancelIt() throws Exception {
+        // Given
+        when(copyIn.isActive()).thenReturn(true);
+        CopyRowWriter writer = new CopyRowWriter(copyIn);
+
+        // When
+        writer.abort();
+
+        // Then
+        verify(copyIn).cancelCopy();
+    }
+}
@@ -0,0 +1,125 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.mapper.EmployeeMapper;
+import gr.uom.employeepulseservice.model.Employee;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Lists the employees of organizations of growing size through the entity graph and mapper the listings used before
+// and through the projection query that replaced them, comparing their results, latency and allocated heap
+@Slf4j
+class EmployeeListingBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int[] ORGANIZATION_SIZES = {100, 1_000, 10_000};
+    private static final int SKILL_ENTRIES_PER_EMPLOYEE = 10;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private EmployeeListingRepository employeeListingRepository;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void findByOrganizationId_ShouldMatchEntityListingWithLessHeap() {
+        long largestEntityBytes = 0;
+        long largestProjectionBytes = 0;
+
+        for (int org = 1; org <= ORGANIZATION_SIZES.length; org++) {
+            int employees = ORGANIZATION_SIZES[org - 1];
+            seedSkillEntries(org, employees);
+            int organizationId = org;
+
+            List<EmployeeDto> entityListing = withSortedSkillEntryIds(listEntities(organizationId));
+            List<EmployeeDto> projectionListing = employeeListingRepository.findPageByOrganizationId(organizationId, null, null, employees);
+            assertEquals(employees, projectionListing.size());
+            assertEquals(entityListing, projectionListing);
+
+            Measurement entities = measure(() -> listEntities(organizationId));
+            Measurement projection = measure(() -> employeeListingRepository.findPageByOrganizationId(organizationId, null, null, employees));
+            log.info("Listed {} employees with {} skill entries each: entities {} ms / {} KB, projection {} ms / {} KB",
+                    employees, SKILL_ENTRIES_PER_EMPLOYEE, entities.millis(), entities.bytes() / 1024,
+                    projection.millis(), projection.bytes() / 1024);
+
+            largestEntityBytes = entities.bytes();
+            largestProjectionBytes = projection.bytes();
+        }
+
+        assertTrue(largestProjectionBytes < largestEntityBytes,
+                "The projection should allocate less than loading the entities");
+    }
+
+    // What the employee listings did before: the details graph, the batched skill entries and the mapper
+    private List<EmployeeDto> listEntities(int organizationId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Employee> employees = entityManager.createQuery(
+                            "select e from Employee e where e.organization.id = :organizationId " +
+                                    "order by e.hireDate desc, e.id desc", Employee.class)
+                    .setParameter("organizationId", organizationId)
+                    .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(Employee.DETAILS_GRAPH))
+                    .getResultList();
+            return employeeMapper.toDtos(employees);
+        });
+    }
+
+    // Fastest of the runs, allocations of the thread during it
+    private static Measurement measure(Supplier<List<EmployeeDto>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Measurement best = null;
+        for (int run = 0; run < RUNS; run++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long started = System.nanoTime();
+            listing.get();
+            Measurement measurement = new Measurement((System.nanoTime() - started) / 1_000_000,
+                    threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            if (best == null || measurement.millis() < best.millis()) {
+                best = measurement;
+            }
+        }
+        return best;
+    }
+
+    // The entity listing has no order over an employee's skill entries, the projection lists them by id
+    private static List<EmployeeDto> withSortedSkillEntryIds(List<EmployeeDto> employees) {
+        return employees.stream()
+                .map(e -> new EmployeeDto(e.id(), e.firstName(), e.lastName(), e.email(), e.hireDate(),
+                        e.departmentId(), e.departmentName(), e.organizationId(), e.occupationId(),
+                        e.occupationTitle(), e.skillEntryIds().stream().sorted().toList()))
+                .toList();
+    }
+
+    // The organization's employees, each with an entry of every one of as many skills as they have entries
+    private void seedSkillEntries(int org, int employees) {
+        seedOrganization(org, employees, SKILL_ENTRIES_PER_EMPLOYEE);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, organization_id, department_id, entry_date, " +
+                        "entry_date_time, rating) " +
+                        "SELECT ? * ? + (e - 1) * ? + s, ? + e, ? + s, ?, ?, DATE '2024-06-01', " +
+                        "TIMESTAMP '2024-06-01 00:00', 1 + s % 5 " +
+                        "FROM generate_series(1, ?) e, generate_series(1, ?) s",
+                org, 10_000_000, SKILL_ENTRIES_PER_EMPLOYEE, employeeId(org, 0), skillId(org, 0), org, org,
+                employees, SKILL_ENTRIES_PER_EMPLOYEE);
+        jdbc.execute("ANALYZE employees, skill_entries");
+    }
+
+    private record Measurement(long millis, long bytes) {
+    }
+}
@@ -0,0 +1,70 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// PARALLEL reports on a pool smaller than the number of concurrent reports: waiting for its parts, a report must not
+// hold a connection of its own, or the reports take the whole pool and none of their parts can run
+@TestPropertySource(properties = {
+        "reporting.execution.mode=parallel",
+        "cache-invalidation.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=3000"
+})
+class ParallelReportExecutionTest extends PostgresIntegrationTest {
+
+    private static final int REPORTS = 8;
+    private static final int ORGANIZATION = 1;
+
+    @Autowired
+    private ReportingRepositoryImpl reportingRepository;
+
+    @BeforeEach
+    void seed() {
+        seedOrganization(ORGANIZATION, 1, 1);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, organization_id, department_id, entry_date, " +
+                        "entry_date_time, rating) VALUES (1, ?, ?, ?, ?, DATE '2024-03-10', TIMESTAMP '2024-03-10 00:00', 4.0)",
+                employeeId(ORGANIZATION, 1), skillId(ORGANIZATION, 1), ORGANIZATION, ORGANIZATION);
+    }
+
+    @Test
+    void concurrentReports_WhenMoreThanThePool_ShouldAllComplete() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrgDeptReportingResponseDto>> reports = new ArrayList<>();
+
+        // When
+        try (ExecutorService clients = Executors.newFixedThreadPool(REPORTS)) {
+            for (int i = 0; i < REPORTS; i++) {
+                reports.add(clients.submit(() -> {
+                    start.await();
+                    return reportingRepository.getReportByOrganizationAndDepartment(
+                            PeriodType.MONTH, ORGANIZATION, ORGANIZATION, null, null, null, EmployeeCountMode.EXACT);
+                }));
+            }
+            start.countDown();
+
+            // Then
+            for (Future<OrgDeptReportingResponseDto> report : reports) {
+                OrgDeptReportingResponseDto response = report.get();
+                assertEquals(departmentName(ORGANIZATION), response.departmentName());
+                assertEquals(1, response.skills().size());
+            }
+        }
+    }
+}
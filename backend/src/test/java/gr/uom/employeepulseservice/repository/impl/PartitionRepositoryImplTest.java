@@ -0,0 +1,122 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.repository.PartitionRepository;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Partition maintenance run by several replicas at once, as on a rolling start
+class PartitionRepositoryImplTest extends PostgresIntegrationTest {
+
+    private static final int REPLICAS = 6;
+    // Quarters no changeset or scheduled run has created
+    private static final LocalDate FROM = LocalDate.of(2090, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2091, 12, 31);
+
+    private static final int ORGANIZATION = 1;
+    private static final int EMPLOYEE = employeeId(ORGANIZATION, 1);
+    private static final int SKILL = skillId(ORGANIZATION, 1);
+
+    @Autowired
+    private PartitionRepository partitionRepository;
+
+    @AfterEach
+    void dropCreatedPartitions() {
+        jdbc.queryForList("SELECT relname FROM pg_class WHERE relname LIKE 'skill\\_entries\\_209_q_'", String.class)
+                .forEach(partition -> jdbc.execute("DROP TABLE " + partition));
+    }
+
+    @Test
+    void ensureQuarterlyPartitions_WhenRunConcurrently_ShouldCreateEveryQuarterOnce() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> runs = new ArrayList<>();
+
+        // When
+        try (ExecutorService replicas = Executors.newFixedThreadPool(REPLICAS)) {
+            for (int i = 0; i < REPLICAS; i++) {
+                runs.add(replicas.submit(() -> {
+                    start.await();
+                    return partitionRepository.ensureQuarterlyPartitions("skill_entries", FROM, TO);
+                }));
+            }
+            start.countDown();
+
+            // Then
+            int created = 0;
+            for (Future<Integer> run : runs) {
+                created += run.get();
+            }
+            assertEquals(8, created);
+        }
+        assertEquals(8, jdbc.queryForObject("SELECT count(*) FROM pg_inherits " +
+                "WHERE inhparent = 'skill_entries'::regclass " +
+                "AND inhrelid::regclass::text LIKE 'skill\\_entries\\_209_q_'", Integer.class));
+    }
+
+    @Test
+    void skillEntryIds_ShouldStayUniqueAcrossPartitions() {
+        // Given
+        seedOrganization(ORGANIZATION, 1, 1);
+        insertSkillEntry(1, null, "2024-01-10");
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> insertSkillEntry(1, null, "2024-06-10"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbc.update("INSERT INTO performance_reviews " +
+                "(id, employee_id, review_date, review_date_time) VALUES (1, ?, DATE '2024-06-10', now()), " +
+                "(1, ?, DATE '2024-01-10', now())", EMPLOYEE, EMPLOYEE));
+    }
+
+    @Test
+    void skillEntryReview_ShouldBeCheckedLikeAForeignKey() {
+        // Given
+        seedOrganization(ORGANIZATION, 1, 1);
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, review_date, review_date_time) " +
+                "VALUES (1, ?, DATE '2024-01-10', TIMESTAMP '2024-01-10 09:00')", EMPLOYEE);
+        insertSkillEntry(1, 1, "2024-01-10");
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> insertSkillEntry(2, 2, "2024-01-10"));
+        assertThrows(DataIntegrityViolationException.class, () -> jdbc.update("DELETE FROM performance_reviews WHERE id = 1"));
+        // A review moving to another quarter keeps its id, and its entries
+        jdbc.update("UPDATE performance_reviews SET review_date = DATE '2024-08-01' WHERE id = 1");
+        jdbc.update("DELETE FROM skill_entries WHERE id = 1");
+        jdbc.update("DELETE FROM performance_reviews WHERE id = 1");
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM performance_review_ids", Integer.class));
+    }
+
+    @Test
+    void ensureQuarterlyPartitions_WithRowsInDefault_ShouldKeepTheirIds() {
+        // Given an entry of a quarter without a partition, held by the default one
+        seedOrganization(ORGANIZATION, 1, 1);
+        insertSkillEntry(1, null, FROM.plusDays(40).toString());
+
+        // When
+        partitionRepository.ensureQuarterlyPartitions("skill_entries", FROM, FROM);
+
+        // Then
+        assertEquals("skill_entries_2090q1", jdbc.queryForObject(
+                "SELECT tableoid::regclass::text FROM skill_entries WHERE id = 1", String.class));
+        assertThrows(DataIntegrityViolationException.class, () -> insertSkillEntry(1, null, "2024-01-10"));
+        jdbc.update("DELETE FROM skill_entries WHERE id = 1");
+        insertSkillEntry(1, null, "2024-01-10");
+    }
+
+    private void insertSkillEntry(int id, Integer reviewId, String entryDate) {
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, performance_review_id, entry_date, " +
+                "entry_date_time, rating) VALUES (?, ?, ?, ?, CAST(? AS date), CAST(? AS date)::timestamp, 4.0)",
+                id, EMPLOYEE, SKILL, reviewId, entryDate, entryDate);
+    }
+}
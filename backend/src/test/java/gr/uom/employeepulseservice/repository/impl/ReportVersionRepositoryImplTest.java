@@ -0,0 +1,112 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportVersionRepositoryImplTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 6;
+
+    @Autowired
+    private ReportVersionRepository reportVersionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void find_ShouldMoveOnlyWithTheBumpedScopes() {
+        // Given
+        ScopeKey department = new ScopeKey(Scope.DEPARTMENT, 9_001);
+        ScopeKey otherDepartment = new ScopeKey(Scope.DEPARTMENT, 9_002);
+        ScopeVersion before = reportVersionRepository.find(List.of(department, ScopeKey.ALL));
+        ScopeVersion otherBefore = reportVersionRepository.find(List.of(otherDepartment, ScopeKey.ALL));
+
+        // When
+        reportVersionRepository.bump(List.of(department));
+
+        // Then
+        ScopeVersion after = reportVersionRepository.find(List.of(department, ScopeKey.ALL));
+        assertEquals(before.version() + 1, after.version());
+        assertFalse(after.modifiedAt().isBefore(before.modifiedAt()));
+        assertEquals(otherBefore, reportVersionRepository.find(List.of(otherDepartment, ScopeKey.ALL)));
+    }
+
+    @Test
+    void bump_ShouldReturnTheVersionsOfTheBumpedScopes() {
+        // Given
+        ScopeKey employee = new ScopeKey(Scope.EMPLOYEE, 9_005);
+        ScopeKey otherEmployee = new ScopeKey(Scope.EMPLOYEE, 9_006);
+        reportVersionRepository.bump(List.of(employee));
+
+        // When
+        Map<ScopeKey, Long> bumped = reportVersionRepository.bump(List.of(employee));
+
+        // Then
+        assertEquals(Map.of(employee, 2L), bumped);
+        assertEquals(Map.of(employee, 2L, otherEmployee, 0L),
+                reportVersionRepository.find(List.of(employee, otherEmployee)).versions());
+        assertEquals(2L, reportVersionRepository.findAll().get(employee));
+        assertFalse(reportVersionRepository.findAll().containsKey(otherEmployee));
+    }
+
+    @Test
+    void bump_WhenRolledBack_ShouldNotMoveTheVersion() {
+        // Given
+        ScopeKey employee = new ScopeKey(Scope.EMPLOYEE, 9_003);
+        ScopeVersion before = reportVersionRepository.find(List.of(employee, ScopeKey.ALL));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            reportVersionRepository.bump(List.of(employee));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(before, reportVersionRepository.find(List.of(employee, ScopeKey.ALL)));
+    }
+
+    @Test
+    void bump_WhenRunConcurrentlyInAnyOrder_ShouldCountEveryWrite() throws Exception {
+        // Given
+        ScopeKey organization = new ScopeKey(Scope.ORGANIZATION, 9_004);
+        ScopeKey employee = new ScopeKey(Scope.EMPLOYEE, 9_004);
+        ScopeVersion before = reportVersionRepository.find(List.of(organization, employee));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writes = new ArrayList<>();
+
+        // When writers list the same scopes in opposite orders
+        try (ExecutorService writers = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                List<ScopeKey> scopes = i % 2 == 0 ? List.of(organization, employee) : List.of(employee, organization);
+                writes.add(writers.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> reportVersionRepository.bump(scopes));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        }
+
+        // Then
+        assertEquals(before.version() + 2L * WRITERS, reportVersionRepository.find(List.of(organization, employee)).version());
+    }
+}
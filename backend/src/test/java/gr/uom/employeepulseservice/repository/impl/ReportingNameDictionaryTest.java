@@ -0,0 +1,81 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportingNameDictionaryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @InjectMocks
+    private ReportingNameDictionary reportingNames;
+
+    @Test
+    void organizationName_WhenRequestedTwice_ShouldQueryOnce() {
+        // Given
+        when(jdbc.queryForList(contains("FROM organizations"), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("Org"));
+
+        // When
+        String first = reportingNames.organizationName(1);
+        String second = reportingNames.organizationName(1);
+
+        // Then
+        assertEquals("Org", first);
+        assertEquals("Org", second);
+        verify(jdbc, times(1)).queryForList(anyString(), any(SqlParameterSource.class), eq(String.class));
+    }
+
+    @Test
+    void departmentName_WhenUnknown_ShouldReturnNullAndLookUpAgainLater() {
+        // Given
+        when(jdbc.queryForList(contains("FROM departments"), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of("Dept"));
+
+        // When
+        String missing = reportingNames.departmentName(10);
+        String created = reportingNames.departmentName(10);
+
+        // Then
+        assertNull(missing);
+        assertEquals("Dept", created);
+        assertNull(reportingNames.departmentName(null));
+    }
+
+    @Test
+    void onOrganizationStructureChanged_ShouldDropRenamedDepartmentOnly() {
+        // Given
+        when(jdbc.queryForList(contains("FROM organizations"), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("Org"));
+        when(jdbc.queryForList(contains("FROM departments"), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("Dept"))
+                .thenReturn(List.of("Renamed"));
+        reportingNames.organizationName(1);
+        reportingNames.departmentName(10);
+
+        // When
+        reportingNames.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(1, 10));
+
+        // Then
+        assertEquals("Renamed", reportingNames.departmentName(10));
+        assertEquals("Org", reportingNames.organizationName(1));
+        verify(jdbc, times(1)).queryForList(contains("FROM organizations"), any(SqlParameterSource.class), eq(String.class));
+    }
+}
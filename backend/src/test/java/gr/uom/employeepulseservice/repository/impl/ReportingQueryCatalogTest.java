@@ -0,0 +1,91 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.query.ReportQueryStatsDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.query.SampledConnectionStatsDto;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.CompiledQuery;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.QueryFilter;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.QueryKey;
+import gr.uom.employeepulseservice.repository.impl.ReportingQueryCatalog.ReportQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportingQueryCatalogTest {
+
+    private static final QueryKey MONTHLY_BY_DEPARTMENT = QueryKey.of(
+            ReportQuery.ORG_REPORT, PeriodType.MONTH, EnumSet.of(QueryFilter.DEPARTMENT));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReportingQueryCatalog queryCatalog;
+
+    @Test
+    void get_WhenRequestedTwice_ShouldCompileOnce() {
+        // Given
+        AtomicInteger compilations = new AtomicInteger();
+
+        // When
+        CompiledQuery first = queryCatalog.get(MONTHLY_BY_DEPARTMENT, () -> compile("SELECT 1", compilations));
+        CompiledQuery second = queryCatalog.get(
+                QueryKey.of(ReportQuery.ORG_REPORT, PeriodType.MONTH, EnumSet.of(QueryFilter.DEPARTMENT)),
+                () -> compile("SELECT 2", compilations));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, compilations.get());
+        assertEquals(1, queryCatalog.size());
+    }
+
+    @Test
+    void get_WithDifferentFilterMask_ShouldCompileSeparateStatement() {
+        // When
+        CompiledQuery byDepartment = queryCatalog.get(MONTHLY_BY_DEPARTMENT, () -> CompiledQuery.of("SELECT 1"));
+        CompiledQuery bySkill = queryCatalog.get(
+                QueryKey.of(ReportQuery.ORG_REPORT, PeriodType.MONTH, EnumSet.of(QueryFilter.DEPARTMENT, QueryFilter.SKILL)),
+                () -> CompiledQuery.of("SELECT 2"));
+
+        // Then
+        assertEquals("SELECT 1", byDepartment.sql());
+        assertEquals("SELECT 2", bySkill.sql());
+        assertEquals(2, queryCatalog.size());
+    }
+
+    @Test
+    void stats_ShouldCountHitsAndMissesButNotPrecompiledStatements() {
+        // Given
+        queryCatalog.precompile(MONTHLY_BY_DEPARTMENT, () -> CompiledQuery.of("SELECT 1"));
+        queryCatalog.get(MONTHLY_BY_DEPARTMENT, () -> CompiledQuery.of("SELECT 1"));
+        queryCatalog.get(MONTHLY_BY_DEPARTMENT, () -> CompiledQuery.of("SELECT 1"));
+        queryCatalog.get(QueryKey.of(ReportQuery.EMPLOYEE_TIMELINE, null, EnumSet.noneOf(QueryFilter.class)),
+                () -> CompiledQuery.of("SELECT 2"));
+        when(jdbcTemplate.queryForObject(contains("FROM pg_prepared_statements"), any(RowMapper.class)))
+                .thenReturn(new long[]{12, 40, 7});
+
+        // When
+        ReportQueryStatsDto stats = queryCatalog.stats();
+
+        // Then
+        assertEquals(new ReportQueryStatsDto(2, 2, 1, 2.0 / 3, new SampledConnectionStatsDto(12, 40, 7)), stats);
+    }
+
+    private static CompiledQuery compile(String sql, AtomicInteger compilations) {
+        compilations.incrementAndGet();
+        return CompiledQuery.of(sql);
+    }
+}
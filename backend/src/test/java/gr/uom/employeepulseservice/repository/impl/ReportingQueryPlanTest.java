@@ -0,0 +1,387 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelinePointDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineResponseDto;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.PartitionRepository;
+import gr.uom.employeepulseservice.repository.ReportingRepository;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the real reporting SQL against Postgres with a million seeded skill entries and checks the plans use the
+// reporting indexes instead of scanning skill_entries / performance_reviews, and only the partitions of their dates.
+// The dataset is seeded once for the class.
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReportingQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATIONS = 10;
+    private static final int DEPARTMENTS_PER_ORGANIZATION = 10;
+    private static final int SKILLS = 500;
+    private static final int EMPLOYEES = 5_000;
+    private static final int SKILL_ENTRIES = 1_000_000;
+    private static final int PERFORMANCE_REVIEWS = 50_000;
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private ReportingRepository reportingRepository;
+
+    @Autowired
+    private ReportingRepositoryImpl reportingRepositoryImpl;
+
+    @Autowired
+    private ReportingProperties reportingProperties;
+
+    @Autowired
+    private RecordingJdbcTemplate recordingJdbcTemplate;
+
+    @Autowired
+    private PartitionRepository partitionRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        RecordingJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+            return new RecordingJdbcTemplate(dataSource);
+        }
+    }
+
+    // Remembers every reporting statement so it can be re-run under EXPLAIN with the same parameters
+    static class RecordingJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        record Statement(String sql, SqlParameterSource params) {
+        }
+
+        private final List<Statement> statements = new ArrayList<>();
+
+        RecordingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> T query(String sql, SqlParameterSource paramSource, ResultSetExtractor<T> rse) {
+            statements.add(new Statement(sql, paramSource));
+            return super.query(sql, paramSource, rse);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+            statements.add(new Statement(sql, paramSource));
+            return super.query(sql, paramSource, rowMapper);
+        }
+
+        @Override
+        public void query(String sql, SqlParameterSource paramSource, RowCallbackHandler rch) {
+            statements.add(new Statement(sql, paramSource));
+            super.query(sql, paramSource, rch);
+        }
+
+        Statement last() {
+            return statements.getLast();
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        // The seeded dates span 2021-2025, before the partitions created by the migration
+        for (String table : List.of("skill_entries", "performance_reviews")) {
+            partitionRepository.ensureQuarterlyPartitions(table, LocalDate.of(2021, 1, 1), LocalDate.of(2025, 12, 31));
+        }
+
+        jdbc.update("INSERT INTO organizations (id, name, location) SELECT g, 'Organization ' || g, 'Thessaloniki' " +
+                "FROM generate_series(1, ?) g", ORGANIZATIONS);
+        jdbc.update("INSERT INTO departments (id, organization_id, name) " +
+                "SELECT g, (g - 1) / ? + 1, 'Department ' || g FROM generate_series(1, ?) g",
+                DEPARTMENTS_PER_ORGANIZATION, ORGANIZATIONS * DEPARTMENTS_PER_ORGANIZATION);
+        jdbc.update("INSERT INTO skills (id, name) SELECT g, 'Skill ' || g FROM generate_series(1, ?) g", SKILLS);
+        jdbc.update("INSERT INTO employees (id, department_id, organization_id, first_name, last_name, email, hire_date) " +
+                "SELECT g, d, (d - 1) / ? + 1, 'First ' || g, 'Last ' || g, 'employee' || g || '@test.com', DATE '2020-01-01' " +
+                "FROM generate_series(1, ?) g, LATERAL (SELECT (g - 1) % ? + 1 AS d) dept",
+                DEPARTMENTS_PER_ORGANIZATION, EMPLOYEES, ORGANIZATIONS * DEPARTMENTS_PER_ORGANIZATION);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, entry_date, entry_date_time, rating) " +
+                "SELECT g, g % ? + 1, (g * 7) % ? + 1, DATE '2021-01-01' + g % 1826, " +
+                "(DATE '2021-01-01' + g % 1826)::timestamp, (g % 51) / 10.0 " +
+                "FROM generate_series(1, ?) g", EMPLOYEES, SKILLS, SKILL_ENTRIES);
+        jdbc.update("UPDATE skill_entries se SET organization_id = e.organization_id, department_id = e.department_id " +
+                "FROM employees e WHERE e.id = se.employee_id");
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, reporter_id, overall_rating, review_date, review_date_time) " +
+                "SELECT g, g % ? + 1, 1, (g % 51) / 10.0, DATE '2021-01-01' + g % 1826, " +
+                "(DATE '2021-01-01' + g % 1826)::timestamp " +
+                "FROM generate_series(1, ?) g", EMPLOYEES, PERFORMANCE_REVIEWS);
+        jdbc.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void truncateAfterAll() {
+        truncate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        recordingJdbcTemplate.clear();
+    }
+
+    @Test
+    void seededDataset_ShouldHoldAtLeastOneMillionSkillEntries() {
+        Long count = jdbc.queryForObject("SELECT count(*) FROM skill_entries", Long.class);
+        assertNotNull(count);
+        assertTrue(count >= 1_000_000);
+    }
+
+    @Test
+    void getReportByEmployee_ShouldUseEmployeeIndexes() throws Exception {
+        reportingRepository.getReportByEmployee(PeriodType.MONTH, 42, null, START_DATE, END_DATE);
+
+        PlanSummary plan = explainLast();
+        plan.assertNoSeqScanOn("skill_entries", "performance_reviews");
+        plan.assertUsesIndex("idx_skill_entries_employee_skill_date");
+        plan.assertUsesIndex("idx_performance_reviews_employee_date");
+    }
+
+    @Test
+    void getSkillTimelineByEmployee_ShouldUseEmployeeSkillIndex() throws Exception {
+        reportingRepository.getSkillTimelineByEmployee(42, 288, START_DATE, END_DATE, null, null);
+
+        PlanSummary plan = explainLast();
+        plan.assertNoSeqScanOn("skill_entries");
+        plan.assertUsesIndex("idx_skill_entries_employee_skill_date");
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithSkill_ShouldUseSkillDateIndex() throws Exception {
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 3, null, 17, START_DATE, END_DATE, null);
+
+        PlanSummary plan = explainLast();
+        plan.assertNoSeqScanOn("skill_entries");
+        plan.assertUsesIndex("idx_skill_entries_skill_date");
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithDateRange_ShouldScanOnlyPartitionsOfRange() throws Exception {
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 3, null, null, START_DATE, END_DATE, null);
+
+        PlanSummary plan = explainLast();
+        assertEquals(Set.of("skill_entries_2024q1", "skill_entries_2024q2",
+                "performance_reviews_2024q1", "performance_reviews_2024q2"), plan.partitions, plan.json);
+    }
+
+    // Benchmark of the pruning: the same report read with and without it, logged and compared by the buffers read
+    @Test
+    void getReportByOrganizationAndDepartment_WithPartitionPruning_ShouldReadFewerBuffersThanWithout() {
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 4, 35, null, START_DATE, END_DATE, null);
+        RecordingJdbcTemplate.Statement statement = recordingJdbcTemplate.last();
+        // Warms the cache, so both runs read the same pages from memory
+        explainAnalyze(statement, false);
+
+        JsonNode pruned = explainAnalyze(statement, true);
+        JsonNode unpruned = explainAnalyze(statement, false);
+
+        String measurement = ("pruned: %d buffers, %.1f ms planning, %.1f ms execution; " +
+                "unpruned: %d buffers, %.1f ms planning, %.1f ms execution").formatted(
+                buffers(pruned), pruned.path("Planning Time").asDouble(), pruned.path("Execution Time").asDouble(),
+                buffers(unpruned), unpruned.path("Planning Time").asDouble(), unpruned.path("Execution Time").asDouble());
+        log.info("Partition pruning of a half-year department report: {}", measurement);
+        assertTrue(buffers(pruned) < buffers(unpruned), measurement);
+    }
+
+    @Test
+    void getSkillTimelineByOrganizationAndDepartment_WithDepartment_ShouldUseOrganizationDepartmentIndex() throws Exception {
+        reportingRepository.getSkillTimelineByOrganizationAndDepartment(3, 25, null, START_DATE, END_DATE, null, null);
+
+        PlanSummary plan = explainLast();
+        plan.assertNoSeqScanOn("skill_entries", "employees");
+        plan.assertUsesIndex("idx_skill_entries_organization_department_date");
+    }
+
+    @Test
+    void streamSkillTimelineByOrganizationAndDepartment_ShouldHandOverEveryRowWithoutCollecting() {
+        Long expected = jdbc.queryForObject(
+                "SELECT count(DISTINCT (department_id, skill_id, entry_date)) FROM skill_entries WHERE organization_id = 3",
+                Long.class);
+
+        long[] streamed = {0};
+        reportingRepository.streamSkillTimelineByOrganizationAndDepartment(3, null, null, null, null,
+                row -> streamed[0]++);
+
+        assertEquals(expected, streamed[0]);
+    }
+
+    @Test
+    void getSkillTimelineByOrganizationAndDepartment_WithMaxPoints_ShouldBoundEverySeriesAndKeepExtremes() {
+        OrgDeptSkillTimelineResponseDto full = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
+                3, null, null, START_DATE, END_DATE, null, null);
+        OrgDeptSkillTimelineResponseDto downsampled = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
+                3, null, null, START_DATE, END_DATE, 10, DownsamplingMethod.MIN_MAX);
+
+        assertEquals(full.skills().size(), downsampled.skills().size());
+        for (int i = 0; i < full.skills().size(); i++) {
+            List<OrgDeptSkillTimelinePointDto> all = full.skills().get(i).timeline();
+            List<OrgDeptSkillTimelinePointDto> kept = downsampled.skills().get(i).timeline();
+
+            assertTrue(kept.size() <= 10);
+            assertEquals(all.getFirst().date(), kept.getFirst().date());
+            assertEquals(all.getLast().date(), kept.getLast().date());
+            assertEquals(all.stream().mapToDouble(OrgDeptSkillTimelinePointDto::minRating).min().orElseThrow(),
+                    kept.stream().mapToDouble(OrgDeptSkillTimelinePointDto::minRating).min().orElseThrow());
+            assertEquals(all.stream().mapToDouble(OrgDeptSkillTimelinePointDto::maxRating).max().orElseThrow(),
+                    kept.stream().mapToDouble(OrgDeptSkillTimelinePointDto::maxRating).max().orElseThrow());
+        }
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_InEveryExecutionMode_ShouldReturnSameReport() {
+        ReportingProperties.Execution execution = reportingProperties.getExecution();
+        try {
+            execution.setMode(ReportingProperties.Execution.Mode.COMBINED);
+            OrgDeptReportingResponseDto combined = reportingRepositoryImpl.getReportByOrganizationAndDepartment(
+                    PeriodType.MONTH, 3, 25, null, START_DATE, END_DATE, null);
+
+            for (ReportingProperties.Execution.Mode mode : List.of(ReportingProperties.Execution.Mode.SEQUENTIAL,
+                    ReportingProperties.Execution.Mode.PARALLEL)) {
+                execution.setMode(mode);
+                OrgDeptReportingResponseDto report = reportingRepositoryImpl.getReportByOrganizationAndDepartment(
+                        PeriodType.MONTH, 3, 25, null, START_DATE, END_DATE, null);
+
+                // Averages may differ in the last bits, the order of summation depends on the plan
+                assertEquals(combined.departmentName(), report.departmentName(), mode.name());
+                assertEquals(combined.skills().size(), report.skills().size(), mode.name());
+                for (int i = 0; i < combined.skills().size(); i++) {
+                    assertEquals(combined.skills().get(i).skillName(), report.skills().get(i).skillName(), mode.name());
+                    assertEquals(combined.skills().get(i).periods().size(), report.skills().get(i).periods().size(), mode.name());
+                }
+                assertEquals(combined.overallRatings().size(), report.overallRatings().size(), mode.name());
+                for (int i = 0; i < combined.overallRatings().size(); i++) {
+                    assertEquals(combined.overallRatings().get(i).avgOverallRating(),
+                            report.overallRatings().get(i).avgOverallRating(), 1e-9, mode.name());
+                }
+            }
+        } finally {
+            execution.setMode(ReportingProperties.Execution.Mode.COMBINED);
+        }
+    }
+
+    // Re-runs the last recorded reporting statement under EXPLAIN and collects its scan nodes
+    private PlanSummary explainLast() throws Exception {
+        RecordingJdbcTemplate.Statement statement = recordingJdbcTemplate.last();
+        String json = recordingJdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) " + statement.sql(), statement.params(), String.class);
+
+        PlanSummary summary = new PlanSummary(json);
+        collect(objectMapper.readTree(json).get(0).get("Plan"), partitionRoots(), summary);
+        return summary;
+    }
+
+    // Runs the statement under EXPLAIN ANALYZE on one connection, with partition pruning switched on or off
+    private JsonNode explainAnalyze(RecordingJdbcTemplate.Statement statement, boolean pruning) {
+        String json = jdbc.execute((ConnectionCallback<String>) connection -> {
+            NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true));
+            jdbc.getJdbcTemplate().execute("SET enable_partition_pruning = " + pruning);
+            try {
+                return jdbc.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql(),
+                        statement.params(), String.class);
+            } finally {
+                jdbc.getJdbcTemplate().execute("RESET enable_partition_pruning");
+            }
+        });
+        try {
+            return objectMapper.readTree(json).get(0);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long buffers(JsonNode explained) {
+        JsonNode plan = explained.get("Plan");
+        return plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+    }
+
+    // Partitioned table or index of every partition and partition index
+    private Map<String, String> partitionRoots() {
+        Map<String, String> roots = new HashMap<>();
+        jdbc.query("SELECT c.relname, r.relname AS root FROM pg_class c " +
+                        "JOIN pg_class r ON r.oid = pg_partition_root(c.oid) WHERE c.relispartition",
+                (RowCallbackHandler) rs -> roots.put(rs.getString("relname"), rs.getString("root")));
+        return roots;
+    }
+
+    private void collect(JsonNode node, Map<String, String> partitionRoots, PlanSummary summary) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        if (partitionRoots.containsKey(relation)) {
+            summary.partitions.add(relation);
+        }
+        if (nodeType.equals("Seq Scan")) {
+            summary.seqScans.add(partitionRoots.getOrDefault(relation, relation));
+        }
+        if (node.has("Index Name")) {
+            String index = node.path("Index Name").asText();
+            summary.indexes.add(partitionRoots.getOrDefault(index, index));
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, partitionRoots, summary);
+        }
+    }
+
+    // Scans of partitions are reported against their partitioned table and index
+    private static final class PlanSummary {
+
+        private final String json;
+        private final Set<String> seqScans = new HashSet<>();
+        private final Set<String> indexes = new HashSet<>();
+        private final Set<String> partitions = new HashSet<>();
+
+        private PlanSummary(String json) {
+            this.json = json;
+        }
+
+        void assertNoSeqScanOn(String... relations) {
+            for (String relation : relations) {
+                assertFalse(seqScans.contains(relation), "Sequential scan on " + relation + ":\n" + json);
+            }
+        }
+
+        void assertUsesIndex(String index) {
+            assertTrue(indexes.contains(index), "Index " + index + " not used:\n" + json);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package gr.uom.employeepulseservice.repository.impl;
 
+import gr.uom.employeepulseservice.config.CursorJdbcTemplate;
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.batch.BatchReportingResponseDto;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.*;
 import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.*;
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
 import gr.uom.employeepulseservice.model.PeriodType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,14 +14,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +50,18 @@ class ReportingRepositoryImplTest {
     @Mock
     private NamedParameterJdbcTemplate jdbcTemplate;
 
+    @Spy
+    private ReportingProperties reportingProperties = new ReportingProperties();
+
+    @Spy
+    private ReportingQueryCatalog queryCatalog = new ReportingQueryCatalog(null);
+
+    @Mock
+    private ReportingNameDictionary reportingNames;
+
+    @Mock
+    private CursorJdbcTemplate cursorJdbc;
+
     @InjectMocks
     private ReportingRepositoryImpl reportingRepository;
 
@@ -42,24 +75,24 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithAllParameters_ShouldReturnGroupedData() {
+    void getReportByOrganizationAndDepartment_WithAllParameters_ShouldReturnGroupedData() throws SQLException {
         // Given
         Integer orgId = 1;
         Integer deptId = 10;
         Integer skillId = 5;
         PeriodType periodType = PeriodType.MONTH;
 
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L),
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 2, 1), 4.0, 3.5, 4.5, 8L, 4L),
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Python", LocalDate.of(2026, 1, 1), 3.5, 2.0, 4.0, 6L, 3L)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        stubReportRows(List.of(
+                orgHeaderRow("Org1", "Dept1"),
+                orgSkillRow("Java", LocalDate.of(2026, 2, 1), 4.0, 3.5, 4.5, 8L, 4L),
+                orgSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L),
+                orgSkillRow("Python", LocalDate.of(2026, 1, 1), 3.5, 2.0, 4.0, 6L, 3L),
+                overallRatingRow(LocalDate.of(2026, 1, 1), 4.2)
+        ));
 
         // When
         OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
-                periodType, orgId, deptId, skillId, startDate, endDate);
+                periodType, orgId, deptId, skillId, startDate, endDate, null);
 
         // Then
         assertNotNull(result);
@@ -69,23 +102,26 @@ class ReportingRepositoryImplTest {
         assertEquals("Dept1", result.departmentName());
         assertEquals(2, result.skills().size());
 
-        // Verify Java skill has 2 periods
-        OrgDeptReportingSkillDto javaSkill = result.skills().stream()
-                .filter(s -> s.skillName().equals("Java"))
-                .findFirst()
-                .orElseThrow();
+        // Verify Java skill has 2 periods, in query order
+        OrgDeptReportingSkillDto javaSkill = result.skills().getFirst();
+        assertEquals("Java", javaSkill.skillName());
         assertEquals(2, javaSkill.periods().size());
+        assertEquals(LocalDate.of(2026, 2, 1), javaSkill.periods().getFirst().periodStart());
+        assertEquals(8L, javaSkill.periods().getFirst().sampleCount());
+        assertEquals(4L, javaSkill.periods().getFirst().employeeCount());
 
         // Verify Python skill has 1 period
-        OrgDeptReportingSkillDto pythonSkill = result.skills().stream()
-                .filter(s -> s.skillName().equals("Python"))
-                .findFirst()
-                .orElseThrow();
+        OrgDeptReportingSkillDto pythonSkill = result.skills().getLast();
+        assertEquals("Python", pythonSkill.skillName());
         assertEquals(1, pythonSkill.periods().size());
 
+        // Verify overall ratings
+        assertEquals(1, result.overallRatings().size());
+        assertEquals(4.2, result.overallRatings().getFirst().avgOverallRating());
+
         // Verify SQL parameters
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
+        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(ResultSetExtractor.class));
         MapSqlParameterSource params = paramsCaptor.getValue();
         assertEquals(orgId, params.getValue("orgId"));
         assertEquals(deptId, params.getValue("deptId"));
@@ -95,20 +131,43 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithoutOptionalParameters_ShouldBuildCorrectSql() {
+    void getReportByOrganizationAndDepartment_ShouldExecuteSingleStatement() throws SQLException {
+        // Given
+        stubReportRows(List.of(
+                orgHeaderRow("Org1", "Dept1"),
+                orgSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L),
+                overallRatingRow(LocalDate.of(2026, 1, 1), 4.2)
+        ));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, 5, startDate, endDate, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.contains("FROM organizations o"));
+        assertTrue(sql.contains("LEFT JOIN departments d ON d.id = :deptId"));
+        assertTrue(sql.contains("FROM v_org_department_skill_period"));
+        assertTrue(sql.contains("FROM performance_reviews pr"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithoutOptionalParameters_ShouldBuildCorrectSql() throws SQLException {
         // Given
         Integer orgId = 1;
         PeriodType periodType = PeriodType.QUARTER;
 
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", null, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        stubReportRows(List.of(
+                orgHeaderRow("Org1", null),
+                orgSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
+        ));
 
         // When
         OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
-                periodType, orgId, null, null, null, null);
+                periodType, orgId, null, null, null, null, null);
 
         // Then
         assertNotNull(result);
@@ -118,15 +177,15 @@ class ReportingRepositoryImplTest {
 
         // Verify SQL contains NULL AS department_name and no deptId/skillId filters
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
         String sql = sqlCaptor.getValue();
         assertTrue(sql.contains("NULL AS department_name"));
         assertFalse(sql.contains("department_id = :deptId"));
+        assertFalse(sql.contains("d.id = :deptId"));
         assertFalse(sql.contains("skill_id = :skillId"));
 
         // Verify parameters
-        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
         MapSqlParameterSource params = paramsCaptor.getValue();
         assertEquals(orgId, params.getValue("orgId"));
         assertFalse(params.hasValue("deptId"));
@@ -136,83 +195,505 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithNullPeriodType_ShouldDefaultToQuarter() {
+    void getReportByOrganizationAndDepartment_WithNullPeriodType_ShouldDefaultToQuarter() throws SQLException {
         // Given
-        Integer orgId = 1;
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
-        );
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
 
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        // When
+        OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
+                null, 1, null, null, null, null, null);
+
+        // Then
+        assertNotNull(result);
+
+        // Verify SQL uses QUARTER period expression for both skill entries and reviews
+        String sql = capturedReportSql();
+        assertTrue(sql.contains("date_trunc('quarter', entry_date)::date"));
+        assertTrue(sql.contains("date_trunc('quarter', review_date)::date"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithEmptyResults_ShouldReturnOrganizationWithoutData() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
 
         // When
         OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
-                null, orgId, null, null, null, null);
+                PeriodType.MONTH, 1, null, null, null, null, null);
 
         // Then
         assertNotNull(result);
+        assertEquals("Org1", result.organizationName());
+        assertTrue(result.skills().isEmpty());
+        assertTrue(result.overallRatings().isEmpty());
+    }
 
-        // Verify SQL uses QUARTER period expression
+    @Test
+    void getReportByOrganizationAndDepartment_WhenOrganizationNotFound_ShouldThrowRuntimeException() throws SQLException {
+        // Given
+        stubReportRows(List.of());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 999, null, null, null, null, null));
+
+        assertEquals("Organization not found", exception.getMessage());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithDifferentPeriodTypes_ShouldUseCorrectExpression() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.DAY, 1, null, null, null, null, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.WEEK, 1, null, null, null, null, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.YEAR, 1, null, null, null, null, null);
+
+        // Then
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        verify(jdbcTemplate, times(3)).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        List<String> sqls = sqlCaptor.getAllValues();
+        assertTrue(sqls.get(0).contains("date_trunc('day', entry_date)::date"));
+        assertTrue(sqls.get(1).contains("date_trunc('week', entry_date)::date"));
+        assertTrue(sqls.get(2).contains("date_trunc('year', entry_date)::date"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithOnlyStartDate_ShouldIncludeStartDateFilter() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, startDate, null, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
         String sql = sqlCaptor.getValue();
-        assertTrue(sql.contains("date_trunc('quarter', entry_date)::date"));
+        assertTrue(sql.contains("entry_date >= :startDate"));
+        assertFalse(sql.contains("entry_date <= :endDate"));
+        assertTrue(sql.contains("pr.review_date >= :startDate"));
+
+        MapSqlParameterSource params = paramsCaptor.getValue();
+        assertEquals(startDate, params.getValue("startDate"));
+        assertFalse(params.hasValue("endDate"));
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithEmptyResults_ShouldReturnNull() {
+    void getReportByOrganizationAndDepartment_WithOnlyEndDate_ShouldIncludeEndDateFilter() throws SQLException {
         // Given
-        Integer orgId = 1;
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(new ArrayList<>());
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, null, endDate, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
+        String sql = sqlCaptor.getValue();
+        assertFalse(sql.contains("entry_date >= :startDate"));
+        assertTrue(sql.contains("entry_date <= :endDate"));
+        assertTrue(sql.contains("pr.review_date <= :endDate"));
+
+        MapSqlParameterSource params = paramsCaptor.getValue();
+        assertFalse(params.hasValue("startDate"));
+        assertEquals(endDate, params.getValue("endDate"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithBinRows_ShouldAttachDistributionToSkillPeriod() throws SQLException {
+        // Given
+        LocalDate january = LocalDate.of(2026, 1, 1);
+        stubReportRows(List.of(
+                orgHeaderRow("Org1", "Dept1"),
+                orgSkillRow("Java", january, 3.8, 3.0, 4.5, 10L, 5L),
+                orgBinRow("Java", january, 30, 3L),
+                orgBinRow("Java", january, 40, 5L),
+                orgBinRow("Java", january, 45, 2L)
+        ));
 
         // When
         OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
-                PeriodType.MONTH, orgId, null, null, null, null);
+                PeriodType.MONTH, 1, 10, null, startDate, endDate, null);
 
         // Then
-        assertNull(result);
+        RatingDistributionDto distribution = result.skills().getFirst().periods().getFirst().distribution();
+        assertEquals(List.of(3.0, 4.0, 4.0, 4.5),
+                List.of(distribution.p25(), distribution.p50(), distribution.p75(), distribution.p90()));
+        assertEquals(10, distribution.histogram().size());
+        assertEquals(new RatingHistogramBucketDto(3.0, 3.5, 3L), distribution.histogram().get(6));
+        assertEquals(new RatingHistogramBucketDto(4.0, 4.5, 5L), distribution.histogram().get(8));
+        assertEquals(new RatingHistogramBucketDto(4.5, 5.0, 2L), distribution.histogram().get(9));
+        assertTrue(capturedReportSql().contains("FROM skill_distributions"));
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithDifferentPeriodTypes_ShouldUseCorrectExpression() {
+    void getReportByOrganizationAndDepartment_WithRollupSource_ShouldReadWholePeriodsFromRollups() throws SQLException {
         // Given
-        Integer orgId = 1;
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
+        reportingProperties.setSource(ReportingProperties.Source.ROLLUPS);
+        stubReportRows(List.of(orgHeaderRow("Org1", "Dept1")));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, 10, null, LocalDate.of(2026, 1, 15), LocalDate.of(2026, 3, 10), null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
+
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.contains("FROM skill_rating_rollups"));
+        assertTrue(sql.contains("FROM skill_rating_rollup_employees"));
+        assertTrue(sql.contains("FROM skill_rating_rollup_histograms"));
+        assertTrue(sql.contains("entry_date >= :startDate AND entry_date < :rollupStart"));
+        assertTrue(sql.contains("entry_date >= :rollupEnd AND entry_date <= :endDate"));
+
+        MapSqlParameterSource params = paramsCaptor.getValue();
+        assertEquals("MONTH", params.getValue("periodType"));
+        assertEquals(LocalDate.of(2026, 2, 1), params.getValue("rollupStart"));
+        assertEquals(LocalDate.of(2026, 3, 1), params.getValue("rollupEnd"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithRollupSourceAndAlignedRange_ShouldNotReadRawRows() throws SQLException {
+        // Given
+        reportingProperties.setSource(ReportingProperties.Source.ROLLUPS);
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.QUARTER, 1, null, null, startDate, endDate, null);
+
+        // Then
+        String sql = capturedReportSql();
+        assertTrue(sql.contains("FROM skill_rating_rollups"));
+        assertFalse(sql.contains("FROM v_org_department_skill_period"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithRollupSourceWithinSinglePeriod_ShouldFallBackToViews() throws SQLException {
+        // Given
+        reportingProperties.setSource(ReportingProperties.Source.ROLLUPS);
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.YEAR, 1, null, null, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 5, 31), null);
+
+        // Then
+        String sql = capturedReportSql();
+        assertFalse(sql.contains("skill_rating_rollups"));
+        assertTrue(sql.contains("FROM v_org_department_skill_period"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithApproximateEmployeeCount_ShouldMergeSketchesFromRollups() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, null, null, LocalDate.of(2026, 1, 15), LocalDate.of(2026, 3, 10),
+                EmployeeCountMode.APPROXIMATE);
+
+        // Then
+        String sql = capturedReportSql();
+        assertTrue(sql.contains("FROM skill_rating_rollups"));
+        assertTrue(sql.contains("FROM skill_rating_rollup_employee_sketches"));
+        assertFalse(sql.contains("FROM skill_rating_rollup_employees"));
+        // Partial edge periods are still counted exactly from the entries
+        assertTrue(sql.contains("entry_date >= :startDate AND entry_date < :rollupStart"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithExactEmployeeCount_ShouldNotReadSketches() throws SQLException {
+        // Given
+        reportingProperties.setSource(ReportingProperties.Source.ROLLUPS);
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.QUARTER, 1, null, null, startDate, endDate, EmployeeCountMode.EXACT);
+
+        // Then
+        String sql = capturedReportSql();
+        assertTrue(sql.contains("FROM skill_rating_rollup_employees"));
+        assertFalse(sql.contains("skill_rating_rollup_employee_sketches"));
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithSameFiltersAgain_ShouldReuseCompiledStatement() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", "Dept1")));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, startDate, endDate, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 2, 20, null, startDate.plusDays(3), endDate, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        assertSame(sqlCaptor.getAllValues().get(0), sqlCaptor.getAllValues().get(1));
+        assertEquals(1, queryCatalog.size());
+        verify(queryCatalog, times(2)).get(any(), any());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_WithDifferentFilters_ShouldCompileSeparateVariants() throws SQLException {
+        // Given
+        stubReportRows(List.of(orgHeaderRow("Org1", null)));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, startDate, endDate, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, 5, startDate, endDate, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.YEAR, 1, null, null, startDate, endDate, null);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, null, null, startDate, null, null);
+
+        // Then
+        assertEquals(4, queryCatalog.size());
+    }
+
+    @Test
+    void precompileQueries_ShouldServeReportsWithoutCompiling() throws SQLException {
+        // Given
+        reportingRepository.precompileQueries();
+        int compiled = queryCatalog.size();
+        stubReportRows(List.of(orgHeaderRow("Org1", "Dept1")));
+
+        // When
+        reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.WEEK, 1, 10, 5, LocalDate.of(2026, 1, 7), LocalDate.of(2026, 3, 31), EmployeeCountMode.APPROXIMATE);
+        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.DAY, 1, null, null, startDate, null, null);
+
+        // Then
+        assertTrue(compiled > 0);
+        assertEquals(compiled, queryCatalog.size());
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_InSequentialMode_ShouldRunOneStatementPerPart() throws SQLException {
+        // Given
+        reportingProperties.getExecution().setMode(ReportingProperties.Execution.Mode.SEQUENTIAL);
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResultSetExtractor<?> extractor = invocation.getArgument(2);
+                    return extractor.extractData(resultSetOf(orgPartRows(invocation.getArgument(0))));
+                });
+
+        // When
+        OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, 10, null, startDate, endDate, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(4)).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        assertTrue(sqlCaptor.getAllValues().get(0).contains("FROM header"));
+        assertTrue(sqlCaptor.getAllValues().get(1).contains("FROM skill_stats"));
+        assertTrue(sqlCaptor.getAllValues().get(2).contains("FROM skill_distributions"));
+        assertTrue(sqlCaptor.getAllValues().get(3).contains("FROM overall_ratings"));
+        assertExpectedOrgReport(result);
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_InParallelMode_ShouldMergePartsInOrder() throws SQLException {
+        // Given
+        reportingProperties.getExecution().setMode(ReportingProperties.Execution.Mode.PARALLEL);
+        List<PreparedStatement> statements = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.execute(anyString(), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenAnswer(invocation -> {
+                    PreparedStatement ps = mock(PreparedStatement.class);
+                    ResultSet rs = resultSetOf(orgPartRows(invocation.getArgument(0)));
+                    when(ps.executeQuery()).thenReturn(rs);
+                    statements.add(ps);
+                    PreparedStatementCallback<?> callback = invocation.getArgument(2);
+                    return callback.doInPreparedStatement(ps);
+                });
+
+        // When
+        OrgDeptReportingResponseDto result = reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, 1, 10, null, startDate, endDate, null);
+
+        // Then
+        verify(jdbcTemplate, times(4)).execute(anyString(), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+        for (PreparedStatement ps : statements) {
+            verify(ps).setQueryTimeout(intThat(seconds -> seconds > 0 && seconds <= 30));
+        }
+        assertExpectedOrgReport(result);
+    }
+
+    @Test
+    void getReportByOrganizationAndDepartment_InParallelMode_WhenPartFails_ShouldCancelRunningSibling() throws Exception {
+        // Given
+        reportingProperties.getExecution().setMode(ReportingProperties.Execution.Mode.PARALLEL);
+        CountDownLatch skillStatsRunning = new CountDownLatch(1);
+        PreparedStatement skillStatsStatement = blockingStatement(skillStatsRunning);
+
+        when(jdbcTemplate.execute(anyString(), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    PreparedStatementCallback<?> callback = invocation.getArgument(2);
+                    if (sql.contains("FROM skill_stats")) {
+                        return callback.doInPreparedStatement(skillStatsStatement);
+                    }
+                    if (sql.contains("FROM overall_ratings")) {
+                        skillStatsRunning.await();
+                        throw new DataAccessResourceFailureException("Overall ratings failed");
+                    }
+                    PreparedStatement ps = mock(PreparedStatement.class);
+                    ResultSet rs = resultSetOf(orgPartRows(sql));
+                    when(ps.executeQuery()).thenReturn(rs);
+                    return callback.doInPreparedStatement(ps);
+                });
+
+        // When & Then
+        DataAccessResourceFailureException exception = assertThrows(DataAccessResourceFailureException.class, () ->
+                reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, 1, 10, null, startDate, endDate, null));
+
+        assertEquals("Overall ratings failed", exception.getMessage());
+        verify(skillStatsStatement, timeout(1_000)).cancel();
+    }
+
+    @Test
+    void getReportByEmployee_InParallelMode_WhenDeadlinePasses_ShouldCancelAndThrowQueryTimeout() throws Exception {
+        // Given
+        reportingProperties.getExecution().setMode(ReportingProperties.Execution.Mode.PARALLEL);
+        reportingProperties.getExecution().setDeadline(Duration.ofMillis(100));
+        PreparedStatement blocked = blockingStatement(new CountDownLatch(1));
+
+        when(jdbcTemplate.execute(anyString(), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenAnswer(invocation -> {
+                    PreparedStatementCallback<?> callback = invocation.getArgument(2);
+                    return callback.doInPreparedStatement(blocked);
+                });
+
+        // When & Then
+        assertThrows(QueryTimeoutException.class, () ->
+                reportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, startDate, endDate));
+
+        verify(blocked, timeout(1_000).atLeastOnce()).cancel();
+    }
+
+    @Test
+    void getBatchReport_ShouldRouteRowsToTheReportOfEachDepartmentAndEmployee() throws SQLException {
+        // Given
+        LocalDate january = LocalDate.of(2026, 1, 1);
+        List<Map<String, Object>> departmentRows = List.of(
+                keyed("department_id", null, orgHeaderRow("Org1", null)),
+                keyed("department_id", 10, orgHeaderRow("Org1", "Dept1")),
+                keyed("department_id", 20, orgHeaderRow("Org1", "Dept2")),
+                keyed("department_id", 10, orgSkillRow("Java", january, 4.0, 3.0, 5.0, 4L, 2L)),
+                keyed("department_id", 20, orgSkillRow("Python", january, 2.0, 2.0, 2.0, 1L, 1L)),
+                // A department without header row is not part of the organization
+                keyed("department_id", 30, orgSkillRow("Java", january, 1.0, 1.0, 1.0, 1L, 1L)),
+                keyed("department_id", 20, overallRatingRow(january, 3.5)),
+                keyed("department_id", 10, orgBinRow("Java", january, 40, 4L))
         );
+        List<Map<String, Object>> employeeRows = List.of(
+                keyed("employee_id", 100, employeeHeaderRow("John", "Doe")),
+                keyed("employee_id", 100, employeeSkillRow("Java", january, 4.5, 4.0, 5.0)),
+                keyed("employee_id", 101, overallRatingRow(january, 4.0))
+        );
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    ResultSetExtractor<?> extractor = invocation.getArgument(2);
+                    return extractor.extractData(resultSetOf(sql.contains("FROM departments d") ? departmentRows : employeeRows));
+                });
 
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        // When
+        BatchReportingResponseDto result = reportingRepository.getBatchReport(
+                PeriodType.MONTH, 1, List.of(10, 20, 30), List.of(100, 101), null, startDate, endDate);
 
-        // Test DAY
-        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.DAY, orgId, null, null, null, null);
+        // Then
+        assertEquals("Org1", result.organizationName());
+        assertEquals(List.of(10, 20), List.copyOf(result.departments().keySet()));
+        OrgDeptReportingResponseDto department = result.departments().get(10);
+        assertEquals("Dept1", department.departmentName());
+        assertEquals(10, department.departmentId());
+        assertEquals(4.0, department.skills().getFirst().periods().getFirst().distribution().p50());
+        assertEquals(List.of(), department.overallRatings());
+        assertEquals("Python", result.departments().get(20).skills().getFirst().skillName());
+        assertEquals(3.5, result.departments().get(20).overallRatings().getFirst().avgOverallRating());
+
+        assertEquals(List.of(100), List.copyOf(result.employees().keySet()));
+        assertEquals("Doe", result.employees().get(100).lastName());
+        assertEquals(4.5, result.employees().get(100).skills().getFirst().periods().getFirst().avgRating());
+
+        // One grouped statement for the departments and one for the employees
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate, atLeastOnce()).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getAllValues().getLast();
-        assertTrue(sql.contains("date_trunc('day', entry_date)::date"));
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
+        assertTrue(sqlCaptor.getAllValues().get(0).contains("GROUP BY department_id, skill_name, period_start"));
+        assertTrue(sqlCaptor.getAllValues().get(0).contains("AND department_id = ANY(:deptIds)"));
+        assertTrue(sqlCaptor.getAllValues().get(1).contains("GROUP BY employee_id, skill_name, period_start"));
+        // The ids are bound as arrays, so the statement text does not depend on how many there are
+        assertArrayEquals(new Integer[]{10, 20, 30}, (Integer[]) paramsCaptor.getValue().getValue("deptIds"));
+        assertArrayEquals(new Integer[]{100, 101}, (Integer[]) paramsCaptor.getValue().getValue("employeeIds"));
+    }
+
+    @Test
+    void getBatchReport_WithoutDepartmentIds_ShouldReportEveryDepartmentOfOrganization() throws SQLException {
+        // Given
+        stubReportRows(List.of(keyed("department_id", null, orgHeaderRow("Org1", null))));
 
-        // Test WEEK
-        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.WEEK, orgId, null, null, null, null);
-        verify(jdbcTemplate, atLeast(2)).query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        // When
+        BatchReportingResponseDto result = reportingRepository.getBatchReport(
+                null, 1, null, null, null, null, null);
 
-        // Test YEAR
-        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.YEAR, orgId, null, null, null, null);
-        verify(jdbcTemplate, atLeast(3)).query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+        // Then
+        String sql = capturedReportSql();
+        assertFalse(sql.contains(":deptIds"));
+        assertTrue(sql.contains("date_trunc('quarter', entry_date)::date"));
+        assertEquals(Map.of(), result.departments());
+        assertEquals(Map.of(), result.employees());
     }
 
     @Test
-    void getReportByEmployee_WithAllParameters_ShouldReturnGroupedData() {
+    void getBatchReport_WithEmptyDepartmentIds_ShouldReportNoDepartment() throws SQLException {
+        // Given
+        stubReportRows(List.of(keyed("department_id", null, orgHeaderRow("Org1", null))));
+
+        // When
+        reportingRepository.getBatchReport(PeriodType.MONTH, 1, List.of(), List.of(), null, null, null);
+
+        // Then
+        String sql = capturedReportSql();
+        assertTrue(sql.contains("AND FALSE"));
+        assertFalse(sql.contains(":deptIds"));
+    }
+
+    @Test
+    void getBatchReport_WithUnknownOrganization_ShouldThrowBeforeReadingEmployees() throws SQLException {
+        // Given
+        stubReportRows(List.of());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                reportingRepository.getBatchReport(PeriodType.MONTH, 99, null, List.of(100), null, null, null));
+
+        assertEquals("Organization not found", exception.getMessage());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+    }
+
+    @Test
+    void getReportByEmployee_WithAllParameters_ShouldReturnGroupedData() throws SQLException {
         // Given
         Integer employeeId = 100;
         Integer skillId = 5;
         PeriodType periodType = PeriodType.MONTH;
 
-        List<EmployeeReportingStatsDto> mockRows = List.of(
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0),
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Java", LocalDate.of(2026, 2, 1), 4.0, 3.5, 4.5),
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Python", LocalDate.of(2026, 1, 1), 3.5, 2.0, 4.0)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        stubReportRows(List.of(
+                employeeHeaderRow("John", "Doe"),
+                employeeSkillRow("Java", LocalDate.of(2026, 2, 1), 4.0, 3.5, 4.5),
+                employeeSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0),
+                employeeSkillRow("Python", LocalDate.of(2026, 1, 1), 3.5, 2.0, 4.0),
+                overallRatingRow(LocalDate.of(2026, 1, 1), 4.0)
+        ));
 
         // When
         EmployeeReportingResponseDto result = reportingRepository.getReportByEmployee(
@@ -226,15 +707,17 @@ class ReportingRepositoryImplTest {
         assertEquals(2, result.skills().size());
 
         // Verify Java skill has 2 periods
-        EmployeeReportingSkillDto javaSkill = result.skills().stream()
-                .filter(s -> s.skillName().equals("Java"))
-                .findFirst()
-                .orElseThrow();
+        EmployeeReportingSkillDto javaSkill = result.skills().getFirst();
+        assertEquals("Java", javaSkill.skillName());
         assertEquals(2, javaSkill.periods().size());
 
+        // Verify overall ratings
+        assertEquals(1, result.overallRatings().size());
+        assertEquals(4.0, result.overallRatings().getFirst().overallRating());
+
         // Verify parameters
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
+        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(ResultSetExtractor.class));
         MapSqlParameterSource params = paramsCaptor.getValue();
         assertEquals(employeeId, params.getValue("employeeId"));
         assertEquals(skillId, params.getValue("skillId"));
@@ -243,33 +726,48 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByEmployee_WithoutOptionalParameters_ShouldBuildCorrectSql() {
+    void getReportByEmployee_ShouldExecuteSingleStatement() throws SQLException {
         // Given
-        Integer employeeId = 100;
-        PeriodType periodType = PeriodType.QUARTER;
+        stubReportRows(List.of(
+                employeeHeaderRow("John", "Doe"),
+                employeeSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0),
+                overallRatingRow(LocalDate.of(2026, 1, 1), 4.0)
+        ));
 
-        List<EmployeeReportingStatsDto> mockRows = List.of(
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0)
-        );
+        // When
+        reportingRepository.getReportByEmployee(PeriodType.MONTH, 100, 5, startDate, endDate);
 
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.contains("FROM employees"));
+        assertTrue(sql.contains("FROM v_employee_skill_period"));
+        assertTrue(sql.contains("FROM performance_reviews"));
+    }
+
+    @Test
+    void getReportByEmployee_WithoutOptionalParameters_ShouldBuildCorrectSql() throws SQLException {
+        // Given
+        Integer employeeId = 100;
+        stubReportRows(List.of(employeeHeaderRow("John", "Doe")));
 
         // When
         EmployeeReportingResponseDto result = reportingRepository.getReportByEmployee(
-                periodType, employeeId, null, null, null);
+                PeriodType.QUARTER, employeeId, null, null, null);
 
         // Then
         assertNotNull(result);
 
         // Verify SQL doesn't contain skill filter
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getValue();
-        assertFalse(sql.contains("skill_id = :skillId"));
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
+        assertFalse(sqlCaptor.getValue().contains("skill_id = :skillId"));
 
         // Verify parameters
-        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
         MapSqlParameterSource params = paramsCaptor.getValue();
         assertEquals(employeeId, params.getValue("employeeId"));
         assertFalse(params.hasValue("skillId"));
@@ -278,41 +776,57 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByEmployee_WithNullPeriodType_ShouldDefaultToQuarter() {
+    void getReportByEmployee_WithNullPeriodType_ShouldDefaultToQuarter() throws SQLException {
         // Given
-        Integer employeeId = 100;
-        List<EmployeeReportingStatsDto> mockRows = List.of(
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        stubReportRows(List.of(employeeHeaderRow("John", "Doe")));
 
         // When
-        EmployeeReportingResponseDto result = reportingRepository.getReportByEmployee(
-                null, employeeId, null, null, null);
+        EmployeeReportingResponseDto result = reportingRepository.getReportByEmployee(null, 100, null, null, null);
 
         // Then
         assertNotNull(result);
 
         // Verify SQL uses QUARTER period expression
-        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getValue();
+        String sql = capturedReportSql();
         assertTrue(sql.contains("date_trunc('quarter', entry_date)::date"));
+        assertTrue(sql.contains("date_trunc('quarter', review_date)::date"));
     }
 
     @Test
-    void getReportByEmployee_WithEmptyResults_ShouldReturnNull() {
+    void getReportByEmployee_WithEmptyResults_ShouldReturnEmployeeWithoutData() throws SQLException {
         // Given
-        Integer employeeId = 100;
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(new ArrayList<>());
+        stubReportRows(List.of(employeeHeaderRow("John", "Doe")));
 
         // When
         EmployeeReportingResponseDto result = reportingRepository.getReportByEmployee(
-                PeriodType.MONTH, employeeId, null, null, null);
+                PeriodType.MONTH, 100, null, null, null);
 
         // Then
-        assertNull(result);
+        assertNotNull(result);
+        assertEquals("John", result.firstName());
+        assertTrue(result.skills().isEmpty());
+        assertTrue(result.overallRatings().isEmpty());
+    }
+
+    @Test
+    void getReportByEmployee_WithOnlyStartDate_ShouldIncludeStartDateFilter() throws SQLException {
+        // Given
+        stubReportRows(List.of(employeeHeaderRow("John", "Doe")));
+
+        // When
+        reportingRepository.getReportByEmployee(PeriodType.MONTH, 100, null, startDate, null);
+
+        // Then
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), paramsCaptor.capture(), any(ResultSetExtractor.class));
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.contains("entry_date >= :startDate"));
+        assertFalse(sql.contains("entry_date <= :endDate"));
+
+        MapSqlParameterSource params = paramsCaptor.getValue();
+        assertEquals(startDate, params.getValue("startDate"));
+        assertFalse(params.hasValue("endDate"));
     }
 
     @Test
@@ -331,7 +845,7 @@ class ReportingRepositoryImplTest {
 
         // When
         EmployeeSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByEmployee(
-                employeeId, skillId, startDate, endDate);
+                employeeId, skillId, startDate, endDate, null, null);
 
         // Then
         assertNotNull(result);
@@ -374,7 +888,7 @@ class ReportingRepositoryImplTest {
 
         // When
         EmployeeSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByEmployee(
-                employeeId, null, null, null);
+                employeeId, null, null, null, null, null);
 
         // Then
         assertNotNull(result);
@@ -405,7 +919,7 @@ class ReportingRepositoryImplTest {
 
         // When
         EmployeeSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByEmployee(
-                employeeId, null, null, null);
+                employeeId, null, null, null, null, null);
 
         // Then
         assertNull(result);
@@ -428,7 +942,7 @@ class ReportingRepositoryImplTest {
 
         // When
         OrgDeptSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
-                orgId, deptId, skillId, startDate, endDate);
+                orgId, deptId, skillId, startDate, endDate, null, null);
 
         // Then
         assertNotNull(result);
@@ -470,7 +984,7 @@ class ReportingRepositoryImplTest {
 
         // When
         OrgDeptSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
-                orgId, null, null, null, null);
+                orgId, null, null, null, null, null, null);
 
         // Then
         assertNotNull(result);
@@ -484,6 +998,8 @@ class ReportingRepositoryImplTest {
         String sql = sqlCaptor.getValue();
         assertFalse(sql.contains("department_id = :deptId"));
         assertFalse(sql.contains("skill_id = :skillId"));
+        // Names are resolved from the dictionary, not read through the reporting view
+        assertFalse(sql.contains("organization_name"));
 
         // Verify parameters
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
@@ -504,7 +1020,7 @@ class ReportingRepositoryImplTest {
 
         // When
         OrgDeptSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
-                orgId, null, null, null, null);
+                orgId, null, null, null, null, null, null);
 
         // Then
         assertNull(result);
@@ -521,14 +1037,14 @@ class ReportingRepositoryImplTest {
         when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
 
         // When
-        reportingRepository.getSkillTimelineByOrganizationAndDepartment(orgId, null, null, startDate, null);
+        reportingRepository.getSkillTimelineByOrganizationAndDepartment(orgId, null, null, startDate, null, null, null);
 
         // Then
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
         verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
         String sql = sqlCaptor.getValue();
-        assertTrue(sql.contains("entry_date::date >= :startDate"));
-        assertFalse(sql.contains("entry_date::date <= :endDate"));
+        assertTrue(sql.contains("entry_date >= :startDate"));
+        assertFalse(sql.contains("entry_date <= :endDate"));
 
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
         verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
@@ -548,14 +1064,14 @@ class ReportingRepositoryImplTest {
         when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
 
         // When
-        reportingRepository.getSkillTimelineByOrganizationAndDepartment(orgId, null, null, null, endDate);
+        reportingRepository.getSkillTimelineByOrganizationAndDepartment(orgId, null, null, null, endDate, null, null);
 
         // Then
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
         verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
         String sql = sqlCaptor.getValue();
-        assertFalse(sql.contains("entry_date::date >= :startDate"));
-        assertTrue(sql.contains("entry_date::date <= :endDate"));
+        assertFalse(sql.contains("entry_date >= :startDate"));
+        assertTrue(sql.contains("entry_date <= :endDate"));
 
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
         verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
@@ -565,24 +1081,24 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithOnlyStartDate_ShouldIncludeStartDateFilter() {
+    void getSkillTimelineByEmployee_WithOnlyStartDate_ShouldIncludeStartDateFilter() {
         // Given
-        Integer orgId = 1;
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
+        Integer employeeId = 100;
+        List<EmployeeSkillTimelineRowDto> mockRows = List.of(
+                new EmployeeSkillTimelineRowDto(employeeId, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.2)
         );
 
         when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
 
         // When
-        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, orgId, null, null, startDate, null);
+        reportingRepository.getSkillTimelineByEmployee(employeeId, null, startDate, null, null, null);
 
         // Then
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
         verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
         String sql = sqlCaptor.getValue();
-        assertTrue(sql.contains("entry_date::date >= :startDate"));
-        assertFalse(sql.contains("entry_date::date <= :endDate"));
+        assertTrue(sql.contains("entry_date >= :startDate"));
+        assertFalse(sql.contains("entry_date <= :endDate"));
 
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
         verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
@@ -592,24 +1108,24 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByOrganizationAndDepartment_WithOnlyEndDate_ShouldIncludeEndDateFilter() {
+    void getSkillTimelineByEmployee_WithOnlyEndDate_ShouldIncludeEndDateFilter() {
         // Given
-        Integer orgId = 1;
-        List<OrgDeptReportingStatsDto> mockRows = List.of(
-                new OrgDeptReportingStatsDto("Org1", "Dept1", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L)
+        Integer employeeId = 100;
+        List<EmployeeSkillTimelineRowDto> mockRows = List.of(
+                new EmployeeSkillTimelineRowDto(employeeId, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.2)
         );
 
         when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
 
         // When
-        reportingRepository.getReportByOrganizationAndDepartment(PeriodType.MONTH, orgId, null, null, null, endDate);
+        reportingRepository.getSkillTimelineByEmployee(employeeId, null, null, endDate, null, null);
 
         // Then
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
         verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
         String sql = sqlCaptor.getValue();
-        assertFalse(sql.contains("entry_date::date >= :startDate"));
-        assertTrue(sql.contains("entry_date::date <= :endDate"));
+        assertFalse(sql.contains("entry_date >= :startDate"));
+        assertTrue(sql.contains("entry_date <= :endDate"));
 
         ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
         verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
@@ -619,84 +1135,212 @@ class ReportingRepositoryImplTest {
     }
 
     @Test
-    void getReportByEmployee_WithOnlyStartDate_ShouldIncludeStartDateFilter() {
+    void getSkillTimelineByEmployee_WithMaxPoints_ShouldStreamAndDownsampleEachSkill() throws SQLException {
         // Given
-        Integer employeeId = 100;
-        List<EmployeeReportingStatsDto> mockRows = List.of(
-                new EmployeeReportingStatsDto(employeeId, "John", "Doe", "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int day = 0; day < 100; day++) {
+            double rating = day == 40 ? 1.0 : day == 70 ? 5.0 : 3.0;
+            rows.add(employeeTimelineRow(5, "Java", LocalDate.of(2026, 1, 1).plusDays(day), rating, 100L));
+        }
+        rows.add(employeeTimelineRow(6, "Python", LocalDate.of(2026, 1, 1), 3.5, 2L));
+        rows.add(employeeTimelineRow(6, "Python", LocalDate.of(2026, 2, 1), 4.0, 2L));
+        CursorJdbcTemplate cursorTemplate = streamingCursorOver(rows);
 
         // When
-        reportingRepository.getReportByEmployee(PeriodType.MONTH, employeeId, null, startDate, null);
+        EmployeeSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByEmployee(
+                100, null, null, null, 10, DownsamplingMethod.MIN_MAX);
 
         // Then
-        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getValue();
-        assertTrue(sql.contains("entry_date::date >= :startDate"));
-        assertFalse(sql.contains("entry_date::date <= :endDate"));
+        List<EmployeeSkillTimelinePointDto> java = result.skills().getFirst().timeline();
+        assertTrue(java.size() <= 10);
+        assertEquals(LocalDate.of(2026, 1, 1), java.getFirst().date());
+        assertEquals(LocalDate.of(2026, 1, 1).plusDays(99), java.getLast().date());
+        assertTrue(java.stream().anyMatch(point -> point.rating() == 1.0));
+        assertTrue(java.stream().anyMatch(point -> point.rating() == 5.0));
+        assertEquals(2, result.skills().get(1).timeline().size());
 
-        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
-        MapSqlParameterSource params = paramsCaptor.getValue();
-        assertEquals(startDate, params.getValue("startDate"));
-        assertFalse(params.hasValue("endDate"));
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(cursorTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+        assertTrue(sqlCaptor.getValue().contains("COUNT(*) OVER (PARTITION BY employee_id, skill_id) AS series_points"));
+        verifyNoInteractions(jdbcTemplate);
     }
 
     @Test
-    void getSkillTimelineByEmployee_WithOnlyStartDate_ShouldIncludeStartDateFilter() {
+    void getSkillTimelineByOrganizationAndDepartment_WithMaxPointsAndLttb_ShouldReturnMaxPointsPerSkill() throws SQLException {
         // Given
-        Integer employeeId = 100;
-        List<EmployeeSkillTimelineRowDto> mockRows = List.of(
-                new EmployeeSkillTimelineRowDto(employeeId, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.2)
-        );
-
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int day = 0; day < 50; day++) {
+            double min = day == 20 ? 1.0 : 2.0;
+            double max = day == 30 ? 5.0 : 4.0;
+            rows.add(row("organization_id", 1, "department_id", 10, "skill_id", 5, "skill_name", "Java", "date", LocalDate.of(2026, 1, 1).plusDays(day),
+                    "min_rating", min, "max_rating", max, "avg_rating", 3.0, "series_points", 50L));
+        }
+        streamingCursorOver(rows);
+        when(reportingNames.organizationName(1)).thenReturn("Org1");
+        when(reportingNames.departmentName(10)).thenReturn("Dept1");
 
         // When
-        reportingRepository.getSkillTimelineByEmployee(employeeId, null, startDate, null);
+        OrgDeptSkillTimelineResponseDto result = reportingRepository.getSkillTimelineByOrganizationAndDepartment(
+                1, 10, null, null, null, 6, DownsamplingMethod.LTTB);
 
         // Then
-        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getValue();
-        assertTrue(sql.contains("entry_date >= :startDate"));
-        assertFalse(sql.contains("entry_date <= :endDate"));
-
-        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
-        MapSqlParameterSource params = paramsCaptor.getValue();
-        assertEquals(startDate, params.getValue("startDate"));
-        assertFalse(params.hasValue("endDate"));
+        List<OrgDeptSkillTimelinePointDto> timeline = result.skills().getFirst().timeline();
+        assertEquals(6, timeline.size());
+        assertEquals("Dept1", result.departmentName());
+        assertEquals(LocalDate.of(2026, 1, 1), timeline.getFirst().date());
+        assertEquals(LocalDate.of(2026, 1, 1).plusDays(49), timeline.getLast().date());
     }
 
     @Test
-    void getSkillTimelineByEmployee_WithOnlyEndDate_ShouldIncludeEndDateFilter() {
-        // Given
-        Integer employeeId = 100;
-        List<EmployeeSkillTimelineRowDto> mockRows = List.of(
-                new EmployeeSkillTimelineRowDto(employeeId, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.2)
-        );
+    void getSkillTimelineByEmployee_WithTooFewMaxPoints_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                reportingRepository.getSkillTimelineByEmployee(100, null, null, null, 3, DownsamplingMethod.LTTB));
 
-        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(mockRows);
+        assertEquals("maxPoints must be at least 4", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
 
-        // When
-        reportingRepository.getSkillTimelineByEmployee(employeeId, null, null, endDate);
+    // Stubs the single report statement and feeds the given rows to its ResultSetExtractor
+    private void stubReportRows(List<Map<String, Object>> rows) throws SQLException {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResultSetExtractor<?> extractor = invocation.getArgument(2);
+                    return extractor.extractData(resultSetOf(rows));
+                });
+    }
 
-        // Then
+    private String capturedReportSql() {
         ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(RowMapper.class));
-        String sql = sqlCaptor.getValue();
-        assertFalse(sql.contains("entry_date >= :startDate"));
-        assertTrue(sql.contains("entry_date <= :endDate"));
+        verify(jdbcTemplate).query(sqlCaptor.capture(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        return sqlCaptor.getValue();
+    }
 
-        ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
-        verify(jdbcTemplate).query(anyString(), paramsCaptor.capture(), any(RowMapper.class));
-        MapSqlParameterSource params = paramsCaptor.getValue();
-        assertFalse(params.hasValue("startDate"));
-        assertEquals(endDate, params.getValue("endDate"));
+    // Rows of a single org report part, recognised by the CTE it selects from
+    private static List<Map<String, Object>> orgPartRows(String sql) {
+        if (sql.contains("FROM header")) {
+            return List.of(orgHeaderRow("Org1", "Dept1"));
+        }
+        if (sql.contains("FROM skill_stats")) {
+            return List.of(
+                    orgSkillRow("Java", LocalDate.of(2026, 2, 1), 4.0, 3.0, 5.0, 8L, 4L),
+                    orgSkillRow("Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 10L, 5L),
+                    orgSkillRow("Python", LocalDate.of(2026, 1, 1), 3.5, 2.0, 4.5, 6L, 3L)
+            );
+        }
+        if (sql.contains("FROM skill_distributions")) {
+            return List.of(orgBinRow("Java", LocalDate.of(2026, 2, 1), 30, 2L), orgBinRow("Java", LocalDate.of(2026, 2, 1), 50, 6L));
+        }
+        return List.of(overallRatingRow(LocalDate.of(2026, 1, 1), 4.2), overallRatingRow(LocalDate.of(2026, 2, 1), 3.9));
+    }
+
+    private static void assertExpectedOrgReport(OrgDeptReportingResponseDto result) {
+        assertEquals("Org1", result.organizationName());
+        assertEquals("Dept1", result.departmentName());
+        assertEquals(List.of("Java", "Python"), result.skills().stream().map(OrgDeptReportingSkillDto::skillName).toList());
+        assertEquals(LocalDate.of(2026, 2, 1), result.skills().getFirst().periods().getFirst().periodStart());
+        assertEquals(2, result.skills().getFirst().periods().size());
+        assertEquals(3.0, result.skills().getFirst().periods().getFirst().distribution().p25());
+        assertNull(result.skills().getFirst().periods().getLast().distribution());
+        assertEquals(List.of(4.2, 3.9), result.overallRatings().stream().map(OrgDeptOverallRatingPeriodDto::avgOverallRating).toList());
+    }
+
+    // Statement whose query blocks until it is cancelled, counting down started once it runs
+    private static PreparedStatement blockingStatement(CountDownLatch started) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(ps).cancel();
+        when(ps.executeQuery()).thenAnswer(invocation -> {
+            started.countDown();
+            cancelled.await(5, TimeUnit.SECONDS);
+            throw new SQLException("canceling statement due to user request");
+        });
+        return ps;
     }
-}
 
+    // Stubs the cursor template to hand the given rows to the RowCallbackHandler of a streamed timeline
+    private CursorJdbcTemplate streamingCursorOver(List<Map<String, Object>> rows) throws SQLException {
+        CursorJdbcTemplate cursorTemplate = cursorJdbc;
+        ResultSet rs = resultSetOf(rows);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            while (rs.next()) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(cursorTemplate).query(anyString(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+        return cursorTemplate;
+    }
+
+    // Minimal forward-only ResultSet over in-memory rows
+    private static ResultSet resultSetOf(List<Map<String, Object>> rows) throws SQLException {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        int[] cursor = {-1};
+        when(rs.next()).thenAnswer(inv -> ++cursor[0] < rows.size());
+        when(rs.getString(anyString())).thenAnswer(inv -> (String) rows.get(cursor[0]).get(inv.<String>getArgument(0)));
+        when(rs.getInt(anyString())).thenAnswer(inv -> number(rows.get(cursor[0]).get(inv.<String>getArgument(0))).intValue());
+        when(rs.getLong(anyString())).thenAnswer(inv -> number(rows.get(cursor[0]).get(inv.<String>getArgument(0))).longValue());
+        when(rs.getDouble(anyString())).thenAnswer(inv -> number(rows.get(cursor[0]).get(inv.<String>getArgument(0))).doubleValue());
+        when(rs.getObject(anyString(), eq(LocalDate.class))).thenAnswer(inv -> rows.get(cursor[0]).get(inv.<String>getArgument(0)));
+        when(rs.getObject(anyString(), eq(Integer.class))).thenAnswer(inv -> rows.get(cursor[0]).get(inv.<String>getArgument(0)));
+        return rs;
+    }
+
+    private static Number number(Object value) {
+        return value == null ? 0 : (Number) value;
+    }
+
+    private static Map<String, Object> row(Object... keyValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            row.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return row;
+    }
+
+    // Copy of a report row with the key column of a batch added
+    private static Map<String, Object> keyed(String keyColumn, Integer key, Map<String, Object> row) {
+        Map<String, Object> keyedRow = new HashMap<>(row);
+        keyedRow.put(keyColumn, key);
+        return keyedRow;
+    }
+
+    private static Map<String, Object> orgHeaderRow(String organizationName, String departmentName) {
+        return row("row_kind", 0, "organization_name", organizationName, "department_name", departmentName);
+    }
+
+    private static Map<String, Object> orgSkillRow(String skillName, LocalDate periodStart, double avg, double min, double max,
+                                                   long sampleCount, long employeeCount) {
+        return row("row_kind", 1, "skill_name", skillName, "period_start", periodStart,
+                "avg_rating", avg, "min_rating", min, "max_rating", max,
+                "sample_count", sampleCount, "employee_count", employeeCount);
+    }
+
+    private static Map<String, Object> orgBinRow(String skillName, LocalDate periodStart, int ratingBin, long ratingCount) {
+        return row("row_kind", 3, "skill_name", skillName, "period_start", periodStart,
+                "rating_bin", ratingBin, "sample_count", ratingCount);
+    }
+
+    private static Map<String, Object> employeeHeaderRow(String firstName, String lastName) {
+        return row("row_kind", 0, "first_name", firstName, "last_name", lastName);
+    }
+
+    private static Map<String, Object> employeeSkillRow(String skillName, LocalDate periodStart, double avg, double min, double max) {
+        return row("row_kind", 1, "skill_name", skillName, "period_start", periodStart,
+                "avg_rating", avg, "min_rating", min, "max_rating", max);
+    }
+
+    private static Map<String, Object> overallRatingRow(LocalDate periodStart, double avg) {
+        return row("row_kind", 2, "period_start", periodStart, "avg_rating", avg);
+    }
+
+    private static Map<String, Object> employeeTimelineRow(int skillId, String skillName, LocalDate entryDate, double rating,
+                                                           long seriesPoints) {
+        return row("employee_id", 100, "first_name", "John", "last_name", "Doe", "skill_id", skillId, "skill_name", skillName,
+                "entry_date", entryDate, "rating", rating, "min_rating", 1.0, "max_rating", 5.0, "avg_rating", 3.0,
+                "series_points", seriesPoints);
+    }
+}
@@ -0,0 +1,118 @@
+package gr.uom.employeepulseservice.repository.impl;
+
+import gr.uom.employeepulseservice.model.DownsamplingMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineDownsamplerTest {
+
+    private record Point(int day, double value) {
+    }
+
+    private static final TimelineDownsampler.Axes<Point> AXES =
+            new TimelineDownsampler.Axes<>(Point::day, Point::value, Point::value, Point::value);
+
+    @Test
+    void downsample_WhenSeriesFitsMaxPoints_ShouldKeepEveryPoint() {
+        // Given
+        List<Point> series = series(8);
+
+        // When
+        List<Point> kept = downsample(DownsamplingMethod.LTTB, 10, series);
+
+        // Then
+        assertEquals(series, kept);
+    }
+
+    @Test
+    void downsample_WithMinMax_ShouldKeepEndpointsAndExtremesInOrder() {
+        // Given
+        List<Point> series = new ArrayList<>(series(1_000));
+        series.set(123, new Point(123, -50.0));
+        series.set(877, new Point(877, 50.0));
+
+        // When
+        List<Point> kept = downsample(DownsamplingMethod.MIN_MAX, 20, series);
+
+        // Then
+        assertTrue(kept.size() <= 20);
+        assertEquals(series.getFirst(), kept.getFirst());
+        assertEquals(series.getLast(), kept.getLast());
+        assertTrue(kept.contains(series.get(123)));
+        assertTrue(kept.contains(series.get(877)));
+        assertStrictlyOrdered(kept);
+    }
+
+    @Test
+    void downsample_WithLttb_ShouldReturnExactlyMaxPointsAndKeepSpike() {
+        // Given
+        List<Point> series = new ArrayList<>();
+        for (int day = 0; day < 500; day++) {
+            series.add(new Point(day, day == 250 ? 100.0 : 1.0));
+        }
+
+        // When
+        List<Point> kept = downsample(DownsamplingMethod.LTTB, 25, series);
+
+        // Then
+        assertEquals(25, kept.size());
+        assertEquals(series.getFirst(), kept.getFirst());
+        assertEquals(series.getLast(), kept.getLast());
+        assertTrue(kept.contains(series.get(250)));
+        assertStrictlyOrdered(kept);
+    }
+
+    @Test
+    void downsample_WithUnevenBuckets_ShouldNeverExceedMaxPoints() {
+        for (DownsamplingMethod method : DownsamplingMethod.values()) {
+            for (int size = 5; size < 120; size += 7) {
+                for (int maxPoints = 4; maxPoints < size; maxPoints += 3) {
+                    // When
+                    List<Point> kept = downsample(method, maxPoints, series(size));
+
+                    // Then
+                    assertTrue(kept.size() <= maxPoints, method + " " + size + " " + maxPoints);
+                    assertEquals(0, kept.getFirst().day());
+                    assertEquals(size - 1, kept.getLast().day());
+                    assertStrictlyOrdered(kept);
+                }
+            }
+        }
+    }
+
+    @Test
+    void downsample_WithTooFewMaxPoints_ShouldThrowIllegalArgumentException() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                TimelineDownsampler.downsample(DownsamplingMethod.MIN_MAX, 3, 100, AXES, point -> { }));
+
+        assertEquals("maxPoints must be at least 4", exception.getMessage());
+    }
+
+    private static List<Point> downsample(DownsamplingMethod method, int maxPoints, List<Point> series) {
+        List<Point> kept = new ArrayList<>();
+        Consumer<Point> downsampler = TimelineDownsampler.downsample(method, maxPoints, series.size(), AXES, kept::add);
+        series.forEach(downsampler);
+        return kept;
+    }
+
+    // Zig-zag series, so every bucket has a distinct low and high
+    private static List<Point> series(int size) {
+        List<Point> series = new ArrayList<>();
+        for (int day = 0; day < size; day++) {
+            series.add(new Point(day, (day % 7) - 3.0));
+        }
+        return series;
+    }
+
+    private static void assertStrictlyOrdered(List<Point> kept) {
+        for (int i = 1; i < kept.size(); i++) {
+            assertTrue(kept.get(i - 1).day() < kept.get(i).day());
+        }
+    }
+}
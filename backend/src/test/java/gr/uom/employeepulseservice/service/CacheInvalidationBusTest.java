@@ -0,0 +1,92 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.config.CacheInvalidationProperties;
+import gr.uom.employeepulseservice.event.ClusterEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.CacheInvalidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Mock
+    private JdbcConnectionDetails connectionDetails;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private CacheInvalidationProperties properties;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheInvalidationProperties();
+        cacheInvalidationBus = new CacheInvalidationBus(properties, cacheInvalidationRepository, connectionDetails,
+                objectMapper, eventPublisher);
+    }
+
+    @Test
+    void onChange_ShouldAppendTheChangeReadableByOtherNodes() throws Exception {
+        // Given
+        SkillEntriesChangedEvent skillEntriesChanged = SkillEntriesChangedEvent.of(new SkillEntryChange(
+                SkillEntryChange.ChangeType.ADDED, 7, 1, 2, 3, 4, LocalDate.of(2026, 3, 1), 4.5));
+        ReferenceDataImportedEvent skillsImported = new ReferenceDataImportedEvent(Skill.class);
+
+        for (ClusterEvent change : List.<ClusterEvent>of(skillEntriesChanged, skillsImported)) {
+            // When
+            cacheInvalidationBus.onChange(change);
+
+            // Then
+            String eventType = change.getClass().getSimpleName();
+            ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+            verify(cacheInvalidationRepository).append(eq("cache_invalidations"), eq(cacheInvalidationBus.node()),
+                    eq(eventType), payload.capture());
+            assertEquals(change, objectMapper.readValue(payload.getValue(), change.getClass()));
+        }
+    }
+
+    @Test
+    void onChange_WhenDisabled_ShouldAppendNothing() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        cacheInvalidationBus.onChange(new ReferenceDataImportedEvent(Skill.class));
+
+        // Then
+        verify(cacheInvalidationRepository, never()).append(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void node_ShouldDifferPerInstance() {
+        CacheInvalidationBus otherNode = new CacheInvalidationBus(properties, cacheInvalidationRepository,
+                connectionDetails, objectMapper, eventPublisher);
+
+        assertNotEquals(cacheInvalidationBus.node(), otherNode.node());
+    }
+}
@@ -0,0 +1,157 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.EmployeePulseServiceApplication;
+import gr.uom.employeepulseservice.controller.dto.SaveOrganizationDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillEntryDto;
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import gr.uom.employeepulseservice.service.ReportVersionService.ReportVersion;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two nodes against one database: this test's context writes, a second application context started next to it has
+// to see the writes although they went past its in-process caches.
+@TestPropertySource(properties = {
+        "cache-invalidation.poll-timeout=1s",
+        "cache-invalidation.reconnect-delay=1s"
+})
+class CacheInvalidationClusterTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATION = 1;
+    private static final int EMPLOYEE = employeeId(ORGANIZATION, 1);
+    private static final int SKILL = skillId(ORGANIZATION, 1);
+
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(15);
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ReportVersionService reportVersionService;
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(EmployeePulseServiceApplication.class)
+                // Command line arguments, they take precedence over application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--openai.api-key=test",
+                        "--spring.liquibase.change-log=classpath:db/changelog/reporting-schema-changelog.yaml",
+                        "--cache-invalidation.poll-timeout=1s",
+                        "--cache-invalidation.reconnect-delay=1s");
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        seedOrganization(ORGANIZATION, 1, 1);
+    }
+
+    // The other node's caches are not dropped with those of this context
+    @AfterEach
+    void dropCachesOfOtherNode() {
+        otherNode.publishEvent(new ChangesMissedEvent());
+    }
+
+    @Test
+    void updateOrganization_ShouldEvictTheOrganizationOnTheOtherNode() {
+        // Given
+        OrganizationService otherOrganizationService = otherNode.getBean(OrganizationService.class);
+        assertEquals(organizationName(ORGANIZATION), otherOrganizationService.findOrganizationNameById(ORGANIZATION));
+
+        // When
+        organizationService.updateOrganization(ORGANIZATION, new SaveOrganizationDto("Renamed", "Athens"));
+
+        // Then
+        awaitEquals("Renamed", () -> otherOrganizationService.findOrganizationNameById(ORGANIZATION));
+        assertEquals(0, changesOf(otherNode.getBean(CacheInvalidationBus.class).node()),
+                "Changes of other nodes must not be published again");
+    }
+
+    @Test
+    void addSkillEntryToEmployee_ShouldMoveTheReportVersionOnBothNodesAtOnce() {
+        // Given
+        ReportVersionService otherReportVersionService = otherNode.getBean(ReportVersionService.class);
+        ReportVersion before = otherReportVersionService.employeeVersion(EMPLOYEE);
+        assertEquals(reportVersionService.employeeVersion(EMPLOYEE), before);
+
+        // When
+        employeeService.addSkillEntryToEmployee(EMPLOYEE, new SaveSkillEntryDto(SKILL, 4.0, LocalDate.of(2024, 3, 10)));
+
+        // Then the version is read from the database, without waiting for the invalidation bus
+        ReportVersion after = otherReportVersionService.employeeVersion(EMPLOYEE);
+        assertNotEquals(before, after);
+        assertEquals(reportVersionService.employeeVersion(EMPLOYEE), after);
+        // The rollups were written by this node alone
+        assertEquals(1, jdbc.queryForObject("SELECT max(rating_count) FROM skill_rating_rollups", Long.class));
+    }
+
+    @Test
+    void listenerReconnect_ShouldReplayTheChangesMissedMeanwhile() {
+        // Given
+        OrganizationService otherOrganizationService = otherNode.getBean(OrganizationService.class);
+        assertEquals(organizationName(ORGANIZATION), otherOrganizationService.findOrganizationNameById(ORGANIZATION));
+        String listener = "cache-invalidation-" + otherNode.getBean(CacheInvalidationBus.class).node();
+        awaitEquals(1, () -> jdbc.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE application_name = ?", Integer.class, listener));
+
+        // When
+        jdbc.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                Boolean.class, listener);
+        awaitEquals(0, () -> jdbc.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE application_name = ?", Integer.class, listener));
+        organizationService.updateOrganization(ORGANIZATION, new SaveOrganizationDto("Renamed", "Athens"));
+
+        // Then
+        awaitEquals("Renamed", () -> otherOrganizationService.findOrganizationNameById(ORGANIZATION));
+    }
+
+    private int changesOf(String node) {
+        return jdbc.queryForObject("SELECT count(*) FROM cache_invalidations WHERE node = ?", Integer.class, node);
+    }
+
+    private static <T> void awaitEquals(T expected, Supplier<T> actual) {
+        await(() -> Objects.equals(expected, actual.get()));
+        assertEquals(expected, actual.get());
+    }
+
+    private static void await(Supplier<Boolean> condition) {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (!condition.get() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -1,23 +1,32 @@
 package gr.uom.employeepulseservice.service;
 
+import gr.uom.employeepulseservice.config.PaginationProperties;
 import gr.uom.employeepulseservice.controller.dto.CreateDepartmentDto;
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
 import gr.uom.employeepulseservice.controller.dto.DepartmentDto;
 import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.EmployeeSkillRatingsDto;
+import gr.uom.employeepulseservice.controller.dto.SkillToRatingDto;
 import gr.uom.employeepulseservice.controller.dto.UpdateDepartmentDto;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
 import gr.uom.employeepulseservice.mapper.DepartmentMapper;
-import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.model.Department;
 import gr.uom.employeepulseservice.model.Employee;
 import gr.uom.employeepulseservice.model.Organization;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
 import gr.uom.employeepulseservice.repository.EmployeeRepository;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository;
 import gr.uom.employeepulseservice.repository.OrganizationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.List;
@@ -41,11 +50,20 @@ class DepartmentServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeListingRepository employeeListingRepository;
+
+    @Mock
+    private EmployeeSkillLatestRepository employeeSkillLatestRepository;
+
     @Mock
     private DepartmentMapper departmentMapper;
 
     @Mock
-    private EmployeeMapper employeeMapper;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(new PaginationProperties());
 
     @InjectMocks
     private DepartmentService departmentService;
@@ -83,7 +101,7 @@ class DepartmentServiceTest {
         List<Department> departments = Collections.singletonList(department);
         List<DepartmentDto> expectedDtos = Collections.singletonList(departmentDto);
 
-        when(departmentRepository.findAll()).thenReturn(departments);
+        when(departmentRepository.findAllWithDetails()).thenReturn(departments);
         when(departmentMapper.toDtos(departments)).thenReturn(expectedDtos);
 
         // When
@@ -93,14 +111,14 @@ class DepartmentServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(expectedDtos, result);
-        verify(departmentRepository).findAll();
+        verify(departmentRepository).findAllWithDetails();
         verify(departmentMapper).toDtos(departments);
     }
 
     @Test
     void findDepartmentById_WhenDepartmentExists_ShouldReturnDepartmentDto() {
         // Given
-        when(departmentRepository.findById(1)).thenReturn(Optional.of(department));
+        when(departmentRepository.findWithDetailsById(1)).thenReturn(Optional.of(department));
         when(departmentMapper.toDto(department)).thenReturn(departmentDto);
 
         // When
@@ -109,20 +127,20 @@ class DepartmentServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(departmentDto, result);
-        verify(departmentRepository).findById(1);
+        verify(departmentRepository).findWithDetailsById(1);
         verify(departmentMapper).toDto(department);
     }
 
     @Test
     void findDepartmentById_WhenDepartmentNotFound_ShouldThrowRuntimeException() {
         // Given
-        when(departmentRepository.findById(999)).thenReturn(Optional.empty());
+        when(departmentRepository.findWithDetailsById(999)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> departmentService.findDepartmentById(999));
 
         assertEquals("Department not found", exception.getMessage());
-        verify(departmentRepository).findById(999);
+        verify(departmentRepository).findWithDetailsById(999);
         verify(departmentMapper, never()).toDto(any());
     }
 
@@ -177,6 +195,8 @@ class DepartmentServiceTest {
         // Then
         assertEquals("Updated Department Name", department.getName());
         verify(departmentRepository).findById(1);
+        verify(eventPublisher).publishEvent(new OrganizationStructureChangedEvent(1, 1));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Department.class, 1));
     }
 
     @Test
@@ -204,6 +224,8 @@ class DepartmentServiceTest {
         // Then
         verify(employeeRepository).existsByDepartmentId(1);
         verify(departmentRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new OrganizationStructureChangedEvent(null, 1));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Department.class, 1));
     }
 
     @Test
@@ -222,33 +244,61 @@ class DepartmentServiceTest {
     @Test
     void findEmployeesById_WhenDepartmentExists_ShouldReturnListOfEmployeeDtos() {
         // Given
-        List<Employee> employees = Collections.singletonList(employee);
         List<EmployeeDto> expectedDtos = Collections.singletonList(employeeDto);
 
-        when(employeeRepository.findByDepartmentId(1)).thenReturn(employees);
-        when(employeeMapper.toDtos(employees)).thenReturn(expectedDtos);
+        when(employeeListingRepository.findPageByDepartmentId(1, null, 101)).thenReturn(expectedDtos);
 
         // When
-        List<EmployeeDto> result = departmentService.findEmployeesById(1);
+        CursorPageDto<EmployeeDto> result = departmentService.findEmployeesById(1, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(expectedDtos, result);
-        verify(employeeRepository).findByDepartmentId(1);
-        verify(employeeMapper).toDtos(employees);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(employeeListingRepository).findPageByDepartmentId(1, null, 101);
+    }
+
+    @Test
+    void findLatestSkillRatingsById_WhenDepartmentExists_ShouldReturnProjection() {
+        // Given
+        List<EmployeeSkillRatingsDto> expected = List.of(
+                new EmployeeSkillRatingsDto(1, "John", "Doe", List.of(new SkillToRatingDto(1, "Java", 4.5))),
+                new EmployeeSkillRatingsDto(2, "Jane", "Roe", List.of()));
+
+        when(departmentRepository.existsById(1)).thenReturn(true);
+        when(employeeSkillLatestRepository.findByDepartmentId(1)).thenReturn(expected);
+
+        // When
+        List<EmployeeSkillRatingsDto> result = departmentService.findLatestSkillRatingsById(1);
+
+        // Then
+        assertEquals(expected, result);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void findLatestSkillRatingsById_WhenDepartmentNotFound_ShouldThrowRuntimeException() {
+        // Given
+        when(departmentRepository.existsById(999)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> departmentService.findLatestSkillRatingsById(999));
+
+        assertEquals("Department not found", exception.getMessage());
+        verifyNoInteractions(employeeSkillLatestRepository);
     }
 
     @Test
     void findEmployeesById_WhenDepartmentNotFound_ShouldThrowRuntimeException() {
         // Given
-        when(employeeRepository.findByDepartmentId(1)).thenReturn(Collections.emptyList());
+        when(employeeListingRepository.findPageByDepartmentId(1, null, 101)).thenReturn(Collections.emptyList());
 
         // When & Then
-        List<EmployeeDto> result = departmentService.findEmployeesById(1);
+        CursorPageDto<EmployeeDto> result = departmentService.findEmployeesById(1, null, null);
 
-        verify(employeeRepository).findByDepartmentId(1);
-        assertEquals(0, result.size());
+        verify(employeeListingRepository).findPageByDepartmentId(1, null, 101);
+        assertEquals(0, result.items().size());
     }
 
     @Test
@@ -1,7 +1,13 @@
 package gr.uom.employeepulseservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.config.PaginationProperties;
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
 import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.mapper.SkillEntryMapper;
 import gr.uom.employeepulseservice.model.*;
@@ -9,15 +15,20 @@ import gr.uom.employeepulseservice.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +42,9 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeListingRepository employeeListingRepository;
+
     @Mock
     private DepartmentRepository departmentRepository;
 
@@ -46,12 +60,24 @@ class EmployeeServiceTest {
     @Mock
     private SkillRepository skillRepository;
 
+    @Mock
+    private EmployeeSkillLatestRepository employeeSkillLatestRepository;
+
+    @Mock
+    private BulkImportRepository bulkImportRepository;
+
     @Mock
     private EmployeeMapper employeeMapper;
 
     @Mock
     private SkillEntryMapper skillEntryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(new PaginationProperties());
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -96,7 +122,7 @@ class EmployeeServiceTest {
 
         skillEntry = new SkillEntry();
         skillEntry.setId(1);
-        skillEntry.setEmployee(employee);
+        skillEntry.attributeTo(employee);
         skillEntry.setSkill(skill);
         skillEntry.setRating(4.5);
         skillEntry.setEntryDate(LocalDate.now());
@@ -116,27 +142,54 @@ class EmployeeServiceTest {
     @Test
     void findAll_ShouldReturnListOfEmployeeDtos() {
         // Given
-        List<Employee> employees = Collections.singletonList(employee);
         List<EmployeeDto> expectedDtos = Collections.singletonList(employeeDto);
 
-        when(employeeRepository.findAll()).thenReturn(employees);
-        when(employeeMapper.toDtos(employees)).thenReturn(expectedDtos);
+        when(employeeListingRepository.findPage(null, 101)).thenReturn(expectedDtos);
 
         // When
-        List<EmployeeDto> result = employeeService.findAll();
+        CursorPageDto<EmployeeDto> result = employeeService.findAll(null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(expectedDtos, result);
-        verify(employeeRepository).findAll();
-        verify(employeeMapper).toDtos(employees);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(employeeListingRepository).findPage(null, 101);
+        verifyNoInteractions(employeeMapper);
+    }
+
+    @Test
+    void findAll_WithCursorOfPreviousPage_ShouldListEmployeesAfterItsLastEmployee() {
+        // Given
+        EmployeeDto nextEmployeeDto = new EmployeeDto(2, "Jane", "Roe", "jane.roe@test.com",
+                null, null, null, null, null, null, List.of());
+
+        when(employeeListingRepository.findPage(null, 2)).thenReturn(List.of(employeeDto, nextEmployeeDto));
+        when(employeeListingRepository.findPage(1, 2)).thenReturn(List.of(nextEmployeeDto));
+
+        // When
+        CursorPageDto<EmployeeDto> firstPage = employeeService.findAll(null, 1);
+        CursorPageDto<EmployeeDto> secondPage = employeeService.findAll(firstPage.nextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(employeeDto), firstPage.items());
+        assertEquals(List.of(nextEmployeeDto), secondPage.items());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void findAll_WithInvalidCursor_ShouldThrowRuntimeException() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> employeeService.findAll("not-a-cursor", null));
+
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(employeeListingRepository);
     }
 
     @Test
     void findEmployeeById_WhenEmployeeExists_ShouldReturnEmployeeDto() {
         // Given
-        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findWithDetailsById(1)).thenReturn(Optional.of(employee));
         when(employeeMapper.toDto(employee)).thenReturn(employeeDto);
 
         // When
@@ -145,20 +198,20 @@ class EmployeeServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(employeeDto, result);
-        verify(employeeRepository).findById(1);
+        verify(employeeRepository).findWithDetailsById(1);
         verify(employeeMapper).toDto(employee);
     }
 
     @Test
     void findEmployeeById_WhenEmployeeNotFound_ShouldThrowRuntimeException() {
         // Given
-        when(employeeRepository.findById(999)).thenReturn(Optional.empty());
+        when(employeeRepository.findWithDetailsById(999)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.findEmployeeById(999));
 
         assertEquals("Employee not found", exception.getMessage());
-        verify(employeeRepository).findById(999);
+        verify(employeeRepository).findWithDetailsById(999);
     }
 
     @Test
@@ -265,6 +318,68 @@ class EmployeeServiceTest {
         verify(occupationRepository).findById(1);
     }
 
+    @Test
+    void updateEmployee_WhenDepartmentChanged_ShouldPublishDepartmentChange() {
+        // Given
+        Department newDepartment = new Department();
+        newDepartment.setId(2);
+        newDepartment.setName("New Department");
+        newDepartment.setOrganization(organization);
+
+        SaveEmployeeDto updateDto = new SaveEmployeeDto("John", "Doe", "john.doe@test.com",
+                LocalDate.of(2020, 1, 1), 1, 2, 1);
+
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
+        when(departmentRepository.findById(2)).thenReturn(Optional.of(newDepartment));
+        when(organizationRepository.findById(1)).thenReturn(Optional.of(organization));
+        when(occupationRepository.findById(1)).thenReturn(Optional.of(occupation));
+
+        // When
+        employeeService.updateEmployee(1, updateDto);
+
+        // Then
+        assertEquals(newDepartment, employee.getDepartment());
+        verify(eventPublisher).publishEvent(new EmployeeDepartmentChangedEvent(1, 1, 1, 1, 2));
+    }
+
+    @Test
+    void updateEmployee_WhenDepartmentUnchanged_ShouldNotPublishEvent() {
+        // Given
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
+        when(departmentRepository.findById(1)).thenReturn(Optional.of(department));
+        when(organizationRepository.findById(1)).thenReturn(Optional.of(organization));
+        when(occupationRepository.findById(1)).thenReturn(Optional.of(occupation));
+
+        // When
+        employeeService.updateEmployee(1, saveEmployeeDto);
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateEmployee_WhenNameChanged_ShouldPublishRename() {
+        // Given
+        SaveEmployeeDto updateDto = new SaveEmployeeDto("John", "Updated", "john.doe@test.com",
+                LocalDate.of(2020, 1, 1), 1, 1, 1);
+
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
+        when(departmentRepository.findById(1)).thenReturn(Optional.of(department));
+        when(organizationRepository.findById(1)).thenReturn(Optional.of(organization));
+        when(occupationRepository.findById(1)).thenReturn(Optional.of(occupation));
+        doAnswer(inv -> {
+            employee.setLastName(updateDto.lastName());
+            return null;
+        }).when(employeeMapper).updateFromDto(employee, updateDto);
+
+        // When
+        employeeService.updateEmployee(1, updateDto);
+
+        // Then
+        verify(eventPublisher).publishEvent(new EmployeeRenamedEvent(1));
+        verify(eventPublisher, never()).publishEvent(any(EmployeeDepartmentChangedEvent.class));
+    }
+
     @Test
     void updateEmployee_WhenEmailChangedAndDuplicate_ShouldThrowIllegalArgumentException() {
         // Given
@@ -304,6 +419,30 @@ class EmployeeServiceTest {
         verify(employeeRepository).deleteById(1);
     }
 
+    @Test
+    void deleteEmployee_WithReviewsButNoSkillEntries_ShouldPublishEveryRemovedReview() {
+        // Given
+        PerformanceReview firstReview = new PerformanceReview();
+        firstReview.setId(10);
+        firstReview.setRefersTo(employee);
+        PerformanceReview secondReview = new PerformanceReview();
+        secondReview.setId(11);
+        secondReview.setRefersTo(employee);
+        employee.setSkillEntries(List.of());
+        employee.setPerformanceReviews(List.of(firstReview, secondReview));
+
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
+
+        // When
+        employeeService.deleteEmployee(1);
+
+        // Then
+        verify(employeeRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new PerformanceReviewChangedEvent(10, 1, 1, 1));
+        verify(eventPublisher).publishEvent(new PerformanceReviewChangedEvent(11, 1, 1, 1));
+        verify(eventPublisher, never()).publishEvent(any(SkillEntriesChangedEvent.class));
+    }
+
     @Test
     void changeDepartmentOfEmployee_WhenValid_ShouldChangeDepartment() {
         // Given
@@ -400,7 +539,7 @@ class EmployeeServiceTest {
         when(employeeRepository.saveAll(any())).thenReturn(Arrays.asList(emp1, emp2));
 
         // When
-        employeeService.bulkCreate(json);
+        employeeService.bulkCreate(json, ImportMode.ENTITIES);
 
         // Then
         verify(employeeMapper, times(2)).toEntity(any());
@@ -408,47 +547,95 @@ class EmployeeServiceTest {
     }
 
     @Test
-    void getLatestSkillEntriesOfEmployee_WhenEmployeeExists_ShouldReturnLatestPerSkill() {
+    void bulkCreate_WhenCopyMode_ShouldValidateRelationsOncePerTableAndCopyRows() throws Exception {
         // Given
-        Skill skill2 = new Skill();
-        skill2.setId(2);
-        skill2.setName("Python");
-
-        SkillEntry entry1 = new SkillEntry();
-        entry1.setId(1);
-        entry1.setSkill(skill);
-        entry1.setRating(4.5);
-        entry1.setEntryDate(LocalDate.of(2024, 1, 1));
-
-        SkillEntry entry2 = new SkillEntry();
-        entry2.setId(2);
-        entry2.setSkill(skill);
-        entry2.setRating(5.0);
-        entry2.setEntryDate(LocalDate.of(2024, 2, 1));
-
-        SkillEntry entry3 = new SkillEntry();
-        entry3.setId(3);
-        entry3.setSkill(skill2);
-        entry3.setRating(3.5);
-        entry3.setEntryDate(LocalDate.of(2024, 1, 15));
-
-        List<SkillEntry> allEntries = Arrays.asList(entry2, entry3, entry1);
+        SaveEmployeeDto dto1 = new SaveEmployeeDto("John", "Doe", "john@test.com",
+                LocalDate.now(), 1, 1, 1);
+        SaveEmployeeDto dto2 = new SaveEmployeeDto("Jane", "Smith", "jane@test.com",
+                LocalDate.now(), 1, 2, 1);
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(List.of(dto1, dto2));
 
-        when(employeeRepository.findById(1)).thenReturn(Optional.of(employee));
-        when(skillEntryRepository.findAllByEmployeeIdOrderByEntryDateDesc(1)).thenReturn(allEntries);
+        when(bulkImportRepository.findOrganizationIdsOfDepartments(Set.of(1, 2))).thenReturn(Map.of(1, 1, 2, 1));
+        when(bulkImportRepository.findExistingOrganizationIds(Set.of(1))).thenReturn(Set.of(1));
+        when(bulkImportRepository.findExistingOccupationIds(Set.of(1))).thenReturn(Set.of(1));
+
+        // When
+        employeeService.bulkCreate(json, ImportMode.COPY);
+
+        // Then
+        verify(bulkImportRepository).copyEmployees(List.of(dto1, dto2));
+        verifyNoInteractions(departmentRepository, organizationRepository, occupationRepository, employeeMapper);
+        verify(employeeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void bulkCreate_WhenCopyModeAndDepartmentOfOtherOrganization_ShouldThrowWithoutCopying() throws Exception {
+        // Given
+        SaveEmployeeDto dto = new SaveEmployeeDto("John", "Doe", "john@test.com",
+                LocalDate.now(), 1, 2, 1);
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(List.of(dto));
+
+        when(bulkImportRepository.findOrganizationIdsOfDepartments(Set.of(2))).thenReturn(Map.of(2, 3));
+        when(bulkImportRepository.findExistingOrganizationIds(Set.of(1))).thenReturn(Set.of(1));
+        when(bulkImportRepository.findExistingOccupationIds(Set.of(1))).thenReturn(Set.of(1));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> employeeService.bulkCreate(json, ImportMode.COPY));
+
+        assertEquals("Department does not belong to the Organization", exception.getMessage());
+        verify(bulkImportRepository, never()).copyEmployees(any());
+    }
+
+    @Test
+    void bulkCreate_WhenCopyModeAndOccupationMissing_ShouldThrowWithoutCopying() throws Exception {
+        // Given
+        SaveEmployeeDto dto = new SaveEmployeeDto("John", "Doe", "john@test.com",
+                LocalDate.now(), 1, 1, 99);
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(List.of(dto));
+
+        when(bulkImportRepository.findOrganizationIdsOfDepartments(Set.of(1))).thenReturn(Map.of(1, 1));
+        when(bulkImportRepository.findExistingOrganizationIds(Set.of(1))).thenReturn(Set.of(1));
+        when(bulkImportRepository.findExistingOccupationIds(Set.of(99))).thenReturn(Set.of());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> employeeService.bulkCreate(json, ImportMode.COPY));
+
+        assertEquals("Occupation not found", exception.getMessage());
+        verify(bulkImportRepository, never()).copyEmployees(any());
+    }
+
+    @Test
+    void getLatestSkillEntriesOfEmployee_WhenEmployeeExists_ShouldReturnProjection() {
+        // Given
+        List<SkillToRatingDto> latest = List.of(
+                new SkillToRatingDto(1, "Java", 5.0),
+                new SkillToRatingDto(2, "Python", 3.5));
+
+        when(employeeRepository.existsById(1)).thenReturn(true);
+        when(employeeSkillLatestRepository.findByEmployeeId(1)).thenReturn(latest);
 
         // When
         List<SkillToRatingDto> result = employeeService.getLatestSkillEntriesOfEmployee(1);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(1, result.get(0).skillId());
-        assertEquals(5.0, result.get(0).rating()); // Latest entry for skill 1
-        assertEquals(2, result.get(1).skillId());
-        assertEquals(3.5, result.get(1).rating()); // Latest entry for skill 2
-        verify(employeeRepository).findById(1);
-        verify(skillEntryRepository).findAllByEmployeeIdOrderByEntryDateDesc(1);
+        assertEquals(latest, result);
+        verify(employeeRepository, never()).findById(any());
+        verifyNoInteractions(skillEntryRepository);
+    }
+
+    @Test
+    void getLatestSkillEntriesOfEmployee_WhenEmployeeNotFound_ShouldThrowRuntimeException() {
+        // Given
+        when(employeeRepository.existsById(999)).thenReturn(false);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> employeeService.getLatestSkillEntriesOfEmployee(999));
+
+        assertEquals("Employee not found", exception.getMessage());
+        verifyNoInteractions(employeeSkillLatestRepository);
     }
 
     @Test
@@ -509,27 +696,35 @@ class EmployeeServiceTest {
     @Test
     void removeSkillEntryFromEmployee_WhenValid_ShouldDeleteSkillEntry() {
         // Given
-        when(skillEntryRepository.existsByIdAndEmployeeId(1, 1)).thenReturn(true);
+        when(skillEntryRepository.findById(1)).thenReturn(Optional.of(skillEntry));
 
         // When
         employeeService.removeSkillEntryFromEmployee(1, 1);
 
         // Then
-        verify(skillEntryRepository).existsByIdAndEmployeeId(1, 1);
-        verify(skillEntryRepository).deleteById(1);
+        verify(skillEntryRepository).findById(1);
+        verify(skillEntryRepository).delete(skillEntry);
+
+        ArgumentCaptor<SkillEntriesChangedEvent> captor = ArgumentCaptor.forClass(SkillEntriesChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        SkillEntryChange change = captor.getValue().changes().getFirst();
+        assertEquals(SkillEntryChange.ChangeType.REMOVED, change.type());
+        assertEquals(1, change.organizationId());
+        assertEquals(1, change.departmentId());
+        assertEquals(4.5, change.rating());
     }
 
     @Test
     void removeSkillEntryFromEmployee_WhenNotOwnedByEmployee_ShouldThrowRuntimeException() {
         // Given
-        when(skillEntryRepository.existsByIdAndEmployeeId(1, 1)).thenReturn(false);
+        when(skillEntryRepository.findById(1)).thenReturn(Optional.of(skillEntry));
 
         // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.removeSkillEntryFromEmployee(1, 1));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.removeSkillEntryFromEmployee(2, 1));
 
         assertEquals("Skill entry not found for this employee", exception.getMessage());
-        verify(skillEntryRepository).existsByIdAndEmployeeId(1, 1);
-        verify(skillEntryRepository, never()).deleteById(anyInt());
+        verify(skillEntryRepository).findById(1);
+        verify(skillEntryRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 }
-
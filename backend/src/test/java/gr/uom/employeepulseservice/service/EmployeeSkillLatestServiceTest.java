@@ -0,0 +1,86 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository;
+import gr.uom.employeepulseservice.repository.EmployeeSkillLatestRepository.EmployeeSkill;
+import gr.uom.employeepulseservice.repository.SkillEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class EmployeeSkillLatestServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 15);
+
+    @Mock
+    private EmployeeSkillLatestRepository employeeSkillLatestRepository;
+
+    @Mock
+    private SkillEntryRepository skillEntryRepository;
+
+    @InjectMocks
+    private EmployeeSkillLatestService employeeSkillLatestService;
+
+    @Test
+    void onSkillEntriesChanged_WithAddedEntries_ShouldUpsertWithoutLookup() {
+        // Given
+        SkillEntryChange added = new SkillEntryChange(ChangeType.ADDED, 1, 1, 10, 100, 5, DAY, 4.0);
+        // Entries of employees without a department still count as their latest rating
+        SkillEntryChange withoutDepartment = new SkillEntryChange(ChangeType.ADDED, 2, null, null, 101, 5, DAY, 3.0);
+
+        // When
+        employeeSkillLatestService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added, withoutDepartment));
+
+        // Then
+        verify(employeeSkillLatestRepository).addEntries(List.of(added, withoutDepartment));
+        verify(employeeSkillLatestRepository, never()).refresh(any());
+        verifyNoInteractions(skillEntryRepository);
+    }
+
+    @Test
+    void onSkillEntriesChanged_WithUpdatedEntry_ShouldUpsertThenFlushAndRefresh() {
+        // Given
+        SkillEntryChange removed = new SkillEntryChange(ChangeType.REMOVED, 1, 1, 10, 100, 5, DAY, 4.0);
+        SkillEntryChange added = new SkillEntryChange(ChangeType.ADDED, 1, 1, 10, 100, 5, DAY.minusDays(1), 2.0);
+
+        // When
+        employeeSkillLatestService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(removed, added));
+
+        // Then
+        ArgumentCaptor<Collection<EmployeeSkill>> captor = ArgumentCaptor.forClass(Collection.class);
+        InOrder inOrder = inOrder(employeeSkillLatestRepository, skillEntryRepository);
+        inOrder.verify(employeeSkillLatestRepository).addEntries(List.of(added));
+        inOrder.verify(skillEntryRepository).flush();
+        inOrder.verify(employeeSkillLatestRepository).refresh(captor.capture());
+        assertEquals(Set.of(new EmployeeSkill(100, 5)), Set.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void onSkillEntriesChanged_WithEntryWithoutEmployee_ShouldIgnoreIt() {
+        // Given
+        SkillEntryChange removed = new SkillEntryChange(ChangeType.REMOVED, 1, null, null, null, 5, DAY, 4.0);
+
+        // When
+        employeeSkillLatestService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(removed));
+
+        // Then
+        verifyNoInteractions(employeeSkillLatestRepository, skillEntryRepository);
+    }
+}
@@ -0,0 +1,168 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.EntityCacheRegionStatsDto;
+import gr.uom.employeepulseservice.controller.dto.EntityCacheStatsDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.controller.dto.SkillDto;
+import gr.uom.employeepulseservice.model.Department;
+import gr.uom.employeepulseservice.model.ImportMode;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.DepartmentRepository;
+import gr.uom.employeepulseservice.repository.ImportJobRepository;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import gr.uom.employeepulseservice.support.QueryCounter;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The second-level cache of the reference data: repeated reads are served without statements, writes through the
+// services stay visible, and the writes Hibernate does not track evict only what they change.
+class EntityCacheTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATION = 1;
+    private static final int DEPARTMENT = ORGANIZATION;
+    private static final int SKILL = 1;
+    private static final int MANAGER = employeeId(ORGANIZATION, 1);
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private SkillService skillService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    private Cache cache;
+
+    @BeforeEach
+    void seed() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        cache = entityManagerFactory.getCache();
+
+        // The skill is named for the searches
+        seedOrganization(ORGANIZATION, 1, 0);
+        jdbc.update("INSERT INTO skills (id, name) VALUES (?, 'Java')", SKILL);
+        // Imported skills take their ids from the sequence
+        jdbc.execute("SELECT setval('skills_seq', 100)");
+    }
+
+    @Test
+    void findOrganizationNameById_WhenReadAgain_ShouldTakeNoStatements() {
+        queryCounter.assertCount(1, "findOrganizationNameById",
+                () -> assertEquals(organizationName(ORGANIZATION), organizationService.findOrganizationNameById(ORGANIZATION)));
+        queryCounter.assertCount(0, "findOrganizationNameById",
+                () -> assertEquals(organizationName(ORGANIZATION), organizationService.findOrganizationNameById(ORGANIZATION)));
+    }
+
+    @Test
+    void updateSkill_ShouldBeVisibleToTheNextRead() {
+        // Given
+        skillService.findSkillById(SKILL);
+
+        // When
+        skillService.updateSkill(SKILL, new SaveSkillDto("Kotlin", "JVM language", null));
+
+        // Then
+        queryCounter.assertCount(0, "findSkillById",
+                () -> assertEquals("Kotlin", skillService.findSkillById(SKILL).name()));
+        assertEquals("Kotlin", jdbc.queryForObject("SELECT name FROM skills WHERE id = ?", String.class, SKILL));
+    }
+
+    @Test
+    void searchSkills_WhenRepeated_ShouldBeServedFromTheQueryCache() {
+        queryCounter.assertCount(1, "searchSkills", () -> assertSkillNames(List.of("Java"), skillService.searchSkills("jav")));
+        queryCounter.assertCount(0, "searchSkills", () -> assertSkillNames(List.of("Java"), skillService.searchSkills("jav")));
+    }
+
+    @Test
+    void searchSkills_AfterCopyImport_ShouldFindTheImportedSkills() {
+        // Given
+        assertSkillNames(List.of("Java"), skillService.searchSkills("jav"));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> skillService.importSkills(
+                List.of(new SaveSkillDto("JavaScript", "Web language", null)), ImportMode.COPY));
+
+        // Then
+        assertSkillNames(List.of("Java", "JavaScript"), skillService.searchSkills("jav"));
+    }
+
+    @Test
+    void nativeDepartmentsUpdate_ShouldEvictOnlyTheDepartments() {
+        // Given
+        departmentService.findDepartmentById(DEPARTMENT);
+        skillService.findSkillById(SKILL);
+        assertTrue(cache.contains(Department.class, DEPARTMENT));
+        assertTrue(cache.contains(Skill.class, SKILL));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> departmentRepository.deleteManagerOfDepartmentsByEmployeeId(MANAGER));
+
+        // Then
+        assertFalse(cache.contains(Department.class, DEPARTMENT));
+        assertTrue(cache.contains(Skill.class, SKILL));
+    }
+
+    @Test
+    void importJobUpdates_ShouldKeepTheReferenceData() {
+        // Given
+        skillService.findSkillById(SKILL);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.fail(-1, "missing-run", "Missing job"));
+
+        // Then
+        assertTrue(cache.contains(Skill.class, SKILL));
+    }
+
+    @Test
+    void stats_ShouldReportTheHitsAndSizeOfEveryRegion() {
+        // Given
+        entityManagerFactory.unwrap(org.hibernate.SessionFactory.class).getStatistics().clear();
+        organizationService.findOrganizationNameById(ORGANIZATION);
+        organizationService.findOrganizationNameById(ORGANIZATION);
+
+        // When
+        EntityCacheStatsDto stats = entityCacheService.stats();
+
+        // Then
+        assertEquals(List.of("skills", "occupations", "organizations", "departments", "default-query-results-region"),
+                stats.regions().stream().map(EntityCacheRegionStatsDto::region).toList());
+
+        EntityCacheRegionStatsDto organizations = stats.regions().get(2);
+        assertEquals(1, organizations.size());
+        assertEquals(1000, organizations.maximumSize());
+        assertEquals(1, organizations.hitCount());
+        assertEquals(1, organizations.missCount());
+        assertEquals(0.5, organizations.hitRate());
+    }
+
+    private static void assertSkillNames(List<String> expected, List<SkillDto> skills) {
+        assertEquals(expected, skills.stream().map(SkillDto::name).toList());
+    }
+}
@@ -0,0 +1,95 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.ImportJobDto;
+import gr.uom.employeepulseservice.model.ImportEntityType;
+import gr.uom.employeepulseservice.model.ImportJobStatus;
+import gr.uom.employeepulseservice.model.ImportMode;
+import gr.uom.employeepulseservice.repository.ImportJobRepository;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Import jobs left running by a node that died mid-import: resumable once their progress is older than
+// imports.stale-after, and still refused while it is recent.
+@TestPropertySource(properties = "imports.stale-after=5m")
+class ImportJobReclaimTest extends PostgresIntegrationTest {
+
+    private static final String SKILLS = "[{\"name\":\"Java\",\"description\":null,\"escoId\":\"ESCO-1\"}," +
+            "{\"name\":\"Kotlin\",\"description\":null,\"escoId\":\"ESCO-2\"}]";
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void runJob_WhenRunningJobHasNoRecentProgress_ShouldResumeIt() {
+        // Given a job that committed its first row before its node died
+        ImportJobDto job = importJobService.createJob(ImportEntityType.SKILLS, ImportMode.ENTITIES, 1);
+        jdbc.update("INSERT INTO skills (id, name, esco_id) VALUES (nextval('skills_seq'), 'Java', 'ESCO-1')");
+        jdbc.update("UPDATE import_jobs SET status = 'RUNNING', processed_rows = 1, imported_rows = 1, " +
+                "updated_at = now() - interval '6 minutes' WHERE id = ?", job.id());
+
+        // When
+        ImportJobDto resumed = importJobService.runJob(job.id(), payload());
+
+        // Then
+        assertEquals(ImportJobStatus.COMPLETED, resumed.status());
+        assertEquals(2, resumed.processedRows());
+        assertEquals(2, jdbc.queryForObject("SELECT count(*) FROM skills", Integer.class));
+    }
+
+    @Test
+    void runJob_WhenRunningJobHasRecentProgress_ShouldThrow() {
+        // Given
+        ImportJobDto job = importJobService.createJob(ImportEntityType.SKILLS, ImportMode.ENTITIES, 1);
+        jdbc.update("UPDATE import_jobs SET status = 'RUNNING', updated_at = now() - interval '1 minute' WHERE id = ?",
+                job.id());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importJobService.runJob(job.id(), payload()));
+
+        assertEquals("Import job is already running or completed", exception.getMessage());
+        assertEquals("RUNNING", jdbc.queryForObject("SELECT status FROM import_jobs WHERE id = ?", String.class,
+                job.id()));
+        assertEquals(0, jdbc.queryForObject("SELECT count(*) FROM skills", Integer.class));
+    }
+
+    @Test
+    void reclaimedJob_ShouldIgnoreTheRunItWasTakenFrom() {
+        // Given a run too slow to be waited for, and the run that reclaimed its job
+        ImportJobDto job = importJobService.createJob(ImportEntityType.SKILLS, ImportMode.ENTITIES, 1);
+        assertEquals(1, importJobRepository.start(job.id(), "slow-run", 300));
+        jdbc.update("UPDATE import_jobs SET updated_at = now() - interval '6 minutes' WHERE id = ?", job.id());
+        assertEquals(1, importJobRepository.start(job.id(), "new-run", 300));
+
+        // When & Then
+        assertEquals(0, transactionTemplate.execute(status ->
+                importJobRepository.recordChunk(job.id(), "slow-run", 1, 1, 0)));
+        assertEquals(0, importJobRepository.complete(job.id(), "slow-run"));
+        assertEquals(0, importJobRepository.fail(job.id(), "slow-run", "Stopped"));
+        assertEquals(1, importJobRepository.complete(job.id(), "new-run"));
+
+        assertEquals(0, jdbc.queryForObject("SELECT processed_rows FROM import_jobs WHERE id = ?", Long.class,
+                job.id()));
+        assertEquals("COMPLETED", jdbc.queryForObject("SELECT status FROM import_jobs WHERE id = ?", String.class,
+                job.id()));
+    }
+
+    private static InputStream payload() {
+        return new ByteArrayInputStream(SKILLS.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,311 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.ImportProperties;
+import gr.uom.employeepulseservice.controller.dto.SaveEmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
+import gr.uom.employeepulseservice.mapper.ImportJobMapper;
+import gr.uom.employeepulseservice.model.*;
+import gr.uom.employeepulseservice.repository.ImportJobErrorRepository;
+import gr.uom.employeepulseservice.repository.ImportJobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Mock
+    private ImportJobMapper importJobMapper;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private SkillService skillService;
+
+    @Mock
+    private OccupationService occupationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportProperties importProperties;
+    private ImportJobService importJobService;
+    private ImportJob job;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        importJobService = new ImportJobService(importJobRepository, importJobErrorRepository, importJobMapper,
+                importProperties, employeeService, skillService, occupationService,
+                new TransactionTemplate(transactionManager), entityManager);
+
+        job = new ImportJob();
+        job.setId(1);
+        job.setEntityType(ImportEntityType.SKILLS);
+        job.setMode(ImportMode.COPY);
+        job.setStatus(ImportJobStatus.PENDING);
+        job.setChunkSize(2);
+
+        // The run keeps its claim on the job unless a test takes it over
+        lenient().when(importJobRepository.recordChunk(anyInt(), anyString(), anyLong(), anyLong(), anyLong())).thenReturn(1);
+        lenient().when(importJobRepository.complete(anyInt(), anyString())).thenReturn(1);
+    }
+
+    @Test
+    void createJob_WithoutChunkSize_ShouldUseConfiguredChunkSize() {
+        // Given
+        importProperties.setChunkSize(500);
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        importJobService.createJob(ImportEntityType.SKILLS, ImportMode.COPY, null);
+
+        // Then
+        ArgumentCaptor<ImportJob> saved = ArgumentCaptor.forClass(ImportJob.class);
+        verify(importJobRepository).save(saved.capture());
+        assertEquals(500, saved.getValue().getChunkSize());
+        assertEquals(ImportJobStatus.PENDING, saved.getValue().getStatus());
+    }
+
+    @Test
+    void createJob_WhenChunkSizeNotPositive_ShouldThrow() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importJobService.createJob(ImportEntityType.SKILLS, ImportMode.COPY, 0));
+
+        assertEquals("Chunk size must be positive", exception.getMessage());
+        verifyNoInteractions(importJobRepository);
+    }
+
+    @Test
+    void runJob_ShouldCommitEveryChunkWithItsProgress() {
+        // Given
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+
+        // When
+        importJobService.runJob(1, payload(skills(5)));
+
+        // Then
+        verify(skillService).importSkills(List.of(skill(1), skill(2)), ImportMode.COPY);
+        verify(skillService).importSkills(List.of(skill(3), skill(4)), ImportMode.COPY);
+        verify(skillService).importSkills(List.of(skill(5)), ImportMode.COPY);
+        verifyChunk(2, 2, 0);
+        verifyChunk(4, 2, 0);
+        verifyChunk(5, 1, 0);
+        verify(transactionManager, times(3)).commit(any());
+        verify(importJobRepository).complete(eq(1), anyString());
+        verify(importJobRepository, never()).fail(any(), any(), any());
+    }
+
+    @Test
+    void runJob_WhenResumed_ShouldSkipProcessedRows() {
+        // Given
+        job.setStatus(ImportJobStatus.FAILED);
+        job.setProcessedRows(3);
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+
+        // When
+        importJobService.runJob(1, payload(skills(5)));
+
+        // Then
+        verify(skillService).importSkills(List.of(skill(4), skill(5)), ImportMode.COPY);
+        verifyNoMoreInteractions(skillService);
+        verifyChunk(5, 2, 0);
+        verify(importJobRepository).complete(eq(1), anyString());
+    }
+
+    @Test
+    void runJob_WhenRowRejectedByWriter_ShouldImportTheOtherRowsOfItsChunk() {
+        // Given
+        job.setEntityType(ImportEntityType.EMPLOYEES);
+        job.setChunkSize(3);
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+        doAnswer(invocation -> {
+            List<SaveEmployeeDto> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.departmentId() == 99)) {
+                throw new RuntimeException("Department not found");
+            }
+            return null;
+        }).when(employeeService).importEmployees(anyList(), eq(ImportMode.COPY));
+
+        String json = "[" + employee(1) + "," + employee(99) + "," + employee(2) + "]";
+
+        // When
+        importJobService.runJob(1, payload(json));
+
+        // Then
+        ArgumentCaptor<List<ImportJobError>> errors = ArgumentCaptor.captor();
+        verify(importJobErrorRepository, times(3)).saveAll(errors.capture());
+        List<ImportJobError> recorded = errors.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(1, recorded.size());
+        assertEquals(2, recorded.getFirst().getRowNumber());
+        assertEquals("Department not found", recorded.getFirst().getMessage());
+
+        verifyChunk(1, 1, 0);
+        verifyChunk(2, 0, 1);
+        verifyChunk(3, 1, 0);
+        verify(importJobRepository).complete(eq(1), anyString());
+    }
+
+    @Test
+    void runJob_WhenRowDoesNotFitItsType_ShouldRejectItWithoutWritingIt() {
+        // Given
+        job.setEntityType(ImportEntityType.EMPLOYEES);
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+
+        String json = "[" + employee(1) + ",{\"firstName\":\"Jane\",\"hireDate\":\"yesterday\"}]";
+
+        // When
+        importJobService.runJob(1, payload(json));
+
+        // Then
+        verify(employeeService).importEmployees(anyList(), eq(ImportMode.COPY));
+        verifyChunk(2, 1, 1);
+        verify(importJobRepository).complete(eq(1), anyString());
+    }
+
+    @Test
+    void runJob_WhenPayloadMalformed_ShouldFailKeepingCommittedChunks() {
+        // Given
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+
+        String json = "[" + skillJson(1) + "," + skillJson(2) + ",{\"name\":";
+
+        // When
+        importJobService.runJob(1, payload(json));
+
+        // Then
+        verify(skillService).importSkills(List.of(skill(1), skill(2)), ImportMode.COPY);
+        verifyChunk(2, 2, 0);
+        verify(importJobRepository).fail(eq(1), anyString(), any());
+        verify(importJobRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    void runJob_WhenClaimedByAnotherRun_ShouldStopWithoutFinishingTheJob() {
+        // Given
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(1);
+        when(importJobRepository.recordChunk(eq(1), anyString(), eq(2L), eq(2L), eq(0L))).thenReturn(0);
+
+        // When
+        importJobService.runJob(1, payload(skills(5)));
+
+        // Then the chunk is rolled back and neither retried row by row nor followed by the next one
+        verify(skillService).importSkills(List.of(skill(1), skill(2)), ImportMode.COPY);
+        verifyNoMoreInteractions(skillService);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(importJobRepository, never()).complete(any(), any());
+        verify(importJobRepository, never()).fail(any(), any(), any());
+    }
+
+    @Test
+    void runJob_WhenAlreadyRunningOrCompleted_ShouldThrow() {
+        // Given
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(600L))).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importJobService.runJob(1, payload(skills(1))));
+
+        assertEquals("Import job is already running or completed", exception.getMessage());
+        verify(importJobRepository, never()).recordChunk(any(), any(), anyLong(), anyLong(), anyLong());
+        verifyNoInteractions(skillService);
+    }
+
+    @Test
+    void runJob_ShouldReclaimJobsWithoutProgressForTheConfiguredTime() {
+        // Given
+        importProperties.setStaleAfter(Duration.ofMinutes(2));
+        job.setStatus(ImportJobStatus.RUNNING);
+        when(importJobRepository.findById(1)).thenReturn(Optional.of(job));
+        when(importJobRepository.start(eq(1), anyString(), eq(120L))).thenReturn(1);
+
+        // When
+        importJobService.runJob(1, payload(skills(1)));
+
+        // Then
+        verify(skillService).importSkills(List.of(skill(1)), ImportMode.COPY);
+        verify(importJobRepository).complete(eq(1), anyString());
+    }
+
+    @Test
+    void runJob_WhenJobNotFound_ShouldThrow() {
+        // Given
+        when(importJobRepository.findById(999)).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importJobService.runJob(999, payload("[]")));
+
+        assertEquals("Import job not found", exception.getMessage());
+    }
+
+    private void verifyChunk(long processedRows, long importedRows, long failedRows) {
+        verify(importJobRepository).recordChunk(eq(1), anyString(), eq(processedRows), eq(importedRows), eq(failedRows));
+    }
+
+    private static InputStream payload(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String skills(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            json.append(i > 1 ? "," : "").append(skillJson(i));
+        }
+        return json.append("]").toString();
+    }
+
+    private static String skillJson(int i) {
+        return "{\"name\":\"Skill " + i + "\",\"description\":null,\"escoId\":\"ESCO-" + i + "\"}";
+    }
+
+    private static SaveSkillDto skill(int i) {
+        return new SaveSkillDto("Skill " + i, null, "ESCO-" + i);
+    }
+
+    private static String employee(int departmentId) {
+        return "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john" + departmentId + "@test.com\"," +
+                "\"hireDate\":\"2024-01-01\",\"organizationId\":1,\"departmentId\":" + departmentId + ",\"occupationId\":1}";
+    }
+}
@@ -0,0 +1,236 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
+import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.PerformanceReviewDto;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Walks every keyset-paged listing page by page and checks the pages add up to the whole listing in its order, then
+// shows with the plans of the listing queries that a deep page reads as few rows as the first one while OFFSET reads
+// every row it skips.
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class KeysetPaginationTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATION = 1;
+    private static final int EMPLOYEES = 10_000;
+    private static final int REVIEWS = 10_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int SKILL = skillId(ORGANIZATION, 1);
+    private static final int REVIEWED_EMPLOYEE = employeeId(ORGANIZATION, 1);
+
+    private static final String EMPLOYEES_AFTER_SQL = """
+            SELECT id FROM employees
+            WHERE organization_id = ?
+              AND (COALESCE(hire_date, '-infinity'::date), id) < (?::date, ?)
+            ORDER BY COALESCE(hire_date, '-infinity'::date) DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String EMPLOYEES_OFFSET_SQL = """
+            SELECT id FROM employees
+            WHERE organization_id = ?
+            ORDER BY COALESCE(hire_date, '-infinity'::date) DESC, id DESC
+            OFFSET ? LIMIT ?
+            """;
+
+    private static final String REVIEWS_BEFORE_SQL = """
+            SELECT id FROM performance_reviews
+            WHERE department_id = ?
+              AND (review_date_time, id) < (?, ?)
+            ORDER BY review_date_time DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String REVIEWS_OFFSET_SQL = """
+            SELECT id FROM performance_reviews
+            WHERE department_id = ?
+            ORDER BY review_date_time DESC, id DESC
+            OFFSET ? LIMIT ?
+            """;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private PerformanceReviewService performanceReviewService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() {
+        seedReviews();
+    }
+
+    @AfterAll
+    void truncateAfterAll() {
+        truncate();
+    }
+
+    @Test
+    void employeeListings_ShouldPageThroughEveryEmployeeInOrder() {
+        assertEquals(jdbc.queryForList("SELECT id FROM employees ORDER BY id", Integer.class),
+                walk((cursor, size) -> employeeService.findAll(cursor, size), EmployeeDto::id));
+        assertEquals(jdbc.queryForList("SELECT id FROM employees WHERE department_id = ? ORDER BY id",
+                        Integer.class, ORGANIZATION),
+                walk((cursor, size) -> departmentService.findEmployeesById(ORGANIZATION, cursor, size), EmployeeDto::id));
+        assertEquals(jdbc.queryForList("SELECT id FROM employees WHERE organization_id = ? " +
+                                "ORDER BY hire_date DESC NULLS LAST, id DESC", Integer.class, ORGANIZATION),
+                walk((cursor, size) -> organizationService.findEmployeesById(ORGANIZATION, null, cursor, size), EmployeeDto::id));
+    }
+
+    @Test
+    void organizationEmployees_WithName_ShouldPageThroughTheMatchingEmployeesInOrder() {
+        assertEquals(jdbc.queryForList("SELECT id FROM employees WHERE organization_id = ? " +
+                                "AND (first_name || ' ' || last_name) ILIKE '%' || ? || '%' " +
+                                "ORDER BY hire_date DESC NULLS LAST, id DESC", Integer.class, ORGANIZATION, "1"),
+                walk((cursor, size) -> organizationService.findEmployeesById(ORGANIZATION, " 1 ", cursor, size),
+                        EmployeeDto::id));
+        assertEquals(List.of(), organizationService.findEmployeesById(ORGANIZATION, "%", null, null).items());
+    }
+
+    @Test
+    void reviewListings_ShouldPageThroughEveryReviewInOrder() {
+        String newestFirst = " ORDER BY review_date_time DESC, id DESC";
+
+        assertEquals(jdbc.queryForList("SELECT id FROM performance_reviews WHERE department_id = ?" + newestFirst,
+                        Integer.class, ORGANIZATION),
+                walk((cursor, size) -> performanceReviewService.findByOrganization(ORGANIZATION, cursor, size),
+                        PerformanceReviewDto::id));
+        assertEquals(jdbc.queryForList("SELECT id FROM performance_reviews WHERE employee_id = ?" + newestFirst,
+                        Integer.class, REVIEWED_EMPLOYEE),
+                walk((cursor, size) -> performanceReviewService.findByEmployee(REVIEWED_EMPLOYEE, cursor, size),
+                        PerformanceReviewDto::id));
+        assertEquals(jdbc.queryForList("SELECT id FROM performance_reviews pr WHERE EXISTS (SELECT 1 FROM " +
+                                "skill_entries se WHERE se.performance_review_id = pr.id AND se.skill_id = ?)" + newestFirst,
+                        Integer.class, SKILL),
+                walk((cursor, size) -> performanceReviewService.findBySkill(SKILL, cursor, size),
+                        PerformanceReviewDto::id));
+    }
+
+    @Test
+    void deepPages_ShouldReadOnlyTheirOwnRows() {
+        // Half of the rows come before the page, half of the rest after it
+        int deepOffset = EMPLOYEES / 2;
+
+        Map<String, Object> lastEmployee = jdbc.queryForMap("SELECT hire_date, id FROM employees " +
+                "WHERE organization_id = ? ORDER BY COALESCE(hire_date, '-infinity'::date) DESC, id DESC " +
+                "OFFSET ? LIMIT 1", ORGANIZATION, deepOffset - 1);
+        Object hireDate = lastEmployee.get("hire_date") != null ? lastEmployee.get("hire_date").toString() : "-infinity";
+        JsonNode keysetEmployees = plan(EMPLOYEES_AFTER_SQL, ORGANIZATION, hireDate, lastEmployee.get("id"), PAGE_SIZE);
+        JsonNode offsetEmployees = plan(EMPLOYEES_OFFSET_SQL, ORGANIZATION, deepOffset, PAGE_SIZE);
+
+        Map<String, Object> lastReview = jdbc.queryForMap("SELECT review_date_time, id FROM performance_reviews " +
+                "WHERE department_id = ? ORDER BY review_date_time DESC, id DESC OFFSET ? LIMIT 1", ORGANIZATION, deepOffset - 1);
+        JsonNode keysetReviews = plan(REVIEWS_BEFORE_SQL, ORGANIZATION, (Timestamp) lastReview.get("review_date_time"),
+                lastReview.get("id"), PAGE_SIZE);
+        JsonNode offsetReviews = plan(REVIEWS_OFFSET_SQL, ORGANIZATION, deepOffset, PAGE_SIZE);
+
+        log.info("Rows read for the page at offset {}: employees keyset {} / OFFSET {}, reviews keyset {} / OFFSET {}",
+                deepOffset, rowsRead(keysetEmployees), rowsRead(offsetEmployees),
+                rowsRead(keysetReviews), rowsRead(offsetReviews));
+        // The keyset pages are read in index order from their key on and stop with the page; a few rows more are
+        // read ahead by the partition merge
+        for (JsonNode keyset : List.of(keysetEmployees, keysetReviews)) {
+            assertTrue(rowsRead(keyset) < 2 * PAGE_SIZE, keyset::toPrettyString);
+        }
+        assertTrue(rowsRead(offsetEmployees) >= deepOffset + PAGE_SIZE);
+        assertTrue(rowsRead(offsetReviews) >= deepOffset + PAGE_SIZE);
+
+        long firstPageMillis = time(() -> performanceReviewService.findByOrganization(ORGANIZATION, null, PAGE_SIZE));
+        String deepCursor = null;
+        for (int page = 0; page < REVIEWS / PAGE_SIZE - 1; page++) {
+            deepCursor = performanceReviewService.findByOrganization(ORGANIZATION, deepCursor, PAGE_SIZE).nextCursor();
+        }
+        String lastCursor = deepCursor;
+        long lastPageMillis = time(() -> performanceReviewService.findByOrganization(ORGANIZATION, lastCursor, PAGE_SIZE));
+        log.info("Organization review listing: first page {} ms, last page {} ms", firstPageMillis, lastPageMillis);
+    }
+
+    // Follows the cursors from the first page to the last
+    private <T> List<Integer> walk(BiFunction<String, Integer, CursorPageDto<T>> listing, Function<T, Integer> idOf) {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<T> page = listing.apply(cursor, PAGE_SIZE);
+            assertTrue(page.items().size() <= PAGE_SIZE);
+            page.items().forEach(item -> ids.add(idOf.apply(item)));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    // The executed plan of the query, from its top node
+    private JsonNode plan(String sql, Object... args) {
+        String plan = jdbc.queryForObject("EXPLAIN (ANALYZE, FORMAT JSON) " + sql, String.class, args);
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Table rows the scans of the plan read, whether they passed their filters or not
+    private static long rowsRead(JsonNode plan) {
+        long rows = plan.has("Relation Name")
+                ? plan.get("Actual Rows").asLong() + plan.path("Rows Removed by Filter").asLong()
+                : 0;
+        for (JsonNode child : plan.path("Plans")) {
+            rows += rowsRead(child);
+        }
+        return rows;
+    }
+
+    // Fastest of three runs
+    private static long time(Runnable listing) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long started = System.nanoTime();
+            listing.run();
+            best = Math.min(best, (System.nanoTime() - started) / 1_000_000);
+        }
+        return best;
+    }
+
+    // One department of every employee, every tenth employee without a hire date and many employees sharing each
+    // hire date; reviews spread over a year with many sharing each review time, every third one rating the skill
+    private void seedReviews() {
+        seedOrganization(ORGANIZATION, EMPLOYEES, 1);
+        jdbc.update("UPDATE employees SET hire_date = NULL WHERE (id - ?) % 10 = 0", employeeId(ORGANIZATION, 0));
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, reporter_id, department_id, overall_rating, " +
+                        "review_date, review_date_time) " +
+                        "SELECT g, ? + g % 100, ?, ?, 3.0, t::date, t " +
+                        "FROM generate_series(1, ?) g, " +
+                        "LATERAL (SELECT TIMESTAMP '2024-01-01 09:00' + (g % 2000) * INTERVAL '4 hours' AS t) times",
+                REVIEWED_EMPLOYEE, REVIEWED_EMPLOYEE, ORGANIZATION, REVIEWS);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, performance_review_id, organization_id, " +
+                        "department_id, entry_date, entry_date_time, rating) " +
+                        "SELECT pr.id, pr.employee_id, ?, pr.id, ?, ?, pr.review_date, pr.review_date_time, 4.0 " +
+                        "FROM performance_reviews pr WHERE pr.id % 3 = 0",
+                SKILL, ORGANIZATION, ORGANIZATION);
+        jdbc.execute("ANALYZE employees, performance_reviews, skill_entries");
+    }
+}
@@ -0,0 +1,83 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.PaginationProperties;
+import gr.uom.employeepulseservice.controller.dto.CursorPageDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+    private final KeysetPaging keysetPaging = new KeysetPaging(new PaginationProperties());
+
+    @Test
+    void pageSize_ShouldDefaultAndCapRequestedSizes() {
+        assertEquals(100, keysetPaging.pageSize(null));
+        assertEquals(20, keysetPaging.pageSize(20));
+        assertEquals(500, keysetPaging.pageSize(100_000));
+    }
+
+    @Test
+    void pageSize_WhenNotPositive_ShouldThrowRuntimeException() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> keysetPaging.pageSize(0));
+
+        assertEquals("Page size must be positive", exception.getMessage());
+    }
+
+    @Test
+    void decode_ShouldReturnTheEncodedKeys() {
+        // Given
+        LocalDateTime reviewDateTime = LocalDateTime.of(2026, 1, 15, 10, 30, 5);
+        String cursor = keysetPaging.encode(reviewDateTime, 42, null);
+
+        // When
+        String[] keys = keysetPaging.decode(cursor, 3, k -> k, null);
+
+        // Then
+        assertEquals(List.of(reviewDateTime.toString(), "42"), Arrays.asList(keys).subList(0, 2));
+        assertNull(keys[2]);
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "Cursors should be safe in query strings");
+    }
+
+    @Test
+    void decode_WithoutCursor_ShouldReturnTheFirstPageKey() {
+        assertEquals(-1, keysetPaging.decode(null, 1, keys -> Integer.valueOf(keys[0]), -1));
+        assertEquals(-1, keysetPaging.decode("", 1, keys -> Integer.valueOf(keys[0]), -1));
+    }
+
+    @Test
+    void decode_WithMalformedCursor_ShouldThrowRuntimeException() {
+        String wrongKeyCount = keysetPaging.encode(1, 2);
+        String wrongKeyType = keysetPaging.encode("abc");
+
+        for (String cursor : List.of("%%%", wrongKeyCount, wrongKeyType)) {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> keysetPaging.decode(cursor, 1, keys -> Integer.valueOf(keys[0]), null));
+            assertEquals("Invalid cursor", exception.getMessage());
+        }
+    }
+
+    @Test
+    void page_WhenRowsExceedPageSize_ShouldDropTheExtraRowAndPointPastTheLastItem() {
+        // When
+        CursorPageDto<Integer> page = keysetPaging.page(List.of(1, 2, 3), 2, id -> keysetPaging.encode(id));
+
+        // Then
+        assertEquals(List.of(1, 2), page.items());
+        assertEquals(keysetPaging.encode(2), page.nextCursor());
+    }
+
+    @Test
+    void page_WhenRowsFitThePage_ShouldHaveNoNextCursor() {
+        // When
+        CursorPageDto<Integer> page = keysetPaging.page(List.of(1, 2), 2, id -> keysetPaging.encode(id));
+
+        // Then
+        assertEquals(List.of(1, 2), page.items());
+        assertNull(page.nextCursor());
+    }
+}
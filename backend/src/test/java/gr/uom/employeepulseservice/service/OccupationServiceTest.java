@@ -2,8 +2,12 @@ package gr.uom.employeepulseservice.service;
 
 import gr.uom.employeepulseservice.controller.dto.OccupationDto;
 import gr.uom.employeepulseservice.controller.dto.SaveOccupationDto;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
 import gr.uom.employeepulseservice.mapper.OccupationMapper;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.model.Occupation;
+import gr.uom.employeepulseservice.repository.BulkImportRepository;
 import gr.uom.employeepulseservice.repository.OccupationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +39,12 @@ class OccupationServiceTest {
     @Mock
     private OccupationMapper occupationMapper;
 
+    @Mock
+    private BulkImportRepository bulkImportRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OccupationService occupationService;
 
@@ -138,6 +149,7 @@ class OccupationServiceTest {
         // Then
         verify(occupationRepository).findById(1);
         verify(occupationMapper).updateFromDto(occupation, updateDto);
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Occupation.class, 1));
     }
 
     @Test
@@ -164,6 +176,7 @@ class OccupationServiceTest {
 
         // Then
         verify(occupationRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Occupation.class, 1));
     }
 
     @Test
@@ -185,7 +198,7 @@ class OccupationServiceTest {
         when(occupationRepository.saveAll(anyList())).thenReturn(List.of(occupation1, occupation2));
 
         // When
-        occupationService.bulkCreateOccupations(json);
+        occupationService.bulkCreateOccupations(json, ImportMode.ENTITIES);
 
         // Then
         verify(occupationRepository).saveAll(anyList());
@@ -200,13 +213,28 @@ class OccupationServiceTest {
         when(occupationRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
 
         // When
-        occupationService.bulkCreateOccupations(json);
+        occupationService.bulkCreateOccupations(json, ImportMode.ENTITIES);
 
         // Then
         verify(occupationRepository).saveAll(anyList());
         verify(occupationMapper, never()).toEntity(any());
     }
 
+    @Test
+    void bulkCreateOccupations_WhenCopyMode_ShouldCopyRowsWithoutEntities() {
+        // Given
+        String json = "[{\"title\":\"Software Engineer\",\"description\":\"Develops software\",\"escoId\":\"ESCO-1\"}]";
+
+        // When
+        occupationService.bulkCreateOccupations(json, ImportMode.COPY);
+
+        // Then
+        verify(bulkImportRepository).copyOccupations(
+                List.of(new SaveOccupationDto("Software Engineer", "Develops software", "ESCO-1")));
+        verify(eventPublisher).publishEvent(new ReferenceDataImportedEvent(Occupation.class));
+        verifyNoInteractions(occupationRepository, occupationMapper);
+    }
+
     @Test
     void findByOrganizationId_WhenOccupationsExist_ShouldReturnListOfOccupationDtos() {
         // Given
@@ -1,16 +1,18 @@
 package gr.uom.employeepulseservice.service;
 
+import gr.uom.employeepulseservice.config.PaginationProperties;
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
 import gr.uom.employeepulseservice.mapper.DepartmentMapper;
-import gr.uom.employeepulseservice.mapper.EmployeeMapper;
 import gr.uom.employeepulseservice.mapper.OrganizationMapper;
 import gr.uom.employeepulseservice.mapper.SkillMapper;
 import gr.uom.employeepulseservice.model.Department;
-import gr.uom.employeepulseservice.model.Employee;
 import gr.uom.employeepulseservice.model.Organization;
 import gr.uom.employeepulseservice.model.Skill;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
-import gr.uom.employeepulseservice.repository.EmployeeRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository;
+import gr.uom.employeepulseservice.repository.EmployeeListingRepository.HireDateKey;
 import gr.uom.employeepulseservice.repository.OrganizationRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +20,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -39,10 +44,7 @@ class OrganizationServiceTest {
     private OrganizationMapper organizationMapper;
 
     @Mock
-    private EmployeeRepository employeeRepository;
-
-    @Mock
-    private EmployeeMapper employeeMapper;
+    private EmployeeListingRepository employeeListingRepository;
 
     @Mock
     private DepartmentRepository departmentRepository;
@@ -56,6 +58,12 @@ class OrganizationServiceTest {
     @Mock
     private SkillMapper skillMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(new PaginationProperties());
+
     @InjectMocks
     private OrganizationService organizationService;
 
@@ -63,7 +71,6 @@ class OrganizationServiceTest {
     private OrganizationDto organizationDto;
     private SaveOrganizationDto saveOrganizationDto;
 
-    private Employee employee;
     private EmployeeDto employeeDto;
 
     private Department department;
@@ -89,13 +96,6 @@ class OrganizationServiceTest {
 
         departmentDto = new DepartmentDto(10, "Test Department", 1, null, null, null);
 
-        employee = new Employee();
-        employee.setId(100);
-        employee.setFirstName("John");
-        employee.setLastName("Doe");
-        employee.setOrganization(organization);
-        employee.setDepartment(department);
-
         employeeDto = new EmployeeDto(
                 100,
                 "John",
@@ -199,6 +199,8 @@ class OrganizationServiceTest {
         assertEquals("Updated Location", organization.getLocation());
         verify(organizationRepository).findById(1);
         verify(organizationRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new OrganizationStructureChangedEvent(1, null));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Organization.class, 1));
     }
 
     @Test
@@ -220,25 +222,60 @@ class OrganizationServiceTest {
 
         // Then
         verify(organizationRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new OrganizationStructureChangedEvent(1, null));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Organization.class, 1));
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Department.class, null));
     }
 
     @Test
     void findEmployeesById_ShouldReturnListOfEmployeeDtos() {
         // Given
-        List<Employee> employees = Collections.singletonList(employee);
         List<EmployeeDto> expectedDtos = Collections.singletonList(employeeDto);
 
-        when(employeeRepository.findByOrganizationIdOrderByHireDateDesc(1)).thenReturn(employees);
-        when(employeeMapper.toDtos(employees)).thenReturn(expectedDtos);
+        when(employeeListingRepository.findPageByOrganizationId(1, null, null, 101)).thenReturn(expectedDtos);
 
         // When
-        List<EmployeeDto> result = organizationService.findEmployeesById(1);
+        CursorPageDto<EmployeeDto> result = organizationService.findEmployeesById(1, null, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(expectedDtos, result);
-        verify(employeeRepository).findByOrganizationIdOrderByHireDateDesc(1);
-        verify(employeeMapper).toDtos(employees);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(employeeListingRepository).findPageByOrganizationId(1, null, null, 101);
+    }
+
+    @Test
+    void findEmployeesById_WithCursorOfPreviousPage_ShouldListEmployeesAfterItsLastEmployee() {
+        // Given
+        EmployeeDto hiredDto = new EmployeeDto(7, "John", "Doe", "john.doe@test.com",
+                LocalDate.of(2024, 3, 1), null, null, 1, null, null, List.of());
+        EmployeeDto notHiredDto = new EmployeeDto(3, "Jane", "Roe", "jane.roe@test.com",
+                null, null, null, 1, null, null, List.of());
+
+        when(employeeListingRepository.findPageByOrganizationId(1, null, null, 2)).thenReturn(List.of(hiredDto, notHiredDto));
+
+        // When
+        CursorPageDto<EmployeeDto> firstPage = organizationService.findEmployeesById(1, null, null, 1);
+        organizationService.findEmployeesById(1, null, firstPage.nextCursor(), 1);
+        organizationService.findEmployeesById(1, null, keysetPaging.encode(null, 3), 1);
+
+        // Then
+        assertEquals(List.of(hiredDto), firstPage.items());
+        verify(employeeListingRepository).findPageByOrganizationId(1, null, new HireDateKey(LocalDate.of(2024, 3, 1), 7), 2);
+        verify(employeeListingRepository).findPageByOrganizationId(1, null, new HireDateKey(null, 3), 2);
+    }
+
+    @Test
+    void findEmployeesById_WithName_ShouldListOnlyMatchingEmployees() {
+        // Given
+        when(employeeListingRepository.findPageByOrganizationId(1, "doe", null, 21)).thenReturn(List.of(employeeDto));
+
+        // When
+        CursorPageDto<EmployeeDto> result = organizationService.findEmployeesById(1, "doe", null, 20);
+
+        // Then
+        assertEquals(List.of(employeeDto), result.items());
+        assertNull(result.nextCursor());
     }
 
     @Test
@@ -0,0 +1,56 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.repository.PartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private PartitionRepository partitionRepository;
+
+    @Test
+    void createUpcomingPartitions_ShouldCoverConfiguredQuartersOfEveryPartitionedTable() {
+        // Given
+        ReportingProperties reportingProperties = new ReportingProperties();
+        reportingProperties.getPartitions().setQuartersAhead(2);
+        PartitionMaintenanceService partitionMaintenanceService =
+                new PartitionMaintenanceService(partitionRepository, reportingProperties);
+        when(partitionRepository.ensureQuarterlyPartitions(any(), any(), any())).thenReturn(1, 0);
+
+        // When
+        partitionMaintenanceService.createUpcomingPartitions();
+
+        // Then
+        LocalDate today = LocalDate.now();
+        verify(partitionRepository).ensureQuarterlyPartitions(eq("skill_entries"), eq(today), eq(today.plusMonths(6)));
+        verify(partitionRepository).ensureQuarterlyPartitions(eq("performance_reviews"), eq(today), eq(today.plusMonths(6)));
+        verifyNoMoreInteractions(partitionRepository);
+    }
+
+    @Test
+    void createUpcomingPartitions_WhenOneTableFails_ShouldStillCoverTheOthers() {
+        // Given
+        PartitionMaintenanceService partitionMaintenanceService =
+                new PartitionMaintenanceService(partitionRepository, new ReportingProperties());
+        when(partitionRepository.ensureQuarterlyPartitions(eq("skill_entries"), any(), any()))
+                .thenThrow(new RuntimeException("relation \"skill_entries_2025q1\" already exists"));
+
+        // When
+        assertDoesNotThrow(partitionMaintenanceService::createUpcomingPartitions);
+
+        // Then
+        verify(partitionRepository).ensureQuarterlyPartitions(eq("performance_reviews"), any(), any());
+    }
+}
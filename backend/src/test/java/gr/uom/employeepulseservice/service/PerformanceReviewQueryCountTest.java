@@ -0,0 +1,185 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.PerformanceReviewDto;
+import gr.uom.employeepulseservice.controller.dto.SaveSkillEntryDto;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import gr.uom.employeepulseservice.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Lists the reviews of a small and a large organization through every listing of the service and checks they take the
+// same number of statements, however many reviews, reviewers, employees and skill entries they map.
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PerformanceReviewQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 2;
+
+    private static final int SMALL_REVIEWS = 2;
+    private static final int LARGE_REVIEWS = 40;
+    private static final int SKILL_ENTRIES_PER_REVIEW = 3;
+    private static final int RATINGS = 50;
+
+    // Employee 1 manages the department and writes its reviews, employee 2 is the subject of every other one
+    private static final int MANAGER = 1;
+    private static final int REVIEWED = 2;
+
+    @Autowired
+    private PerformanceReviewService performanceReviewService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void seed() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        seedOrganization(SMALL, SMALL_REVIEWS);
+        seedOrganization(LARGE, LARGE_REVIEWS);
+    }
+
+    @Test
+    void findByDate_ShouldTakeConstantStatements() {
+        assertConstant("findByDate", org -> performanceReviewService.findByDate(reviewDate(org), null, null).items());
+    }
+
+    @Test
+    void findByDateRange_ShouldTakeConstantStatements() {
+        assertConstant("findByDateRange", org -> performanceReviewService.findByDateRange(
+                reviewDate(org).minusDays(1), reviewDate(org).plusDays(1), null, null).items());
+    }
+
+    @Test
+    void findByEmployee_ShouldTakeConstantStatements() {
+        assertConstant("findByEmployee", org -> performanceReviewService.findByEmployee(employeeId(org, REVIEWED), null, null).items());
+    }
+
+    @Test
+    void findByReviewer_ShouldTakeConstantStatements() {
+        assertConstant("findByReviewer", org -> performanceReviewService.findByReviewer(employeeId(org, MANAGER), null, null).items());
+    }
+
+    @Test
+    void findByDepartment_ShouldTakeConstantStatements() {
+        assertConstant("findByDepartment", org -> performanceReviewService.findByDepartment(org, null, null).items());
+    }
+
+    @Test
+    void findByOrganization_ShouldTakeConstantStatements() {
+        assertConstant("findByOrganization", org -> performanceReviewService.findByOrganization(org, null, null).items());
+    }
+
+    @Test
+    void findBySkill_ShouldTakeConstantStatements() {
+        assertConstant("findBySkill", org -> performanceReviewService.findBySkill(skillId(org, 1), null, null).items());
+    }
+
+    @Test
+    void findByOccupation_ShouldTakeConstantStatements() {
+        assertConstant("findByOccupation", org -> performanceReviewService.findByOccupation(org, null, null).items());
+    }
+
+    @Test
+    void addSkillEntriesToReview_ShouldTakeConstantStatements() {
+        long statements = queryCounter.assertConstantCount("addSkillEntriesToReview",
+                () -> addRatings(SMALL, 1), () -> addRatings(LARGE, RATINGS));
+        // The review, its new skills, and for the DTO its skill entries and the skills of the earlier ones. The ids and
+        // the inserts are one JDBC round trip each, past Hibernate.
+        assertEquals(4, statements);
+
+        // The entries were written with the snapshot of the employee, in the review
+        int review = firstReviewId(LARGE);
+        assertEquals(SKILL_ENTRIES_PER_REVIEW + RATINGS, jdbc.queryForObject(
+                "SELECT count(*) FROM skill_entries WHERE performance_review_id = ? AND employee_id = ? " +
+                        "AND organization_id = ? AND department_id = ? AND entry_date = ?",
+                Integer.class, review, employeeId(LARGE, REVIEWED), LARGE, LARGE, reviewDate(LARGE)));
+        assertEquals(RATINGS, jdbc.queryForObject(
+                "SELECT count(*) FROM employee_skill_latest WHERE employee_id = ? AND rating = 2.0",
+                Integer.class, employeeId(LARGE, REVIEWED)));
+    }
+
+    @Test
+    void addSkillEntriesToReview_WhenSkillsAreMissing_ShouldReportThemAllAndAddNothing() {
+        List<SaveSkillEntryDto> ratings = List.of(
+                new SaveSkillEntryDto(skillId(SMALL, 1), 2.0, null),
+                new SaveSkillEntryDto(-1, 2.0, null),
+                new SaveSkillEntryDto(-2, 2.0, null));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> performanceReviewService.addSkillEntriesToReview(firstReviewId(SMALL), ratings));
+
+        assertEquals("Skills not found with ids: [-1, -2]", ex.getMessage());
+        assertEquals(SKILL_ENTRIES_PER_REVIEW, jdbc.queryForObject(
+                "SELECT count(*) FROM skill_entries WHERE performance_review_id = ?", Integer.class, firstReviewId(SMALL)));
+    }
+
+    // Rates skills the review has no entries of yet, on the review date
+    private void addRatings(int org, int ratings) {
+        List<SaveSkillEntryDto> dtos = IntStream.rangeClosed(1, ratings)
+                .mapToObj(i -> new SaveSkillEntryDto(skillId(org, SKILL_ENTRIES_PER_REVIEW + i), 2.0, null))
+                .toList();
+
+        PerformanceReviewDto review = performanceReviewService.addSkillEntriesToReview(firstReviewId(org), dtos);
+
+        assertEquals(SKILL_ENTRIES_PER_REVIEW + ratings, review.skillEntryDtos().size());
+        review.skillEntryDtos().forEach(entry -> assertNotNull(entry.skillName()));
+    }
+
+    private void assertConstant(String operation, IntFunction<List<PerformanceReviewDto>> listing) {
+        long statements = queryCounter.assertConstantCount(operation,
+                () -> listing.apply(SMALL), () -> listing.apply(LARGE));
+        // The listing itself, one batch of skill entries and one batch of their skills
+        assertEquals(3, statements);
+
+        // The listings really map every review of the organization, with their names and skill entries
+        List<PerformanceReviewDto> reviews = listing.apply(LARGE);
+        assertFalse(reviews.isEmpty());
+        for (PerformanceReviewDto review : reviews) {
+            assertNotNull(review.departmentName());
+            assertNotNull(review.reporterName());
+            assertNotNull(review.employeeName());
+            assertEquals(SKILL_ENTRIES_PER_REVIEW, review.skillEntryDtos().size());
+            review.skillEntryDtos().forEach(entry -> assertNotNull(entry.skillName()));
+        }
+    }
+
+    // As many employees besides the manager as reviews and three skills per review. The first skill entry of every
+    // review is of skill 1, the others of skills of their own.
+    private void seedOrganization(int org, int reviews) {
+        seedOrganization(org, reviews + 1, reviews * SKILL_ENTRIES_PER_REVIEW);
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, reporter_id, department_id, overall_rating, " +
+                        "review_date, review_date_time) " +
+                        "SELECT ? + g, CASE WHEN g % 2 = 0 THEN ? ELSE ? + g END, ?, ?, 3.0, ?, ?::timestamp " +
+                        "FROM generate_series(1, ?) g",
+                org * 1000, employeeId(org, REVIEWED), employeeId(org, MANAGER), employeeId(org, MANAGER), org,
+                reviewDate(org), reviewDate(org), reviews);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, performance_review_id, organization_id, " +
+                        "department_id, entry_date, entry_date_time, rating) " +
+                        "SELECT ? + g, pr.employee_id, ? + CASE WHEN (g - 1) % ? = 0 THEN 1 ELSE g END, pr.id, ?, ?, " +
+                        "pr.review_date, pr.review_date_time, 4.0 " +
+                        "FROM generate_series(1, ?) g " +
+                        "JOIN performance_reviews pr ON pr.id = ? + (g - 1) / ? + 1",
+                org * 10000, skillId(org, 0), SKILL_ENTRIES_PER_REVIEW, org, org, reviews * SKILL_ENTRIES_PER_REVIEW,
+                org * 1000, SKILL_ENTRIES_PER_REVIEW);
+    }
+
+    // Review of employee REVIEWED
+    private static int firstReviewId(int org) {
+        return org * 1000 + 1;
+    }
+
+    private static LocalDate reviewDate(int org) {
+        return LocalDate.of(2024, 3, org * 10);
+    }
+}
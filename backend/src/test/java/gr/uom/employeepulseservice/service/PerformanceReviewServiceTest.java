@@ -1,17 +1,23 @@
 package gr.uom.employeepulseservice.service;
 
+import gr.uom.employeepulseservice.config.PaginationProperties;
 import gr.uom.employeepulseservice.controller.dto.*;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
 import gr.uom.employeepulseservice.llm.ChatGptClient;
 import gr.uom.employeepulseservice.llm.GeneratedSkill;
 import gr.uom.employeepulseservice.mapper.PerformanceReviewMapper;
 import gr.uom.employeepulseservice.model.Department;
 import gr.uom.employeepulseservice.model.Employee;
+import gr.uom.employeepulseservice.model.Organization;
 import gr.uom.employeepulseservice.model.PerformanceReview;
 import gr.uom.employeepulseservice.model.Skill;
 import gr.uom.employeepulseservice.model.SkillEntry;
 import gr.uom.employeepulseservice.repository.DepartmentRepository;
 import gr.uom.employeepulseservice.repository.EmployeeRepository;
 import gr.uom.employeepulseservice.repository.PerformanceReviewRepository;
+import gr.uom.employeepulseservice.repository.SkillEntryBatchRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +25,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -52,6 +61,15 @@ class PerformanceReviewServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SkillEntryBatchRepository skillEntryBatchRepository;
+
+    @Spy
+    private KeysetPaging keysetPaging = new KeysetPaging(new PaginationProperties());
+
     @InjectMocks
     private PerformanceReviewService performanceReviewService;
 
@@ -307,7 +325,7 @@ class PerformanceReviewServiceTest {
         PerformanceReview entity = new PerformanceReview();
         entity.setId(reviewId);
         PerformanceReviewDto dto = new PerformanceReviewDto(reviewId, null, null, null, null, null, List.of(), null, null, null);
-        when(performanceReviewRepository.findById(reviewId)).thenReturn(Optional.of(entity));
+        when(performanceReviewRepository.findWithDetailsById(reviewId)).thenReturn(Optional.of(entity));
         when(performanceReviewMapper.toDto(entity)).thenReturn(dto);
 
         // When
@@ -315,7 +333,7 @@ class PerformanceReviewServiceTest {
 
         // Then
         assertEquals(dto, result);
-        verify(performanceReviewRepository).findById(reviewId);
+        verify(performanceReviewRepository).findWithDetailsById(reviewId);
         verify(performanceReviewMapper).toDto(entity);
     }
 
@@ -323,12 +341,12 @@ class PerformanceReviewServiceTest {
     void findById_WhenNotFound_ShouldThrow() {
         // Given
         Integer reviewId = 999;
-        when(performanceReviewRepository.findById(reviewId)).thenReturn(Optional.empty());
+        when(performanceReviewRepository.findWithDetailsById(reviewId)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException ex = assertThrows(RuntimeException.class, () -> performanceReviewService.findById(reviewId));
         assertEquals("Performance review not found", ex.getMessage());
-        verify(performanceReviewRepository).findById(reviewId);
+        verify(performanceReviewRepository).findWithDetailsById(reviewId);
         verify(performanceReviewMapper, never()).toDto(any());
     }
 
@@ -348,17 +366,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, date, date.atStartOfDay(), List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByReviewDate(date)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByReviewDate(eq(date), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByDate(date);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByDate(date, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByReviewDate(date);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByReviewDate(eq(date), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -379,17 +397,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 1, 20).atStartOfDay(), List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByReviewDateBetween(from, to)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByReviewDateBetween(eq(from), eq(to), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByDateRange(from, to);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByDateRange(from, to, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByReviewDateBetween(from, to);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByReviewDateBetween(eq(from), eq(to), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -409,20 +427,46 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByRefersToId(employeeId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByRefersToId(eq(employeeId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByEmployee(employeeId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByEmployee(employeeId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByRefersToId(employeeId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByRefersToId(eq(employeeId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
+    @Test
+    void findByEmployee_WhenMoreReviewsThanPageSize_ShouldReturnCursorOfLastReview() {
+        // Given
+        Integer employeeId = 100;
+        LocalDateTime reviewDateTime = LocalDateTime.of(2026, 1, 15, 10, 30);
+        PerformanceReview review1 = new PerformanceReview();
+        review1.setId(2);
+        PerformanceReview review2 = new PerformanceReview();
+        review2.setId(1);
+
+        PerformanceReviewDto dto1 = new PerformanceReviewDto(2, null, null, null, null, reviewDateTime, List.of(), null, null, null);
+
+        when(performanceReviewRepository.findPageByRefersToId(eq(employeeId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(2))))
+                .thenReturn(List.of(review1, review2));
+        when(performanceReviewMapper.toDtos(List.of(review1))).thenReturn(List.of(dto1));
+
+        // When
+        CursorPageDto<PerformanceReviewDto> firstPage = performanceReviewService.findByEmployee(employeeId, null, 1);
+        performanceReviewService.findByEmployee(employeeId, firstPage.nextCursor(), 1);
+
+        // Then
+        assertEquals(List.of(dto1), firstPage.items());
+        assertNotNull(firstPage.nextCursor());
+        verify(performanceReviewRepository).findPageByRefersToId(employeeId, reviewDateTime, 2, Limit.of(2));
+    }
+
     @Test
     void findByReviewer_ShouldReturnListOfDtos() {
         // Given
@@ -439,17 +483,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByReportedById(reporterId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByReportedById(eq(reporterId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByReviewer(reporterId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByReviewer(reporterId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByReportedById(reporterId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByReportedById(eq(reporterId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -469,17 +513,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByDepartmentId(departmentId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByDepartmentId(eq(departmentId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByDepartment(departmentId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByDepartment(departmentId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByDepartmentId(departmentId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByDepartmentId(eq(departmentId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -499,17 +543,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByDepartmentOrganizationIdOrderByReviewDateTimeDesc(organizationId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByOrganizationId(eq(organizationId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByOrganization(organizationId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByOrganization(organizationId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByDepartmentOrganizationIdOrderByReviewDateTimeDesc(organizationId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByOrganizationId(eq(organizationId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -527,17 +571,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllBySkillId(skillId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageBySkillId(eq(skillId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findBySkill(skillId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findBySkill(skillId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllBySkillId(skillId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageBySkillId(eq(skillId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -557,17 +601,17 @@ class PerformanceReviewServiceTest {
         PerformanceReviewDto dto2 = new PerformanceReviewDto(2, null, null, null, null, null, List.of(), null, null, null);
         List<PerformanceReviewDto> expectedDtos = List.of(dto1, dto2);
 
-        when(performanceReviewRepository.findAllByRefersToOccupationId(occupationId)).thenReturn(reviews);
+        when(performanceReviewRepository.findPageByOccupationId(eq(occupationId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)))).thenReturn(reviews);
         when(performanceReviewMapper.toDtos(reviews)).thenReturn(expectedDtos);
 
         // When
-        List<PerformanceReviewDto> result = performanceReviewService.findByOccupation(occupationId);
+        CursorPageDto<PerformanceReviewDto> result = performanceReviewService.findByOccupation(occupationId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(expectedDtos, result);
-        verify(performanceReviewRepository).findAllByRefersToOccupationId(occupationId);
+        assertEquals(expectedDtos, result.items());
+        assertNull(result.nextCursor());
+        verify(performanceReviewRepository).findPageByOccupationId(eq(occupationId), any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(Limit.of(101)));
         verify(performanceReviewMapper).toDtos(reviews);
     }
 
@@ -583,6 +627,28 @@ class PerformanceReviewServiceTest {
         verify(performanceReviewRepository).deleteById(reviewId);
     }
 
+    @Test
+    void deletePerformanceReview_WhenExists_ShouldPublishReviewChange() {
+        // Given
+        Organization organization = new Organization();
+        organization.setId(1);
+        employee.setOrganization(organization);
+
+        PerformanceReview existing = new PerformanceReview();
+        existing.setId(55);
+        existing.setRefersTo(employee);
+        existing.setSkillEntries(new ArrayList<>());
+        when(performanceReviewRepository.findById(55)).thenReturn(Optional.of(existing));
+
+        // When
+        performanceReviewService.deletePerformanceReview(55);
+
+        // Then
+        verify(performanceReviewRepository).deleteById(55);
+        verify(eventPublisher).publishEvent(new PerformanceReviewChangedEvent(55, 100, 1, 10));
+        verify(eventPublisher, never()).publishEvent(any(SkillEntriesChangedEvent.class));
+    }
+
     @Test
     void addSkillEntryToReview_WhenEntryDateNull_ShouldUseReviewDate() {
         // Given
@@ -713,16 +779,20 @@ class PerformanceReviewServiceTest {
         review.setId(reviewId);
         review.setReviewDate(reviewDate);
         review.setRefersTo(employee);
-        review.setSkillEntries(new ArrayList<>());
 
         SaveSkillEntryDto dto1 = new SaveSkillEntryDto(skill1.getId(), 2.0, null);
         SaveSkillEntryDto dto2 = new SaveSkillEntryDto(skill2.getId(), 4.0, LocalDate.of(2026, 1, 16));
 
-        when(performanceReviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
-        when(skillRepository.findById(skill1.getId())).thenReturn(Optional.of(skill1));
-        when(skillRepository.findById(skill2.getId())).thenReturn(Optional.of(skill2));
-        when(performanceReviewRepository.save(any(PerformanceReview.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(performanceReviewMapper.toDto(any(PerformanceReview.class))).thenReturn(
+        when(performanceReviewRepository.findWithDetailsById(reviewId)).thenReturn(Optional.of(review));
+        when(skillRepository.findAllById(List.of(skill1.getId(), skill2.getId()))).thenReturn(List.of(skill1, skill2));
+        doAnswer(inv -> {
+            List<SkillEntry> entries = inv.getArgument(1);
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setId(500 + i);
+            }
+            return null;
+        }).when(skillEntryBatchRepository).insertReviewEntries(eq(reviewId), anyList());
+        when(performanceReviewMapper.toDto(review)).thenReturn(
                 new PerformanceReviewDto(reviewId, null, null, null, reviewDate, reviewDate.atStartOfDay(), List.of(), null, null, null)
         );
 
@@ -730,45 +800,56 @@ class PerformanceReviewServiceTest {
         performanceReviewService.addSkillEntriesToReview(reviewId, List.of(dto1, dto2));
 
         // Then
-        ArgumentCaptor<PerformanceReview> captor = ArgumentCaptor.forClass(PerformanceReview.class);
-        verify(performanceReviewRepository).save(captor.capture());
-        PerformanceReview saved = captor.getValue();
-        assertEquals(2, saved.getSkillEntries().size());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SkillEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(skillEntryBatchRepository).insertReviewEntries(eq(reviewId), captor.capture());
+        List<SkillEntry> inserted = captor.getValue();
+        assertEquals(2, inserted.size());
 
-        SkillEntry entry1 = saved.getSkillEntries().getFirst();
+        SkillEntry entry1 = inserted.getFirst();
         assertEquals(skill1, entry1.getSkill());
         assertEquals(2.0, entry1.getRating());
         assertEquals(reviewDate, entry1.getEntryDate());
         assertEquals(reviewDate.atStartOfDay(), entry1.getEntryDateTime());
+        assertEquals(employee, entry1.getEmployee());
+        assertEquals(department.getId(), entry1.getDepartmentId());
 
-        SkillEntry entry2 = saved.getSkillEntries().get(1);
+        SkillEntry entry2 = inserted.get(1);
         assertEquals(skill2, entry2.getSkill());
         assertEquals(4.0, entry2.getRating());
         assertEquals(LocalDate.of(2026, 1, 16), entry2.getEntryDate());
         assertEquals(LocalDate.of(2026, 1, 16).atStartOfDay(), entry2.getEntryDateTime());
+
+        ArgumentCaptor<SkillEntriesChangedEvent> event = ArgumentCaptor.forClass(SkillEntriesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(500, 501), event.getValue().changes().stream().map(SkillEntryChange::skillEntryId).toList());
+
+        verify(skillRepository, never()).findById(any());
+        verify(performanceReviewRepository, never()).save(any());
     }
 
     @Test
-    void addSkillEntriesToReview_WhenSkillNotFound_ShouldThrow() {
+    void addSkillEntriesToReview_WhenSkillsNotFound_ShouldReportEveryMissingIdAndInsertNothing() {
         // Given
         Integer reviewId = 10;
         PerformanceReview review = new PerformanceReview();
         review.setId(reviewId);
         review.setRefersTo(employee);
-        review.setSkillEntries(new ArrayList<>());
 
         SaveSkillEntryDto dto1 = new SaveSkillEntryDto(skill1.getId(), 2.0, null);
         SaveSkillEntryDto dto2 = new SaveSkillEntryDto(999, 4.0, null);
+        SaveSkillEntryDto dto3 = new SaveSkillEntryDto(998, 3.0, null);
+        SaveSkillEntryDto dto4 = new SaveSkillEntryDto(999, 5.0, null);
 
-        when(performanceReviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
-        when(skillRepository.findById(skill1.getId())).thenReturn(Optional.of(skill1));
-        when(skillRepository.findById(999)).thenReturn(Optional.empty());
+        when(performanceReviewRepository.findWithDetailsById(reviewId)).thenReturn(Optional.of(review));
+        when(skillRepository.findAllById(List.of(skill1.getId(), 999, 998))).thenReturn(List.of(skill1));
 
         // When & Then
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> 
-                performanceReviewService.addSkillEntriesToReview(reviewId, List.of(dto1, dto2)));
-        assertEquals("Skill not found with id: 999", ex.getMessage());
-        verify(performanceReviewRepository, never()).save(any());
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                performanceReviewService.addSkillEntriesToReview(reviewId, List.of(dto1, dto2, dto3, dto4)));
+        assertEquals("Skills not found with ids: [999, 998]", ex.getMessage());
+        verifyNoInteractions(skillEntryBatchRepository);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -0,0 +1,226 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.event.EmployeeDepartmentChangedEvent;
+import gr.uom.employeepulseservice.event.EmployeeRenamedEvent;
+import gr.uom.employeepulseservice.event.OrganizationStructureChangedEvent;
+import gr.uom.employeepulseservice.event.PerformanceReviewChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent;
+import gr.uom.employeepulseservice.event.ReportVersionsBumpedEvent.BumpedVersion;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.model.Occupation;
+import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.Scope;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeKey;
+import gr.uom.employeepulseservice.repository.ReportVersionRepository.ScopeVersion;
+import gr.uom.employeepulseservice.service.ReportVersionService.ReportVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class ReportVersionServiceTest {
+
+    private static final ScopeKey ORGANIZATION = new ScopeKey(Scope.ORGANIZATION, 1);
+    private static final ScopeKey ORGANIZATION_NAME = new ScopeKey(Scope.ORGANIZATION_NAME, 1);
+    private static final ScopeKey DEPARTMENT = new ScopeKey(Scope.DEPARTMENT, 10);
+    private static final ScopeKey EMPLOYEE = new ScopeKey(Scope.EMPLOYEE, 100);
+
+    @Mock
+    private ReportVersionRepository reportVersionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReportVersionService reportVersionService;
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void organizationVersion_ShouldSumTheScopesOfTheReport() {
+        // Given
+        Instant modifiedAt = Instant.parse("2026-03-01T10:00:00Z");
+        ScopeVersion version = new ScopeVersion(Map.of(ORGANIZATION, 5L, ScopeKey.ALL, 2L), modifiedAt);
+        when(reportVersionRepository.find(any())).thenReturn(version);
+
+        // When
+        ReportVersion organization = reportVersionService.organizationVersion(1, null);
+        ReportVersion department = reportVersionService.organizationVersion(1, 10);
+
+        // Then
+        assertEquals(new ReportVersion("\"7\"", modifiedAt, version), organization);
+        assertEquals(organization, department);
+        verify(reportVersionRepository).find(List.of(ORGANIZATION, ScopeKey.ALL));
+        verify(reportVersionRepository).find(List.of(DEPARTMENT, ORGANIZATION_NAME, ScopeKey.ALL));
+    }
+
+    @Test
+    void batchVersion_ShouldSumTheOrganizationAndRequestedEmployees() {
+        // Given
+        when(reportVersionRepository.find(any())).thenReturn(new ScopeVersion(Map.of(), Instant.EPOCH));
+
+        // When
+        reportVersionService.batchVersion(1, List.of(100, 101));
+        reportVersionService.batchVersion(1, null);
+
+        // Then
+        verify(reportVersionRepository).find(List.of(ORGANIZATION, EMPLOYEE, new ScopeKey(Scope.EMPLOYEE, 101), ScopeKey.ALL));
+        verify(reportVersionRepository).find(List.of(ORGANIZATION, ScopeKey.ALL));
+    }
+
+    @Test
+    void onSkillEntriesChanged_ShouldBumpOrganizationDepartmentAndEmployee() {
+        // When
+        reportVersionService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(
+                new SkillEntryChange(ChangeType.ADDED, 1, 1, 10, 100, 5, LocalDate.of(2026, 3, 1), 4.0)));
+
+        // Then
+        assertEquals(Set.of(ORGANIZATION, DEPARTMENT, EMPLOYEE), bumped());
+    }
+
+    @Test
+    void onEmployeeDepartmentChanged_ShouldBumpBothDepartments() {
+        // When
+        reportVersionService.onEmployeeDepartmentChanged(new EmployeeDepartmentChangedEvent(100, 1, 10, 2, 20));
+
+        // Then
+        assertEquals(Set.of(ORGANIZATION, DEPARTMENT, EMPLOYEE,
+                new ScopeKey(Scope.ORGANIZATION, 2), new ScopeKey(Scope.DEPARTMENT, 20)), bumped());
+    }
+
+    @Test
+    void onPerformanceReviewChanged_WithoutDepartment_ShouldBumpOnlyTheEmployee() {
+        // When
+        reportVersionService.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(56, 100, null, null));
+
+        // Then
+        assertEquals(Set.of(EMPLOYEE), bumped());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenOrganizationRenamed_ShouldBumpItAndItsDepartments() {
+        // When
+        reportVersionService.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(1, null));
+
+        // Then
+        assertEquals(Set.of(ORGANIZATION, ORGANIZATION_NAME), bumped());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenDepartmentRenamed_ShouldBumpItAndItsOrganization() {
+        // When
+        reportVersionService.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(1, 10));
+
+        // Then
+        assertEquals(Set.of(ORGANIZATION, DEPARTMENT), bumped());
+    }
+
+    @Test
+    void onOrganizationStructureChanged_WhenDepartmentDeleted_ShouldBumpEveryScope() {
+        // When
+        reportVersionService.onOrganizationStructureChanged(new OrganizationStructureChangedEvent(null, 10));
+
+        // Then
+        assertEquals(Set.of(ScopeKey.ALL), bumped());
+    }
+
+    @Test
+    void onReferenceDataChanged_ShouldBumpEveryScopeOnlyForSkills() {
+        // When an occupation, then a skill changes
+        reportVersionService.onReferenceDataChanged(new ReferenceDataChangedEvent(Occupation.class, 1));
+        verifyNoInteractions(reportVersionRepository);
+        reportVersionService.onReferenceDataChanged(new ReferenceDataChangedEvent(Skill.class, 5));
+
+        // Then
+        assertEquals(Set.of(ScopeKey.ALL), bumped());
+    }
+
+    @Test
+    void onEmployeeRenamed_ShouldBumpOnlyTheEmployee() {
+        // When
+        reportVersionService.onEmployeeRenamed(new EmployeeRenamedEvent(100));
+
+        // Then
+        assertEquals(Set.of(EMPLOYEE), bumped());
+    }
+
+    @Test
+    void events_InsideATransaction_ShouldBeBumpedOnceBeforeCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        reportVersionService.onEmployeeRenamed(new EmployeeRenamedEvent(100));
+        reportVersionService.onPerformanceReviewChanged(new PerformanceReviewChangedEvent(55, 100, 1, 10));
+        verifyNoInteractions(reportVersionRepository);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertEquals(1, synchronizations.size());
+        assertEquals(Set.of(ORGANIZATION, DEPARTMENT, EMPLOYEE), bumped());
+        assertNull(TransactionSynchronizationManager.getResource(reportVersionService));
+    }
+
+    @Test
+    void bump_ShouldPublishTheBumpedVersions() {
+        // Given
+        when(reportVersionRepository.bump(any())).thenReturn(Map.of(EMPLOYEE, 3L));
+
+        // When
+        reportVersionService.onEmployeeRenamed(new EmployeeRenamedEvent(100));
+
+        // Then
+        verify(eventPublisher).publishEvent(new ReportVersionsBumpedEvent(List.of(new BumpedVersion(EMPLOYEE, 3L))));
+    }
+
+    @Test
+    void events_InARolledBackTransaction_ShouldBumpNothing() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        reportVersionService.onEmployeeRenamed(new EmployeeRenamedEvent(100));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verifyNoInteractions(reportVersionRepository, eventPublisher);
+        assertNull(TransactionSynchronizationManager.getResource(reportVersionService));
+    }
+
+    private Set<ScopeKey> bumped() {
+        ArgumentCaptor<Collection<ScopeKey>> scopes = ArgumentCaptor.forClass(Collection.class);
+        verify(reportVersionRepository).bump(scopes.capture());
+        return Set.copyOf(scopes.getValue());
+    }
+}
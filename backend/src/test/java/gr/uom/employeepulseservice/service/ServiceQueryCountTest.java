@@ -0,0 +1,182 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.DepartmentDto;
+import gr.uom.employeepulseservice.controller.dto.EmployeeDto;
+import gr.uom.employeepulseservice.controller.dto.PerformanceReviewDto;
+import gr.uom.employeepulseservice.controller.dto.SkillEntryDto;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import gr.uom.employeepulseservice.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pins the number of statements every read of the employee, department, organization and review services takes now
+// that their associations are lazy, so a mapping that starts walking an association outside its fetch plan fails here
+// instead of turning into one query per row.
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ServiceQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int SMALL = 1;
+    private static final int LARGE = 2;
+
+    private static final int SMALL_EMPLOYEES = 2;
+    private static final int LARGE_EMPLOYEES = 40;
+
+    // Employee 1 manages the department and writes the review of employee 2
+    private static final int MANAGER = 1;
+    private static final int REVIEWED = 2;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private PerformanceReviewService performanceReviewService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void seed() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        seedOrganization(SMALL, SMALL_EMPLOYEES);
+        seedOrganization(LARGE, LARGE_EMPLOYEES);
+    }
+
+    @Test
+    void employeeService_findAll_ShouldLoadNoEntities() {
+        // The employee listings are projection queries of EmployeeListingRepository that bypass Hibernate
+        queryCounter.assertCount(0, "findAll", () -> {
+            List<EmployeeDto> employees = employeeService.findAll(null, null).items();
+            assertEquals(SMALL_EMPLOYEES + 1 + LARGE_EMPLOYEES + 1, employees.size());
+            employees.forEach(ServiceQueryCountTest::assertMapped);
+        });
+    }
+
+    @Test
+    void employeeService_findEmployeeById_ShouldTakeTwoStatements() {
+        long statements = queryCounter.assertConstantCount("findEmployeeById",
+                () -> assertMapped(employeeService.findEmployeeById(employeeId(SMALL, REVIEWED))),
+                () -> assertMapped(employeeService.findEmployeeById(employeeId(LARGE, REVIEWED))));
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void employeeService_getSkillEntriesOfEmployee_ShouldTakeTwoStatements() {
+        // The existence check and the entries with their skills
+        long statements = queryCounter.assertConstantCount("getSkillEntriesOfEmployee",
+                () -> assertSkillEntries(SMALL_EMPLOYEES + 1, employeeService.getSkillEntriesOfEmployee(employeeId(SMALL, REVIEWED))),
+                () -> assertSkillEntries(LARGE_EMPLOYEES + 1, employeeService.getSkillEntriesOfEmployee(employeeId(LARGE, REVIEWED))));
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void departmentService_findAll_ShouldTakeOneStatement() {
+        queryCounter.assertCount(1, "findAll", () -> {
+            List<DepartmentDto> departments = departmentService.findAll();
+            assertEquals(2, departments.size());
+            departments.forEach(ServiceQueryCountTest::assertMapped);
+        });
+    }
+
+    @Test
+    void departmentService_findDepartmentById_ShouldTakeOneStatement() {
+        queryCounter.assertCount(1, "findDepartmentById",
+                () -> assertMapped(departmentService.findDepartmentById(LARGE)));
+    }
+
+    @Test
+    void departmentService_findEmployeesById_ShouldLoadNoEntities() {
+        queryCounter.assertCount(0, "findEmployeesById",
+                () -> departmentService.findEmployeesById(LARGE, null, null).items().forEach(ServiceQueryCountTest::assertMapped));
+    }
+
+    @Test
+    void organizationService_findEmployeesById_ShouldLoadNoEntities() {
+        queryCounter.assertCount(0, "findEmployeesById",
+                () -> organizationService.findEmployeesById(LARGE, null, null, null).items().forEach(ServiceQueryCountTest::assertMapped));
+    }
+
+    @Test
+    void organizationService_findDepartmentsById_ShouldTakeTwoStatements() {
+        // The organization check and its departments with their managers
+        long statements = queryCounter.assertConstantCount("findDepartmentsById",
+                () -> organizationService.findDepartmentsById(SMALL).forEach(ServiceQueryCountTest::assertMapped),
+                () -> organizationService.findDepartmentsById(LARGE).forEach(ServiceQueryCountTest::assertMapped));
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void performanceReviewService_findById_ShouldTakeThreeStatements() {
+        // The review with its people and department, its skill entries and their skills
+        long statements = queryCounter.assertConstantCount("findById",
+                () -> assertReview(SMALL_EMPLOYEES, performanceReviewService.findById(reviewId(SMALL))),
+                () -> assertReview(LARGE_EMPLOYEES, performanceReviewService.findById(reviewId(LARGE))));
+        assertEquals(3, statements);
+    }
+
+    private static void assertMapped(EmployeeDto employee) {
+        assertNotNull(employee.departmentName());
+        assertNotNull(employee.occupationTitle());
+        assertNotNull(employee.organizationId());
+        assertFalse(employee.skillEntryIds().isEmpty());
+    }
+
+    private static void assertMapped(DepartmentDto department) {
+        assertNotNull(department.organizationId());
+        assertNotNull(department.managerFirstName());
+        assertNotNull(department.managerLastName());
+    }
+
+    private static void assertSkillEntries(int expected, List<SkillEntryDto> entries) {
+        assertEquals(expected, entries.size());
+        entries.forEach(entry -> assertNotNull(entry.skillName()));
+    }
+
+    private static void assertReview(int expectedEntries, PerformanceReviewDto review) {
+        assertNotNull(review.departmentName());
+        assertNotNull(review.reporterName());
+        assertNotNull(review.employeeName());
+        assertSkillEntries(expectedEntries, review.skillEntryDtos());
+    }
+
+    // The organization's employees and one skill per employee besides their manager, one skill entry per employee and
+    // a review of employee REVIEWED that adds as many entries of their own as the organization has employees
+    private void seedOrganization(int org, int employees) {
+        seedOrganization(org, employees + 1, employees);
+        jdbc.update("INSERT INTO performance_reviews (id, employee_id, reporter_id, department_id, overall_rating, " +
+                        "review_date, review_date_time) VALUES (?, ?, ?, ?, 3.0, ?, ?::timestamp)",
+                reviewId(org), employeeId(org, REVIEWED), employeeId(org, MANAGER), org, reviewDate(org), reviewDate(org));
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, organization_id, department_id, entry_date, " +
+                        "entry_date_time, rating) " +
+                        "SELECT ? + g, ? + g, ?, ?, ?, ?, ?::timestamp, 4.0 FROM generate_series(1, ?) g",
+                org * 10000, employeeId(org, 0), skillId(org, 1), org, org, reviewDate(org), reviewDate(org), employees + 1);
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, performance_review_id, organization_id, " +
+                        "department_id, entry_date, entry_date_time, rating) " +
+                        "SELECT ? + g, ?, ? + g, ?, ?, ?, ?, ?::timestamp, 4.0 FROM generate_series(1, ?) g",
+                org * 10000 + 5000, employeeId(org, REVIEWED), skillId(org, 0), reviewId(org), org, org, reviewDate(org),
+                reviewDate(org), employees);
+    }
+
+    private static LocalDate reviewDate(int org) {
+        return LocalDate.of(2024, 3, org * 10);
+    }
+
+    private static int reviewId(int org) {
+        return org * 1000;
+    }
+}
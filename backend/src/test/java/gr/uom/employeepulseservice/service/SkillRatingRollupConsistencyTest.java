@@ -0,0 +1,118 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.config.ReportingProperties;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingPeriodDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingResponseDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptReportingSkillDto;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.model.EmployeeCountMode;
+import gr.uom.employeepulseservice.model.PeriodType;
+import gr.uom.employeepulseservice.repository.impl.ReportingRepositoryImpl;
+import gr.uom.employeepulseservice.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The rollups against the reporting views on Postgres: buckets refreshed after removals stay consistent, and reports
+// read from the rollups equal those aggregated from the views.
+class SkillRatingRollupConsistencyTest extends PostgresIntegrationTest {
+
+    private static final int ORGANIZATION = 1;
+    private static final int DEPARTMENT = ORGANIZATION;
+    private static final int EMPLOYEE = employeeId(ORGANIZATION, 1);
+    private static final int OTHER_EMPLOYEE = employeeId(ORGANIZATION, 2);
+    private static final int SKILL = skillId(ORGANIZATION, 1);
+    // Another skill of the same name
+    private static final int NAMESAKE_SKILL = skillId(ORGANIZATION, 2);
+
+    @Autowired
+    private SkillRatingRollupService skillRatingRollupService;
+
+    @Autowired
+    private ReportingRepositoryImpl reportingRepository;
+
+    @Autowired
+    private ReportingProperties reportingProperties;
+
+    @BeforeEach
+    void seed() {
+        seedOrganization(ORGANIZATION, 2, 2);
+        jdbc.update("UPDATE skills SET name = ? WHERE id = ?", skillName(ORGANIZATION, 1), NAMESAKE_SKILL);
+    }
+
+    @AfterEach
+    void resetSource() {
+        reportingProperties.setSource(new ReportingProperties().getSource());
+    }
+
+    @Test
+    void onSkillEntriesChanged_WhenRemovedDaysShareBuckets_ShouldRefreshThemOnce() {
+        // Given entries on three days of one year, two of them in one month
+        insertEntry(1, EMPLOYEE, SKILL, LocalDate.of(2024, 3, 10), 4.0);
+        insertEntry(2, EMPLOYEE, SKILL, LocalDate.of(2024, 3, 20), 2.0);
+        insertEntry(3, EMPLOYEE, SKILL, LocalDate.of(2024, 7, 5), 3.0);
+        insertEntry(4, EMPLOYEE, SKILL, LocalDate.of(2024, 11, 1), 5.0);
+        assertTrue(skillRatingRollupService.rebuild().consistent());
+
+        // When two of them are removed in one batch
+        jdbc.update("DELETE FROM skill_entries WHERE id IN (1, 3)");
+        skillRatingRollupService.onSkillEntriesChanged(new SkillEntriesChangedEvent(List.of(
+                removed(1, LocalDate.of(2024, 3, 10), 4.0),
+                removed(3, LocalDate.of(2024, 7, 5), 3.0))));
+
+        // Then
+        assertTrue(skillRatingRollupService.checkConsistency().consistent());
+        assertEquals(2, jdbc.queryForObject("SELECT sample_count FROM skill_rating_rollups " +
+                "WHERE period_type = 'YEAR' AND period_start = DATE '2024-01-01'", Integer.class));
+    }
+
+    @Test
+    void rollupReports_WhenSkillsShareAName_ShouldMatchTheViewReports() {
+        // Given
+        insertEntry(1, EMPLOYEE, SKILL, LocalDate.of(2024, 3, 10), 4.0);
+        insertEntry(2, EMPLOYEE, NAMESAKE_SKILL, LocalDate.of(2024, 3, 12), 2.0);
+        insertEntry(3, OTHER_EMPLOYEE, NAMESAKE_SKILL, LocalDate.of(2024, 3, 14), 3.0);
+        assertTrue(skillRatingRollupService.rebuild().consistent());
+
+        for (EmployeeCountMode employeeCountMode : EmployeeCountMode.values()) {
+            // When
+            OrgDeptReportingResponseDto fromViews = report(ReportingProperties.Source.VIEWS, employeeCountMode);
+            OrgDeptReportingResponseDto fromRollups = report(ReportingProperties.Source.ROLLUPS, employeeCountMode);
+
+            // Then
+            assertEquals(fromViews, fromRollups, employeeCountMode + " report");
+            OrgDeptReportingSkillDto java = fromRollups.skills().getFirst();
+            assertEquals(1, fromRollups.skills().size());
+            assertEquals(skillName(ORGANIZATION, 1), java.skillName());
+            OrgDeptReportingPeriodDto march = java.periods().getFirst();
+            assertEquals(1, java.periods().size());
+            assertEquals(3, march.sampleCount());
+            assertEquals(2, march.employeeCount());
+            assertEquals(3.0, march.avgRating());
+        }
+    }
+
+    private OrgDeptReportingResponseDto report(ReportingProperties.Source source, EmployeeCountMode employeeCountMode) {
+        reportingProperties.setSource(source);
+        return reportingRepository.getReportByOrganizationAndDepartment(
+                PeriodType.MONTH, ORGANIZATION, DEPARTMENT, null, null, null, employeeCountMode);
+    }
+
+    private void insertEntry(int id, int employeeId, int skillId, LocalDate entryDate, double rating) {
+        jdbc.update("INSERT INTO skill_entries (id, employee_id, skill_id, organization_id, department_id, entry_date, " +
+                        "entry_date_time, rating) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, employeeId, skillId, ORGANIZATION, DEPARTMENT, entryDate, entryDate.atStartOfDay(), rating);
+    }
+
+    private static SkillEntryChange removed(int id, LocalDate entryDate, double rating) {
+        return new SkillEntryChange(ChangeType.REMOVED, id, ORGANIZATION, DEPARTMENT, EMPLOYEE, SKILL, entryDate, rating);
+    }
+}
@@ -0,0 +1,103 @@
+package gr.uom.employeepulseservice.service;
+
+import gr.uom.employeepulseservice.controller.dto.reportingDto.rollup.RollupConsistencyReportDto;
+import gr.uom.employeepulseservice.event.SkillEntriesChangedEvent;
+import gr.uom.employeepulseservice.event.SkillEntryChange;
+import gr.uom.employeepulseservice.event.SkillEntryChange.ChangeType;
+import gr.uom.employeepulseservice.repository.SkillEntryRepository;
+import gr.uom.employeepulseservice.repository.SkillRatingRollupRepository;
+import gr.uom.employeepulseservice.repository.SkillRatingRollupRepository.BucketKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class SkillRatingRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 15);
+
+    @Mock
+    private SkillRatingRollupRepository skillRatingRollupRepository;
+
+    @Mock
+    private SkillEntryRepository skillEntryRepository;
+
+    @InjectMocks
+    private SkillRatingRollupService skillRatingRollupService;
+
+    @Test
+    void onSkillEntriesChanged_WithAddedEntries_ShouldIncrementBucketsWithoutRecompute() {
+        // Given
+        SkillEntryChange added = new SkillEntryChange(ChangeType.ADDED, 1, 1, 10, 100, 5, DAY, 4.0);
+
+        // When
+        skillRatingRollupService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added));
+
+        // Then
+        verify(skillRatingRollupRepository).addEntries(List.of(added));
+        verify(skillRatingRollupRepository, never()).refreshBuckets(any());
+        verifyNoInteractions(skillEntryRepository);
+    }
+
+    @Test
+    void onSkillEntriesChanged_WithRemovedEntries_ShouldFlushAndRefreshAffectedBuckets() {
+        // Given
+        SkillEntryChange removed = new SkillEntryChange(ChangeType.REMOVED, 1, 1, 10, 100, 5, DAY, 4.0);
+        SkillEntryChange sameBucket = new SkillEntryChange(ChangeType.REMOVED, 2, 1, 10, 101, 5, DAY, 2.0);
+
+        // When
+        skillRatingRollupService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(removed, sameBucket));
+
+        // Then
+        ArgumentCaptor<Collection<BucketKey>> captor = ArgumentCaptor.forClass(Collection.class);
+        InOrder inOrder = inOrder(skillEntryRepository, skillRatingRollupRepository);
+        inOrder.verify(skillEntryRepository).flush();
+        inOrder.verify(skillRatingRollupRepository).refreshBuckets(captor.capture());
+        assertEquals(Set.of(new BucketKey(1, 10, 5, DAY)), Set.copyOf(captor.getValue()));
+        verify(skillRatingRollupRepository, never()).addEntries(any());
+    }
+
+    @Test
+    void onSkillEntriesChanged_WithEntryOfEmployeeWithoutDepartment_ShouldIgnoreIt() {
+        // Given
+        SkillEntryChange added = new SkillEntryChange(ChangeType.ADDED, 1, 1, null, 100, 5, DAY, 4.0);
+
+        // When
+        skillRatingRollupService.onSkillEntriesChanged(SkillEntriesChangedEvent.of(added));
+
+        // Then
+        verifyNoInteractions(skillRatingRollupRepository, skillEntryRepository);
+    }
+
+    @Test
+    void rebuild_ShouldRebuildAndReturnConsistencyReport() {
+        // Given
+        RollupConsistencyReportDto report = new RollupConsistencyReportDto(true, 42L, 0L, Collections.emptyList());
+        when(skillRatingRollupRepository.checkConsistency(anyInt())).thenReturn(report);
+
+        // When
+        RollupConsistencyReportDto result = skillRatingRollupService.rebuild();
+
+        // Then
+        assertSame(report, result);
+        InOrder inOrder = inOrder(skillRatingRollupRepository);
+        inOrder.verify(skillRatingRollupRepository).rebuild();
+        inOrder.verify(skillRatingRollupRepository).checkConsistency(anyInt());
+    }
+}
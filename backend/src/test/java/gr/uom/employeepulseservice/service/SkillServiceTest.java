@@ -2,8 +2,12 @@ package gr.uom.employeepulseservice.service;
 
 import gr.uom.employeepulseservice.controller.dto.SaveSkillDto;
 import gr.uom.employeepulseservice.controller.dto.SkillDto;
+import gr.uom.employeepulseservice.event.ReferenceDataChangedEvent;
+import gr.uom.employeepulseservice.event.ReferenceDataImportedEvent;
 import gr.uom.employeepulseservice.mapper.SkillMapper;
+import gr.uom.employeepulseservice.model.ImportMode;
 import gr.uom.employeepulseservice.model.Skill;
+import gr.uom.employeepulseservice.repository.BulkImportRepository;
 import gr.uom.employeepulseservice.repository.SkillRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +16,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -37,6 +42,12 @@ class SkillServiceTest {
     @Mock
     private SkillMapper skillMapper;
 
+    @Mock
+    private BulkImportRepository bulkImportRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SkillService skillService;
 
@@ -138,6 +149,7 @@ class SkillServiceTest {
         // Then
         verify(skillRepository).findById(1);
         verify(skillMapper).updateFromDto(skill, updateDto);
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Skill.class, 1));
     }
 
     @Test
@@ -162,6 +174,7 @@ class SkillServiceTest {
 
         // Then
         verify(skillRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(Skill.class, 1));
     }
 
     @Test
@@ -183,7 +196,7 @@ class SkillServiceTest {
         when(skillRepository.saveAll(anyList())).thenReturn(List.of(skill1, skill2));
 
         // When
-        skillService.bulkCreateSkills(json);
+        skillService.bulkCreateSkills(json, ImportMode.ENTITIES);
 
         // Then
         verify(skillRepository).saveAll(anyList());
@@ -197,13 +210,27 @@ class SkillServiceTest {
         when(skillRepository.saveAll(anyList())).thenReturn(Collections.emptyList());
 
         // When
-        skillService.bulkCreateSkills(json);
+        skillService.bulkCreateSkills(json, ImportMode.ENTITIES);
 
         // Then
         verify(skillRepository).saveAll(anyList());
         verify(skillMapper, never()).toEntity(any());
     }
 
+    @Test
+    void bulkCreateSkills_WhenCopyMode_ShouldCopyRowsWithoutEntities() {
+        // Given
+        String json = "[{\"name\":\"Java\",\"description\":\"Programming language\",\"escoId\":\"ESCO-1\"}]";
+
+        // When
+        skillService.bulkCreateSkills(json, ImportMode.COPY);
+
+        // Then
+        verify(bulkImportRepository).copySkills(List.of(new SaveSkillDto("Java", "Programming language", "ESCO-1")));
+        verify(eventPublisher).publishEvent(new ReferenceDataImportedEvent(Skill.class));
+        verifyNoInteractions(skillRepository, skillMapper);
+    }
+
     @Test
     void findByOrganizationId_WhenSkillsExist_ShouldReturnListOfSkillDtos() {
         // Given
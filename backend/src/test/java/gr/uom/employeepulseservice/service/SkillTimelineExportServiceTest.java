@@ -0,0 +1,134 @@
+package gr.uom.employeepulseservice.service;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.employee.EmployeeSkillTimelineRowDto;
+import gr.uom.employeepulseservice.controller.dto.reportingDto.orgdept.OrgDeptSkillTimelineRowDto;
+import gr.uom.employeepulseservice.model.ExportFormat;
+import gr.uom.employeepulseservice.repository.ReportingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class SkillTimelineExportServiceTest {
+
+    @Mock
+    private ReportingRepository reportingRepository;
+
+    private SkillTimelineExportService skillTimelineExportService;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        JsonMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        skillTimelineExportService = new SkillTimelineExportService(reportingRepository, objectMapper);
+
+        startDate = LocalDate.of(2026, 1, 1);
+        endDate = LocalDate.of(2026, 12, 31);
+    }
+
+    @Test
+    void exportEmployeeTimeline_AsNdjson_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<EmployeeSkillTimelineRowDto> consumer = invocation.getArgument(4);
+            consumer.accept(new EmployeeSkillTimelineRowDto(100, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.0));
+            consumer.accept(new EmployeeSkillTimelineRowDto(100, "John", "Doe", 5, "Java", LocalDate.of(2026, 2, 1), 3.0, 3.0, 5.0, 4.0));
+            return null;
+        }).when(reportingRepository).streamSkillTimelineByEmployee(eq(100), isNull(), eq(startDate), eq(endDate), any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        skillTimelineExportService.exportEmployeeTimeline(100, null, startDate, endDate, ExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"employeeId\":100,"));
+        assertTrue(lines[0].contains("\"entryDate\":\"2026-01-01\""));
+        assertTrue(lines[1].contains("\"rating\":3.0"));
+    }
+
+    @Test
+    void exportOrganizationTimeline_AsCsv_ShouldWriteHeaderAndEscapedValues() throws IOException {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<OrgDeptSkillTimelineRowDto> consumer = invocation.getArgument(5);
+            consumer.accept(new OrgDeptSkillTimelineRowDto(1, "Org, \"One\"", 10, "Dept1", 5, "Java", LocalDate.of(2026, 1, 1), 3.0, 5.0, 4.0));
+            return null;
+        }).when(reportingRepository).streamSkillTimelineByOrganizationAndDepartment(eq(1), eq(10), isNull(), isNull(), isNull(), any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        skillTimelineExportService.exportOrganizationTimeline(1, 10, null, null, null, ExportFormat.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("organizationId,organizationName,departmentId,departmentName,skillId,skillName,date,minRating,maxRating,avgRating", lines[0]);
+        assertEquals("1,\"Org, \"\"One\"\"\",10,Dept1,5,Java,2026-01-01,3.0,5.0,4.0", lines[1]);
+    }
+
+    @Test
+    void exportOrganizationTimeline_WithoutRows_ShouldWriteOnlyCsvHeader() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        skillTimelineExportService.exportOrganizationTimeline(1, null, null, null, null, ExportFormat.CSV, out);
+
+        // Then
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        verify(reportingRepository).streamSkillTimelineByOrganizationAndDepartment(eq(1), isNull(), isNull(), isNull(), isNull(), any(Consumer.class));
+    }
+
+    @Test
+    void exportEmployeeTimeline_WhenClientDisconnects_ShouldPropagateIOException() {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<EmployeeSkillTimelineRowDto> consumer = invocation.getArgument(4);
+            // Enough rows to overflow the writer buffer and reach the broken stream
+            for (int i = 0; i < 1_000; i++) {
+                consumer.accept(new EmployeeSkillTimelineRowDto(100, "John", "Doe", 5, "Java", LocalDate.of(2026, 1, 1), 4.5, 3.0, 5.0, 4.0));
+            }
+            return null;
+        }).when(reportingRepository).streamSkillTimelineByEmployee(eq(100), isNull(), isNull(), isNull(), any(Consumer.class));
+
+        OutputStream brokenOut = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        IOException exception = assertThrows(IOException.class, () ->
+                skillTimelineExportService.exportEmployeeTimeline(100, null, null, null, ExportFormat.NDJSON, brokenOut));
+
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+}
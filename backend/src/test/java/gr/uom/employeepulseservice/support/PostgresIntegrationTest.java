@@ -0,0 +1,103 @@
+package gr.uom.employeepulseservice.support;
+
+import gr.uom.employeepulseservice.event.ChangesMissedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Base of the tests running against Postgres with the schema-only changelog. Every test class shares one container,
+// started once for the whole run: the test contexts Spring keeps cached point at it. Every table is emptied after each
+// test, or after the class for classes seeding once per class, which call truncate() from their own @AfterAll.
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "openai.api-key=test",
+        "spring.liquibase.change-log=classpath:db/changelog/reporting-schema-changelog.yaml"
+})
+public abstract class PostgresIntegrationTest {
+
+    // Partitions go with their tables, the id tables of the partitioned ones are emptied by their truncate triggers
+    private static final String TRUNCATE_SQL = """
+            TRUNCATE skill_rating_rollup_employee_sketches, skill_rating_rollup_histograms, skill_rating_rollup_employees,
+                     skill_rating_rollups, employee_skill_latest, skill_entries, performance_reviews, employees, departments,
+                     occupations, skills, organizations, import_job_errors, import_jobs, cache_invalidations, report_versions
+            CASCADE
+            """;
+
+    // Not a @Container: the extension would stop it after each class
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        postgres.start();
+    }
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void truncateAfterTest() {
+        TestInstance testInstance = getClass().getAnnotation(TestInstance.class);
+        if (testInstance == null || testInstance.value() == TestInstance.Lifecycle.PER_METHOD) {
+            truncate();
+        }
+    }
+
+    // The rows go past the services that keep the in-process caches current, so every cache of the context is dropped
+    protected void truncate() {
+        jdbc.execute(TRUNCATE_SQL);
+        eventPublisher.publishEvent(new ChangesMissedEvent());
+    }
+
+    // An organization with an occupation and a department of its own id, employees 1 to employees working in the
+    // department under employee 1 and hired a day apart from 2020-01-01 on (every 1000 employees the dates start over),
+    // and skills 1 to skills. Ids and names follow the helpers below.
+    protected void seedOrganization(int org, int employees, int skills) {
+        jdbc.update("INSERT INTO organizations (id, name) VALUES (?, ?)", org, organizationName(org));
+        jdbc.update("INSERT INTO occupations (id, title) VALUES (?, ?)", org, "Occupation " + org);
+        jdbc.update("INSERT INTO departments (id, organization_id, name) VALUES (?, ?, ?)", org, org, departmentName(org));
+        jdbc.update("INSERT INTO employees (id, department_id, organization_id, occupation_id, first_name, last_name, " +
+                        "email, hire_date) " +
+                        "SELECT ? + g, ?, ?, ?, 'First ' || g, 'Last ' || g, 'employee' || (? + g) || '@test.com', " +
+                        "DATE '2020-01-01' + g % 1000 " +
+                        "FROM generate_series(1, ?) g",
+                employeeId(org, 0), org, org, org, employeeId(org, 0), employees);
+        if (employees > 0) {
+            jdbc.update("UPDATE departments SET manager_id = ? WHERE id = ?", employeeId(org, 1), org);
+        }
+        jdbc.update("INSERT INTO skills (id, name) SELECT ? + g, 'Skill ' || (? + g) FROM generate_series(1, ?) g",
+                skillId(org, 0), skillId(org, 0), skills);
+    }
+
+    protected static String organizationName(int org) {
+        return "Organization " + org;
+    }
+
+    protected static String departmentName(int org) {
+        return "Department " + org;
+    }
+
+    protected static int employeeId(int org, int employee) {
+        return org * 100_000 + employee;
+    }
+
+    protected static String employeeEmail(int org, int employee) {
+        return "employee" + employeeId(org, employee) + "@test.com";
+    }
+
+    protected static int skillId(int org, int skill) {
+        return org * 100_000 + skill;
+    }
+
+    protected static String skillName(int org, int skill) {
+        return "Skill " + skillId(org, skill);
+    }
+}
@@ -0,0 +1,40 @@
+package gr.uom.employeepulseservice.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Counts the SQL statements Hibernate prepares while an action runs, from its statistics. The test context needs
+// spring.jpa.properties.hibernate.generate_statistics=true.
+public class QueryCounter {
+
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled");
+        }
+    }
+
+    public long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Runs the same operation over a small and a large data set and checks both prepare as many statements, i.e.
+    // nothing is loaded once per row. Returns that count.
+    public long assertConstantCount(String operation, Runnable small, Runnable large) {
+        long smallCount = count(small);
+        long largeCount = count(large);
+        assertEquals(smallCount, largeCount, operation + " prepares statements per row of its result");
+        return largeCount;
+    }
+
+    public void assertCount(long expected, String operation, Runnable action) {
+        assertEquals(expected, count(action), operation + " prepares an unexpected number of statements");
+    }
+}
@@ -1,30 +1,42 @@
-import { useState, useEffect, useMemo } from 'react';
+import { useState, useEffect, useMemo, useRef, useCallback } from 'react';
 import { Card, CardBody, FormGroup, Label, Row, Col } from 'reactstrap';
 import Select from 'react-select';
-import { GET_SKILLS_BY_ORGANIZATION_URL, GET_EMPLOYEES_BY_ORGANIZATION_URL, GET_DEPARTMENTS_BY_ORGANIZATION_URL, GET_EMPLOYEE_LATEST_SKILL_ENTRIES_URL } from '../../lib/api/apiUrls.js';
-import { axiosGet } from '../../lib/api/client.js';
+import AsyncSelect from 'react-select/async';
+import { GET_SKILLS_BY_ORGANIZATION_URL, GET_EMPLOYEES_BY_ORGANIZATION_URL, GET_DEPARTMENT_EMPLOYEES_URL, GET_DEPARTMENTS_BY_ORGANIZATION_URL, GET_EMPLOYEE_LATEST_SKILL_ENTRIES_URL } from '../../lib/api/apiUrls.js';
+import { axiosGet, PICKER_PAGE_SIZE } from '../../lib/api/client.js';
 import useCatch from '../../lib/api/useCatch.js';
 import { useEmployeeFilter } from './EmployeeFilterContext.jsx';
 import { useOrganization } from "../../context/OrganizationContext.jsx";
 import DateInput from "../forms/DateInput.jsx";
 
+// Employees listed per search: the organization is searched on the server, by name
+const EMPLOYEE_SEARCH_SIZE = 20;
+const EMPLOYEE_SEARCH_DELAY_MS = 300;
+
+const toEmployeeOption = (employee) => ({
+  value: employee.id,
+  label: `${employee.firstName} ${employee.lastName}`,
+  departmentId: employee.departmentId
+});
+
 function EmployeeFilterComponent() {
   const { cWrapper } = useCatch();
   const { selectedOrganization } = useOrganization();
   const { filterValues, setFilterValues, triggerChartGeneration } = useEmployeeFilter();
   const [allSkills, setAllSkills] = useState([]);
-  const [employees, setEmployees] = useState([]);
+  const [selectedEmployeeOption, setSelectedEmployeeOption] = useState(null);
+  const [departmentEmployees, setDepartmentEmployees] = useState([]);
   const [departments, setDepartments] = useState([]);
   const [employeeSkillIds, setEmployeeSkillIds] = useState(new Set());
   const [loadingSkills, setLoadingSkills] = useState(false);
   const [loadingEmployees, setLoadingEmployees] = useState(false);
   const [loadingDepartments, setLoadingDepartments] = useState(false);
   const [loadingEmployeeSkills, setLoadingEmployeeSkills] = useState(false);
+  const searchTimeout = useRef(null);
 
-  // Load skills, employees, and departments on mount
+  // Load skills and departments on mount, employees are searched as the user types
   useEffect(() => {
     setLoadingSkills(true);
-    setLoadingEmployees(true);
     setLoadingDepartments(true);
 
     const orgId = selectedOrganization?.value;
@@ -32,24 +44,58 @@ function EmployeeFilterComponent() {
     cWrapper(() =>
       Promise.all([
         axiosGet(GET_SKILLS_BY_ORGANIZATION_URL(orgId)),
-        axiosGet(GET_EMPLOYEES_BY_ORGANIZATION_URL(orgId)),
         axiosGet(GET_DEPARTMENTS_BY_ORGANIZATION_URL(orgId))
       ])
-        .then(([skillsResponse, employeesResponse, departmentsResponse]) => {
+        .then(([skillsResponse, departmentsResponse]) => {
           setAllSkills(skillsResponse.data || []);
-          const emps = employeesResponse.data.content || employeesResponse.data || [];
-          setEmployees(Array.isArray(emps) ? emps : []);
           const depts = departmentsResponse.data.content || departmentsResponse.data || [];
           setDepartments(Array.isArray(depts) ? depts : []);
         })
         .finally(() => {
           setLoadingSkills(false);
-          setLoadingEmployees(false);
           setLoadingDepartments(false);
         })
     );
   }, [cWrapper, selectedOrganization]);
 
+  // A department is a small picker: its employees are read once, as a single page
+  useEffect(() => {
+    if (!filterValues.departmentId) {
+      setDepartmentEmployees([]);
+      return;
+    }
+
+    setLoadingEmployees(true);
+    cWrapper(() =>
+      axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(filterValues.departmentId), { size: PICKER_PAGE_SIZE })
+        .then((response) => setDepartmentEmployees((response.data || []).map(toEmployeeOption)))
+        .finally(() => setLoadingEmployees(false))
+    );
+  }, [cWrapper, filterValues.departmentId]);
+
+  useEffect(() => () => clearTimeout(searchTimeout.current), []);
+
+  // Without a department, one page of the organization's employees whose name matches the input. The select is
+  // keyed by organization and department below, so it searches again when either changes.
+  const loadEmployeeOptions = useCallback((inputValue) => {
+    if (filterValues.departmentId) {
+      const input = inputValue.toLowerCase();
+      return Promise.resolve(departmentEmployees.filter(option => option.label.toLowerCase().includes(input)));
+    }
+
+    clearTimeout(searchTimeout.current);
+    return new Promise((resolve) => {
+      searchTimeout.current = setTimeout(() => {
+        cWrapper(() =>
+          axiosGet(GET_EMPLOYEES_BY_ORGANIZATION_URL(selectedOrganization?.value),
+            { name: inputValue || undefined, size: EMPLOYEE_SEARCH_SIZE })
+            .then((response) => resolve((response.data || []).map(toEmployeeOption)))
+            .finally(() => resolve([]))
+        );
+      }, EMPLOYEE_SEARCH_DELAY_MS);
+    });
+  }, [cWrapper, selectedOrganization, filterValues.departmentId, departmentEmployees]);
+
   // Load employee skills when employee is selected
   useEffect(() => {
     if (!filterValues.employeeId) {
@@ -75,14 +121,6 @@ function EmployeeFilterComponent() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [filterValues.employeeId, cWrapper]);
 
-  // Filter employees by department
-  const filteredEmployees = useMemo(() => {
-    if (!filterValues.departmentId) {
-      return employees;
-    }
-    return employees.filter(emp => emp.departmentId?.toString() === filterValues.departmentId);
-  }, [employees, filterValues.departmentId]);
-
   // Convert departments to react-select options
   const departmentOptions = useMemo(
     () =>
@@ -102,15 +140,6 @@ function EmployeeFilterComponent() {
     [departmentOptions, filterValues.departmentId]
   );
 
-  const employeeOptions = useMemo(
-    () =>
-      filteredEmployees.map((employee) => ({
-        value: employee.id,
-        label: `${employee.firstName} ${employee.lastName}`
-      })),
-    [filteredEmployees]
-  );
-
   // Filter skills based on selected employee
   const filteredSkills = useMemo(() => {
     if (!filterValues.employeeId || employeeSkillIds.size === 0) {
@@ -129,14 +158,6 @@ function EmployeeFilterComponent() {
     [filteredSkills]
   );
 
-  const selectedEmployeeOption = useMemo(
-    () =>
-      employeeOptions.find(
-        (opt) => opt.value?.toString() === filterValues.employeeId
-      ) || null,
-    [employeeOptions, filterValues.employeeId]
-  );
-
   // Find selected skill option
   const selectedSkillOption = useMemo(
     () =>
@@ -155,7 +176,7 @@ function EmployeeFilterComponent() {
     const newDepartmentId = selected ? selected.value.toString() : '';
     
     // If department changes, check if current employee is still valid
-    const currentEmployee = employees.find(emp => emp.id?.toString() === filterValues.employeeId);
+    const currentEmployee = filterValues.employeeId ? selectedEmployeeOption : null;
     const shouldClearEmployee = newDepartmentId && currentEmployee?.departmentId?.toString() !== newDepartmentId;
     
     setFilterValues({ 
@@ -165,6 +186,7 @@ function EmployeeFilterComponent() {
   };
 
   const handleEmployeeChange = (selected) => {
+    setSelectedEmployeeOption(selected);
     setFilterValues({ 
       employeeId: selected ? selected.value.toString() : '',
       skillId: '' // Clear skill when employee changes
@@ -201,15 +223,17 @@ function EmployeeFilterComponent() {
             <Col md={3}>
               <FormGroup>
                 <Label for="employeeId">Employee *</Label>
-                <Select
+                <AsyncSelect
+                  key={`${selectedOrganization?.value}-${filterValues.departmentId}`}
                   inputId="employeeId"
-                  options={employeeOptions}
-                  value={selectedEmployeeOption}
+                  loadOptions={loadEmployeeOptions}
+                  defaultOptions={filterValues.departmentId ? departmentEmployees : true}
+                  value={filterValues.employeeId ? selectedEmployeeOption : null}
                   onChange={handleEmployeeChange}
                   isLoading={loadingEmployees}
                   isDisabled={loadingEmployees}
                   isClearable
-                  placeholder="Select an employee..."
+                  placeholder="Search an employee..."
                   menuPortalTarget={typeof document !== 'undefined' ? document.body : null}
                   styles={{
                     // control: (base) => ({ ...base, backgroundColor: '#e7f3ff' }),
@@ -6,7 +6,7 @@ import {
   UPDATE_DEPARTMENT_URL,
   ASSIGN_MANAGER_TO_DEPARTMENT_URL
 } from "../../lib/api/apiUrls.js";
-import {axiosGet, axiosPost, axiosPut} from "../../lib/api/client.js";
+import {axiosGet, axiosPost, axiosPut, nextCursorOf, PICKER_PAGE_SIZE} from "../../lib/api/client.js";
 import {useEffect, useState} from "react";
 import useCatch from "../../lib/api/useCatch.js";
 import {useNavigate} from "react-router-dom";
@@ -25,6 +25,7 @@ export default function SaveDepartmentForm({ departmentId = null }) {
   const [assigningManager, setAssigningManager] = useState(false);
 
   const [departmentEmployees, setDepartmentEmployees] = useState([]);
+  const [moreEmployees, setMoreEmployees] = useState(false);
   const [currentManagerId, setCurrentManagerId] = useState(null);
 
   const [formData, setFormData] = useState({
@@ -38,7 +39,7 @@ export default function SaveDepartmentForm({ departmentId = null }) {
       cWrapper(() =>
         Promise.all([
           axiosGet(GET_DEPARTMENT_URL(departmentId)),
-          axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(departmentId))
+          axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(departmentId), { size: PICKER_PAGE_SIZE })
         ])
           .then(([departmentResponse, employeesResponse]) => {
             const department = departmentResponse.data;
@@ -51,6 +52,7 @@ export default function SaveDepartmentForm({ departmentId = null }) {
             
             setCurrentManagerId(department.managerId);
             setDepartmentEmployees(employees);
+            setMoreEmployees(!!nextCursorOf(employeesResponse));
           })
           .finally(() => setLoading(false))
       );
@@ -104,10 +106,11 @@ export default function SaveDepartmentForm({ departmentId = null }) {
           setCurrentManagerId(parseInt(formData.managerId));
           // Reload employees to refresh the list
           setLoadingEmployees(true);
-          return axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(departmentId));
+          return axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(departmentId), { size: PICKER_PAGE_SIZE });
         })
         .then((response) => {
           setDepartmentEmployees(response.data);
+          setMoreEmployees(!!nextCursorOf(response));
         })
         .finally(() => {
           setAssigningManager(false);
@@ -174,6 +177,11 @@ export default function SaveDepartmentForm({ departmentId = null }) {
                   No employees in this department. Add employees to assign a manager.
                 </small>
               )}
+              {moreEmployees && (
+                <small className="form-text text-muted">
+                  Only the first {PICKER_PAGE_SIZE} employees of this department are listed.
+                </small>
+              )}
               {formData.managerId && formData.managerId !== (currentManagerId?.toString() || '') && (
                 <div className="mt-2">
                   <Button
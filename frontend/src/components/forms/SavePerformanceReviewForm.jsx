@@ -2,13 +2,14 @@ import {Button, Col, Form, FormGroup, Input, Label, Row, Spinner} from "reactstr
 import {
   CREATE_PERFORMANCE_REVIEW_URL,
   GET_DEPARTMENT_URL, GET_DEPARTMENTS_BY_ORGANIZATION_URL,
-  GET_EMPLOYEES_BY_ORGANIZATION_URL,
+  GET_DEPARTMENT_EMPLOYEES_URL,
+  GET_EMPLOYEE_URL,
   GET_PERFORMANCE_REVIEW_URL,
   UPDATE_PERFORMANCE_REVIEW_URL,
     ADD_SKILL_ENTRIES_BULK_TO_REVIEW_URL,
   DELETE_SKILL_ENTRY_FROM_REVIEW_URL
 } from "../../lib/api/apiUrls.js";
-import {axiosGet, axiosPost, axiosPut, axiosDelete} from "../../lib/api/client.js";
+import {axiosGet, axiosPost, axiosPut, axiosDelete, PICKER_PAGE_SIZE} from "../../lib/api/client.js";
 import {useEffect, useState} from "react";
 import useCatch from "../../lib/api/useCatch.js";
 import {useNavigate} from "react-router-dom";
@@ -24,7 +25,6 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
   const { selectedOrganization } = useOrganization();
 
   const [departments, setDepartments] = useState([]);
-  const [allEmployees, setAllEmployees] = useState([]);
   const [departmentEmployees, setDepartmentEmployees] = useState([]);
   const [departmentManager, setDepartmentManager] = useState(null);
   const [loading, setLoading] = useState(false);
@@ -51,14 +51,11 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
 
     const orgId = selectedOrganization?.value;
 
+    // Employees are loaded per department once one is selected
     cWrapper(() =>
-      Promise.all([
-        axiosGet(GET_DEPARTMENTS_BY_ORGANIZATION_URL(orgId)),
-        axiosGet(GET_EMPLOYEES_BY_ORGANIZATION_URL(orgId))
-      ])
-        .then(([departmentsResponse, employeesResponse]) => {
+      axiosGet(GET_DEPARTMENTS_BY_ORGANIZATION_URL(orgId))
+        .then((departmentsResponse) => {
           setDepartments(departmentsResponse.data);
-          setAllEmployees(employeesResponse.data);
         })
         .finally(() => setLoading(false))
     );
@@ -66,7 +63,7 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
   }, [cWrapper]);
 
   useEffect(() => {
-    if (isEditMode && reviewId && departments.length > 0 && allEmployees.length > 0) {
+    if (isEditMode && reviewId && departments.length > 0) {
       setLoadingReview(true);
       cWrapper(() =>
         axiosGet(GET_PERFORMANCE_REVIEW_URL(reviewId))
@@ -117,21 +114,31 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
       );
     }
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [isEditMode, reviewId, departments, allEmployees, cWrapper]);
+  }, [isEditMode, reviewId, departments, cWrapper]);
 
   const loadDepartmentData = (departmentId, review = null) => {
     setLoadingDepartment(true);
     cWrapper(() =>
-      axiosGet(GET_DEPARTMENT_URL(departmentId))
-        .then((departmentResponse) => {
+      Promise.all([
+        axiosGet(GET_DEPARTMENT_URL(departmentId)),
+        axiosGet(GET_DEPARTMENT_EMPLOYEES_URL(departmentId), { size: PICKER_PAGE_SIZE })
+      ])
+        .then(([departmentResponse, employeesResponse]) => {
           const department = departmentResponse.data;
-          setDepartmentEmployees(allEmployees.filter(it => (it.departmentId === department.id) && it.id !== department.managerId));
+          const employees = employeesResponse.data;
+          setDepartmentEmployees(employees.filter(it => it.id !== department.managerId));
 
-          let manager = null;
-          if (department.managerId) {
-            manager = allEmployees.find(emp => emp.id === department.managerId);
+          if (!department.managerId) {
+            return [department, employees, null];
           }
-
+          // The manager may belong to another department
+          const manager = employees.find(emp => emp.id === department.managerId);
+          return manager
+            ? [department, employees, manager]
+            : axiosGet(GET_EMPLOYEE_URL(department.managerId))
+              .then((managerResponse) => [department, employees, managerResponse.data]);
+        })
+        .then(([department, employees, manager]) => {
           if (manager) {
             setDepartmentManager(manager);
             setFormData(prev => ({
@@ -143,7 +150,7 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
 
           // If editing, set the employee
           if (review && review.employeeName) {
-            const employee = allEmployees.find(emp => 
+            const employee = employees.find(emp => 
               `${emp.firstName} ${emp.lastName}` === review.employeeName
             );
             if (employee) {
@@ -256,7 +263,7 @@ export default function SavePerformanceReviewForm({ reviewId = null }) {
     return (
       <div className="text-center mt-3">
         <Spinner color="primary"/>
-        <p>{loadingReview ? 'Loading performance review...' : 'Loading employees...'}</p>
+        <p>{loadingReview ? 'Loading performance review...' : 'Loading departments...'}</p>
       </div>
     );
   }
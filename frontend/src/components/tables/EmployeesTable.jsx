@@ -1,7 +1,7 @@
 import {useEffect, useState, useMemo} from "react";
 import {GET_EMPLOYEES_BY_ORGANIZATION_URL, DELETE_EMPLOYEE_URL} from "../../lib/api/apiUrls.js";
-import {Alert, Spinner, Table} from "reactstrap";
-import {axiosGet, axiosDelete} from "../../lib/api/client.js";
+import {Alert, Button, Spinner, Table} from "reactstrap";
+import {axiosDelete, axiosGet, nextCursorOf} from "../../lib/api/client.js";
 import useCatch from "../../lib/api/useCatch.js";
 import {formatDate} from "../../lib/dateUtils.js";
 import ConfirmModal from "../ConfirmModal.jsx";
@@ -12,7 +12,9 @@ import { useOrganization } from "../../context/OrganizationContext.jsx";
 export default function EmployeesTable() {
   const navigate = useNavigate()
   const [employees, setEmployees] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [loading, setLoading] = useState(false)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [deleteModalOpen, setDeleteModalOpen] = useState(false)
   const [employeeToDelete, setEmployeeToDelete] = useState(null)
   const [deleting, setDeleting] = useState(false)
@@ -28,11 +30,27 @@ export default function EmployeesTable() {
       axiosGet(GET_EMPLOYEES_BY_ORGANIZATION_URL(orgId))
         .then((response) => {
           setEmployees(response.data)
+          setNextCursor(nextCursorOf(response))
         })
         .finally(() => setLoading(false))
     )
   }
 
+  // Appends the next page of the listing
+  const loadMoreEmployees = () => {
+    setLoadingMore(true)
+    const orgId = selectedOrganization?.value;
+
+    cWrapper(() =>
+      axiosGet(GET_EMPLOYEES_BY_ORGANIZATION_URL(orgId), { cursor: nextCursor })
+        .then((response) => {
+          setEmployees(previous => [...previous, ...response.data])
+          setNextCursor(nextCursorOf(response))
+        })
+        .finally(() => setLoadingMore(false))
+    )
+  }
+
   useEffect(() => {
     loadEmployees()
     // eslint-disable-next-line react-hooks/exhaustive-deps
@@ -144,7 +162,9 @@ export default function EmployeesTable() {
           {filteredEmployees.length === 0 ? (
             <tr>
               <td colSpan={8} className="text-center">
-                No employees match the current filters.
+                {nextCursor
+                  ? 'No loaded employees match the current filters. Load more to search further.'
+                  : 'No employees match the current filters.'}
               </td>
             </tr>
           ) : (
@@ -183,6 +203,20 @@ export default function EmployeesTable() {
           )}
           </tbody>
         </Table>
+        {nextCursor && (
+          <div className="text-center mt-3">
+            <Button color="secondary" outline onClick={loadMoreEmployees} disabled={loadingMore}>
+              {loadingMore ? (
+                <>
+                  <Spinner size="sm" className="me-2"/>
+                  Loading...
+                </>
+              ) : (
+                'Load more employees'
+              )}
+            </Button>
+          </div>
+        )}
       </div>
     )}
 
@@ -1,7 +1,7 @@
 import {useEffect, useState, useMemo} from "react";
 import {GET_PERFORMANCE_REVIEWS_URL, DELETE_PERFORMANCE_REVIEW_URL} from "../../lib/api/apiUrls.js";
-import {Alert, Spinner, Table} from "reactstrap";
-import {axiosGet, axiosDelete} from "../../lib/api/client.js";
+import {Alert, Button, Spinner, Table} from "reactstrap";
+import {axiosDelete, axiosGet, nextCursorOf} from "../../lib/api/client.js";
 import useCatch from "../../lib/api/useCatch.js";
 import {formatDateTime} from "../../lib/dateUtils.js";
 import ConfirmModal from "../ConfirmModal.jsx";
@@ -12,7 +12,9 @@ import { useOrganization } from "../../context/OrganizationContext.jsx";
 export default function PerformanceReviewsTable() {
   const navigate = useNavigate()
   const [performanceReviews, setPerformanceReviews] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [loading, setLoading] = useState(false)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [deleteModalOpen, setDeleteModalOpen] = useState(false)
   const [reviewToDelete, setReviewToDelete] = useState(null)
   const [deleting, setDeleting] = useState(false)
@@ -33,11 +35,27 @@ export default function PerformanceReviewsTable() {
         GET_PERFORMANCE_REVIEWS_URL(orgId),
       ).then((response) => {
         setPerformanceReviews(response.data)
+        setNextCursor(nextCursorOf(response))
       })
         .finally(() => setLoading(false)),
     )
   }
 
+  // Appends the next page of the listing, older reviews
+  const loadMorePerformanceReviews = () => {
+    setLoadingMore(true)
+    const orgId = selectedOrganization?.value;
+
+    cWrapper(() =>
+      axiosGet(GET_PERFORMANCE_REVIEWS_URL(orgId), { cursor: nextCursor })
+        .then((response) => {
+          setPerformanceReviews(previous => [...previous, ...response.data])
+          setNextCursor(nextCursorOf(response))
+        })
+        .finally(() => setLoadingMore(false))
+    )
+  }
+
   useEffect(() => {
     loadPerformanceReviews()
     // eslint-disable-next-line react-hooks/exhaustive-deps
@@ -161,7 +179,9 @@ export default function PerformanceReviewsTable() {
           {filteredPerformanceReviews.length === 0 ? (
             <tr>
               <td colSpan={8} className="text-center">
-                No performance reviews match the current filters.
+                {nextCursor
+                  ? 'No loaded performance reviews match the current filters. Load more to search further.'
+                  : 'No performance reviews match the current filters.'}
               </td>
             </tr>
           ) : (
@@ -212,6 +232,20 @@ export default function PerformanceReviewsTable() {
           )}
           </tbody>
         </Table>
+        {nextCursor && (
+          <div className="text-center mt-3">
+            <Button color="secondary" outline onClick={loadMorePerformanceReviews} disabled={loadingMore}>
+              {loadingMore ? (
+                <>
+                  <Spinner size="sm" className="me-2"/>
+                  Loading...
+                </>
+              ) : (
+                'Load older reviews'
+              )}
+            </Button>
+          </div>
+        )}
       </div>
     )}
 
@@ -30,6 +30,13 @@ export const axiosGet = async (url, parameters) => {
     })
 }
 
+// Keyset-paged listings return one page per request and the cursor of the next one in the X-Next-Cursor header,
+// absent on the last page; the next page is requested by passing the cursor back as the cursor parameter
+export const nextCursorOf = (response) => response.headers['x-next-cursor'] ?? null
+
+// Pickers read a single page of a listing, at most the largest page the server returns
+export const PICKER_PAGE_SIZE = 500
+
 export const axiosPost = async (url, data, config = {}) => {
   return await api
     .post(url, data, config)